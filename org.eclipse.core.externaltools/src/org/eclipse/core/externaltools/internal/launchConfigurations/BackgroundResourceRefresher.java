@@ -53,7 +53,7 @@ public class BackgroundResourceRefresher implements IDebugEventSetListener  {
 			if (fProcess.isTerminated()) {
 				refresh();
 			} else {
-				DebugPlugin.getDefault().addDebugEventListener(this);
+				DebugPlugin.getDefault().addDebugEventListener(this, DebugEvent.TERMINATE, fProcess);
 			}
 		}
 	}
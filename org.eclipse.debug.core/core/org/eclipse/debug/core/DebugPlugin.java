@@ -23,8 +23,15 @@ import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -74,6 +81,7 @@ import org.eclipse.debug.internal.core.Preferences;
 import org.eclipse.debug.internal.core.StepFilterManager;
 import org.eclipse.debug.internal.core.commands.CommandAdapterFactory;
 import org.eclipse.debug.internal.core.groups.GroupMemberChangeListener;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupIndex;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
 import org.eclipse.osgi.service.environment.Constants;
 import org.osgi.framework.BundleContext;
@@ -370,6 +378,22 @@ public class DebugPlugin extends Plugin {
 	 */
 	public static final String ATTR_TERMINATE_DESCENDANTS = PI_DEBUG_CORE + ".TERMINATE_DESCENDANTS"; //$NON-NLS-1$
 
+	/**
+	 * Launch configuration attribute that limits the number of bytes the
+	 * standard output and standard error stream monitors of an
+	 * {@link IProcess} associated to a launch of this configuration keep
+	 * buffered while buffering is enabled. Once the limit is reached the
+	 * oldest buffered bytes are discarded, so the buffer contains the most
+	 * recent output only.
+	 *
+	 * Value is an integer. When unspecified or not positive, buffered output
+	 * is not limited.
+	 *
+	 * @see org.eclipse.debug.core.model.IFlushableStreamMonitor#setBuffered(boolean)
+	 * @since 3.20
+	 */
+	public static final String ATTR_BUFFERED_OUTPUT_LIMIT = PI_DEBUG_CORE + ".ATTR_BUFFERED_OUTPUT_LIMIT"; //$NON-NLS-1$
+
 	/**
 	 * The singleton debug plug-in instance.
 	 */
@@ -401,6 +425,21 @@ public class DebugPlugin extends Plugin {
 	 */
 	private ListenerList<IDebugEventSetListener> fEventListeners = new ListenerList<>();
 
+	/**
+	 * Routed debug event listener registrations, keyed by the event source or
+	 * launch they are interested in.
+	 *
+	 * @since 3.20
+	 */
+	private final Map<Object, List<RoutedListener>> fRoutedListeners = new ConcurrentHashMap<>();
+
+	/**
+	 * Routed debug event listener registrations, keyed by listener.
+	 *
+	 * @since 3.20
+	 */
+	private final Map<IDebugEventSetListener, RoutedListener> fRoutedRegistrations = new ConcurrentHashMap<>();
+
 	/**
 	 * Event filters, or <code>null</code> if none.
 	 */
@@ -433,11 +472,25 @@ public class DebugPlugin extends Plugin {
 
 	/**
 	 * Queue of debug events to fire to listeners and asynchronous runnables to execute
-	 * in the order received.
+	 * in the order received. Producers never block each other, the event dispatch job
+	 * is the only consumer.
 	 *
 	 * @since 3.1
 	 */
-	private List<Object> fEventQueue = new ArrayList<>();
+	private final Queue<Object> fEventQueue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Number of entries waiting in the event queue. Maintained separately since
+	 * the size of a concurrent queue is not a constant time operation.
+	 */
+	private final AtomicInteger fEventQueueDepth = new AtomicInteger();
+
+	/**
+	 * Time stamp (see {@link System#nanoTime()}) at which the oldest pending
+	 * entry of the event queue was added, or <code>0</code> if unknown. Only
+	 * maintained when event dispatch tracing is enabled.
+	 */
+	private final AtomicLong fEventQueueTime = new AtomicLong();
 
 	/**
 	 * Job to fire events to listeners.
@@ -466,23 +519,72 @@ public class DebugPlugin extends Plugin {
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
-
+			List<Object> batch = new ArrayList<>();
+			List<DebugEvent[]> eventSets = new ArrayList<>();
 			while (!fEventQueue.isEmpty()) {
-				Object next = null;
-				synchronized (fEventQueue) {
-					if (!fEventQueue.isEmpty()) {
-						next = fEventQueue.remove(0);
+				long queued = fEventQueueTime.getAndSet(0);
+				Object next;
+				while ((next = fEventQueue.poll()) != null) {
+					batch.add(next);
+				}
+				int remaining = fEventQueueDepth.addAndGet(-batch.size());
+				long start = System.nanoTime();
+				int dispatched = 0;
+				// adjacent event sets are merged and fired together, runnables
+				// still execute after all events queued before them
+				for (Object entry : batch) {
+					if (entry instanceof Runnable) {
+						dispatched += dispatch(eventSets);
+						fRunner.async((Runnable) entry);
+					} else {
+						eventSets.add((DebugEvent[]) entry);
 					}
 				}
-				if (next instanceof Runnable) {
-					fRunner.async((Runnable) next);
-				} else if (next != null) {
-					fNotifier.dispatch((DebugEvent[]) next);
+				dispatched += dispatch(eventSets);
+				if (DebugOptions.DEBUG_EVENT_DISPATCH) {
+					long end = System.nanoTime();
+					String latency = queued == 0 ? "?" : Long.toString((start - queued) / 1000000); //$NON-NLS-1$
+					DebugOptions.trace("Event dispatch: drained " + batch.size() //$NON-NLS-1$
+							+ " queue entries as " + dispatched + " event sets, " + remaining //$NON-NLS-1$ //$NON-NLS-2$
+							+ " pending, latency " + latency + "ms, dispatch " + (end - start) / 1000000 + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				}
+				batch.clear();
 			}
 			return Status.OK_STATUS;
 		}
 
+		/**
+		 * Fires the given event sets as one merged event set and clears the
+		 * given list.
+		 *
+		 * @param eventSets event sets in the order they were fired
+		 * @return the number of event sets dispatched to listeners
+		 */
+		private int dispatch(List<DebugEvent[]> eventSets) {
+			switch (eventSets.size()) {
+				case 0:
+					return 0;
+				case 1:
+					fNotifier.dispatch(eventSets.get(0));
+					break;
+				default:
+					int length = 0;
+					for (DebugEvent[] events : eventSets) {
+						length += events.length;
+					}
+					DebugEvent[] merged = new DebugEvent[length];
+					int index = 0;
+					for (DebugEvent[] events : eventSets) {
+						System.arraycopy(events, 0, merged, index, events.length);
+						index += events.length;
+					}
+					fNotifier.dispatch(merged);
+					break;
+			}
+			eventSets.clear();
+			return 1;
+		}
+
 		@Override
 		public boolean shouldRun() {
 			return shouldSchedule();
@@ -490,7 +592,7 @@ public class DebugPlugin extends Plugin {
 
 		@Override
 		public boolean shouldSchedule() {
-			return !(isShuttingDown() || fEventListeners.isEmpty());
+			return !(isShuttingDown() || !hasDebugEventListeners());
 		}
 
 	}
@@ -548,6 +650,71 @@ public class DebugPlugin extends Plugin {
 		fEventListeners.add(listener);
 	}
 
+	/**
+	 * Adds the given listener to the collection of registered debug event
+	 * listeners, to be notified only of events of the given kinds that
+	 * originate from the given source.
+	 * <p>
+	 * The source is either the source of interesting events, or an
+	 * {@link ILaunch}, in which case the listener is notified of events from
+	 * any process or debug element of that launch. The listener is passed only
+	 * the matching events of each event set, and is not called for event sets
+	 * without matching events. Unlike listeners added with
+	 * {@link #addDebugEventListener(IDebugEventSetListener)}, the cost of
+	 * event dispatch does not grow with the number of routed listeners that
+	 * are not interested in an event.
+	 * </p>
+	 * <p>
+	 * A listener has at most one routed registration. Adding a listener that
+	 * is already registered this way replaces its previous registration. The
+	 * listener is removed with
+	 * {@link #removeDebugEventListener(IDebugEventSetListener)}.
+	 * </p>
+	 *
+	 * @param listener the listener to add
+	 * @param kinds bit mask of debug event kinds to notify the listener of,
+	 *            for example <code>DebugEvent.TERMINATE</code>
+	 * @param source event source or launch of interest
+	 * @since 3.20
+	 */
+	public void addDebugEventListener(IDebugEventSetListener listener, int kinds, Object source) {
+		RoutedListener routed = new RoutedListener(listener, kinds, source);
+		synchronized (fRoutedRegistrations) {
+			removeRoutedListener(listener);
+			fRoutedRegistrations.put(listener, routed);
+			fRoutedListeners.computeIfAbsent(source, key -> new CopyOnWriteArrayList<>()).add(routed);
+		}
+	}
+
+	/**
+	 * Removes the routed registration of the given listener, if any.
+	 *
+	 * @param listener the listener to remove
+	 */
+	private void removeRoutedListener(IDebugEventSetListener listener) {
+		synchronized (fRoutedRegistrations) {
+			RoutedListener routed = fRoutedRegistrations.remove(listener);
+			if (routed != null) {
+				List<RoutedListener> listeners = fRoutedListeners.get(routed.fSource);
+				if (listeners != null) {
+					listeners.remove(routed);
+					if (listeners.isEmpty()) {
+						fRoutedListeners.remove(routed.fSource);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns whether any debug event listener is registered.
+	 *
+	 * @return whether any debug event listener is registered
+	 */
+	private boolean hasDebugEventListeners() {
+		return !fEventListeners.isEmpty() || !fRoutedRegistrations.isEmpty();
+	}
+
 	/**
 	 * Notifies all registered debug event set listeners of the given
 	 * debug events. Events which are filtered by a registered debug event
@@ -559,13 +726,10 @@ public class DebugPlugin extends Plugin {
 	 * @since 2.0
 	 */
 	public void fireDebugEventSet(DebugEvent[] events) {
-		if (isShuttingDown() || events == null || fEventListeners.isEmpty()) {
+		if (isShuttingDown() || events == null || !hasDebugEventListeners()) {
 			return;
 		}
-		synchronized (fEventQueue) {
-			fEventQueue.add(events);
-		}
-		fEventDispatchJob.schedule();
+		queue(events);
 	}
 
 	/**
@@ -578,8 +742,20 @@ public class DebugPlugin extends Plugin {
 	 * @since 2.1
 	 */
 	public void asyncExec(Runnable r) {
-		synchronized (fEventQueue) {
-			fEventQueue.add(r);
+		queue(r);
+	}
+
+	/**
+	 * Adds the given debug event set or runnable to the event queue and
+	 * schedules the event dispatch job.
+	 *
+	 * @param entry event set or runnable
+	 */
+	private void queue(Object entry) {
+		fEventQueue.add(entry);
+		fEventQueueDepth.incrementAndGet();
+		if (DebugOptions.DEBUG_EVENT_DISPATCH) {
+			fEventQueueTime.compareAndSet(0, System.nanoTime());
 		}
 		fEventDispatchJob.schedule();
 	}
@@ -683,6 +859,9 @@ public class DebugPlugin extends Plugin {
 	 */
 	public void removeDebugEventListener(IDebugEventSetListener listener) {
 		fEventListeners.remove(listener);
+		if (!fRoutedRegistrations.isEmpty()) {
+			removeRoutedListener(listener);
+		}
 	}
 
 	@Override
@@ -702,8 +881,13 @@ public class DebugPlugin extends Plugin {
 
 			fEventListeners.clear();
 			fEventFilters.clear();
+			synchronized (fRoutedRegistrations) {
+				fRoutedRegistrations.clear();
+				fRoutedListeners.clear();
+			}
 
 			SourceLookupUtils.shutdown();
+			SourceLookupIndex.shutdown();
 			Preferences.savePreferences(DebugPlugin.getUniqueIdentifier());
 			ResourcesPlugin.getWorkspace().removeSaveParticipant(getUniqueIdentifier());
 		} finally {
@@ -1247,11 +1431,89 @@ public class DebugPlugin extends Plugin {
 				fListener = iDebugEventSetListener;
 				SafeRunner.run(this);
 			}
+			if (!fRoutedListeners.isEmpty()) {
+				dispatchRouted();
+			}
 			fEvents = null;
 			fFilter = null;
 			fListener = null;
 		}
 
+		/**
+		 * Notifies routed listeners of the events they registered for. Only
+		 * registrations for the source of an event or for its launch are
+		 * considered.
+		 */
+		private void dispatchRouted() {
+			DebugEvent[] events = fEvents;
+			Map<RoutedListener, List<DebugEvent>> matches = null;
+			for (DebugEvent event : events) {
+				Object source = event.getSource();
+				matches = collectRouted(source, event, matches);
+				ILaunch launch = null;
+				if (source instanceof IProcess) {
+					launch = ((IProcess) source).getLaunch();
+				} else if (source instanceof IDebugElement) {
+					launch = ((IDebugElement) source).getLaunch();
+				}
+				if (launch != null && launch != source) {
+					matches = collectRouted(launch, event, matches);
+				}
+			}
+			if (matches != null) {
+				for (Map.Entry<RoutedListener, List<DebugEvent>> entry : matches.entrySet()) {
+					fListener = entry.getKey().fListener;
+					List<DebugEvent> matching = entry.getValue();
+					fEvents = matching.toArray(new DebugEvent[matching.size()]);
+					SafeRunner.run(this);
+				}
+			}
+			fEvents = events;
+		}
+
+		/**
+		 * Adds the given event to the events of each routed listener registered
+		 * for the given key and the event's kind.
+		 *
+		 * @param key event source or launch
+		 * @param event debug event
+		 * @param matches matches collected so far or <code>null</code>
+		 * @return matches collected so far or <code>null</code> if none
+		 */
+		private Map<RoutedListener, List<DebugEvent>> collectRouted(Object key, DebugEvent event, Map<RoutedListener, List<DebugEvent>> matches) {
+			List<RoutedListener> listeners = key == null ? null : fRoutedListeners.get(key);
+			if (listeners != null) {
+				for (RoutedListener routed : listeners) {
+					if ((routed.fKinds & event.getKind()) != 0) {
+						if (matches == null) {
+							matches = new LinkedHashMap<>();
+						}
+						matches.computeIfAbsent(routed, r -> new ArrayList<>(1)).add(event);
+					}
+				}
+			}
+			return matches;
+		}
+
+	}
+
+	/**
+	 * A debug event listener registered for events of specific kinds from a
+	 * specific source or launch.
+	 *
+	 * @since 3.20
+	 */
+	static class RoutedListener {
+
+		final IDebugEventSetListener fListener;
+		final int fKinds;
+		final Object fSource;
+
+		RoutedListener(IDebugEventSetListener listener, int kinds, Object source) {
+			fListener = listener;
+			fKinds = kinds;
+			fSource = source;
+		}
 	}
 
 	/**
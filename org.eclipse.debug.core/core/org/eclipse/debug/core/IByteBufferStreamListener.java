@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.core;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.debug.core.model.IBinaryStreamMonitor;
+
+/**
+ * A variant of {@link IBinaryStreamListener} which is passed the appended
+ * content as read-only {@link ByteBuffer} instead of a newly allocated array.
+ * <p>
+ * Stream monitors which support this variant pass a view of their read buffer
+ * without copying it. The buffer content is only valid for the duration of the
+ * notification and must not be retained or accessed afterwards. Stream
+ * monitors which do not know about this variant notify the listener through
+ * {@link #streamAppended(byte[], IBinaryStreamMonitor)}, which wraps the given
+ * array.
+ * </p>
+ * <p>
+ * Clients may implement this interface.
+ * </p>
+ *
+ * @see IBinaryStreamMonitor#addBinaryListener(IBinaryStreamListener)
+ * @since 3.20
+ */
+public interface IByteBufferStreamListener extends IBinaryStreamListener {
+
+	/**
+	 * Notifies this listener that data has been appended to the given stream
+	 * monitor.
+	 *
+	 * @param data read-only view of the content appended, from the buffer's
+	 *            position to its limit; not <code>null</code>
+	 * @param monitor the stream monitor to which content was appended
+	 */
+	void streamAppended(ByteBuffer data, IBinaryStreamMonitor monitor);
+
+	@Override
+	default void streamAppended(byte[] data, IBinaryStreamMonitor monitor) {
+		streamAppended(ByteBuffer.wrap(data).asReadOnlyBuffer(), monitor);
+	}
+}
@@ -116,10 +116,11 @@ public class Launch extends PlatformObject implements ILaunch, IDisconnect, ILau
 	}
 
 	/**
-	 * Registers debug event listener.
+	 * Registers debug event listener for termination of this launch's
+	 * processes and debug targets.
 	 */
 	private void addEventListener() {
-		DebugPlugin.getDefault().addDebugEventListener(this);
+		DebugPlugin.getDefault().addDebugEventListener(this, DebugEvent.TERMINATE, this);
 	}
 
 	/**
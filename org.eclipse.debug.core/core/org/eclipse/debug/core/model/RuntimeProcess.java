@@ -20,9 +20,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.CoreException;
@@ -36,6 +38,7 @@ import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
 import org.eclipse.debug.internal.core.NullStreamsProxy;
+import org.eclipse.debug.internal.core.ProcessIOExecutor;
 import org.eclipse.debug.internal.core.StreamsProxy;
 
 /**
@@ -75,7 +78,12 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 	 * The monitor which listens for this runtime process' system process
 	 * to terminate.
 	 */
-	private final ProcessMonitorThread fMonitor;
+	private final ProcessMonitor fMonitor;
+
+	/**
+	 * Strategy to run the I/O tasks of this process.
+	 */
+	private final ProcessIOExecutor fIOExecutor = ProcessIOExecutor.getDefault();
 
 	/**
 	 * The streams proxy for this process
@@ -107,6 +115,12 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 	 */
 	private boolean fTerminateDescendants = true;
 
+	/**
+	 * Maximum number of bytes buffered per output stream or <code>0</code>
+	 * if unbounded
+	 */
+	private int fBufferedOutputLimit = 0;
+
 	private final String fThreadNameSuffix;
 
 	/**
@@ -144,6 +158,7 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 			ILaunchConfiguration launchConfiguration = launch.getLaunchConfiguration();
 			if (launchConfiguration != null) {
 				fTerminateDescendants = launchConfiguration.getAttribute(DebugPlugin.ATTR_TERMINATE_DESCENDANTS, true);
+				fBufferedOutputLimit = launchConfiguration.getAttribute(DebugPlugin.ATTR_BUFFERED_OUTPUT_LIMIT, 0);
 			}
 		} catch (CoreException e) {
 			DebugPlugin.log(e);
@@ -151,7 +166,10 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 		fThreadNameSuffix = getPidInfo(process, launch);
 
 		fStreamsProxy = createStreamsProxy();
-		fMonitor = new ProcessMonitorThread(fThreadNameSuffix);
+		if (fBufferedOutputLimit > 0 && fStreamsProxy instanceof StreamsProxy) {
+			((StreamsProxy) fStreamsProxy).setBufferLimit(fBufferedOutputLimit);
+		}
+		fMonitor = new ProcessMonitor(fThreadNameSuffix);
 		fMonitor.start();
 		launch.addProcess(this);
 		fireCreationEvent();
@@ -273,7 +291,7 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 			}
 
 			// clean-up
-			fMonitor.killThread();
+			fMonitor.kill();
 			IStatus status = new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), DebugException.TARGET_REQUEST_FAILED, DebugCoreMessages.RuntimeProcess_terminate_failed, null);
 			throw new DebugException(status);
 		}
@@ -369,7 +387,7 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 				DebugPlugin.log(e);
 			}
 		}
-		return new StreamsProxy(getSystemProcess(), charset, fThreadNameSuffix);
+		return new StreamsProxy(getSystemProcess(), charset, fThreadNameSuffix, fIOExecutor);
 	}
 
 	/**
@@ -473,53 +491,135 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 	/**
 	 * Monitors a system process, waiting for it to terminate, and
 	 * then notifies the associated runtime process.
+	 * <p>
+	 * Termination is observed through {@link Process#onExit()}, so no thread
+	 * is blocked while waiting for the system process.
+	 * </p>
 	 */
-	private class ProcessMonitorThread extends Thread {
+	private class ProcessMonitor {
 
 		/**
-		 * Whether the thread has been told to exit.
+		 * Whether the runtime process has been notified of termination.
 		 */
-		private volatile boolean fExit;
+		private final AtomicBoolean fNotified = new AtomicBoolean();
 
 		/**
-		 * @see Thread#run()
+		 * Name of the thread notifying the runtime process.
 		 */
-		@Override
-		public void run() {
-			Process fOSProcess = RuntimeProcess.this.getSystemProcess();
-			if (!fExit && fOSProcess != null) {
-				try {
-					fOSProcess.waitFor();
-				} catch (InterruptedException ie) {
-					// clear interrupted state
-					Thread.interrupted();
-				} finally {
-					RuntimeProcess.this.terminated();
+		private final String fName;
+
+		/**
+		 * Thread waiting for the termination of a process which cannot be
+		 * observed through a future, or <code>null</code>.
+		 */
+		private Thread fWaitingThread;
+
+		/**
+		 * Creates a new process monitor.
+		 *
+		 * @param suffix Thread name suffix
+		 */
+		private ProcessMonitor(String suffix) {
+			fName = DebugCoreMessages.ProcessMonitorJob_0 + suffix;
+		}
+
+		/**
+		 * Starts monitoring the process for termination.
+		 */
+		private void start() {
+			Process process = RuntimeProcess.this.getSystemProcess();
+			if (process == null) {
+				return;
+			}
+			CompletableFuture<?> exit = getExitFuture(process);
+			if (exit != null) {
+				exit.whenComplete((p, e) -> notifyTerminated());
+			} else {
+				fIOExecutor.execute(fName, Thread.NORM_PRIORITY, () -> waitFor(process));
+			}
+		}
+
+		/**
+		 * Returns a future completing when the given process exits without
+		 * blocking a thread, or <code>null</code> if there is none.
+		 * <p>
+		 * The default implementation of {@link Process#onExit()} blocks a
+		 * thread of the common fork join pool in {@link Process#waitFor()} for
+		 * each process. The processes of the JDK override it, other processes
+		 * are observed through their {@link ProcessHandle} if they provide
+		 * one.
+		 * </p>
+		 *
+		 * @param process the system process
+		 * @return future completing on exit or <code>null</code>
+		 */
+		private CompletableFuture<?> getExitFuture(Process process) {
+			try {
+				if (process.getClass().getMethod("onExit").getDeclaringClass() != Process.class) { //$NON-NLS-1$
+					return process.onExit();
 				}
+			} catch (NoSuchMethodException e) {
+				// public method of Process
+			}
+			try {
+				return process.toHandle().onExit();
+			} catch (UnsupportedOperationException e) {
+				return null;
 			}
 		}
 
 		/**
-		 * Creates a new process monitor and starts monitoring the process for
-		 * termination.
+		 * Waits in the current thread until the given process exits or this
+		 * monitor is killed.
 		 *
-		 * @param suffix Thread name suffix
+		 * @param process the system process
+		 */
+		private void waitFor(Process process) {
+			synchronized (this) {
+				if (fNotified.get()) {
+					return;
+				}
+				fWaitingThread = Thread.currentThread();
+			}
+			try {
+				process.waitFor();
+			} catch (InterruptedException e) {
+				// killed
+			} finally {
+				synchronized (this) {
+					fWaitingThread = null;
+					// clear an interrupt by kill() which raced with the exit
+					Thread.interrupted();
+				}
+				notifyTerminated();
+			}
+		}
+
+		/**
+		 * Notifies the runtime process of termination, unless already done.
+		 * Closing the streams waits until all output was read, so this does
+		 * not happen in the thread completing {@link Process#onExit()}.
 		 */
-		private ProcessMonitorThread(String suffix) {
-			super(DebugCoreMessages.ProcessMonitorJob_0 + suffix);
-			setDaemon(true);
+		private void notifyTerminated() {
+			if (fNotified.compareAndSet(false, true)) {
+				fIOExecutor.execute(fName, Thread.NORM_PRIORITY, RuntimeProcess.this::terminated);
+			}
 		}
 
 		/**
-		 * Kills the monitoring thread.
+		 * Stops monitoring and notifies the runtime process of termination.
 		 *
 		 * This method is to be useful for dealing with the error
 		 * case of an underlying process which has not informed this
 		 * monitor of its termination.
 		 */
-		private void killThread() {
-			fExit = true;
-			this.interrupt(); // ignored if monitor thread is not yet running
+		private void kill() {
+			notifyTerminated();
+			synchronized (this) {
+				if (fWaitingThread != null) {
+					fWaitingThread.interrupt();
+				}
+			}
 		}
 	}
 }
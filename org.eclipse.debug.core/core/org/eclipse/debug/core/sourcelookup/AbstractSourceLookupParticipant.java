@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2018 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,18 @@
 package org.eclipse.debug.core.sourcelookup;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupIndex;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupMessages;
 
 
@@ -50,55 +55,167 @@ public abstract class AbstractSourceLookupParticipant implements ISourceLookupPa
 	@Override
 	public Object[] findSourceElements(Object object) throws CoreException {
 		List<Object> results = null;
-		CoreException single = null;
-		MultiStatus multiStatus = null;
+		List<CoreException> errors = new ArrayList<>();
 		if (isFindDuplicates()) {
 			results = new ArrayList<>();
 		}
 		String name = getSourceName(object);
 		if (name != null) {
 			ISourceContainer[] containers = getSourceContainers();
-			for (ISourceContainer c : containers) {
-				try {
-					ISourceContainer container = getDelegateContainer(c);
-					if (container != null) {
-						Object[] objects = container.findSourceElements(name);
-						if (objects.length > 0) {
-							//it will only not be null when we care about duplicates
-							//saves the computation in isFindDuplicates()
-							if (results != null) {
-								Collections.addAll(results, objects);
-							} else {
-								if (objects.length == 1) {
-									return objects;
-								}
-								return new Object[]{objects[0]};
-							}
-						}
+			ISourceContainer[] delegates = new ISourceContainer[containers.length];
+			for (int i = 0; i < containers.length; i++) {
+				delegates[i] = getDelegateContainer(containers[i]);
+			}
+			SourceLookupIndex index = getDirector() == null ? null : SourceLookupIndex.getIndex(getDirector());
+			BitSet candidates = index == null ? null : index.getCandidates(containers, name);
+			BitSet searched = new BitSet(containers.length);
+			if (candidates == null) {
+				searched.set(0, containers.length);
+			} else {
+				for (int i = 0; i < containers.length; i++) {
+					// the index does not know the content of substituted containers
+					if (candidates.get(i) || delegates[i] != containers[i]) {
+						searched.set(i);
 					}
-				} catch (CoreException e) {
-					if (single == null) {
-						single = e;
-					} else if (multiStatus == null) {
-						multiStatus = new MultiStatus(DebugPlugin.getUniqueIdentifier(), DebugPlugin.ERROR, new IStatus[]{single.getStatus()}, SourceLookupMessages.Source_Lookup_Error, null);
-						multiStatus.add(e.getStatus());
-					} else {
-						multiStatus.add(e.getStatus());
+				}
+			}
+			if (results == null) {
+				Object[] objects = null;
+				int position = -1;
+				for (int i = searched.nextSetBit(0); i >= 0 && objects == null; i = searched.nextSetBit(i + 1)) {
+					objects = find(name, delegates[i], errors);
+					position = i;
+				}
+				if (objects != null && candidates != null) {
+					// a container skipped before the match may have a new file
+					BitSet skipped = new BitSet(containers.length);
+					skipped.set(0, position);
+					skipped.andNot(searched);
+					Object[] earlier = findFirst(name, delegates, index.getChanged(containers, skipped), errors);
+					if (earlier != null) {
+						objects = earlier;
+					}
+				} else if (objects == null && candidates != null) {
+					searched.flip(0, containers.length);
+					objects = findFirst(name, delegates, searched, errors);
+					if (objects != null) {
+						index.invalidate();
+					}
+				}
+				if (objects != null) {
+					if (objects.length == 1) {
+						return objects;
+					}
+					return new Object[] { objects[0] };
+				}
+			} else {
+				if (candidates != null) {
+					BitSet skipped = new BitSet(containers.length);
+					skipped.set(0, containers.length);
+					skipped.andNot(searched);
+					searched.or(index.getChanged(containers, skipped));
+				}
+				findAll(name, delegates, searched, results, errors);
+				if (results.isEmpty() && candidates != null) {
+					searched.flip(0, containers.length);
+					findAll(name, delegates, searched, results, errors);
+					if (!results.isEmpty()) {
+						index.invalidate();
 					}
 				}
 			}
 		}
 		if (results == null) {
-			if (multiStatus != null) {
+			if (errors.size() > 1) {
+				MultiStatus multiStatus = new MultiStatus(DebugPlugin.getUniqueIdentifier(), DebugPlugin.ERROR, new IStatus[] { errors.get(0).getStatus() }, SourceLookupMessages.Source_Lookup_Error, null);
+				for (int i = 1; i < errors.size(); i++) {
+					multiStatus.add(errors.get(i).getStatus());
+				}
 				throw new CoreException(multiStatus);
-			} else if (single != null) {
-				throw single;
+			} else if (!errors.isEmpty()) {
+				throw errors.get(0);
 			}
 			return EMPTY;
 		}
 		return results.toArray();
 	}
 
+	/**
+	 * Searches the given containers in order and returns the source elements
+	 * of the first container which has any, or <code>null</code> if none.
+	 */
+	private Object[] findFirst(String name, ISourceContainer[] containers, BitSet searched, List<CoreException> errors) {
+		for (int i = searched.nextSetBit(0); i >= 0; i = searched.nextSetBit(i + 1)) {
+			Object[] objects = find(name, containers[i], errors);
+			if (objects != null) {
+				return objects;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the source elements of the given container, or <code>null</code>
+	 * if it has none or is <code>null</code>.
+	 */
+	private Object[] find(String name, ISourceContainer container, List<CoreException> errors) {
+		if (container != null) {
+			try {
+				Object[] objects = container.findSourceElements(name);
+				if (objects.length > 0) {
+					return objects;
+				}
+			} catch (CoreException e) {
+				errors.add(e);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Searches the given containers concurrently and adds their source
+	 * elements to the results in the order of the containers.
+	 */
+	private void findAll(String name, ISourceContainer[] containers, BitSet searched, List<Object> results, List<CoreException> errors) {
+		List<ISourceContainer> searchedContainers = new ArrayList<>();
+		for (int i = searched.nextSetBit(0); i >= 0; i = searched.nextSetBit(i + 1)) {
+			if (containers[i] != null) {
+				searchedContainers.add(containers[i]);
+			}
+		}
+		if (searchedContainers.size() < 2) {
+			for (ISourceContainer container : searchedContainers) {
+				try {
+					Collections.addAll(results, container.findSourceElements(name));
+				} catch (CoreException e) {
+					errors.add(e);
+				}
+			}
+			return;
+		}
+		List<Callable<Object[]>> tasks = new ArrayList<>(searchedContainers.size());
+		for (ISourceContainer container : searchedContainers) {
+			tasks.add(() -> container.findSourceElements(name));
+		}
+		for (Future<Object[]> future : SourceLookupIndex.invokeAll(tasks)) {
+			try {
+				Collections.addAll(results, future.get());
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof CoreException) {
+					errors.add((CoreException) cause);
+				} else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Returns the source container to search in place of the given source
 	 * container, or <code>null</code> if the given source container is not
@@ -157,5 +274,9 @@ public abstract class AbstractSourceLookupParticipant implements ISourceLookupPa
 
 	@Override
 	public void sourceContainersChanged(ISourceLookupDirector director) {
+		SourceLookupIndex index = SourceLookupIndex.getIndex(director);
+		if (index != null) {
+			index.containersChanged(director.getSourceContainers());
+		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,6 @@ import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -30,6 +29,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.sourcelookup.ISourceContainerType;
+import org.eclipse.debug.internal.core.sourcelookup.ArchiveIndex;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupMessages;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
 
@@ -48,6 +48,7 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 	private boolean fDetectRoots;
 	private Set<String> fPotentialRoots;
 	private List<String> fRoots = new ArrayList<>();
+	private ArchiveIndex fRootsIndex;
 	private String fArchivePath;
 	/**
 	 * Unique identifier for the external archive source container type
@@ -83,68 +84,63 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 	@Override
 	public Object[] findSourceElements(String name) throws CoreException {
 		String newname = name.replace('\\', '/');
-		ZipFile file = getArchive();
-		if (file == null) {
+		ArchiveIndex index = getArchiveIndex();
+		if (index == null) {
 			return EMPTY;
 		}
-		// NOTE: archive can be closed between get (above) and synchronized block (below)
-		synchronized (file) {
-			boolean isQualfied = newname.indexOf('/') > 0;
-			if (fDetectRoots && isQualfied) {
-				ZipEntry entry = searchRoots(file, newname);
-				if (entry != null) {
-					return new Object[]{new ZipEntryStorage(file, entry)};
-				}
-			} else {
-				// try exact match
-				ZipEntry entry = null;
-				try {
-					entry = file.getEntry(newname);
-				} catch (IllegalStateException e) {
-					// archive was closed between retrieving and locking
-					throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
-							e.getMessage(), e));
-				}
-				if (entry != null) {
-					// can't be any duplicates if there is an exact match
-					return new Object[]{new ZipEntryStorage(file, entry)};
-				}
-				// search
-				Enumeration<? extends ZipEntry> entries = file.entries();
-				List<ZipEntryStorage> matches = null;
+		boolean isQualfied = newname.indexOf('/') > 0;
+		ZipEntry entry;
+		List<ZipEntry> matches = null;
+		if (fDetectRoots && isQualfied) {
+			entry = searchRoots(index, newname);
+		} else {
+			// try exact match
+			entry = index.getEntry(newname);
+			if (entry == null) {
+				// search the files with the same simple name
 				try {
 					File zipFile = new File(fArchivePath);
 					String zipFileCanonical = zipFile.getCanonicalPath();
-					while (entries.hasMoreElements()) {
-						entry = entries.nextElement();
-						String entryName = entry.getName();
+					for (ZipEntry candidate : index.getFiles(newname.substring(newname.lastIndexOf('/') + 1))) {
+						String entryName = candidate.getName();
 						if (entryName.endsWith(newname)) {
 							String zipEntryCanonical = (new File(zipFile, entryName)).getCanonicalPath();
 							if (!zipEntryCanonical.startsWith(zipFileCanonical + File.separator)) {
 								throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Invalid path: " + zipEntryCanonical)); //$NON-NLS-1$
 							}
 							if (isQualfied || entryName.length() == newname.length() || entryName.charAt(entryName.length() - newname.length() - 1) == '/') {
-								if (isFindDuplicates()) {
-									if (matches == null) {
-										matches = new ArrayList<>();
-									}
-									matches.add(new ZipEntryStorage(file, entry));
-								} else {
-									return new Object[] {
-											new ZipEntryStorage(file, entry) };
+								if (!isFindDuplicates()) {
+									entry = candidate;
+									break;
 								}
+								if (matches == null) {
+									matches = new ArrayList<>();
+								}
+								matches.add(candidate);
 							}
 						}
 					}
 				} catch (IOException e) {
 					throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Invalid path: " + fArchivePath)); //$NON-NLS-1$
 				}
-				if (matches != null) {
-					return matches.toArray();
-				}
 			}
+			// there can't be any duplicates if there is an exact match
 		}
-		return EMPTY;
+		if (entry == null && matches == null) {
+			return EMPTY;
+		}
+		ZipFile file = getArchive();
+		if (file == null) {
+			return EMPTY;
+		}
+		if (entry != null) {
+			return new Object[] { new ZipEntryStorage(file, entry) };
+		}
+		Object[] sources = new Object[matches.size()];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = new ZipEntryStorage(file, matches.get(i));
+		}
+		return sources;
 	}
 
 	/**
@@ -152,48 +148,24 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 	 * on its type, or <code>null</code> if none. Detects a root if a root has
 	 * not yet been detected for the given file type.
 	 *
-	 * @param file zip file to search in
+	 * @param index index of the archive to search in
 	 * @param name file name
 	 * @return the {@link ZipEntry} with the given name or <code>null</code>
-	 * @exception CoreException if an exception occurs while detecting the root
 	 */
-	private synchronized ZipEntry searchRoots(ZipFile file, String name) throws CoreException {
+	private synchronized ZipEntry searchRoots(ArchiveIndex index, String name) {
 		if (fDisposed) {
 			return null;
 		}
-		if (fPotentialRoots == null) {
-			fPotentialRoots = new HashSet<>();
-			fPotentialRoots.add(""); //$NON-NLS-1$
+		if (fPotentialRoots == null || fRootsIndex != index) {
 			// all potential roots are the directories
-			try {
-				Enumeration<? extends ZipEntry> entries = file.entries();
-				while (entries.hasMoreElements()) {
-					ZipEntry entry = entries.nextElement();
-					if (entry.isDirectory()) {
-						fPotentialRoots.add(entry.getName());
-					} else {
-						String entryName = entry.getName();
-						int index = entryName.lastIndexOf('/');
-						while (index > 0) {
-							if (fPotentialRoots.add(entryName.substring(0, index + 1))) {
-								entryName = entryName.substring(0, index);
-								index = entryName.lastIndexOf('/');
-							} else {
-								break;
-							}
-						}
-					}
-				}
-			} catch (IllegalStateException e) {
-				// archive was closed between retrieving and locking
-				throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
-					e.getMessage(), e));
-			}
+			fPotentialRoots = new HashSet<>(index.getFolders());
+			fRoots.clear();
+			fRootsIndex = index;
 		}
 		int i = 0;
 		while (i < fRoots.size()) {
 			String root = fRoots.get(i);
-			ZipEntry entry = file.getEntry(root+name);
+			ZipEntry entry = index.getEntry(root + name);
 			if (entry != null) {
 				return entry;
 			}
@@ -201,7 +173,7 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 		}
 		if (!fPotentialRoots.isEmpty()) {
 			for (String root : fPotentialRoots) {
-				ZipEntry entry = file.getEntry(root + name);
+				ZipEntry entry = index.getEntry(root + name);
 				if (entry != null) {
 					if (root != null) {
 						fRoots.add(root);
@@ -224,6 +196,24 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 		return null;
 	}
 
+	/**
+	 * Returns the shared index of the archive to search in.
+	 *
+	 * @return the index of the archive or <code>null</code> if disposed
+	 * @throws CoreException if unable to read the archive
+	 */
+	private ArchiveIndex getArchiveIndex() throws CoreException {
+		if (fDisposed) {
+			return null;
+		}
+		try {
+			return ArchiveIndex.getIndex(fArchivePath);
+		} catch (IOException e) {
+			reportArchiveError(e);
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the archive to search in.
 	 * @return the {@link ZipFile} to search in
@@ -237,16 +227,20 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 		try {
 			return SourceLookupUtils.getZipFile(fArchivePath);
 		} catch (IOException e) {
-			File file = new File(fArchivePath);
-			if (file.exists()) {
-				abort(MessageFormat.format(SourceLookupMessages.ExternalArchiveSourceContainer_2, new Object[] { fArchivePath }), e);
-			} else {
-				warn(MessageFormat.format(SourceLookupMessages.ExternalArchiveSourceContainer_1, new Object[] { fArchivePath }), e);
-			}
+			reportArchiveError(e);
 		}
 		return null;
 	}
 
+	private void reportArchiveError(IOException e) throws CoreException {
+		File file = new File(fArchivePath);
+		if (file.exists()) {
+			abort(MessageFormat.format(SourceLookupMessages.ExternalArchiveSourceContainer_2, new Object[] { fArchivePath }), e);
+		} else {
+			warn(MessageFormat.format(SourceLookupMessages.ExternalArchiveSourceContainer_1, new Object[] { fArchivePath }), e);
+		}
+	}
+
 	@Override
 	public String getName() {
 		return fArchivePath;
@@ -286,6 +280,7 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 			fPotentialRoots.clear();
 		}
 		fRoots.clear();
+		fRootsIndex = null;
 		fDisposed = true;
 	}
 }
@@ -22,7 +22,6 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Vector;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -77,9 +76,10 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	private final static int CHANGED = 2;
 
 	/**
-	 * A collection of breakpoints registered with this manager.
+	 * The breakpoints registered with this manager or <code>null</code> if
+	 * breakpoints have not been loaded yet.
 	 */
-	private Vector<IBreakpoint> fBreakpoints;
+	private BreakpointStore fBreakpoints;
 
 	/**
 	 * Map of breakpoint import participants.
@@ -125,13 +125,6 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 */
 	private final HashMap<String, IConfigurationElement> fBreakpointExtensions;
 
-	/**
-	 * Collection of markers that associates markers to breakpoints
-	 * key: a marker
-	 * value: the breakpoint which contains that marker
-	 */
-	private final HashMap<IMarker, IBreakpoint> fMarkersToBreakpoints;
-
 	/**
 	 * Collection of breakpoint listeners.
 	 */
@@ -194,7 +187,7 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 *
 	 * @since 3.5
 	 */
-	static class DefaultImportParticipant implements IBreakpointImportParticipant {
+	public static class DefaultImportParticipant implements IBreakpointImportParticipant {
 
 		@Override
 		public boolean matches(Map<String, Object> attributes, IBreakpoint breakpoint) throws CoreException {
@@ -259,7 +252,6 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * Constructs a new breakpoint manager.
 	 */
 	public BreakpointManager() {
-		fMarkersToBreakpoints = new HashMap<>(10);
 		fBreakpointExtensions = new HashMap<>(15);
 	}
 
@@ -359,9 +351,6 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 			fBreakpoints.clear();
 			fBreakpoints = null;
 		}
-		if(fMarkersToBreakpoints != null) {
-			fMarkersToBreakpoints.clear();
-		}
 	}
 
 	/**
@@ -396,20 +385,12 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 */
 	@Override
 	public IBreakpoint getBreakpoint(IMarker marker) {
-		// ensure that breakpoints are initialized
-		getBreakpoints0();
-		return fMarkersToBreakpoints.get(marker);
+		return getBreakpoints0().getBreakpoint(marker);
 	}
 
 	@Override
 	public IBreakpoint[] getBreakpoints() {
-		IBreakpoint[] temp = new IBreakpoint[0];
-		Vector<IBreakpoint> breakpoints = getBreakpoints0();
-		synchronized (breakpoints) {
-			temp = new IBreakpoint[breakpoints.size()];
-			breakpoints.copyInto(temp);
-		}
-		return temp;
+		return getBreakpoints0().getBreakpoints();
 	}
 
 	/**
@@ -430,9 +411,9 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * The BreakpointManager waits to load the breakpoints
 	 * of the workspace until a request is made to retrieve the
 	 * breakpoints.
-	 * @return the underlying {@link Vector} of breakpoints
+	 * @return the underlying {@link BreakpointStore}
 	 */
-	private synchronized Vector<IBreakpoint> getBreakpoints0() {
+	private synchronized BreakpointStore getBreakpoints0() {
 		if (fBreakpoints == null) {
 			initializeBreakpoints();
 		}
@@ -441,17 +422,41 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 
 	@Override
 	public IBreakpoint[] getBreakpoints(String modelIdentifier) {
-		Vector<IBreakpoint> allBreakpoints = getBreakpoints0();
-		synchronized (allBreakpoints) {
-			ArrayList<IBreakpoint> temp = new ArrayList<>(allBreakpoints.size());
-			for (IBreakpoint breakpoint : allBreakpoints) {
-				String id= breakpoint.getModelIdentifier();
-				if (id != null && id.equals(modelIdentifier)) {
-					temp.add(breakpoint);
-				}
+		IBreakpoint[] candidates = getBreakpoints0().getBreakpoints(modelIdentifier);
+		ArrayList<IBreakpoint> temp = new ArrayList<>(candidates.length);
+		for (IBreakpoint breakpoint : candidates) {
+			// the model identifier is read from the marker, which may be gone
+			String id= breakpoint.getModelIdentifier();
+			if (id != null && id.equals(modelIdentifier)) {
+				temp.add(breakpoint);
 			}
-			return temp.toArray(new IBreakpoint[temp.size()]);
 		}
+		return temp.toArray(new IBreakpoint[temp.size()]);
+	}
+
+	/**
+	 * Returns the breakpoints registered with this manager whose marker is on
+	 * the given resource. Breakpoints of child resources are not included.
+	 *
+	 * @param resource the resource
+	 * @return the breakpoints on the resource, possibly empty
+	 * @since 3.20
+	 */
+	public IBreakpoint[] getBreakpoints(IResource resource) {
+		return getBreakpoints0().getBreakpoints(resource);
+	}
+
+	/**
+	 * Returns the breakpoints registered with this manager whose marker is of
+	 * exactly the given type. Breakpoints with markers of sub types are not
+	 * included.
+	 *
+	 * @param markerType the marker type
+	 * @return the breakpoints with markers of the type, possibly empty
+	 * @since 3.20
+	 */
+	public IBreakpoint[] getBreakpointsOfMarkerType(String markerType) {
+		return getBreakpoints0().getBreakpointsOfMarkerType(markerType);
 	}
 
 	/**
@@ -459,14 +464,14 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * workspace. Start listening to resource deltas.
 	 */
 	private void initializeBreakpoints() {
-		setBreakpoints(new Vector<>(10));
+		fBreakpoints = new BreakpointStore();
 		try {
 			loadBreakpoints(getWorkspace().getRoot(), false);
 			getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_BUILD);
 			getWorkspace().addResourceChangeListener(fPostChangeListener, IResourceChangeEvent.POST_CHANGE);
 		} catch (CoreException ce) {
 			DebugPlugin.log(ce);
-			setBreakpoints(new Vector<>(0));
+			fBreakpoints.clear();
 		}
 	}
 
@@ -493,16 +498,15 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	@Override
 	public void removeBreakpoints(IBreakpoint[] breakpoints, final boolean delete) throws CoreException {
 		final List<IBreakpoint> remove = new ArrayList<>(breakpoints.length);
-		List<IBreakpoint> bps = getBreakpoints0();
+		BreakpointStore bps = getBreakpoints0();
 		for (IBreakpoint breakpoint : breakpoints) {
 			if (bps.contains(breakpoint)) {
 				remove.add(breakpoint);
 			}
 		}
 		if (!remove.isEmpty()) {
+			bps.removeAll(remove);
 			for (IBreakpoint breakpoint : remove) {
-				bps.remove(breakpoint);
-				fMarkersToBreakpoints.remove(breakpoint.getMarker());
 				// If the breakpoint is a trigger point, remove else do nothing.
 				removeTriggerPoint(breakpoint);
 			}
@@ -547,7 +551,7 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * </ol>
 	 */
 	public IBreakpoint createBreakpoint(IMarker marker) throws DebugException {
-		IBreakpoint breakpoint= fMarkersToBreakpoints.get(marker);
+		IBreakpoint breakpoint= getBreakpoints0().getBreakpoint(marker);
 		if (breakpoint != null) {
 			return breakpoint;
 		}
@@ -594,45 +598,50 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * @throws CoreException if a problem is encountered
 	 */
 	private void addBreakpoints(IBreakpoint[] breakpoints, boolean notify) throws CoreException {
+		final BreakpointStore bps = getBreakpoints0();
 		List<IBreakpoint> added = new ArrayList<>(breakpoints.length);
 		final List<IBreakpoint> update = new ArrayList<>();
-		for (IBreakpoint breakpoint : breakpoints) {
-			if (!getBreakpoints0().contains(breakpoint)) {
-				verifyBreakpoint(breakpoint);
-				if (breakpoint.isRegistered()) {
-					// If notify == false, the breakpoints are just being added at startup
-					added.add(breakpoint);
-					getBreakpoints0().add(breakpoint);
-					fMarkersToBreakpoints.put(breakpoint.getMarker(), breakpoint);
-					if (breakpoint instanceof ITriggerPoint && ((ITriggerPoint) breakpoint).isTriggerPoint()) {
-						addTriggerPoint(breakpoint);
-					}
+		Set<IBreakpoint> seen = new HashSet<>();
+		try {
+			for (IBreakpoint breakpoint : breakpoints) {
+				if (!bps.contains(breakpoint) && seen.add(breakpoint)) {
+					verifyBreakpoint(breakpoint);
+					if (breakpoint.isRegistered()) {
+						// If notify == false, the breakpoints are just being added at startup
+						added.add(breakpoint);
+						if (breakpoint instanceof ITriggerPoint && ((ITriggerPoint) breakpoint).isTriggerPoint()) {
+							addTriggerPoint(breakpoint);
+						}
 
-				} else {
-					// need to update the 'registered' and/or 'group' attributes
-					update.add(breakpoint);
+					} else {
+						// need to update the 'registered' and/or 'group' attributes
+						update.add(breakpoint);
+					}
 				}
 			}
+		} finally {
+			// register the breakpoints verified so far in one go
+			bps.addAll(added);
 		}
-		if (notify) {
-			fireUpdate(added, null, ADDED);
-		}
-		if (!update.isEmpty()) {
-			IWorkspaceRunnable r = monitor -> {
-				List<IBreakpoint> bps = getBreakpoints0();
-				for (IBreakpoint breakpoint : update) {
-					bps.add(breakpoint);
-					breakpoint.setRegistered(true);
-					fMarkersToBreakpoints.put(breakpoint.getMarker(), breakpoint);
-				}
-			};
-			// Need to suppress change notification, since this is really
-			// an add notification
-			fSuppressChange.addAll(update);
-			getWorkspace().run(r, null, 0, null);
-			fSuppressChange.removeAll(update);
+		try {
+			if (!update.isEmpty()) {
+				IWorkspaceRunnable r = monitor -> {
+					bps.addAll(update);
+					for (IBreakpoint breakpoint : update) {
+						breakpoint.setRegistered(true);
+					}
+				};
+				// Need to suppress change notification, since this is really
+				// an add notification
+				fSuppressChange.addAll(update);
+				getWorkspace().run(r, null, 0, null);
+				fSuppressChange.removeAll(update);
+				added.addAll(update);
+			}
+		} finally {
+			// a single notification for all breakpoints added by this call
 			if (notify) {
-				fireUpdate(update, null, ADDED);
+				fireUpdate(added, null, ADDED);
 			}
 		}
 	}
@@ -862,9 +871,9 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		private IBreakpoint findMatchingBreakpoint(IMarker marker) {
 			try {
 				Integer line = (Integer) marker.getAttribute(IMarker.LINE_NUMBER);
-				for (IBreakpoint breakpoint : getBreakpoints0()) {
+				for (IBreakpoint breakpoint : getBreakpoints0().getBreakpoints(marker.getResource())) {
 					IMarker bpMarker = breakpoint.getMarker();
-					if (bpMarker != null && marker.getResource().equals(bpMarker.getResource()) && bpMarker.getAttribute(IMarker.LINE_NUMBER, -1) == (line == null ? -1 : line.intValue())) {
+					if (bpMarker != null && bpMarker.getAttribute(IMarker.LINE_NUMBER, -1) == (line == null ? -1 : line.intValue())) {
 						return breakpoint;
 					}
 				}
@@ -910,7 +919,7 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		private void handleProjectResourceOpenStateChange(final IResource project) {
 			if (!project.isAccessible()) {
 				//closed
-				for (@SuppressWarnings("unchecked") IBreakpoint breakpoint : (Vector<IBreakpoint>) getBreakpoints0().clone()) {
+				for (IBreakpoint breakpoint : getBreakpoints0().getBreakpoints()) {
 					IResource markerResource= breakpoint.getMarker().getResource();
 					if (project.getFullPath().isPrefixOf(markerResource.getFullPath())) {
 						fRemoved.add(breakpoint);
@@ -965,10 +974,6 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		getBreakpointsNotifier().notify(bpArray, deltaArray, update);
 	}
 
-	protected void setBreakpoints(Vector<IBreakpoint> breakpoints) {
-		fBreakpoints = breakpoints;
-	}
-
 	/**
 	 * @see IBreakpointManager#hasBreakpoints()
 	 */
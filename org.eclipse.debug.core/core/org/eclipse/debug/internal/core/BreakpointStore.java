@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.model.IBreakpoint;
+
+/**
+ * Copy-on-write store of the breakpoints registered with the breakpoint
+ * manager.
+ * <p>
+ * Readers work on an immutable snapshot and never block. Each modification
+ * builds a new snapshot, so modifications should be done in batches. Besides
+ * the registration order the snapshot indexes breakpoints by marker, debug
+ * model identifier, marker resource and marker type. The index keys of a
+ * breakpoint are recorded when it is added, since its marker may no longer
+ * exist when it is removed.
+ * </p>
+ */
+class BreakpointStore {
+
+	private static final IBreakpoint[] NO_BREAKPOINTS = new IBreakpoint[0];
+
+	/**
+	 * A registered breakpoint and its index keys.
+	 */
+	private static final class Registration {
+		final IBreakpoint breakpoint;
+		final String modelIdentifier;
+		final IResource resource;
+		final String markerType;
+
+		Registration(IBreakpoint breakpoint, IMarker marker) {
+			this.breakpoint = breakpoint;
+			this.modelIdentifier = breakpoint.getModelIdentifier();
+			this.resource = marker.getResource();
+			this.markerType = getMarkerType(marker);
+		}
+	}
+
+	/**
+	 * Immutable state of the store.
+	 */
+	private static final class Snapshot {
+		static final Snapshot EMPTY = new Snapshot(NO_BREAKPOINTS, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+		/** All breakpoints in registration order. */
+		final IBreakpoint[] breakpoints;
+		final Map<IMarker, Registration> byMarker;
+		final Map<String, IBreakpoint[]> byModel;
+		final Map<IResource, IBreakpoint[]> byResource;
+		final Map<String, IBreakpoint[]> byMarkerType;
+
+		Snapshot(IBreakpoint[] breakpoints, Map<IMarker, Registration> byMarker, Map<String, IBreakpoint[]> byModel, Map<IResource, IBreakpoint[]> byResource, Map<String, IBreakpoint[]> byMarkerType) {
+			this.breakpoints = breakpoints;
+			this.byMarker = byMarker;
+			this.byModel = byModel;
+			this.byResource = byResource;
+			this.byMarkerType = byMarkerType;
+		}
+	}
+
+	private volatile Snapshot fSnapshot = Snapshot.EMPTY;
+
+	/**
+	 * Returns all breakpoints in registration order.
+	 *
+	 * @return a new array of all breakpoints
+	 */
+	IBreakpoint[] getBreakpoints() {
+		return fSnapshot.breakpoints.clone();
+	}
+
+	/**
+	 * Returns the breakpoints of a debug model.
+	 *
+	 * @param modelIdentifier the debug model identifier
+	 * @return a new array of the model's breakpoints
+	 */
+	IBreakpoint[] getBreakpoints(String modelIdentifier) {
+		return get(fSnapshot.byModel, modelIdentifier);
+	}
+
+	/**
+	 * Returns the breakpoints whose marker is on a resource.
+	 *
+	 * @param resource the resource
+	 * @return a new array of the resource's breakpoints
+	 */
+	IBreakpoint[] getBreakpoints(IResource resource) {
+		return get(fSnapshot.byResource, resource);
+	}
+
+	/**
+	 * Returns the breakpoints whose marker has exactly the given type.
+	 *
+	 * @param markerType the marker type
+	 * @return a new array of the breakpoints with that marker type
+	 */
+	IBreakpoint[] getBreakpointsOfMarkerType(String markerType) {
+		return get(fSnapshot.byMarkerType, markerType);
+	}
+
+	/**
+	 * Returns the breakpoint of a marker.
+	 *
+	 * @param marker the marker
+	 * @return the breakpoint or <code>null</code> if none is registered for the
+	 *         marker
+	 */
+	IBreakpoint getBreakpoint(IMarker marker) {
+		Registration registration = fSnapshot.byMarker.get(marker);
+		return registration == null ? null : registration.breakpoint;
+	}
+
+	/**
+	 * Checks whether a breakpoint is registered.
+	 *
+	 * @param breakpoint the breakpoint
+	 * @return <code>true</code> if the breakpoint is in this store
+	 */
+	boolean contains(IBreakpoint breakpoint) {
+		IMarker marker = breakpoint.getMarker();
+		if (marker == null) {
+			return false;
+		}
+		Registration registered = fSnapshot.byMarker.get(marker);
+		return registered != null && breakpoint.equals(registered.breakpoint);
+	}
+
+	/**
+	 * @return <code>true</code> if no breakpoint is registered
+	 */
+	boolean isEmpty() {
+		return fSnapshot.breakpoints.length == 0;
+	}
+
+	/**
+	 * Adds breakpoints which are not yet in this store.
+	 *
+	 * @param breakpoints the breakpoints to add
+	 */
+	synchronized void addAll(Collection<IBreakpoint> breakpoints) {
+		Snapshot old = fSnapshot;
+		Map<IMarker, Registration> byMarker = new HashMap<>(old.byMarker);
+		List<Registration> added = new ArrayList<>(breakpoints.size());
+		for (IBreakpoint breakpoint : breakpoints) {
+			IMarker marker = breakpoint.getMarker();
+			if (marker != null && !byMarker.containsKey(marker)) {
+				Registration registration = new Registration(breakpoint, marker);
+				byMarker.put(marker, registration);
+				added.add(registration);
+			}
+		}
+		if (added.isEmpty()) {
+			return;
+		}
+		IBreakpoint[] all = Arrays.copyOf(old.breakpoints, old.breakpoints.length + added.size());
+		for (int i = 0; i < added.size(); i++) {
+			all[old.breakpoints.length + i] = added.get(i).breakpoint;
+		}
+		fSnapshot = new Snapshot(all, byMarker,
+				add(old.byModel, added, r -> r.modelIdentifier),
+				add(old.byResource, added, r -> r.resource),
+				add(old.byMarkerType, added, r -> r.markerType));
+	}
+
+	/**
+	 * Removes breakpoints.
+	 *
+	 * @param breakpoints the breakpoints to remove
+	 */
+	synchronized void removeAll(Collection<IBreakpoint> breakpoints) {
+		Snapshot old = fSnapshot;
+		Map<IMarker, Registration> byMarker = new HashMap<>(old.byMarker);
+		Map<IBreakpoint, Registration> removed = new LinkedHashMap<>();
+		for (IBreakpoint breakpoint : breakpoints) {
+			IMarker marker = breakpoint.getMarker();
+			Registration registered = marker == null ? null : byMarker.get(marker);
+			if (registered != null && breakpoint.equals(registered.breakpoint)) {
+				byMarker.remove(marker);
+				removed.put(registered.breakpoint, registered);
+			}
+		}
+		if (removed.isEmpty()) {
+			return;
+		}
+		Set<IBreakpoint> gone = removed.keySet();
+		Collection<Registration> registrations = removed.values();
+		fSnapshot = new Snapshot(without(old.breakpoints, gone), byMarker,
+				remove(old.byModel, registrations, gone, r -> r.modelIdentifier),
+				remove(old.byResource, registrations, gone, r -> r.resource),
+				remove(old.byMarkerType, registrations, gone, r -> r.markerType));
+	}
+
+	/**
+	 * Removes all breakpoints.
+	 */
+	synchronized void clear() {
+		fSnapshot = Snapshot.EMPTY;
+	}
+
+	private static <K> IBreakpoint[] get(Map<K, IBreakpoint[]> index, K key) {
+		IBreakpoint[] breakpoints = key == null ? null : index.get(key);
+		return breakpoints == null ? NO_BREAKPOINTS : breakpoints.clone();
+	}
+
+	private static <K> Map<K, IBreakpoint[]> add(Map<K, IBreakpoint[]> index, List<Registration> added, Function<Registration, K> keyFunction) {
+		Map<K, List<IBreakpoint>> groups = group(added, keyFunction);
+		if (groups.isEmpty()) {
+			return index;
+		}
+		Map<K, IBreakpoint[]> copy = new HashMap<>(index);
+		for (Entry<K, List<IBreakpoint>> group : groups.entrySet()) {
+			IBreakpoint[] existing = copy.getOrDefault(group.getKey(), NO_BREAKPOINTS);
+			IBreakpoint[] merged = Arrays.copyOf(existing, existing.length + group.getValue().size());
+			for (int i = 0; i < group.getValue().size(); i++) {
+				merged[existing.length + i] = group.getValue().get(i);
+			}
+			copy.put(group.getKey(), merged);
+		}
+		return copy;
+	}
+
+	private static <K> Map<K, IBreakpoint[]> remove(Map<K, IBreakpoint[]> index, Collection<Registration> registrations, Set<IBreakpoint> removed, Function<Registration, K> keyFunction) {
+		Map<K, IBreakpoint[]> copy = new HashMap<>(index);
+		for (K key : group(registrations, keyFunction).keySet()) {
+			IBreakpoint[] remaining = without(copy.get(key), removed);
+			if (remaining.length == 0) {
+				copy.remove(key);
+			} else {
+				copy.put(key, remaining);
+			}
+		}
+		return copy;
+	}
+
+	private static <K> Map<K, List<IBreakpoint>> group(Collection<Registration> registrations, Function<Registration, K> keyFunction) {
+		Map<K, List<IBreakpoint>> groups = new LinkedHashMap<>();
+		for (Registration registration : registrations) {
+			K key = keyFunction.apply(registration);
+			if (key != null) {
+				groups.computeIfAbsent(key, k -> new ArrayList<>()).add(registration.breakpoint);
+			}
+		}
+		return groups;
+	}
+
+	private static IBreakpoint[] without(IBreakpoint[] breakpoints, Set<IBreakpoint> removed) {
+		if (breakpoints == null) {
+			return NO_BREAKPOINTS;
+		}
+		List<IBreakpoint> remaining = new ArrayList<>(breakpoints.length);
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (!removed.contains(breakpoint)) {
+				remaining.add(breakpoint);
+			}
+		}
+		return remaining.toArray(NO_BREAKPOINTS);
+	}
+
+	private static String getMarkerType(IMarker marker) {
+		try {
+			return marker.getType();
+		} catch (CoreException e) {
+			// marker no longer exists
+			return null;
+		}
+	}
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Append-only byte storage made of fixed size chunks. Unlike a
+ * {@link java.io.ByteArrayOutputStream} the content is never copied to grow
+ * the storage.
+ * <p>
+ * The storage may be bounded by a capacity. Once the capacity is exceeded the
+ * oldest bytes are discarded. Positions are absolute, i.e. they count all
+ * bytes ever appended, including discarded ones.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @since 3.20
+ */
+class ChunkedByteStore {
+
+	/**
+	 * Receives consecutive ranges of stored content.
+	 */
+	interface ChunkVisitor {
+		/**
+		 * @param chunk chunk holding the content
+		 * @param offset start of the content in the chunk
+		 * @param length number of content bytes
+		 */
+		void visit(byte[] chunk, int offset, int length);
+	}
+
+	/**
+	 * The size of a chunk.
+	 */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * The initial size of the first chunk.
+	 */
+	private static final int MIN_CHUNK_SIZE = 256;
+
+	private final Deque<byte[]> fChunks = new ArrayDeque<>();
+
+	/**
+	 * Offset of the first retained byte in the first chunk.
+	 */
+	private int fFirstChunkOffset;
+
+	/**
+	 * Number of used bytes in the last chunk.
+	 */
+	private int fLastChunkLength;
+
+	/**
+	 * Absolute position of the first retained byte.
+	 */
+	private long fStart;
+
+	/**
+	 * Absolute position after the last appended byte.
+	 */
+	private long fEnd;
+
+	/**
+	 * Maximum number of retained bytes or <code>-1</code> if unbounded.
+	 */
+	private long fCapacity = -1;
+
+	/**
+	 * Appends the given bytes.
+	 *
+	 * @param data the data
+	 * @param offset start of the data to append
+	 * @param length number of bytes to append
+	 * @return number of old bytes discarded to respect the capacity
+	 */
+	long append(byte[] data, int offset, int length) {
+		if (fCapacity >= 0 && length > fCapacity) {
+			// only the tail of the data will be retained anyway
+			int skip = (int) (length - fCapacity);
+			long dropped = size() + skip;
+			reset();
+			fStart += skip;
+			fEnd = fStart;
+			offset += skip;
+			length -= skip;
+			append(data, offset, length);
+			return dropped;
+		}
+		fEnd += length;
+		while (length > 0) {
+			byte[] chunk = fChunks.peekLast();
+			if (chunk == null || fLastChunkLength == chunk.length) {
+				chunk = nextChunk(length);
+			}
+			int count = Math.min(length, chunk.length - fLastChunkLength);
+			System.arraycopy(data, offset, chunk, fLastChunkLength, count);
+			fLastChunkLength += count;
+			offset += count;
+			length -= count;
+		}
+		return trim();
+	}
+
+	/**
+	 * Returns the chunk to append to once the last chunk is full.
+	 *
+	 * @param required number of bytes still to append
+	 * @return a chunk with free space
+	 */
+	private byte[] nextChunk(int required) {
+		if (fChunks.size() == 1 && fChunks.peekFirst().length < CHUNK_SIZE) {
+			// a single small chunk grows instead, short output should not
+			// occupy a whole chunk
+			byte[] grown = Arrays.copyOf(fChunks.pollFirst(), Math.min(CHUNK_SIZE, Math.max(fLastChunkLength * 2, fLastChunkLength + required)));
+			fChunks.addFirst(grown);
+			return grown;
+		}
+		byte[] chunk = new byte[fChunks.isEmpty() ? Math.min(CHUNK_SIZE, Math.max(required, MIN_CHUNK_SIZE)) : CHUNK_SIZE];
+		fChunks.addLast(chunk);
+		fLastChunkLength = 0;
+		return chunk;
+	}
+
+	/**
+	 * Sets the maximum number of retained bytes. Content exceeding the new
+	 * capacity is discarded.
+	 *
+	 * @param capacity maximum number of retained bytes or a negative value
+	 *            for unbounded
+	 * @return number of bytes discarded
+	 */
+	long setCapacity(long capacity) {
+		fCapacity = capacity < 0 ? -1 : capacity;
+		return trim();
+	}
+
+	/**
+	 * Discards the oldest bytes exceeding the capacity.
+	 *
+	 * @return number of bytes discarded
+	 */
+	private long trim() {
+		if (fCapacity < 0 || size() <= fCapacity) {
+			return 0;
+		}
+		long excess = size() - fCapacity;
+		long dropped = excess;
+		while (excess > 0) {
+			byte[] first = fChunks.peekFirst();
+			int used = (fChunks.size() == 1 ? fLastChunkLength : first.length) - fFirstChunkOffset;
+			if (used <= excess && fChunks.size() > 1) {
+				fChunks.pollFirst();
+				fFirstChunkOffset = 0;
+				excess -= used;
+			} else {
+				fFirstChunkOffset += (int) excess;
+				excess = 0;
+			}
+		}
+		fStart += dropped;
+		return dropped;
+	}
+
+	/**
+	 * @return the number of retained bytes
+	 */
+	long size() {
+		return fEnd - fStart;
+	}
+
+	/**
+	 * @return the absolute position of the first retained byte
+	 */
+	long start() {
+		return fStart;
+	}
+
+	/**
+	 * @return the absolute position after the last appended byte
+	 */
+	long end() {
+		return fEnd;
+	}
+
+	/**
+	 * Passes the retained content starting at the given absolute position to
+	 * the given visitor.
+	 *
+	 * @param from position of the first byte to visit
+	 * @param visitor receives the content
+	 */
+	void visit(long from, ChunkVisitor visitor) {
+		long chunkStart = fStart - fFirstChunkOffset;
+		int minOffset = fFirstChunkOffset;
+		Iterator<byte[]> chunks = fChunks.iterator();
+		while (chunks.hasNext()) {
+			byte[] chunk = chunks.next();
+			int used = chunks.hasNext() ? chunk.length : fLastChunkLength;
+			int offset = (int) Math.max(minOffset, Math.min(used, from - chunkStart));
+			if (offset < used) {
+				visitor.visit(chunk, offset, used - offset);
+			}
+			chunkStart += used;
+			minOffset = 0;
+		}
+	}
+
+	/**
+	 * @return a copy of the retained content
+	 */
+	byte[] toByteArray() {
+		byte[] result = new byte[(int) size()];
+		int[] position = new int[1];
+		visit(fStart, (chunk, offset, length) -> {
+			System.arraycopy(chunk, offset, result, position[0], length);
+			position[0] += length;
+		});
+		return result;
+	}
+
+	/**
+	 * Discards the retained content.
+	 */
+	void reset() {
+		fChunks.clear();
+		fFirstChunkOffset = 0;
+		fLastChunkLength = 0;
+		fStart = fEnd;
+	}
+}
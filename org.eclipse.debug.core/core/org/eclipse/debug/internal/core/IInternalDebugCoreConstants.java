@@ -44,4 +44,32 @@ public interface IInternalDebugCoreConstants {
 	 */
 	String PREF_BREAKPOINT_MANAGER_ENABLED_STATE =  DebugPlugin.getUniqueIdentifier() + ".PREF_BREAKPOINT_MANAGER_ENABLED_STATE"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether the streams of system processes
+	 * are read and written by threads shared by all processes instead of
+	 * dedicated threads per stream. Default value is <code>true</code>.
+	 *
+	 * @since 3.20
+	 */
+	String PREF_SHARED_PROCESS_IO_THREADS = DebugPlugin.getUniqueIdentifier() + ".PREF_SHARED_PROCESS_IO_THREADS"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the parsed content of launch
+	 * configuration files is cached in the plug-in state location, so
+	 * unchanged files need not be parsed again after a restart. Default value
+	 * is <code>true</code>.
+	 *
+	 * @since 3.20
+	 */
+	String PREF_LAUNCH_CONFIGURATION_CACHE = DebugPlugin.getUniqueIdentifier() + ".PREF_LAUNCH_CONFIGURATION_CACHE"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether source lookup directors index
+	 * the file names of their source containers to skip containers which
+	 * cannot contain a requested file. Default value is <code>true</code>.
+	 *
+	 * @since 3.20
+	 */
+	String PREF_INDEX_SOURCE_LOOKUP = DebugPlugin.getUniqueIdentifier() + ".PREF_INDEX_SOURCE_LOOKUP"; //$NON-NLS-1$
+
 }
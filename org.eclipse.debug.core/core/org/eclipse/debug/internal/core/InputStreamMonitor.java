@@ -18,7 +18,8 @@ package org.eclipse.debug.internal.core;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.Vector;
+import java.util.ArrayDeque;
+import java.util.Queue;
 
 import org.eclipse.debug.core.DebugPlugin;
 
@@ -26,7 +27,8 @@ import org.eclipse.debug.core.DebugPlugin;
  * Writes to the input stream of a system process, queuing output if the stream
  * is blocked.
  *
- * The input stream monitor writes to system in via an output stream.
+ * The input stream monitor writes to system in via an output stream. Writing
+ * is done by a task which only runs while there is queued output.
  */
 public class InputStreamMonitor {
 
@@ -38,22 +40,40 @@ public class InputStreamMonitor {
 	/**
 	 * The queue of output.
 	 */
-	private Vector<byte[]> fQueue;
+	private Queue<byte[]> fQueue;
 
 	/**
-	 * The thread which writes to the stream.
+	 * A lock for ensuring that writes to the queue are contiguous. Also guards
+	 * the state of the writing task.
 	 */
-	private Thread fThread;
+	private Object fLock;
 
 	/**
-	 * A lock for ensuring that writes to the queue are contiguous
+	 * Strategy to run the writing task.
 	 */
-	private Object fLock;
+	private final ProcessIOExecutor fExecutor;
+
+	/**
+	 * Name of the thread while it writes to the stream, or <code>null</code>
+	 * if not monitoring.
+	 */
+	private String fThreadName;
+
+	/**
+	 * Whether a task writing the queue is scheduled or running.
+	 */
+	private boolean fWriting = false;
+
+	/**
+	 * Whether monitoring was stopped and the writing task has to close the
+	 * stream.
+	 */
+	private boolean fStopped = false;
 
 	/**
 	 * Whether the underlying output stream has been closed
 	 */
-	private boolean fClosed = false;
+	private volatile boolean fClosed = false;
 
 	/**
 	 * The charset of the input stream.
@@ -77,10 +97,23 @@ public class InputStreamMonitor {
 	 * @param charset stream charset or <code>null</code> for system default
 	 */
 	public InputStreamMonitor(OutputStream stream, Charset charset) {
+		this(stream, charset, ProcessIOExecutor.getDefault());
+	}
+
+	/**
+	 * Creates an input stream monitor which writes to system in via the given
+	 * output stream.
+	 *
+	 * @param stream output stream
+	 * @param charset stream charset or <code>null</code> for system default
+	 * @param executor strategy to run the task writing the stream
+	 */
+	public InputStreamMonitor(OutputStream stream, Charset charset, ProcessIOExecutor executor) {
 		fStream = stream;
-		fQueue = new Vector<>();
+		fQueue = new ArrayDeque<>();
 		fLock = new Object();
 		fCharset = charset;
+		fExecutor = executor;
 	}
 
 	/**
@@ -106,7 +139,7 @@ public class InputStreamMonitor {
 	public void write(String text) {
 		synchronized (fLock) {
 			fQueue.add(fCharset == null ? text.getBytes() : text.getBytes(fCharset));
-			fLock.notifyAll();
+			scheduleWrite();
 		}
 	}
 
@@ -123,7 +156,7 @@ public class InputStreamMonitor {
 			byte[] copy = new byte[length];
 			System.arraycopy(data, offset, copy, 0, length);
 			fQueue.add(copy);
-			fLock.notifyAll();
+			scheduleWrite();
 		}
 	}
 
@@ -132,16 +165,16 @@ public class InputStreamMonitor {
 	}
 
 	/**
-	 * Starts a thread which writes the stream.
+	 * Starts writing queued and future output to the stream.
 	 *
 	 * @param threadName Thread name
 	 */
 	public void startMonitoring(String threadName) {
-		synchronized (this) {
-			if (fThread == null) {
-				fThread = new Thread((Runnable) this::write, threadName);
-				fThread.setDaemon(true);
-				fThread.start();
+		synchronized (fLock) {
+			if (fThreadName == null) {
+				fThreadName = threadName;
+				fStopped = false;
+				scheduleWrite();
 			}
 		}
 	}
@@ -151,39 +184,55 @@ public class InputStreamMonitor {
 	 * monitor and the underlying stream.
 	 */
 	public void close() {
-		Thread thread = null;
-		synchronized (this) {
-			thread = fThread;
-			fThread = null;
-		}
-		if (thread != null) {
-			thread.interrupt();
+		synchronized (fLock) {
+			if (fThreadName != null) {
+				fStopped = true;
+				// the writing task closes the stream
+				execute();
+				fThreadName = null;
+			}
 		}
 	}
 
 	/**
-	 * Continuously writes to the stream.
+	 * Schedules the writing task if monitoring and output is queued. Must be
+	 * called while holding {@link #fLock}.
 	 */
-	protected void write() {
-		while (fThread != null) {
-			writeNext();
+	private void scheduleWrite() {
+		if (fThreadName != null && !fQueue.isEmpty()) {
+			execute();
 		}
-		if (!fClosed) {
-			try {
-				fStream.close();
-			} catch (IOException e) {
-				DebugPlugin.log(e);
-			}
+	}
+
+	/**
+	 * Schedules the writing task unless it is already scheduled. Must be
+	 * called while holding {@link #fLock}.
+	 */
+	private void execute() {
+		if (!fWriting) {
+			fWriting = true;
+			fExecutor.execute(fThreadName, Thread.NORM_PRIORITY, this::write);
 		}
 	}
 
 	/**
-	 * Write the text in the queue to the stream.
+	 * Writes the queued output to the stream. Closes the stream if monitoring
+	 * was stopped.
 	 */
-	protected void writeNext() {
-		while (!fQueue.isEmpty() && !fClosed) {
-			byte[] data = fQueue.firstElement();
-			fQueue.removeElementAt(0);
+	protected void write() {
+		while (true) {
+			byte[] data;
+			synchronized (fLock) {
+				data = fStopped || fClosed ? null : fQueue.poll();
+				if (data == null) {
+					fWriting = false;
+					if (!fStopped) {
+						return;
+					}
+					fStopped = false;
+					break;
+				}
+			}
 			try {
 				fStream.write(data);
 				fStream.flush();
@@ -191,15 +240,12 @@ public class InputStreamMonitor {
 				DebugPlugin.log(e);
 			}
 		}
-		try {
-			synchronized(fLock) {
-				// Queue could receive more input between last empty check and
-				// lock acquire. See https://bugs.eclipse.org/550834
-				if (fQueue.isEmpty()) {
-					fLock.wait();
-				}
+		if (!fClosed) {
+			try {
+				fStream.close();
+			} catch (IOException e) {
+				DebugPlugin.log(e);
 			}
-		} catch (InterruptedException e) {
 		}
 	}
 
@@ -220,4 +266,3 @@ public class InputStreamMonitor {
 
 	}
 }
-
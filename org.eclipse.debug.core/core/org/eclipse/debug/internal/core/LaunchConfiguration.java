@@ -910,14 +910,7 @@ public class LaunchConfiguration extends PlatformObject implements ILaunchConfig
 
 	@Override
 	public Collection<ILaunchConfiguration> getPrototypeChildren() throws CoreException {
-		ILaunchConfiguration[] configurations = getLaunchManager().getLaunchConfigurations(getType());
-		List<ILaunchConfiguration> proteges = new ArrayList<>();
-		for (ILaunchConfiguration config : configurations) {
-			if (this.equals(config.getPrototype())) {
-				proteges.add(config);
-			}
-		}
-		return proteges;
+		return getLaunchManager().getPrototypeChildren(this);
 	}
 
 	@Override
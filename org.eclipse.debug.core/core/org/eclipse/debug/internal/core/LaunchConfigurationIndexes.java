@@ -0,0 +1,313 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+
+/**
+ * Secondary indexes over all launch configurations of the launch manager, so
+ * configurations of a type, stored in a project, mapped to a resource or
+ * derived from a prototype are found without visiting every configuration.
+ * <p>
+ * Added configurations are indexed by their attributes on the next query.
+ * Configurations whose attributes cannot be read stay unresolved and are
+ * checked individually by every query, which then reports problems the same
+ * way a full scan does.
+ * </p>
+ * <p>
+ * Not thread safe. Access is guarded by the launch manager.
+ * </p>
+ */
+class LaunchConfigurationIndexes {
+
+	/**
+	 * Attribute derived keys a configuration is indexed by.
+	 */
+	private static final class IndexEntry {
+		final String typeId;
+		final String[] mappedPaths;
+		final ILaunchConfiguration prototype;
+
+		IndexEntry(String typeId, String[] mappedPaths, ILaunchConfiguration prototype) {
+			this.typeId = typeId;
+			this.mappedPaths = mappedPaths;
+			this.prototype = prototype;
+		}
+	}
+
+	/** Configurations stored as resources by project. */
+	private final Map<IProject, Set<ILaunchConfiguration>> fByProject = new HashMap<>();
+
+	/** Configurations by type identifier. */
+	private final Map<String, Set<ILaunchConfiguration>> fByType = new HashMap<>();
+
+	/** Configurations by full path of their mapped resources, sorted for prefix queries. */
+	private final TreeMap<String, Set<ILaunchConfiguration>> fByMappedPath = new TreeMap<>();
+
+	/** Configurations by their prototype. */
+	private final Map<ILaunchConfiguration, Set<ILaunchConfiguration>> fByPrototype = new HashMap<>();
+
+	/** Keys of indexed configurations. */
+	private final Map<ILaunchConfiguration, IndexEntry> fEntries = new HashMap<>();
+
+	/** Configurations added since the last query. */
+	private final Set<ILaunchConfiguration> fPending = new LinkedHashSet<>();
+
+	/** Configurations whose attributes could not be read. */
+	private final Set<ILaunchConfiguration> fUnresolved = new LinkedHashSet<>();
+
+	/**
+	 * Adds a configuration. Does nothing if the configuration is already
+	 * indexed.
+	 *
+	 * @param config the configuration
+	 */
+	void add(ILaunchConfiguration config) {
+		if (fEntries.containsKey(config) || fUnresolved.contains(config) || !fPending.add(config)) {
+			return;
+		}
+		IFile file = config.getFile();
+		if (file != null) {
+			put(fByProject, file.getProject(), config);
+		}
+	}
+
+	/**
+	 * Removes a configuration.
+	 *
+	 * @param config the configuration
+	 */
+	void remove(ILaunchConfiguration config) {
+		boolean known = fPending.remove(config) | fUnresolved.remove(config);
+		IndexEntry entry = fEntries.remove(config);
+		if (entry == null && !known) {
+			return;
+		}
+		IFile file = config.getFile();
+		if (file != null) {
+			remove(fByProject, file.getProject(), config);
+		}
+		if (entry != null) {
+			remove(fByType, entry.typeId, config);
+			for (String path : entry.mappedPaths) {
+				remove(fByMappedPath, path, config);
+			}
+			if (entry.prototype != null) {
+				remove(fByPrototype, entry.prototype, config);
+			}
+		}
+	}
+
+	/**
+	 * Returns the configurations of a type.
+	 *
+	 * @param type the type
+	 * @param kinds bit mask of the kinds of configurations to return
+	 * @return matching configurations
+	 * @throws CoreException if the type of an unresolved configuration cannot
+	 *             be determined
+	 */
+	List<ILaunchConfiguration> getConfigurations(ILaunchConfigurationType type, int kinds) throws CoreException {
+		resolvePending();
+		List<ILaunchConfiguration> configs = new ArrayList<>();
+		for (ILaunchConfiguration config : get(fByType, type.getIdentifier())) {
+			if ((config.getKind() & kinds) > 0) {
+				configs.add(config);
+			}
+		}
+		for (ILaunchConfiguration config : fUnresolved) {
+			if (config.getType().equals(type) && ((config.getKind() & kinds) > 0)) {
+				configs.add(config);
+			}
+		}
+		return configs;
+	}
+
+	/**
+	 * Returns the configurations stored as resources in a project.
+	 *
+	 * @param project the project
+	 * @return configurations stored in the project
+	 */
+	List<ILaunchConfiguration> getConfigurations(IProject project) {
+		return new ArrayList<>(get(fByProject, project));
+	}
+
+	/**
+	 * Returns the configurations derived from a prototype.
+	 *
+	 * @param prototype the prototype
+	 * @return configurations of the prototype's type which use it as prototype
+	 * @throws CoreException if the type of the prototype or of an unresolved
+	 *             configuration cannot be determined
+	 */
+	List<ILaunchConfiguration> getPrototypeChildren(ILaunchConfiguration prototype) throws CoreException {
+		resolvePending();
+		ILaunchConfigurationType type = prototype.getType();
+		List<ILaunchConfiguration> children = new ArrayList<>();
+		for (ILaunchConfiguration config : get(fByPrototype, prototype)) {
+			if (fEntries.get(config).typeId.equals(type.getIdentifier()) && (config.getKind() & ILaunchConfiguration.CONFIGURATION) > 0) {
+				children.add(config);
+			}
+		}
+		for (ILaunchConfiguration config : fUnresolved) {
+			if (config.getType().equals(type) && (config.getKind() & ILaunchConfiguration.CONFIGURATION) > 0 && prototype.equals(config.getPrototype())) {
+				children.add(config);
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Returns the configurations mapped to a resource. For a project this
+	 * includes configurations mapped to files of the project.
+	 *
+	 * @param resource the resource
+	 * @return configurations mapped to the resource
+	 */
+	List<ILaunchConfiguration> getMappedConfigurations(IResource resource) {
+		resolvePending();
+		Set<ILaunchConfiguration> candidates = new LinkedHashSet<>();
+		String path = resource.getFullPath().toString();
+		if (resource.getType() == IResource.PROJECT) {
+			addWithPathPrefix(candidates, path);
+		} else {
+			candidates.addAll(get(fByMappedPath, path));
+		}
+		candidates.addAll(fUnresolved);
+		List<ILaunchConfiguration> configs = new ArrayList<>();
+		for (ILaunchConfiguration config : candidates) {
+			try {
+				IResource[] resources = config.getMappedResources();
+				if (resources != null) {
+					for (IResource res : resources) {
+						if (res.equals(resource) || (resource.getType() == IResource.PROJECT && res.getType() == IResource.FILE && res.getProject().equals(resource))) {
+							configs.add(config);
+							break;
+						}
+					}
+				}
+			} catch (CoreException ce) {
+				DebugPlugin.log(ce);
+			}
+		}
+		return configs;
+	}
+
+	/**
+	 * Returns the local configurations (not prototypes) mapped to a resource or
+	 * to a resource below it.
+	 *
+	 * @param resource the resource
+	 * @return configurations mapped to the resource or its descendants
+	 * @throws CoreException if the mapped resources of a configuration cannot
+	 *             be determined
+	 */
+	List<ILaunchConfiguration> getAssociatedConfigurations(IResource resource) throws CoreException {
+		resolvePending();
+		Set<ILaunchConfiguration> candidates = new LinkedHashSet<>();
+		addWithPathPrefix(candidates, resource.getFullPath().toString());
+		candidates.addAll(fUnresolved);
+		List<ILaunchConfiguration> configs = new ArrayList<>();
+		for (ILaunchConfiguration config : candidates) {
+			if ((config.getKind() & ILaunchConfiguration.CONFIGURATION) > 0 && config.isLocal()) {
+				IResource[] resources = config.getMappedResources();
+				if (resources != null) {
+					for (IResource res : resources) {
+						if (resource.equals(res) || resource.getFullPath().isPrefixOf(res.getFullPath())) {
+							configs.add(config);
+							break;
+						}
+					}
+				}
+			}
+		}
+		return configs;
+	}
+
+	/**
+	 * Adds all configurations mapped to a path starting with the given
+	 * string. The caller must check the actual resources.
+	 */
+	private void addWithPathPrefix(Set<ILaunchConfiguration> configs, String prefix) {
+		for (Set<ILaunchConfiguration> mapped : fByMappedPath.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+			configs.addAll(mapped);
+		}
+	}
+
+	/**
+	 * Reads the attributes of all configurations added since the last query
+	 * and indexes them.
+	 */
+	private void resolvePending() {
+		if (fPending.isEmpty()) {
+			return;
+		}
+		for (ILaunchConfiguration config : fPending) {
+			IndexEntry entry;
+			try {
+				IResource[] resources = config.getMappedResources();
+				String[] paths = new String[resources == null ? 0 : resources.length];
+				for (int i = 0; i < paths.length; i++) {
+					paths[i] = resources[i].getFullPath().toString();
+				}
+				entry = new IndexEntry(config.getType().getIdentifier(), paths, config.getPrototype());
+			} catch (CoreException e) {
+				fUnresolved.add(config);
+				continue;
+			}
+			fEntries.put(config, entry);
+			put(fByType, entry.typeId, config);
+			for (String path : entry.mappedPaths) {
+				put(fByMappedPath, path, config);
+			}
+			if (entry.prototype != null) {
+				put(fByPrototype, entry.prototype, config);
+			}
+		}
+		fPending.clear();
+	}
+
+	private static <K> void put(Map<K, Set<ILaunchConfiguration>> index, K key, ILaunchConfiguration config) {
+		index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(config);
+	}
+
+	private static <K> void remove(Map<K, Set<ILaunchConfiguration>> index, K key, ILaunchConfiguration config) {
+		Set<ILaunchConfiguration> configs = index.get(key);
+		if (configs != null && configs.remove(config) && configs.isEmpty()) {
+			index.remove(key);
+		}
+	}
+
+	private static <K> Collection<ILaunchConfiguration> get(Map<K, Set<ILaunchConfiguration>> index, K key) {
+		Set<ILaunchConfiguration> configs = index.get(key);
+		return configs == null ? Collections.emptySet() : configs;
+	}
+}
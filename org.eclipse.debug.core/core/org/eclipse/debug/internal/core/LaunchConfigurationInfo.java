@@ -53,21 +53,21 @@ public class LaunchConfigurationInfo {
 	/**
 	 * Constants for XML element names and attributes
 	 */
-	private static final String KEY = "key"; //$NON-NLS-1$
-	private static final String VALUE = "value"; //$NON-NLS-1$
-	private static final String SET_ENTRY = "setEntry"; //$NON-NLS-1$
-	private static final String LAUNCH_CONFIGURATION = "launchConfiguration"; //$NON-NLS-1$
-	private static final String MAP_ENTRY = "mapEntry"; //$NON-NLS-1$
-	private static final String LIST_ENTRY = "listEntry"; //$NON-NLS-1$
-	private static final String SET_ATTRIBUTE = "setAttribute"; //$NON-NLS-1$
-	private static final String MAP_ATTRIBUTE = "mapAttribute"; //$NON-NLS-1$
-	private static final String LIST_ATTRIBUTE = "listAttribute"; //$NON-NLS-1$
-	private static final String BOOLEAN_ATTRIBUTE = "booleanAttribute"; //$NON-NLS-1$
-	private static final String INT_ATTRIBUTE = "intAttribute"; //$NON-NLS-1$
-	private static final String STRING_ATTRIBUTE = "stringAttribute"; //$NON-NLS-1$
-	private static final String TYPE = "type"; //$NON-NLS-1$
-	private static final String PROTOTYPE = "prototype"; //$NON-NLS-1$
-	private static final String VISIBLE_ATTRIBUTES = "visibleAttributes"; //$NON-NLS-1$
+	static final String KEY = "key"; //$NON-NLS-1$
+	static final String VALUE = "value"; //$NON-NLS-1$
+	static final String SET_ENTRY = "setEntry"; //$NON-NLS-1$
+	static final String LAUNCH_CONFIGURATION = "launchConfiguration"; //$NON-NLS-1$
+	static final String MAP_ENTRY = "mapEntry"; //$NON-NLS-1$
+	static final String LIST_ENTRY = "listEntry"; //$NON-NLS-1$
+	static final String SET_ATTRIBUTE = "setAttribute"; //$NON-NLS-1$
+	static final String MAP_ATTRIBUTE = "mapAttribute"; //$NON-NLS-1$
+	static final String LIST_ATTRIBUTE = "listAttribute"; //$NON-NLS-1$
+	static final String BOOLEAN_ATTRIBUTE = "booleanAttribute"; //$NON-NLS-1$
+	static final String INT_ATTRIBUTE = "intAttribute"; //$NON-NLS-1$
+	static final String STRING_ATTRIBUTE = "stringAttribute"; //$NON-NLS-1$
+	static final String TYPE = "type"; //$NON-NLS-1$
+	static final String PROTOTYPE = "prototype"; //$NON-NLS-1$
+	static final String VISIBLE_ATTRIBUTES = "visibleAttributes"; //$NON-NLS-1$
 
 	/**
 	 * This configurations attribute table. Keys are <code>String</code>s and
@@ -130,7 +130,7 @@ public class LaunchConfigurationInfo {
 	 *
 	 * @return attribute table
 	 */
-	private TreeMap<String, Object> getAttributeTable() {
+	TreeMap<String, Object> getAttributeTable() {
 		return fAttributes;
 	}
 
@@ -441,6 +441,10 @@ public class LaunchConfigurationInfo {
 	 */
 	@SuppressWarnings("unchecked")
 	protected String getAsXML() throws CoreException, IOException, ParserConfigurationException, TransformerException {
+		String xml = LaunchConfigurationXML.write(this);
+		if (xml != null) {
+			return xml;
+		}
 		Document doc = LaunchManager.getDocument();
 		Element configRootElement = doc.createElement(LAUNCH_CONFIGURATION);
 		doc.appendChild(configRootElement);
@@ -609,17 +613,7 @@ public class LaunchConfigurationInfo {
 		if (id == null) {
 			throw getInvalidFormatDebugException();
 		}
-
-		ILaunchConfigurationType type = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurationType(id);
-		if (type == null) {
-			String message = MessageFormat.format(DebugCoreMessages.LaunchConfigurationInfo_missing_type, id);
-			throw new DebugException(
-					new Status(
-					 IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
-					 DebugException.MISSING_LAUNCH_CONFIGURATION_TYPE, message, null)
-				);
-		}
-		setType(type);
+		initializeType(id);
 
 		NodeList list = root.getChildNodes();
 		Node node = null;
@@ -647,20 +641,80 @@ public class LaunchConfigurationInfo {
 			}
 		}
 
+		if (isPrototype) {
+			initializePrototype(true, root.getAttribute(VISIBLE_ATTRIBUTES));
+		} else {
+			initializePrototype(false, root.getAttribute(PROTOTYPE));
+		}
+	}
+
+	/**
+	 * Initializes the attributes from content read by the streaming reader.
+	 * Equivalent to {@link #initializeFromXML(Element, boolean)} with the DOM
+	 * tree of the same file.
+	 *
+	 * @param content the content of the launch configuration file
+	 * @param isPrototype if the file corresponds to a prototype
+	 * @throws CoreException if a problem is encountered
+	 */
+	void initializeFromContent(LaunchConfigurationXML.Content content, boolean isPrototype) throws CoreException {
+		if (!content.rootName.equalsIgnoreCase(LAUNCH_CONFIGURATION)) {
+			throw getInvalidFormatDebugException();
+		}
+		initializeType(content.type);
+		if (content.failure != null) {
+			throw content.failure;
+		}
+		if (content.invalid) {
+			throw getInvalidFormatDebugException();
+		}
+		setAttributeTable(content.copyAttributes());
+		if (isPrototype) {
+			initializePrototype(true, content.visibleAttributes);
+		} else {
+			initializePrototype(false, content.prototype);
+		}
+	}
+
+	/**
+	 * Sets the type of this info.
+	 *
+	 * @param id identifier of the type
+	 * @throws CoreException if the type does not exist
+	 */
+	private void initializeType(String id) throws CoreException {
+		ILaunchConfigurationType type = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurationType(id);
+		if (type == null) {
+			String message = MessageFormat.format(DebugCoreMessages.LaunchConfigurationInfo_missing_type, id);
+			throw new DebugException(
+					new Status(
+					 IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
+					 DebugException.MISSING_LAUNCH_CONFIGURATION_TYPE, message, null)
+				);
+		}
+		setType(type);
+	}
+
+	/**
+	 * Initializes the prototype related state once all attributes are set.
+	 *
+	 * @param isPrototype if this info is a prototype
+	 * @param value the visible attributes of a prototype or the name of the
+	 *            prototype of a launch configuration
+	 */
+	private void initializePrototype(boolean isPrototype, String value) {
 		if (isPrototype) {
 			setIsPrototype(true);
-			String visibleAttributes = root.getAttribute(VISIBLE_ATTRIBUTES);
-			if (visibleAttributes != null && visibleAttributes.length() > 0) {
-				String[] split = visibleAttributes.split(", "); //$NON-NLS-1$
+			if (value != null && value.length() > 0) {
+				String[] split = value.split(", "); //$NON-NLS-1$
 				setVisibleAttributes(new HashSet<>(Arrays.asList(split)));
 			}
 		} else {
 			setIsPrototype(false);
-			String prototype = root.getAttribute(PROTOTYPE);
-			if (prototype != null && prototype.length() > 0) {
+			if (value != null && value.length() > 0) {
 				ILaunchConfiguration[] launchConfigurations = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations(ILaunchConfiguration.PROTOTYPE);
 				for (ILaunchConfiguration iLaunchConfiguration : launchConfigurations) {
-					if (prototype.equals(iLaunchConfiguration.getName())) {
+					if (value.equals(iLaunchConfiguration.getName())) {
 						setPrototype(iLaunchConfiguration);
 						break;
 					}
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.debug.core.DebugPlugin;
+
+/**
+ * Binary snapshot of the parsed content of launch configuration files.
+ * <p>
+ * Entries are keyed by the location of the file and are only valid as long as
+ * the file has the same time stamp and length as when it was parsed. Outdated
+ * entries are dropped when they are looked up, entries of deleted files when
+ * the launch manager is notified of the deletion. The least recently used
+ * entries are dropped once the cache exceeds its maximum size, so entries of
+ * files deleted while the launch manager was not running do not pile up.
+ * </p>
+ * <p>
+ * The snapshot is loaded on first access and written back by {@link #save()}
+ * if it was modified. A snapshot which cannot be read is discarded.
+ * </p>
+ */
+public class LaunchConfigurationInfoCache {
+
+	/** Version of the file format. Files of other versions are ignored. */
+	private static final int VERSION = 1;
+
+	/** Default maximum number of cached files. */
+	private static final int MAX_ENTRIES = 2000;
+
+	private static final byte STRING = 0;
+	private static final byte INTEGER = 1;
+	private static final byte BOOLEAN = 2;
+	private static final byte LIST = 3;
+	private static final byte SET = 4;
+	private static final byte MAP = 5;
+
+	/**
+	 * Cached content of one file.
+	 */
+	private static final class CacheEntry {
+		final long lastModified;
+		final long length;
+		final LaunchConfigurationXML.Content content;
+
+		CacheEntry(long lastModified, long length, LaunchConfigurationXML.Content content) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.content = content;
+		}
+	}
+
+	/** The snapshot file. */
+	private final File file;
+
+	/** Maximum number of cached files. */
+	private final int maxEntries;
+
+	/**
+	 * Cached content by file location in access order or <code>null</code> if
+	 * not loaded yet.
+	 */
+	private Map<String, CacheEntry> entries;
+
+	/** Whether entries changed since the snapshot was loaded. */
+	private boolean dirty;
+
+	/**
+	 * Creates a cache stored in the given file.
+	 *
+	 * @param file the snapshot file
+	 */
+	public LaunchConfigurationInfoCache(File file) {
+		this(file, MAX_ENTRIES);
+	}
+
+	/**
+	 * Creates a cache stored in the given file.
+	 *
+	 * @param file the snapshot file
+	 * @param maxEntries maximum number of cached files
+	 */
+	public LaunchConfigurationInfoCache(File file, int maxEntries) {
+		this.file = file;
+		this.maxEntries = maxEntries;
+	}
+
+	/**
+	 * Returns the cached content of a file.
+	 *
+	 * @param location location of the launch configuration file
+	 * @param lastModified current time stamp of the file
+	 * @param length current length of the file
+	 * @return the content or <code>null</code> if the file is not cached or
+	 *         changed since it was cached. The entry of a changed file is
+	 *         removed.
+	 */
+	public synchronized LaunchConfigurationXML.Content get(String location, long lastModified, long length) {
+		CacheEntry entry = getEntries().get(location);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.lastModified == lastModified && entry.length == length) {
+			return entry.content;
+		}
+		entries.remove(location);
+		dirty = true;
+		return null;
+	}
+
+	/**
+	 * Caches the content of a file.
+	 *
+	 * @param location location of the launch configuration file
+	 * @param lastModified time stamp of the file when it was read
+	 * @param length length of the file when it was read
+	 * @param content the content read. Must not be modified afterwards.
+	 */
+	public synchronized void put(String location, long lastModified, long length, LaunchConfigurationXML.Content content) {
+		getEntries().put(location, new CacheEntry(lastModified, length, content));
+		dirty = true;
+	}
+
+	/**
+	 * Removes the content of a file from the cache.
+	 *
+	 * @param location location of the launch configuration file
+	 */
+	public synchronized void remove(String location) {
+		if (getEntries().remove(location) != null) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Writes the snapshot if entries changed since it was loaded.
+	 */
+	public synchronized void save() {
+		if (!dirty) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeInt(entries.size());
+			for (Entry<String, CacheEntry> entry : entries.entrySet()) {
+				writeString(out, entry.getKey());
+				out.writeLong(entry.getValue().lastModified);
+				out.writeLong(entry.getValue().length);
+				writeContent(out, entry.getValue().content);
+			}
+			dirty = false;
+		} catch (IOException e) {
+			DebugPlugin.log(e);
+			file.delete();
+		}
+	}
+
+	private Map<String, CacheEntry> getEntries() {
+		if (entries == null) {
+			entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+					if (size() > maxEntries) {
+						dirty = true;
+						return true;
+					}
+					return false;
+				}
+			};
+			if (file.isFile()) {
+				try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+					if (in.readInt() == VERSION) {
+						int count = in.readInt();
+						for (int i = 0; i < count; i++) {
+							String location = readString(in);
+							long lastModified = in.readLong();
+							long length = in.readLong();
+							entries.put(location, new CacheEntry(lastModified, length, readContent(in)));
+						}
+					}
+				} catch (IOException | RuntimeException e) {
+					// start over with an empty cache
+					entries.clear();
+					dirty = true;
+				}
+			}
+		}
+		return entries;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeContent(DataOutputStream out, LaunchConfigurationXML.Content content) throws IOException {
+		writeString(out, content.rootName);
+		writeString(out, content.type);
+		writeString(out, content.prototype);
+		writeString(out, content.visibleAttributes);
+		out.writeInt(content.attributes.size());
+		for (Entry<String, Object> attribute : content.attributes.entrySet()) {
+			writeString(out, attribute.getKey());
+			Object value = attribute.getValue();
+			if (value instanceof String) {
+				out.writeByte(STRING);
+				writeString(out, (String) value);
+			} else if (value instanceof Integer) {
+				out.writeByte(INTEGER);
+				out.writeInt((Integer) value);
+			} else if (value instanceof Boolean) {
+				out.writeByte(BOOLEAN);
+				out.writeBoolean((Boolean) value);
+			} else if (value instanceof List) {
+				out.writeByte(LIST);
+				writeStrings(out, (List<String>) value);
+			} else if (value instanceof Set) {
+				out.writeByte(SET);
+				writeStrings(out, (Set<String>) value);
+			} else if (value instanceof Map) {
+				out.writeByte(MAP);
+				Map<String, String> map = (Map<String, String>) value;
+				out.writeInt(map.size());
+				for (Entry<String, String> entry : map.entrySet()) {
+					writeString(out, entry.getKey());
+					writeString(out, entry.getValue());
+				}
+			} else {
+				throw new IOException("Unexpected attribute value: " + value); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static LaunchConfigurationXML.Content readContent(DataInputStream in) throws IOException {
+		LaunchConfigurationXML.Content content = new LaunchConfigurationXML.Content();
+		content.rootName = readString(in);
+		content.type = readString(in);
+		content.prototype = readString(in);
+		content.visibleAttributes = readString(in);
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String key = readString(in);
+			byte kind = in.readByte();
+			switch (kind) {
+				case STRING:
+					content.attributes.put(key, readString(in));
+					break;
+				case INTEGER:
+					content.attributes.put(key, Integer.valueOf(in.readInt()));
+					break;
+				case BOOLEAN:
+					content.attributes.put(key, Boolean.valueOf(in.readBoolean()));
+					break;
+				case LIST:
+					content.attributes.put(key, readStrings(in, new ArrayList<>()));
+					break;
+				case SET:
+					content.attributes.put(key, readStrings(in, new HashSet<>()));
+					break;
+				case MAP:
+					int size = in.readInt();
+					Map<String, String> map = new HashMap<>();
+					for (int j = 0; j < size; j++) {
+						map.put(readString(in), readString(in));
+					}
+					content.attributes.put(key, map);
+					break;
+				default:
+					throw new IOException("Unexpected attribute kind: " + kind); //$NON-NLS-1$
+			}
+		}
+		return content;
+	}
+
+	private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+	private static <T extends Collection<String>> T readStrings(DataInputStream in, T values) throws IOException {
+		int size = in.readInt();
+		for (int i = 0; i < size; i++) {
+			values.add(readString(in));
+		}
+		return values;
+	}
+
+	/**
+	 * Writes the characters of a string. Unlike
+	 * {@link DataOutputStream#writeUTF(String)} this has no length limit.
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeInt(value.length());
+		out.writeChars(value);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available() / 2) {
+			throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+		}
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = in.readChar();
+		}
+		return new String(chars);
+	}
+}
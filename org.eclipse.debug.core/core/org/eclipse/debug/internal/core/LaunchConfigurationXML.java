@@ -0,0 +1,510 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Streaming reader and writer for the launch configuration file format.
+ * <p>
+ * The writer produces exactly the same text as serializing the DOM tree built
+ * by {@link LaunchConfigurationInfo#getAsXML()}. Line separator, indentation
+ * and XML declaration are taken from a small document serialized once by
+ * {@link LaunchManager#serializeDocument(Document)}. Content the writer cannot
+ * reproduce exactly (e.g. control characters or <code>null</code> collection
+ * entries) is left to the DOM serializer.
+ * </p>
+ * <p>
+ * The reader collects the content of a file into a {@link Content} object
+ * without building a DOM tree. It accepts the same documents as
+ * {@link LaunchConfigurationInfo#initializeFromXML(Element, boolean)} and
+ * reports the same problems once the content is applied to an info.
+ * </p>
+ */
+public class LaunchConfigurationXML {
+
+	/**
+	 * Parsed content of a launch configuration file.
+	 */
+	public static class Content {
+
+		/** Name of the root element. */
+		String rootName = LaunchConfigurationInfo.LAUNCH_CONFIGURATION;
+
+		/** Value of the 'type' attribute, empty if missing. */
+		String type = IInternalDebugCoreConstants.EMPTY_STRING;
+
+		/** Value of the 'prototype' attribute, empty if missing. */
+		String prototype = IInternalDebugCoreConstants.EMPTY_STRING;
+
+		/** Value of the 'visibleAttributes' attribute, empty if missing. */
+		String visibleAttributes = IInternalDebugCoreConstants.EMPTY_STRING;
+
+		/**
+		 * The attributes in the same representation as the attribute table of
+		 * an info. Collections must not be modified, see
+		 * {@link #copyAttributes()}.
+		 */
+		final TreeMap<String, Object> attributes = new TreeMap<>();
+
+		/** Whether an element of the file has an invalid format. */
+		boolean invalid;
+
+		/** Problem converting an attribute value, e.g. a malformed integer. */
+		RuntimeException failure;
+
+		/**
+		 * Returns whether all attributes could be read.
+		 *
+		 * @return <code>true</code> if the content is complete
+		 */
+		boolean isComplete() {
+			return !invalid && failure == null;
+		}
+
+		/**
+		 * Returns a copy of the attributes with copies of all collections, so
+		 * the content can be applied to several infos.
+		 *
+		 * @return attributes which may be modified
+		 */
+		@SuppressWarnings("unchecked")
+		TreeMap<String, Object> copyAttributes() {
+			TreeMap<String, Object> copy = new TreeMap<>(attributes);
+			for (Entry<String, Object> entry : copy.entrySet()) {
+				Object value = entry.getValue();
+				if (value instanceof List) {
+					entry.setValue(new ArrayList<>((List<String>) value));
+				} else if (value instanceof Set) {
+					entry.setValue(new HashSet<>((Set<String>) value));
+				} else if (value instanceof Map) {
+					entry.setValue(new HashMap<>((Map<String, String>) value));
+				}
+			}
+			return copy;
+		}
+	}
+
+	/**
+	 * Line separator, indentation and XML declaration used by the DOM
+	 * serializer.
+	 */
+	private static final class Format {
+		private static final Format INSTANCE = create();
+
+		final String declaration;
+		final String lineSeparator;
+		final String indent;
+
+		private Format(String declaration, String lineSeparator, String indent) {
+			this.declaration = declaration;
+			this.lineSeparator = lineSeparator;
+			this.indent = indent;
+		}
+
+		/**
+		 * Serializes <code>&lt;a&gt;&lt;b/&gt;&lt;/a&gt;</code> and derives the
+		 * format from the result.
+		 *
+		 * @return the format or <code>null</code> if the serializer output has
+		 *         an unexpected shape
+		 */
+		private static Format create() {
+			try {
+				Document doc = LaunchManager.getDocument();
+				Element root = doc.createElement("a"); //$NON-NLS-1$
+				doc.appendChild(root);
+				root.appendChild(doc.createElement("b")); //$NON-NLS-1$
+				String sample = LaunchManager.serializeDocument(doc);
+				int rootStart = sample.indexOf("<a>"); //$NON-NLS-1$
+				int childStart = sample.indexOf("<b/>"); //$NON-NLS-1$
+				if (rootStart < 0 || childStart < rootStart) {
+					return null;
+				}
+				String declaration = sample.substring(0, rootStart);
+				String separatorAndIndent = sample.substring(rootStart + 3, childStart);
+				int indentStart = 0;
+				while (indentStart < separatorAndIndent.length() && (separatorAndIndent.charAt(indentStart) == '\r' || separatorAndIndent.charAt(indentStart) == '\n')) {
+					indentStart++;
+				}
+				Format format = new Format(declaration, separatorAndIndent.substring(0, indentStart), separatorAndIndent.substring(indentStart));
+				String expected = declaration + "<a>" + format.lineSeparator + format.indent + "<b/>" + format.lineSeparator + "</a>" + format.lineSeparator; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				if (format.lineSeparator.isEmpty() || !format.indent.trim().isEmpty() || !expected.equals(sample)) {
+					return null;
+				}
+				return format;
+			} catch (Exception e) {
+				DebugPlugin.log(e);
+				return null;
+			}
+		}
+	}
+
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		return factory;
+	}
+
+	private LaunchConfigurationXML() {
+	}
+
+	/**
+	 * Returns the content of the given info as XML.
+	 *
+	 * @param info the info to write
+	 * @return the XML or <code>null</code> if the info must be written by the
+	 *         DOM serializer to get the exact same output
+	 */
+	@SuppressWarnings("unchecked")
+	static String write(LaunchConfigurationInfo info) {
+		Format format = Format.INSTANCE;
+		if (format == null) {
+			return null;
+		}
+		StringBuilder xml = new StringBuilder(1024).append(format.declaration);
+		xml.append('<').append(LaunchConfigurationInfo.LAUNCH_CONFIGURATION);
+		// the DOM serializer writes attributes sorted by name
+		ILaunchConfiguration prototype = info.getPrototype();
+		if (prototype != null && !appendAttribute(xml, LaunchConfigurationInfo.PROTOTYPE, prototype.getName())) {
+			return null;
+		}
+		if (!appendAttribute(xml, LaunchConfigurationInfo.TYPE, info.getType().getIdentifier())) {
+			return null;
+		}
+		if (prototype == null && info.isPrototype()) {
+			String visibleAttributes = info.getVisibleAttributes().stream().collect(Collectors.joining(", ")); //$NON-NLS-1$
+			if (!appendAttribute(xml, LaunchConfigurationInfo.VISIBLE_ATTRIBUTES, visibleAttributes)) {
+				return null;
+			}
+		}
+		List<Entry<String, Object>> attributes = new ArrayList<>(info.getAttributeTable().size());
+		for (Entry<String, Object> entry : info.getAttributeTable().entrySet()) {
+			if (entry.getKey() == null) {
+				return null;
+			}
+			if (entry.getValue() != null) {
+				attributes.add(entry);
+			}
+		}
+		if (attributes.isEmpty()) {
+			return xml.append("/>").append(format.lineSeparator).toString(); //$NON-NLS-1$
+		}
+		xml.append('>').append(format.lineSeparator);
+		for (Entry<String, Object> entry : attributes) {
+			String key = entry.getKey();
+			Object value = entry.getValue();
+			boolean written;
+			if (value instanceof String) {
+				written = appendKeyValue(xml, format, LaunchConfigurationInfo.STRING_ATTRIBUTE, key, (String) value);
+			} else if (value instanceof Integer) {
+				written = appendKeyValue(xml, format, LaunchConfigurationInfo.INT_ATTRIBUTE, key, value.toString());
+			} else if (value instanceof Boolean) {
+				written = appendKeyValue(xml, format, LaunchConfigurationInfo.BOOLEAN_ATTRIBUTE, key, value.toString());
+			} else if (value instanceof List) {
+				written = appendCollection(xml, format, LaunchConfigurationInfo.LIST_ATTRIBUTE, LaunchConfigurationInfo.LIST_ENTRY, key, (List<String>) value);
+			} else if (value instanceof Map) {
+				written = appendMap(xml, format, key, (Map<String, String>) value);
+			} else if (value instanceof Set) {
+				Set<String> set = (Set<String>) value;
+				if (set.contains(null)) {
+					return null;
+				}
+				// persist in sorted order
+				List<String> sorted = new ArrayList<>(set);
+				Collections.sort(sorted);
+				written = appendCollection(xml, format, LaunchConfigurationInfo.SET_ATTRIBUTE, LaunchConfigurationInfo.SET_ENTRY, key, sorted);
+			} else {
+				written = false;
+			}
+			if (!written) {
+				return null;
+			}
+		}
+		xml.append("</").append(LaunchConfigurationInfo.LAUNCH_CONFIGURATION).append('>').append(format.lineSeparator); //$NON-NLS-1$
+		return xml.toString();
+	}
+
+	private static boolean appendKeyValue(StringBuilder xml, Format format, String elementType, String key, String value) {
+		xml.append(format.indent).append('<').append(elementType);
+		if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, key) || !appendAttribute(xml, LaunchConfigurationInfo.VALUE, value)) {
+			return false;
+		}
+		xml.append("/>").append(format.lineSeparator); //$NON-NLS-1$
+		return true;
+	}
+
+	private static boolean appendCollection(StringBuilder xml, Format format, String elementType, String entryType, String key, Collection<String> values) {
+		xml.append(format.indent).append('<').append(elementType);
+		if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, key)) {
+			return false;
+		}
+		if (values.isEmpty()) {
+			xml.append("/>").append(format.lineSeparator); //$NON-NLS-1$
+			return true;
+		}
+		xml.append('>').append(format.lineSeparator);
+		for (String value : values) {
+			xml.append(format.indent).append(format.indent).append('<').append(entryType);
+			if (!appendAttribute(xml, LaunchConfigurationInfo.VALUE, value)) {
+				return false;
+			}
+			xml.append("/>").append(format.lineSeparator); //$NON-NLS-1$
+		}
+		xml.append(format.indent).append("</").append(elementType).append('>').append(format.lineSeparator); //$NON-NLS-1$
+		return true;
+	}
+
+	private static boolean appendMap(StringBuilder xml, Format format, String key, Map<String, String> map) {
+		xml.append(format.indent).append('<').append(LaunchConfigurationInfo.MAP_ATTRIBUTE);
+		if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, key)) {
+			return false;
+		}
+		if (map.isEmpty()) {
+			xml.append("/>").append(format.lineSeparator); //$NON-NLS-1$
+			return true;
+		}
+		if (map.containsKey(null)) {
+			return false;
+		}
+		xml.append('>').append(format.lineSeparator);
+		// persist in sorted order based on keys
+		List<String> keys = new ArrayList<>(map.keySet());
+		Collections.sort(keys);
+		for (String entryKey : keys) {
+			xml.append(format.indent).append(format.indent).append('<').append(LaunchConfigurationInfo.MAP_ENTRY);
+			if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, entryKey) || !appendAttribute(xml, LaunchConfigurationInfo.VALUE, map.get(entryKey))) {
+				return false;
+			}
+			xml.append("/>").append(format.lineSeparator); //$NON-NLS-1$
+		}
+		xml.append(format.indent).append("</").append(LaunchConfigurationInfo.MAP_ATTRIBUTE).append('>').append(format.lineSeparator); //$NON-NLS-1$
+		return true;
+	}
+
+	/**
+	 * Appends an attribute escaped the way the DOM serializer does.
+	 *
+	 * @return <code>false</code> if the value is <code>null</code> or contains
+	 *         characters whose serialization is not reproduced
+	 */
+	private static boolean appendAttribute(StringBuilder xml, String name, String value) {
+		if (value == null) {
+			return false;
+		}
+		xml.append(' ').append(name).append("=\""); //$NON-NLS-1$
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '&':
+					xml.append("&amp;"); //$NON-NLS-1$
+					break;
+				case '<':
+					xml.append("&lt;"); //$NON-NLS-1$
+					break;
+				case '>':
+					xml.append("&gt;"); //$NON-NLS-1$
+					break;
+				case '"':
+					xml.append("&quot;"); //$NON-NLS-1$
+					break;
+				case '\t':
+					xml.append("&#9;"); //$NON-NLS-1$
+					break;
+				case '\n':
+					xml.append("&#10;"); //$NON-NLS-1$
+					break;
+				case '\r':
+					xml.append("&#13;"); //$NON-NLS-1$
+					break;
+				default:
+					if (c < 0x20 || c == 0xFFFE || c == 0xFFFF) {
+						return false;
+					}
+					if (Character.isSurrogate(c)) {
+						if (!Character.isHighSurrogate(c) || i + 1 >= length || !Character.isLowSurrogate(value.charAt(i + 1))) {
+							return false;
+						}
+						xml.append("&#").append(Character.toCodePoint(c, value.charAt(++i))).append(';'); //$NON-NLS-1$
+					} else {
+						xml.append(c);
+					}
+			}
+		}
+		xml.append('"');
+		return true;
+	}
+
+	/**
+	 * Reads the content of a launch configuration file.
+	 *
+	 * @param xml the file content
+	 * @return the content or <code>null</code> if the streaming reader cannot
+	 *         read the file. The file must then be parsed by the DOM parser,
+	 *         which reports the problem or reads the file if it uses features
+	 *         the streaming reader does not support, e.g. a DTD.
+	 */
+	public static Content read(byte[] xml) {
+		try {
+			XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml));
+			try {
+				return read(reader);
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			return null;
+		}
+	}
+
+	private static Content read(XMLStreamReader reader) throws XMLStreamException {
+		Content content = new Content();
+		while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+			// skip prolog
+		}
+		content.rootName = reader.getLocalName();
+		content.type = getAttribute(reader, LaunchConfigurationInfo.TYPE);
+		content.prototype = getAttribute(reader, LaunchConfigurationInfo.PROTOTYPE);
+		content.visibleAttributes = getAttribute(reader, LaunchConfigurationInfo.VISIBLE_ATTRIBUTES);
+		int event;
+		while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (content.isComplete()) {
+					readAttribute(reader, content);
+				} else {
+					skipElement(reader);
+				}
+			}
+		}
+		// make sure the rest of the document is well-formed, too
+		while (reader.hasNext()) {
+			reader.next();
+		}
+		return content;
+	}
+
+	/**
+	 * Reads one attribute element. The reader is positioned at the start of
+	 * the element and is left at its end.
+	 */
+	private static void readAttribute(XMLStreamReader reader, Content content) throws XMLStreamException {
+		String name = reader.getLocalName();
+		String key = getAttribute(reader, LaunchConfigurationInfo.KEY);
+		if (name.equalsIgnoreCase(LaunchConfigurationInfo.STRING_ATTRIBUTE)) {
+			content.attributes.put(key, getAttribute(reader, LaunchConfigurationInfo.VALUE));
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.INT_ATTRIBUTE)) {
+			try {
+				content.attributes.put(key, Integer.valueOf(getAttribute(reader, LaunchConfigurationInfo.VALUE)));
+			} catch (NumberFormatException e) {
+				content.failure = e;
+			}
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.BOOLEAN_ATTRIBUTE)) {
+			content.attributes.put(key, Boolean.valueOf(getAttribute(reader, LaunchConfigurationInfo.VALUE)));
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.LIST_ATTRIBUTE)) {
+			List<String> list = new ArrayList<>();
+			readEntries(reader, content, LaunchConfigurationInfo.LIST_ENTRY, list, null);
+			content.attributes.put(key, list);
+			return;
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.MAP_ATTRIBUTE)) {
+			Map<String, String> map = new HashMap<>();
+			readEntries(reader, content, LaunchConfigurationInfo.MAP_ENTRY, null, map);
+			content.attributes.put(key, map);
+			return;
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.SET_ATTRIBUTE)) {
+			Set<String> set = new HashSet<>();
+			readEntries(reader, content, LaunchConfigurationInfo.SET_ENTRY, set, null);
+			content.attributes.put(key, set);
+			return;
+		}
+		skipElement(reader);
+	}
+
+	/**
+	 * Reads the entries of a collection attribute into either
+	 * <code>values</code> or <code>map</code>. The reader is left at the end of
+	 * the attribute element.
+	 */
+	private static void readEntries(XMLStreamReader reader, Content content, String entryType, Collection<String> values, Map<String, String> map) throws XMLStreamException {
+		int event;
+		while ((event = reader.next()) != XMLStreamConstants.END_ELEMENT) {
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (!reader.getLocalName().equalsIgnoreCase(entryType)) {
+					content.invalid = true;
+				} else if (map != null) {
+					map.put(getAttribute(reader, LaunchConfigurationInfo.KEY), getAttribute(reader, LaunchConfigurationInfo.VALUE));
+				} else {
+					values.add(getAttribute(reader, LaunchConfigurationInfo.VALUE));
+				}
+				skipElement(reader);
+			}
+		}
+	}
+
+	/**
+	 * Skips the element the reader is positioned at including its children.
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of an unprefixed attribute of the current element like
+	 * {@link Element#getAttribute(String)} does.
+	 *
+	 * @return the value or an empty string if the attribute is missing
+	 */
+	private static String getAttribute(XMLStreamReader reader, String name) {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			String prefix = reader.getAttributePrefix(i);
+			if ((prefix == null || prefix.isEmpty()) && name.equals(reader.getAttributeLocalName(i))) {
+				return reader.getAttributeValue(i);
+			}
+		}
+		return IInternalDebugCoreConstants.EMPTY_STRING;
+	}
+}
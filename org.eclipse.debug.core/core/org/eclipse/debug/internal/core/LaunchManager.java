@@ -22,6 +22,7 @@ package org.eclipse.debug.internal.core;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -59,6 +60,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
 import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -559,6 +561,12 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 */
 	private Map<ILaunchConfiguration, LaunchConfigurationInfo> fLaunchConfigurations = new HashMap<>(10);
 
+	/**
+	 * Cache of parsed launch configuration files surviving restarts or
+	 * <code>null</code> if not created yet or disabled.
+	 */
+	private LaunchConfigurationInfoCache fInfoCache = null;
+
 	/**
 	 * A cache of launch configuration names currently in the workspace.
 	 */
@@ -570,6 +578,12 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 */
 	private List<ILaunchConfiguration> fLaunchConfigurationIndex = null;
 
+	/**
+	 * Lookup indexes over {@link #fLaunchConfigurationIndex}, or
+	 * <code>null</code> if not initialized.
+	 */
+	private LaunchConfigurationIndexes fLaunchConfigurationIndexes = null;
+
 	/**
 	 * Launch configuration comparator extensions,
 	 * keyed by attribute name.
@@ -845,6 +859,7 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		if (fLaunchConfigurationIndex != null) {
 			fLaunchConfigurationIndex.clear();
 		}
+		fLaunchConfigurationIndexes = null;
 	}
 
 	@Override
@@ -928,6 +943,29 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 * @since 3.12
 	 */
 	protected LaunchConfigurationInfo createInfoFromXML(InputStream stream, boolean isPrototype) throws CoreException, ParserConfigurationException, IOException, SAXException {
+		byte[] xml = stream.readAllBytes();
+		LaunchConfigurationXML.Content content = LaunchConfigurationXML.read(xml);
+		if (content == null) {
+			return createInfoFromDOM(new ByteArrayInputStream(xml), isPrototype);
+		}
+		LaunchConfigurationInfo info = new LaunchConfigurationInfo();
+		info.initializeFromContent(content, isPrototype);
+		return info;
+	}
+
+	/**
+	 * Return a LaunchConfigurationInfo object initialized from XML contained in
+	 * the specified stream, parsed into a DOM tree.
+	 *
+	 * @param stream the {@link InputStream} to read from
+	 * @param isPrototype if the XML corresponds to a prototype
+	 * @return the new {@link LaunchConfigurationInfo}
+	 * @throws CoreException if a problem is encountered
+	 * @throws ParserConfigurationException if the stream fails to parse
+	 * @throws IOException if there is a problem handling the given stream
+	 * @throws SAXException if there is a SAX parse exception
+	 */
+	private LaunchConfigurationInfo createInfoFromDOM(InputStream stream, boolean isPrototype) throws CoreException, ParserConfigurationException, IOException, SAXException {
 		Element root = null;
 		DocumentBuilder parser = DocumentBuilderFactory.newInstance().newDocumentBuilder();
 		parser.setErrorHandler(new DefaultHandler());
@@ -1133,6 +1171,22 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		return fLaunchConfigurationIndex;
 	}
 
+	/**
+	 * Returns the lookup indexes over all launch configurations. The indexes
+	 * are initialized lazily.
+	 *
+	 * @return the lookup indexes
+	 */
+	private synchronized LaunchConfigurationIndexes getLaunchConfigurationIndexes() {
+		if (fLaunchConfigurationIndexes == null) {
+			fLaunchConfigurationIndexes = new LaunchConfigurationIndexes();
+			for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
+				fLaunchConfigurationIndexes.add(config);
+			}
+		}
+		return fLaunchConfigurationIndexes;
+	}
+
 	/**
 	 * Return a sorted array of the names of all <code>ILaunchConfiguration</code>s in
 	 * the workspace.  These are cached, and cache is cleared when a new config is added,
@@ -1339,10 +1393,8 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		if (info == null) {
 			IFileStore store = config.getFileStore();
 			if (config.exists()) {
-				BufferedInputStream stream = null;
 				try {
-					stream = new BufferedInputStream(store.openInputStream(EFS.NONE, null));
-					info = createInfoFromXML(stream, isPrototype(store));
+					info = readInfo(store);
 					synchronized (this) {
 						fLaunchConfigurations.put(config, info);
 					}
@@ -1354,14 +1406,6 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 					throwException(config, e);
 				} catch (IOException e) {
 					throwException(config, e);
-				} finally {
-					if (stream != null) {
-						try {
-							stream.close();
-						} catch (IOException e) {
-							throwException(config, e);
-						}
-					}
 				}
 
 			} else if (store != null){
@@ -1374,6 +1418,58 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		return info;
 	}
 
+	/**
+	 * Reads the info object stored in the given launch configuration file.
+	 * Unchanged files are read from the info cache if it is enabled.
+	 *
+	 * @param store the launch configuration file
+	 * @return the new {@link LaunchConfigurationInfo}
+	 * @throws CoreException if a problem is encountered
+	 * @throws ParserConfigurationException if the file fails to parse
+	 * @throws IOException if there is a problem reading the file
+	 * @throws SAXException if there is a SAX parse exception
+	 */
+	private LaunchConfigurationInfo readInfo(IFileStore store) throws CoreException, ParserConfigurationException, IOException, SAXException {
+		boolean isPrototype = isPrototype(store);
+		LaunchConfigurationInfoCache cache = getInfoCache();
+		if (cache == null) {
+			try (InputStream stream = new BufferedInputStream(store.openInputStream(EFS.NONE, null))) {
+				return createInfoFromXML(stream, isPrototype);
+			}
+		}
+		IFileInfo fileInfo = store.fetchInfo();
+		String location = store.toURI().toString();
+		LaunchConfigurationXML.Content content = cache.get(location, fileInfo.getLastModified(), fileInfo.getLength());
+		if (content == null) {
+			byte[] xml;
+			try (InputStream stream = store.openInputStream(EFS.NONE, null)) {
+				xml = stream.readAllBytes();
+			}
+			content = LaunchConfigurationXML.read(xml);
+			if (content == null) {
+				return createInfoFromDOM(new ByteArrayInputStream(xml), isPrototype);
+			}
+			if (content.isComplete()) {
+				cache.put(location, fileInfo.getLastModified(), fileInfo.getLength(), content);
+			}
+		}
+		LaunchConfigurationInfo info = new LaunchConfigurationInfo();
+		info.initializeFromContent(content, isPrototype);
+		return info;
+	}
+
+	/**
+	 * Returns the cache of parsed launch configuration files.
+	 *
+	 * @return the cache or <code>null</code> if caching is disabled
+	 */
+	private synchronized LaunchConfigurationInfoCache getInfoCache() {
+		if (fInfoCache == null && Platform.getPreferencesService().getBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_LAUNCH_CONFIGURATION_CACHE, true, null)) {
+			fInfoCache = new LaunchConfigurationInfoCache(DebugPlugin.getDefault().getStateLocation().append(".launchConfigurationCache").toFile()); //$NON-NLS-1$
+		}
+		return fInfoCache;
+	}
+
 	/**
 	 * Check if the given {@link IFileStore} is a prototype.
 	 *
@@ -1453,15 +1549,24 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 
 	@Override
 	public synchronized ILaunchConfiguration[] getLaunchConfigurations(ILaunchConfigurationType type, int kinds) throws CoreException {
-		List<ILaunchConfiguration> configs = new ArrayList<>();
-		for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
-			if (config.getType().equals(type) && ((config.getKind() & kinds) > 0)) {
-				configs.add(config);
-			}
-		}
+		List<ILaunchConfiguration> configs = getLaunchConfigurationIndexes().getConfigurations(type, kinds);
 		return configs.toArray(new ILaunchConfiguration[configs.size()]);
 	}
 
+	/**
+	 * Returns all launch configurations which use the given prototype.
+	 *
+	 * @param prototype a prototype
+	 * @return launch configurations of the prototype's type which use the
+	 *         prototype
+	 * @throws CoreException if the type of a launch configuration cannot be
+	 *             determined
+	 * @since 3.20
+	 */
+	protected synchronized List<ILaunchConfiguration> getPrototypeChildren(ILaunchConfiguration prototype) throws CoreException {
+		return getLaunchConfigurationIndexes().getPrototypeChildren(prototype);
+	}
+
 	/**
 	 * Returns all launch configurations that are stored as resources
 	 * in the given project.
@@ -1471,14 +1576,7 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 *  in the given project
 	 */
 	protected synchronized List<ILaunchConfiguration> getLaunchConfigurations(IProject project) {
-		List<ILaunchConfiguration> configs = new ArrayList<>();
-		for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
-			IFile file = config.getFile();
-			if (file != null && file.getProject().equals(project)) {
-				configs.add(config);
-			}
-		}
-		return configs;
+		return getLaunchConfigurationIndexes().getConfigurations(project);
 	}
 
 	@Override
@@ -1735,28 +1833,8 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 * @return a list of launch configurations if found or an empty list, never null
 	 * @since 3.2
 	 */
-	public ILaunchConfiguration[] getMappedConfigurations(IResource resource) {
-		List<ILaunchConfiguration> configurations = new ArrayList<>();
-		for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
-			try {
-				IResource[] resources = config.getMappedResources();
-				if(resources != null) {
-					for (IResource res : resources) {
-						if(res.equals(resource)) {
-							configurations.add(config);
-							break;
-						} else if (resource.getType() == IResource.PROJECT && res.getType() == IResource.FILE){
-							if (res.getProject().equals(resource)) {
-								configurations.add(config);
-								break;
-							}
-						}
-					}
-				}
-			} catch (CoreException ce) {
-				DebugPlugin.log(ce);
-			}
-		}
+	public synchronized ILaunchConfiguration[] getMappedConfigurations(IResource resource) {
+		List<ILaunchConfiguration> configurations = getLaunchConfigurationIndexes().getMappedConfigurations(resource);
 		return configurations.toArray(new ILaunchConfiguration[configurations.size()]);
 	}
 
@@ -2096,6 +2174,9 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 					allConfigs.add(config);
 					added = true;
 				}
+				if (fLaunchConfigurationIndexes != null) {
+					fLaunchConfigurationIndexes.add(config);
+				}
 			}
 			if (added) {
 				getConfigurationNotifier().notify(config, ADDED);
@@ -2118,6 +2199,10 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	protected void launchConfigurationChanged(ILaunchConfiguration config) {
 		synchronized(this) {
 			fLaunchConfigurations.remove(config);
+			if (fLaunchConfigurationIndexes != null) {
+				// attributes may have changed, index again on next query
+				fLaunchConfigurationIndexes.remove(config);
+			}
 		}
 		clearConfigNameCache();
 		if (isValid(config)) {
@@ -2145,6 +2230,19 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 			Object key = fLaunchConfigurations.remove(config);
 			removed = key != null;
 			getAllLaunchConfigurations().remove(config);
+			if (fLaunchConfigurationIndexes != null) {
+				fLaunchConfigurationIndexes.remove(config);
+			}
+		}
+		if (fInfoCache != null && config instanceof LaunchConfiguration) {
+			try {
+				IFileStore store = ((LaunchConfiguration) config).getFileStore();
+				if (store != null) {
+					fInfoCache.remove(store.toURI().toString());
+				}
+			} catch (CoreException e) {
+				// nothing cached for a configuration without a file
+			}
 		}
 		if (removed) {
 			getConfigurationNotifier().notify(config, REMOVED);
@@ -2271,21 +2369,8 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	private ArrayList<ILaunchConfiguration> collectAssociatedLaunches(IResource resource) {
 		ArrayList<ILaunchConfiguration> list = new ArrayList<>();
 		try {
-			ILaunchConfiguration[] configs = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations();
-			IResource[] resources = null;
-			for (ILaunchConfiguration config : configs) {
-				if(config.isLocal()) {
-					resources = config.getMappedResources();
-					if(resources != null) {
-						for (IResource res : resources) {
-							if(resource.equals(res) ||
-									resource.getFullPath().isPrefixOf(res.getFullPath())) {
-								list.add(config);
-								break;
-							}
-						}
-					}
-				}
+			synchronized (this) {
+				list.addAll(getLaunchConfigurationIndexes().getAssociatedConfigurations(resource));
 			}
 		} catch (CoreException e) {
 			DebugPlugin.log(e);
@@ -2333,6 +2418,9 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		}
 
 		persistPreferredLaunchDelegates();
+		if (fInfoCache != null) {
+			fInfoCache.save();
+		}
 		clearAllLaunchConfigurations();
 		fStepFilterManager = null;
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
@@ -16,10 +16,12 @@
 package org.eclipse.debug.internal.core;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -27,6 +29,7 @@ import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IBinaryStreamListener;
+import org.eclipse.debug.core.IByteBufferStreamListener;
 import org.eclipse.debug.core.IStreamListener;
 import org.eclipse.debug.core.model.IBinaryStreamMonitor;
 
@@ -37,11 +40,6 @@ import org.eclipse.debug.core.model.IBinaryStreamMonitor;
  * The output stream monitor reads system out (or err) via and input stream.
  */
 public class OutputStreamMonitor implements IBinaryStreamMonitor {
-	/**
-	 * The size of the read buffer.
-	 */
-	private static final int BUFFER_SIZE = 8192;
-
 	/**
 	 * The stream being monitored (connected system out or err).
 	 */
@@ -63,19 +61,43 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	 *
 	 * @see #isBuffered()
 	 */
-	private ByteArrayOutputStream fContents;
+	private ChunkedByteStore fContents;
 
 	/**
 	 * Decoder used for the buffered content. This is required to keep the state
 	 * of an incomplete character.
 	 */
 	private StreamDecoder fBufferedDecoder;
+
+	/**
+	 * The buffered content decoded so far and the range of buffered bytes it
+	 * was decoded from. Buffered content is decoded incrementally on request.
+	 */
+	private StringBuilder fDecodedContents;
+	private long fDecodedStart;
+	private long fDecodedEnd;
 	private String fCachedDecodedContents;
 
 	/**
-	 * The thread which reads from the stream
+	 * Maximum number of buffered bytes or <code>-1</code> if unbounded.
+	 */
+	private long fBufferLimit = -1;
+
+	/**
+	 * Number of buffered bytes discarded because of the buffer limit.
+	 */
+	private long fDroppedBytes;
+
+	/**
+	 * Completed once reading from the stream has finished, or
+	 * <code>null</code> if not monitoring.
 	 */
-	private Thread fThread;
+	private CompletableFuture<Void> fReader;
+
+	/**
+	 * Strategy to run the reading task.
+	 */
+	private final ProcessIOExecutor fExecutor;
 
 	/**
 	 * Whether or not this monitor has been killed. When the monitor is killed,
@@ -98,6 +120,20 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	 *            unused if only the binary interface is used
 	 */
 	public OutputStreamMonitor(InputStream stream, Charset charset) {
+		this(stream, charset, ProcessIOExecutor.getDefault());
+	}
+
+	/**
+	 * Creates an output stream monitor on the given stream (connected to system
+	 * out or err).
+	 *
+	 * @param stream input stream to read from
+	 * @param charset stream charset or <code>null</code> for system default;
+	 *            unused if only the binary interface is used
+	 * @param executor strategy to run the task reading the stream
+	 */
+	public OutputStreamMonitor(InputStream stream, Charset charset, ProcessIOExecutor executor) {
+		fExecutor = executor;
 		// java.lang.ProcessImpl returns a buffered stream anyway
 		fStream = stream instanceof BufferedInputStream ? stream : new BufferedInputStream(stream);
 		fCharset = charset;
@@ -132,20 +168,20 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 
 	/**
 	 * Causes the monitor to close all communications between it and the
-	 * underlying stream by waiting for the thread to terminate.
+	 * underlying stream by waiting for the reading task to terminate.
 	 */
 	protected void close() {
-		Thread thread = null;
+		CompletableFuture<Void> reader = null;
 
 		synchronized (this) {
-			thread = fThread;
-			fThread = null;
+			reader = fReader;
+			fReader = null;
 		}
 
-		if (thread != null) {
+		if (reader != null) {
 			try {
-				thread.join();
-			} catch (InterruptedException ie) {
+				reader.get();
+			} catch (InterruptedException | ExecutionException e) {
 			}
 
 			fListeners.clear();
@@ -157,11 +193,13 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	 * Notifies the listeners that content has been appended to the stream. Will
 	 * notify both, binary and text listeners.
 	 *
-	 * @param data that has been appended; not <code>null</code>
-	 * @param offset start of valid data
-	 * @param length number of valid bytes
+	 * @param buffer read buffer holding the appended data between its position
+	 *            and limit; not <code>null</code>
 	 */
-	private void fireStreamAppended(final byte[] data, int offset, int length) {
+	private void fireStreamAppended(final ByteBuffer buffer) {
+		final byte[] data = buffer.array();
+		final int offset = buffer.arrayOffset() + buffer.position();
+		final int length = buffer.remaining();
 		if (!fListeners.isEmpty()) {
 			String text = fDecoder.decode(data, offset, length);
 			for (final IStreamListener listener : fListeners) {
@@ -179,18 +217,28 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 			}
 		}
 		if (!fBinaryListeners.isEmpty()) {
-			final byte[] validData;
-			if (offset > 0 || length < data.length) {
-				validData = new byte[length];
-				System.arraycopy(data, offset, validData, 0, length);
-			} else {
-				validData = data;
-			}
+			final ByteBuffer view = buffer.asReadOnlyBuffer();
+			byte[] validData = null;
 			for (final IBinaryStreamListener listener : fBinaryListeners) {
+				final byte[] listenerData;
+				if (listener instanceof IByteBufferStreamListener) {
+					listenerData = null;
+				} else {
+					// array based listeners may keep the array, they get a copy
+					if (validData == null) {
+						validData = new byte[length];
+						System.arraycopy(data, offset, validData, 0, length);
+					}
+					listenerData = validData;
+				}
 				SafeRunner.run(new ISafeRunnable() {
 					@Override
 					public void run() throws Exception {
-						listener.streamAppended(validData, OutputStreamMonitor.this);
+						if (listenerData == null) {
+							((IByteBufferStreamListener) listener).streamAppended(view.duplicate(), OutputStreamMonitor.this);
+						} else {
+							listener.streamAppended(listenerData, OutputStreamMonitor.this);
+						}
 					}
 
 					@Override
@@ -210,8 +258,19 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 		if (fCachedDecodedContents != null) {
 			return fCachedDecodedContents;
 		}
-		byte[] data = getData();
-		fCachedDecodedContents = fBufferedDecoder.decode(data, 0, data.length);
+		if (fDecodedStart < fContents.start()) {
+			// content was discarded due to the buffer limit, decode what is
+			// left from scratch
+			fBufferedDecoder = new StreamDecoder(fCharset == null ? Charset.defaultCharset() : fCharset);
+			fDecodedContents.setLength(0);
+			fDecodedStart = fContents.start();
+			fDecodedEnd = fDecodedStart;
+		}
+		if (fDecodedEnd < fContents.end()) {
+			fContents.visit(fDecodedEnd, (chunk, offset, length) -> fDecodedContents.append(fBufferedDecoder.decode(chunk, offset, length)));
+			fDecodedEnd = fContents.end();
+		}
+		fCachedDecodedContents = fDecodedContents.toString();
 		return fCachedDecodedContents;
 	}
 
@@ -238,7 +297,8 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	private void internalRead() {
 		long lastSleep = System.currentTimeMillis();
 		long currentTime = lastSleep;
-		byte[] buffer = new byte[BUFFER_SIZE];
+		ByteBuffer buffer = ReadBufferPool.acquire();
+		byte[] array = buffer.array();
 		int read = 0;
 		try {
 			while (read >= 0) {
@@ -246,14 +306,15 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 					if (fKilled) {
 						break;
 					}
-					read = fStream.read(buffer);
+					read = fStream.read(array, 0, array.length);
 					if (read > 0) {
+						buffer.clear().limit(read);
 						synchronized (this) {
 							if (isBuffered()) {
 								fCachedDecodedContents = null;
-								fContents.write(buffer, 0, read);
+								fDroppedBytes += fContents.append(array, 0, read);
 							}
-							fireStreamAppended(buffer, 0, read);
+							fireStreamAppended(buffer);
 						}
 					}
 				} catch (IOException ioe) {
@@ -264,7 +325,7 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 				} catch (NullPointerException e) {
 					// killing the stream monitor while reading can cause an NPE
 					// when reading from the stream
-					if (!fKilled && fThread != null) {
+					if (!fKilled && fReader != null) {
 						DebugPlugin.log(e);
 					}
 					return;
@@ -278,6 +339,7 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 				}
 			}
 		} finally {
+			ReadBufferPool.release(buffer);
 			try {
 				fStream.close();
 			} catch (IOException e) {
@@ -301,18 +363,23 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	}
 
 	/**
-	 * Starts a thread which reads from the stream
+	 * Starts a task which reads from the stream
 	 *
 	 * @param name Thread name
 	 */
 	protected void startMonitoring(String name) {
 		synchronized (this) {
-			if (fThread == null) {
+			if (fReader == null) {
 				fDone.set(false);
-				fThread = new Thread((Runnable) this::read, name);
-				fThread.setDaemon(true);
-				fThread.setPriority(Thread.MIN_PRIORITY);
-				fThread.start();
+				CompletableFuture<Void> reader = new CompletableFuture<>();
+				fReader = reader;
+				fExecutor.execute(name, Thread.MIN_PRIORITY, () -> {
+					try {
+						read();
+					} finally {
+						reader.complete(null);
+					}
+				});
 			}
 		}
 	}
@@ -322,11 +389,16 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 		if (isBuffered() != buffer) {
 			fCachedDecodedContents = null;
 			if (buffer) {
-				fContents = new ByteArrayOutputStream();
+				fContents = new ChunkedByteStore();
+				fContents.setCapacity(fBufferLimit);
 				fBufferedDecoder = new StreamDecoder(fCharset == null ? Charset.defaultCharset() : fCharset);
+				fDecodedContents = new StringBuilder();
+				fDecodedStart = 0;
+				fDecodedEnd = 0;
 			} else {
 				fContents = null;
 				fBufferedDecoder = null;
+				fDecodedContents = null;
 			}
 		}
 	}
@@ -336,9 +408,40 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 		if (isBuffered()) {
 			fCachedDecodedContents = null;
 			fContents.reset();
+			fDecodedContents.setLength(0);
+			fDecodedStart = fContents.start();
+			fDecodedEnd = fDecodedStart;
 		}
 	}
 
+	/**
+	 * Limits the number of bytes kept while buffering is enabled. Once the
+	 * limit is reached the oldest buffered bytes are discarded, so
+	 * {@link #getData()} and {@link #getContents()} return the most recent
+	 * output only.
+	 *
+	 * @param limit maximum number of buffered bytes or a value not greater
+	 *            than zero for unbounded buffering
+	 */
+	public synchronized void setBufferLimit(long limit) {
+		fBufferLimit = limit > 0 ? limit : -1;
+		if (isBuffered()) {
+			fCachedDecodedContents = null;
+			fDroppedBytes += fContents.setCapacity(fBufferLimit);
+		}
+	}
+
+	/**
+	 * Returns the number of buffered bytes discarded because of the buffer
+	 * limit. Content removed by {@link #flushContents()} is not counted.
+	 *
+	 * @return number of discarded bytes
+	 * @see #setBufferLimit(long)
+	 */
+	public synchronized long getDroppedBytes() {
+		return fDroppedBytes;
+	}
+
 	@Override
 	public synchronized boolean isBuffered() {
 		return fContents != null;
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugPlugin;
+
+/**
+ * Strategy to run the I/O tasks of system processes, i.e. reading their output
+ * streams and writing their input stream.
+ * <p>
+ * Stream reads are blocking, so a task may occupy its thread as long as the
+ * process runs. The shared strategy therefore does not bound the number of
+ * concurrent tasks, but reuses idle threads instead of creating new threads
+ * for each process stream. Tasks writing the input stream of a process only
+ * run while input is pending.
+ * </p>
+ *
+ * @see IInternalDebugCoreConstants#PREF_SHARED_PROCESS_IO_THREADS
+ * @since 3.20
+ */
+public abstract class ProcessIOExecutor {
+
+	/**
+	 * Runs each task in a new daemon thread.
+	 */
+	public static final ProcessIOExecutor DEDICATED_THREADS = new ProcessIOExecutor() {
+		@Override
+		public void execute(String name, int priority, Runnable task) {
+			Thread thread = new Thread(task, name);
+			thread.setDaemon(true);
+			thread.setPriority(priority);
+			thread.start();
+		}
+	};
+
+	/**
+	 * Runs tasks on a pool of daemon threads shared by all processes. Idle
+	 * threads terminate after some time.
+	 */
+	public static final ProcessIOExecutor SHARED_THREADS = new ProcessIOExecutor() {
+
+		private final AtomicInteger fThreadCount = new AtomicInteger();
+
+		private final ThreadPoolExecutor fPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 30, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+			Thread thread = new Thread(task, WORKER_NAME + fThreadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		@Override
+		public void execute(String name, int priority, Runnable task) {
+			fPool.execute(() -> {
+				Thread thread = Thread.currentThread();
+				String workerName = thread.getName();
+				// name the worker after its task to keep thread dumps readable
+				thread.setName(name);
+				thread.setPriority(priority);
+				try {
+					task.run();
+				} finally {
+					thread.setName(workerName);
+					thread.setPriority(Thread.NORM_PRIORITY);
+				}
+			});
+		}
+	};
+
+	/**
+	 * Name prefix of idle threads of the shared strategy.
+	 */
+	private static final String WORKER_NAME = "Process I/O Worker "; //$NON-NLS-1$
+
+	/**
+	 * Runs the given task asynchronously.
+	 *
+	 * @param name name of the thread while it runs the task
+	 * @param priority priority of the thread while it runs the task
+	 * @param task the task to run
+	 */
+	public abstract void execute(String name, int priority, Runnable task);
+
+	/**
+	 * Returns the strategy selected by the
+	 * {@link IInternalDebugCoreConstants#PREF_SHARED_PROCESS_IO_THREADS}
+	 * preference.
+	 *
+	 * @return the strategy to use for new processes
+	 */
+	public static ProcessIOExecutor getDefault() {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service != null && !service.getBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_SHARED_PROCESS_IO_THREADS, true, null)) {
+			return DEDICATED_THREADS;
+		}
+		return SHARED_THREADS;
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small pool of read buffers shared by the stream monitors of all processes,
+ * so that starting and terminating processes does not allocate a new buffer
+ * for each stream.
+ *
+ * @since 3.20
+ */
+final class ReadBufferPool {
+
+	/**
+	 * The size of pooled buffers.
+	 */
+	static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Maximum number of idle buffers kept in the pool.
+	 */
+	private static final int MAX_POOLED = 32;
+
+	private static final Queue<ByteBuffer> fgPool = new ConcurrentLinkedQueue<>();
+
+	private static final AtomicInteger fgPooled = new AtomicInteger();
+
+	private ReadBufferPool() {
+	}
+
+	/**
+	 * Returns a cleared heap buffer of {@link #BUFFER_SIZE} bytes. The buffer
+	 * should be passed to {@link #release(ByteBuffer)} once no longer used.
+	 *
+	 * @return a buffer to read into
+	 */
+	static ByteBuffer acquire() {
+		ByteBuffer buffer = fgPool.poll();
+		if (buffer == null) {
+			return ByteBuffer.allocate(BUFFER_SIZE);
+		}
+		fgPooled.decrementAndGet();
+		buffer.clear();
+		return buffer;
+	}
+
+	/**
+	 * Returns the given buffer to the pool. The buffer must not be used
+	 * afterwards.
+	 *
+	 * @param buffer buffer obtained from {@link #acquire()}
+	 */
+	static void release(ByteBuffer buffer) {
+		if (fgPooled.incrementAndGet() <= MAX_POOLED) {
+			fgPool.add(buffer);
+		} else {
+			fgPooled.decrementAndGet();
+		}
+	}
+}
@@ -57,14 +57,28 @@ public class StreamsProxy implements IBinaryStreamsProxy {
 	 * @param charset the process's charset or <code>null</code> if default
 	 * @param suffix Thread name suffix
 	 */
-	@SuppressWarnings("resource")
 	public StreamsProxy(Process process, Charset charset, String suffix) {
+		this(process, charset, suffix, ProcessIOExecutor.getDefault());
+	}
+
+	/**
+	 * Creates a <code>StreamsProxy</code> on the streams of the given system
+	 * process.
+	 *
+	 * @param process system process to create a streams proxy on
+	 * @param charset the process's charset or <code>null</code> if default
+	 * @param suffix Thread name suffix
+	 * @param executor strategy to run the tasks reading and writing the
+	 *            process streams
+	 */
+	@SuppressWarnings("resource")
+	public StreamsProxy(Process process, Charset charset, String suffix, ProcessIOExecutor executor) {
 		if (process == null) {
 			return;
 		}
-		fOutputMonitor = new OutputStreamMonitor(process.getInputStream(), charset);
-		fErrorMonitor = new OutputStreamMonitor(process.getErrorStream(), charset);
-		fInputMonitor = new InputStreamMonitor(process.getOutputStream(), charset);
+		fOutputMonitor = new OutputStreamMonitor(process.getInputStream(), charset, executor);
+		fErrorMonitor = new OutputStreamMonitor(process.getErrorStream(), charset, executor);
+		fInputMonitor = new InputStreamMonitor(process.getOutputStream(), charset, executor);
 		fOutputMonitor.startMonitoring("Output Stream Monitor" + suffix); //$NON-NLS-1$
 		fErrorMonitor.startMonitoring("Error Stream Monitor" + suffix); //$NON-NLS-1$
 		fInputMonitor.startMonitoring("Input Stream Monitor" + suffix); //$NON-NLS-1$
@@ -131,6 +145,21 @@ public class StreamsProxy implements IBinaryStreamsProxy {
 		fInputMonitor.close();
 	}
 
+	/**
+	 * Limits the number of bytes the output and error stream monitors keep
+	 * while buffering is enabled.
+	 *
+	 * @param limit maximum number of buffered bytes per stream or a value not
+	 *            greater than zero for unbounded buffering
+	 * @see OutputStreamMonitor#setBufferLimit(long)
+	 */
+	public void setBufferLimit(long limit) {
+		if (fOutputMonitor != null) {
+			fOutputMonitor.setBufferLimit(limit);
+			fErrorMonitor.setBufferLimit(limit);
+		}
+	}
+
 	@Override
 	public IStreamMonitor getErrorStreamMonitor() {
 		return fErrorMonitor;
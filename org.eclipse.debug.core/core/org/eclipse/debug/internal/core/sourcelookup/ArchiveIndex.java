@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.sourcelookup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Immutable index of the entries of an archive in the local file system.
+ * <p>
+ * Indexes are shared by all source containers on the same archive and kept
+ * across launches. The shared indexes are bounded by their total number of
+ * entries and evicted in least recently used order. An index is rebuilt when
+ * the modification time or size of its archive changes. Lookups do not access
+ * the archive and need no lock.
+ * </p>
+ */
+public final class ArchiveIndex {
+
+	/**
+	 * Maximum total number of entries of the shared indexes.
+	 */
+	private static final int MAX_TOTAL_ENTRIES = 1000000;
+
+	private static final ZipEntry[] NO_ENTRIES = new ZipEntry[0];
+
+	/**
+	 * Shared indexes by archive path, in least recently used order.
+	 */
+	private static final LinkedHashMap<String, ArchiveIndex> fgIndexes = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Total number of entries of the shared indexes.
+	 */
+	private static int fgTotalEntries;
+
+	private final long fLastModified;
+	private final long fLength;
+
+	/** All entries by name. */
+	private final Map<String, ZipEntry> fEntries;
+
+	/** File entries by the last segment of their name, in archive order. */
+	private final Map<String, ZipEntry[]> fFilesBySimpleName;
+
+	/**
+	 * Folders of the archive, including folders without an entry of their
+	 * own, each with a trailing slash, and the empty path.
+	 */
+	private final Set<String> fFolders;
+
+	private ArchiveIndex(long lastModified, long length, Map<String, ZipEntry> entries, Map<String, ZipEntry[]> filesBySimpleName, Set<String> folders) {
+		fLastModified = lastModified;
+		fLength = length;
+		fEntries = entries;
+		fFilesBySimpleName = filesBySimpleName;
+		fFolders = folders;
+	}
+
+	/**
+	 * Returns the index of an archive, reading the archive if it was not
+	 * indexed yet or changed since.
+	 *
+	 * @param path path of the archive in the local file system
+	 * @return the index of the archive
+	 * @exception IOException if the archive cannot be read
+	 */
+	public static ArchiveIndex getIndex(String path) throws IOException {
+		File file = new File(path);
+		long lastModified = file.lastModified();
+		long length = file.length();
+		synchronized (fgIndexes) {
+			ArchiveIndex index = fgIndexes.get(path);
+			if (index != null && index.fLastModified == lastModified && index.fLength == length) {
+				return index;
+			}
+		}
+		// read outside of the lock, archives may be large
+		ArchiveIndex index = read(file, lastModified, length);
+		synchronized (fgIndexes) {
+			ArchiveIndex previous = fgIndexes.put(path, index);
+			if (previous != null) {
+				fgTotalEntries -= previous.size();
+			}
+			fgTotalEntries += index.size();
+			for (Iterator<Entry<String, ArchiveIndex>> iterator = fgIndexes.entrySet().iterator(); fgTotalEntries > MAX_TOTAL_ENTRIES && iterator.hasNext();) {
+				Entry<String, ArchiveIndex> eldest = iterator.next();
+				if (eldest.getValue() != index) {
+					fgTotalEntries -= eldest.getValue().size();
+					iterator.remove();
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Discards all shared indexes.
+	 */
+	public static void clear() {
+		synchronized (fgIndexes) {
+			fgIndexes.clear();
+			fgTotalEntries = 0;
+		}
+	}
+
+	private static ArchiveIndex read(File file, long lastModified, long length) throws IOException {
+		Map<String, ZipEntry> entries = new HashMap<>();
+		Map<String, List<ZipEntry>> files = new HashMap<>();
+		Set<String> folders = new HashSet<>();
+		folders.add(""); //$NON-NLS-1$
+		try (ZipFile zip = new ZipFile(file)) {
+			Enumeration<? extends ZipEntry> enumeration = zip.entries();
+			while (enumeration.hasMoreElements()) {
+				ZipEntry entry = enumeration.nextElement();
+				String name = entry.getName();
+				entries.putIfAbsent(name, entry);
+				if (entry.isDirectory()) {
+					folders.add(name);
+				} else {
+					int index = name.lastIndexOf('/');
+					files.computeIfAbsent(name.substring(index + 1), n -> new ArrayList<>(1)).add(entry);
+					while (index > 0 && folders.add(name.substring(0, index + 1))) {
+						index = name.lastIndexOf('/', index - 1);
+					}
+				}
+			}
+		}
+		Map<String, ZipEntry[]> filesBySimpleName = new HashMap<>(files.size() * 4 / 3 + 1);
+		for (Entry<String, List<ZipEntry>> entry : files.entrySet()) {
+			filesBySimpleName.put(entry.getKey(), entry.getValue().toArray(NO_ENTRIES));
+		}
+		return new ArchiveIndex(lastModified, length, entries, filesBySimpleName, Collections.unmodifiableSet(folders));
+	}
+
+	/**
+	 * Returns the entry with the given name.
+	 *
+	 * @param name the entry name
+	 * @return the entry or <code>null</code> if none
+	 */
+	public ZipEntry getEntry(String name) {
+		return fEntries.get(name);
+	}
+
+	/**
+	 * Returns the file entries whose last name segment is the given name, in
+	 * archive order.
+	 *
+	 * @param simpleName last segment of the entry names
+	 * @return the matching entries, possibly empty
+	 */
+	public ZipEntry[] getFiles(String simpleName) {
+		ZipEntry[] files = fFilesBySimpleName.get(simpleName);
+		return files == null ? NO_ENTRIES : files;
+	}
+
+	/**
+	 * Returns the last segments of the names of all file entries.
+	 *
+	 * @return the simple file names, not to be modified
+	 */
+	public Set<String> getSimpleNames() {
+		return Collections.unmodifiableSet(fFilesBySimpleName.keySet());
+	}
+
+	/**
+	 * Returns the folders of the archive, including folders without an entry
+	 * of their own, each with a trailing slash, and the empty path for the
+	 * archive root.
+	 *
+	 * @return the folders, not to be modified
+	 */
+	public Set<String> getFolders() {
+		return fFolders;
+	}
+
+	/**
+	 * @return the number of entries of the archive
+	 */
+	public int size() {
+		return fEntries.size();
+	}
+}
@@ -0,0 +1,780 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.sourcelookup;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupDirector;
+import org.eclipse.debug.core.sourcelookup.containers.ContainerSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.DirectorySourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+
+/**
+ * Index of the source containers of a source lookup director, mapping simple
+ * file names to the containers which may contain a file of that name.
+ * <p>
+ * Directories, external archives and workspace containers are indexed. Other
+ * containers are never excluded from a search. The index is built in the
+ * background when the source containers change. When files are added to the
+ * workspace, only the containers whose roots contain the added files are
+ * indexed again, and they are searched until their names are collected. Files
+ * added to external directories or archives, or to workspace folders which
+ * were not refreshed, are only seen by a rebuild. Callers should therefore
+ * ask for the excluded containers which changed since they were indexed with
+ * {@link #getChanged(ISourceContainer[], BitSet)} before accepting a match of
+ * a later container, and search the excluded containers when the candidates
+ * do not provide a source element and report a stale index with
+ * {@link #invalidate()}.
+ * </p>
+ * <p>
+ * Names are compared ignoring case, so the candidates are a superset of the
+ * containers with a matching file on case insensitive file systems as well.
+ * </p>
+ *
+ * @see IInternalDebugCoreConstants#PREF_INDEX_SOURCE_LOOKUP
+ */
+public class SourceLookupIndex {
+
+	/**
+	 * Maximum number of files indexed per container. Larger containers are
+	 * always searched.
+	 */
+	private static final int MAX_FILES_PER_CONTAINER = 200000;
+
+	/**
+	 * Number of added workspace files above which all indexes are rebuilt
+	 * without checking the individual files.
+	 */
+	private static final int MAX_ADDED_FILES = 1000;
+
+	/**
+	 * Indexes by director. Indexes are released with their director.
+	 */
+	private static final Map<ISourceLookupDirector, SourceLookupIndex> fgIndexes = new WeakHashMap<>();
+
+	private static IResourceChangeListener fgResourceListener;
+
+	private static ThreadPoolExecutor fgExecutor;
+
+	/**
+	 * Immutable content of the index.
+	 */
+	private static final class Snapshot {
+		/** The indexed source containers in lookup order. */
+		final ISourceContainer[] containers;
+		/** Positions of the containers whose files are indexed. */
+		final BitSet indexed;
+		/** Positions of the containers by lower case simple file name. */
+		final Map<String, BitSet> candidates;
+		/** Workspace paths of the indexed workspace containers by position. */
+		final IPath[] workspacePaths;
+		/** File system locations of the indexed containers by position. */
+		final IPath[] locations;
+		/** Stamps of the indexed containers by position. */
+		final Stamp[] stamps;
+
+		Snapshot(ISourceContainer[] containers, BitSet indexed, Map<String, BitSet> candidates, IPath[] workspacePaths, IPath[] locations, Stamp[] stamps) {
+			this.containers = containers;
+			this.indexed = indexed;
+			this.candidates = candidates;
+			this.workspacePaths = workspacePaths;
+			this.locations = locations;
+			this.stamps = stamps;
+		}
+	}
+
+	/**
+	 * Modification times of the directories or of the archive of an indexed
+	 * container, taken when its names were collected. Adding a file changes
+	 * the modification time of its directory.
+	 */
+	private static final class Stamp {
+		final Path[] files;
+		final long[] modified;
+
+		Stamp(List<Path> files, List<Long> modified) {
+			this.files = files.toArray(new Path[files.size()]);
+			this.modified = new long[modified.size()];
+			for (int i = 0; i < this.modified.length; i++) {
+				this.modified[i] = modified.get(i);
+			}
+		}
+
+		boolean isCurrent() {
+			for (int i = 0; i < files.length; i++) {
+				try {
+					if (Files.getLastModifiedTime(files[i]).toMillis() != modified[i]) {
+						return false;
+					}
+				} catch (IOException e) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Thrown when a container has too many files to be indexed.
+	 */
+	private static final class TooManyFilesException extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * Collects the file names of one container.
+	 */
+	private static final class NameCollector {
+		final List<String> names = new ArrayList<>();
+		final List<Path> stamped = new ArrayList<>();
+		final List<Long> modified = new ArrayList<>();
+		final IProgressMonitor monitor;
+
+		NameCollector(IProgressMonitor monitor) {
+			this.monitor = monitor;
+		}
+
+		void add(String name) throws TooManyFilesException {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (names.size() >= MAX_FILES_PER_CONTAINER) {
+				throw new TooManyFilesException();
+			}
+			names.add(name.toLowerCase(Locale.ROOT));
+		}
+
+		void stamp(Path file, long lastModified) {
+			stamped.add(file);
+			modified.add(lastModified);
+		}
+
+		void stamp(Path file) {
+			try {
+				stamp(file, Files.getLastModifiedTime(file).toMillis());
+			} catch (IOException e) {
+				// a file which cannot be read has no stamp
+			}
+		}
+	}
+
+	private final WeakReference<ISourceLookupDirector> fDirector;
+
+	private volatile Snapshot fSnapshot;
+
+	/**
+	 * Containers the index is being built for, or <code>null</code> if no
+	 * build is pending.
+	 */
+	private ISourceContainer[] fPending;
+
+	/**
+	 * Positions of the containers of the snapshot to index again, or
+	 * <code>null</code> if none.
+	 */
+	private BitSet fStale;
+
+	/**
+	 * Incremented on each invalidation, so that a build which ran while the
+	 * index was invalidated is discarded.
+	 */
+	private int fGeneration;
+
+	private final Job fBuildJob;
+
+	private SourceLookupIndex(ISourceLookupDirector director) {
+		fDirector = new WeakReference<>(director);
+		fBuildJob = new Job("Indexing source lookup path") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return build(monitor);
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == SourceLookupIndex.class;
+			}
+		};
+		fBuildJob.setSystem(true);
+		fBuildJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns the index of a director, or <code>null</code> if source lookup
+	 * indexing is disabled.
+	 *
+	 * @param director the source lookup director
+	 * @return the index of the director or <code>null</code>
+	 */
+	public static SourceLookupIndex getIndex(ISourceLookupDirector director) {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service != null && !service.getBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_INDEX_SOURCE_LOOKUP, true, null)) {
+			return null;
+		}
+		synchronized (fgIndexes) {
+			SourceLookupIndex index = fgIndexes.get(director);
+			if (index == null) {
+				index = new SourceLookupIndex(director);
+				fgIndexes.put(director, index);
+				addResourceListener();
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Returns which of the given containers may contain a file with the given
+	 * name. Returns <code>null</code> if the index cannot tell, for example
+	 * while it is built or when the name is not supported. Schedules a build
+	 * if the index does not match the containers.
+	 *
+	 * @param containers the source containers of the director in lookup order
+	 * @param name the name to search for, simple or qualified
+	 * @return the positions of the candidate containers or <code>null</code>
+	 */
+	public BitSet getCandidates(ISourceContainer[] containers, String name) {
+		String simpleName = getSimpleName(name);
+		Snapshot snapshot = fSnapshot;
+		if (snapshot == null || !isSame(snapshot.containers, containers)) {
+			scheduleBuild(containers);
+			return null;
+		}
+		if (simpleName == null) {
+			return null;
+		}
+		BitSet candidates = new BitSet(containers.length);
+		candidates.set(0, containers.length);
+		candidates.andNot(snapshot.indexed);
+		BitSet matches = snapshot.candidates.get(simpleName);
+		if (matches != null) {
+			candidates.or(matches);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns which of the given indexed containers changed since their names
+	 * were collected, and schedules to index them again. Containers which are
+	 * not indexed are never returned.
+	 *
+	 * @param containers the source containers of the director in lookup order
+	 * @param positions the positions of the containers to check
+	 * @return the positions of the changed containers
+	 */
+	public BitSet getChanged(ISourceContainer[] containers, BitSet positions) {
+		Snapshot snapshot = fSnapshot;
+		if (snapshot == null || !isSame(snapshot.containers, containers)) {
+			// the containers are searched until the index is built again
+			return (BitSet) positions.clone();
+		}
+		BitSet changed = new BitSet(containers.length);
+		for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+			if (snapshot.indexed.get(i) && !snapshot.stamps[i].isCurrent()) {
+				changed.set(i);
+			}
+		}
+		if (!changed.isEmpty()) {
+			invalidate(snapshot, changed);
+		}
+		return changed;
+	}
+
+	/**
+	 * Discards the index and schedules a new build, for example when a
+	 * source element was found in a container the index did not list.
+	 */
+	public void invalidate() {
+		ISourceContainer[] containers;
+		synchronized (this) {
+			fGeneration++;
+			Snapshot snapshot = fSnapshot;
+			containers = snapshot != null ? snapshot.containers : fPending;
+			fSnapshot = null;
+			fPending = null;
+			fStale = null;
+		}
+		if (containers != null) {
+			scheduleBuild(containers);
+		}
+	}
+
+	/**
+	 * Schedules to index the given containers of a snapshot again. The
+	 * containers are searched until then, all others stay indexed.
+	 */
+	private void invalidate(Snapshot affected, BitSet stale) {
+		boolean moved;
+		synchronized (this) {
+			Snapshot snapshot = fSnapshot;
+			if (snapshot == null) {
+				// a full build is pending, which sees all files
+				return;
+			}
+			moved = snapshot.containers != affected.containers;
+			if (!moved) {
+				fGeneration++;
+				if (fStale == null) {
+					fStale = new BitSet(snapshot.containers.length);
+				}
+				fStale.or(stale);
+				BitSet indexed = (BitSet) snapshot.indexed.clone();
+				indexed.andNot(stale);
+				fSnapshot = new Snapshot(snapshot.containers, indexed, snapshot.candidates, snapshot.workspacePaths, snapshot.locations, snapshot.stamps);
+			}
+		}
+		if (moved) {
+			// the containers changed while the delta was processed
+			invalidate();
+		} else {
+			fBuildJob.schedule();
+		}
+	}
+
+	/**
+	 * Notifies the index that the source containers of its director changed.
+	 *
+	 * @param containers the new source containers
+	 */
+	public void containersChanged(ISourceContainer[] containers) {
+		synchronized (this) {
+			fGeneration++;
+			fSnapshot = null;
+			fPending = null;
+			fStale = null;
+		}
+		scheduleBuild(containers);
+	}
+
+	/**
+	 * Calls the given tasks concurrently and returns their results in the
+	 * order of the tasks. The first task runs in the calling thread.
+	 *
+	 * @param tasks the tasks
+	 * @return futures holding the results, in the order of the tasks
+	 */
+	public static <T> List<Future<T>> invokeAll(List<Callable<T>> tasks) {
+		List<Future<T>> futures = new ArrayList<>(tasks.size());
+		if (tasks.isEmpty()) {
+			return futures;
+		}
+		ThreadPoolExecutor executor = getExecutor();
+		for (int i = 1; i < tasks.size(); i++) {
+			futures.add(executor.submit(tasks.get(i)));
+		}
+		FutureTask<T> first = new FutureTask<>(tasks.get(0));
+		first.run();
+		futures.add(0, first);
+		return futures;
+	}
+
+	/**
+	 * Stops indexing and releases all indexes. Called when the debug plug-in
+	 * shuts down.
+	 */
+	public static void shutdown() {
+		Job.getJobManager().cancel(SourceLookupIndex.class);
+		synchronized (fgIndexes) {
+			fgIndexes.clear();
+			if (fgResourceListener != null) {
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgResourceListener);
+				fgResourceListener = null;
+			}
+			if (fgExecutor != null) {
+				fgExecutor.shutdownNow();
+				fgExecutor = null;
+			}
+		}
+	}
+
+	private void scheduleBuild(ISourceContainer[] containers) {
+		synchronized (this) {
+			if (fPending != null && isSame(fPending, containers)) {
+				return;
+			}
+			fPending = containers.clone();
+		}
+		fBuildJob.schedule();
+	}
+
+	private IStatus build(IProgressMonitor monitor) {
+		ISourceContainer[] containers;
+		Snapshot snapshot;
+		BitSet stale;
+		int generation;
+		synchronized (this) {
+			containers = fPending;
+			snapshot = fSnapshot;
+			stale = fStale == null ? null : (BitSet) fStale.clone();
+			generation = fGeneration;
+		}
+		if (fDirector.get() == null) {
+			return Status.OK_STATUS;
+		}
+		if (containers == null) {
+			if (snapshot == null || stale == null) {
+				return Status.OK_STATUS;
+			}
+			return update(snapshot, stale, generation, monitor);
+		}
+		BitSet indexed = new BitSet(containers.length);
+		Map<String, BitSet> candidates = new HashMap<>();
+		IPath[] workspacePaths = new IPath[containers.length];
+		IPath[] locations = new IPath[containers.length];
+		Stamp[] stamps = new Stamp[containers.length];
+		try {
+			for (int i = 0; i < containers.length; i++) {
+				index(containers, i, indexed, candidates, workspacePaths, locations, stamps, monitor);
+			}
+		} catch (OperationCanceledException e) {
+			synchronized (this) {
+				if (fPending == containers) {
+					fPending = null;
+				}
+			}
+			return Status.CANCEL_STATUS;
+		}
+		synchronized (this) {
+			if (generation == fGeneration && fPending == containers) {
+				fSnapshot = new Snapshot(containers, indexed, candidates, workspacePaths, locations, stamps);
+				fPending = null;
+				fStale = null;
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Indexes the stale containers of a snapshot again, keeping the names of
+	 * all other containers.
+	 */
+	private IStatus update(Snapshot snapshot, BitSet stale, int generation, IProgressMonitor monitor) {
+		ISourceContainer[] containers = snapshot.containers;
+		BitSet indexed = (BitSet) snapshot.indexed.clone();
+		Map<String, BitSet> candidates = new HashMap<>();
+		for (Map.Entry<String, BitSet> entry : snapshot.candidates.entrySet()) {
+			BitSet positions = (BitSet) entry.getValue().clone();
+			positions.andNot(stale);
+			if (!positions.isEmpty()) {
+				candidates.put(entry.getKey(), positions);
+			}
+		}
+		IPath[] workspacePaths = snapshot.workspacePaths.clone();
+		IPath[] locations = snapshot.locations.clone();
+		Stamp[] stamps = snapshot.stamps.clone();
+		try {
+			for (int i = stale.nextSetBit(0); i >= 0; i = stale.nextSetBit(i + 1)) {
+				workspacePaths[i] = null;
+				locations[i] = null;
+				stamps[i] = null;
+				index(containers, i, indexed, candidates, workspacePaths, locations, stamps, monitor);
+			}
+		} catch (OperationCanceledException e) {
+			// the stale containers stay excluded from the index
+			return Status.CANCEL_STATUS;
+		}
+		synchronized (this) {
+			if (generation == fGeneration && fSnapshot != null && fSnapshot.containers == containers) {
+				fSnapshot = new Snapshot(containers, indexed, candidates, workspacePaths, locations, stamps);
+				fStale = null;
+			}
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Adds the names of the files in the container at the given position to
+	 * the index, unless the container cannot be indexed.
+	 */
+	private static void index(ISourceContainer[] containers, int i, BitSet indexed, Map<String, BitSet> candidates, IPath[] workspacePaths, IPath[] locations, Stamp[] stamps, IProgressMonitor monitor) {
+		NameCollector collector = new NameCollector(monitor);
+		try {
+			if (!collect(containers[i], collector, workspacePaths, locations, i)) {
+				return;
+			}
+		} catch (TooManyFilesException e) {
+			return;
+		}
+		indexed.set(i);
+		stamps[i] = new Stamp(collector.stamped, collector.modified);
+		for (String name : collector.names) {
+			candidates.computeIfAbsent(name, n -> new BitSet(containers.length)).set(i);
+		}
+	}
+
+	/**
+	 * Adds the names of the files in a container to the collector and stores
+	 * the roots of the container at the given position.
+	 *
+	 * @return whether the container is indexed
+	 */
+	private static boolean collect(ISourceContainer container, NameCollector collector, IPath[] workspacePaths, IPath[] locations, int position) throws TooManyFilesException {
+		if (container instanceof DirectorySourceContainer) {
+			File directory = ((DirectorySourceContainer) container).getDirectory();
+			if (!directory.isDirectory()) {
+				return false;
+			}
+			collectFiles(directory.toPath(), collector);
+			locations[position] = org.eclipse.core.runtime.Path.fromOSString(directory.getAbsolutePath());
+			return true;
+		}
+		if (container instanceof ExternalArchiveSourceContainer) {
+			if (!collectEntries(container.getName(), collector)) {
+				return false;
+			}
+			collector.stamp(new File(container.getName()).toPath());
+			return true;
+		}
+		if (container instanceof ContainerSourceContainer) {
+			IContainer resource = ((ContainerSourceContainer) container).getContainer();
+			if (!resource.isAccessible()) {
+				return false;
+			}
+			try {
+				resource.accept(proxy -> {
+					if (proxy.getType() == IResource.FILE) {
+						try {
+							collector.add(proxy.getName());
+						} catch (TooManyFilesException e) {
+							throw new CoreException(new Status(IStatus.CANCEL, DebugPlugin.getUniqueIdentifier(), null, e));
+						}
+					} else {
+						// files which are not refreshed yet are found as well
+						IPath location = proxy.requestResource().getLocation();
+						if (location != null) {
+							collector.stamp(location.toFile().toPath());
+						}
+					}
+					return true;
+				}, IResource.NONE);
+			} catch (CoreException e) {
+				if (e.getStatus().getException() instanceof TooManyFilesException) {
+					throw (TooManyFilesException) e.getStatus().getException();
+				}
+				return false;
+			}
+			workspacePaths[position] = resource.getFullPath();
+			// files in the container's location may be found as well
+			locations[position] = resource.getLocation();
+			return true;
+		}
+		return false;
+	}
+
+	private static void collectFiles(Path directory, NameCollector collector) throws TooManyFilesException {
+		try {
+			Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+					collector.stamp(dir, attrs.lastModifiedTime().toMillis());
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					if (attrs.isRegularFile()) {
+						try {
+							collector.add(file.getFileName().toString());
+						} catch (TooManyFilesException e) {
+							throw new IOException(e);
+						}
+					}
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					// unreadable files and link cycles are not indexed
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			if (e.getCause() instanceof TooManyFilesException) {
+				throw (TooManyFilesException) e.getCause();
+			}
+		}
+	}
+
+	private static boolean collectEntries(String archivePath, NameCollector collector) throws TooManyFilesException {
+		ArchiveIndex index;
+		try {
+			index = ArchiveIndex.getIndex(archivePath);
+		} catch (IOException e) {
+			return false;
+		}
+		for (String name : index.getSimpleNames()) {
+			collector.add(name);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the lower case last segment of a name, or <code>null</code> if
+	 * the name may denote a file outside of the containers.
+	 */
+	private static String getSimpleName(String name) {
+		String path = name.replace('\\', '/');
+		String simpleName = path.substring(path.lastIndexOf('/') + 1);
+		if (simpleName.isEmpty() || path.contains("..")) { //$NON-NLS-1$
+			return null;
+		}
+		return simpleName.toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean isSame(ISourceContainer[] a, ISourceContainer[] b) {
+		if (a.length != b.length) {
+			return false;
+		}
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] != b[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the positions of the indexed containers whose roots contain a file
+	 * added at the given workspace path and location. Containers which are
+	 * being indexed again are included, their files may have been collected
+	 * before the file was added.
+	 */
+	private static void collectAffected(Snapshot snapshot, IPath fullPath, IPath location, BitSet affected) {
+		for (int i = 0; i < snapshot.containers.length; i++) {
+			IPath workspacePath = snapshot.workspacePaths[i];
+			IPath containerLocation = snapshot.locations[i];
+			if ((workspacePath != null && workspacePath.isPrefixOf(fullPath)) || (location != null && containerLocation != null && containerLocation.isPrefixOf(location))) {
+				affected.set(i);
+			}
+		}
+	}
+
+	private static void addResourceListener() {
+		if (fgResourceListener != null) {
+			return;
+		}
+		fgResourceListener = SourceLookupIndex::resourceChanged;
+		try {
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fgResourceListener, IResourceChangeEvent.POST_CHANGE);
+		} catch (IllegalStateException e) {
+			// workspace is closed, no changes to listen to
+		}
+	}
+
+	/**
+	 * Invalidates the indexes which may miss added files. Removed files do
+	 * not need an update, the index only lists candidates.
+	 */
+	private static void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		List<IResource> added = new ArrayList<>();
+		try {
+			delta.accept(child -> {
+				if (added.size() > MAX_ADDED_FILES) {
+					return false;
+				}
+				if (child.getKind() == IResourceDelta.ADDED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+					// an added folder or an opened project adds all files within
+					added.add(child.getResource());
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			DebugPlugin.log(e);
+			return;
+		}
+		if (added.isEmpty()) {
+			return;
+		}
+		List<SourceLookupIndex> indexes;
+		synchronized (fgIndexes) {
+			indexes = new ArrayList<>(fgIndexes.values());
+		}
+		for (SourceLookupIndex index : indexes) {
+			Snapshot snapshot = index.fSnapshot;
+			if (snapshot == null) {
+				continue;
+			}
+			if (added.size() > MAX_ADDED_FILES) {
+				index.invalidate();
+				continue;
+			}
+			BitSet affected = new BitSet(snapshot.containers.length);
+			for (IResource resource : added) {
+				collectAffected(snapshot, resource.getFullPath(), resource.getLocation(), affected);
+			}
+			if (!affected.isEmpty()) {
+				index.invalidate(snapshot, affected);
+			}
+		}
+	}
+
+	private static ThreadPoolExecutor getExecutor() {
+		synchronized (fgIndexes) {
+			if (fgExecutor == null) {
+				int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+				fgExecutor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+					Thread thread = new Thread(task, "Source Lookup Worker"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+				fgExecutor.allowCoreThreadTimeOut(true);
+			}
+			return fgExecutor;
+		}
+	}
+}
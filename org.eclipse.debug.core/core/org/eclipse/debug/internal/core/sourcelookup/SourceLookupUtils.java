@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2003, 2018 IBM Corporation and others.
+ * Copyright (c) 2003, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,16 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.core.sourcelookup;
 
+import java.io.File;
 import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
@@ -34,15 +42,79 @@ import org.eclipse.debug.core.ILaunchesListener2;
  */
 public class SourceLookupUtils {
 
+	/**
+	 * Maximum number of zip files held by the cache.
+	 */
+	private static final int MAX_OPEN_ARCHIVES = 32;
+
 	/**
 	 * Cache of shared zip files. Zip files are closed
 	 * when this class's plug-in is shutdown, when a project
 	 * is about to be closed or deleted, when a launch is
-	 * removed, and when a debug target or process terminates.
+	 * removed, or when a debug target or process terminates.
+	 * <p>
+	 * The least recently used zip files exceeding the cache size
+	 * and zip files of replaced archives are not closed, since
+	 * zip entry storages may still read from them. They are only
+	 * weakly referenced from then on, reused while still in use
+	 * and current, and closed with the cache or by the garbage
+	 * collector otherwise.
+	 * </p>
+	 */
+	private static LinkedHashMap<String, CachedArchive> fgZipFileCache = new LinkedHashMap<String, CachedArchive>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedArchive> eldest) {
+			if (size() > MAX_OPEN_ARCHIVES) {
+				evict(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Zip files evicted from the cache, by name. A name has several zip files
+	 * if its archive was replaced. Guarded by the cache.
 	 */
-	private static HashMap<String, ZipFile> fgZipFileCache = new HashMap<>(5);
+	private static final Map<String, List<EvictedArchive>> fgEvictedArchives = new HashMap<>();
+	private static final ReferenceQueue<ZipFile> fgEvictedQueue = new ReferenceQueue<>();
+
 	private static ArchiveCleaner fgCleaner = null;
 
+	/**
+	 * An open zip file and the modification stamp of its archive when it was
+	 * opened.
+	 */
+	private static final class CachedArchive {
+		final ZipFile zip;
+		final long lastModified;
+		final long length;
+
+		CachedArchive(ZipFile zip, long lastModified, long length) {
+			this.zip = zip;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * A weak reference to a zip file evicted from the cache.
+	 */
+	private static final class EvictedArchive extends WeakReference<ZipFile> {
+		final String name;
+		final long lastModified;
+		final long length;
+
+		EvictedArchive(String name, CachedArchive archive, ReferenceQueue<ZipFile> queue) {
+			super(archive.zip, queue);
+			this.name = name;
+			this.lastModified = archive.lastModified;
+			this.length = archive.length;
+		}
+	}
+
 	/**
 	 * Returns a zip file with the given name
 	 *
@@ -59,12 +131,70 @@ public class SourceLookupUtils {
 				DebugPlugin.getDefault().getLaunchManager().addLaunchListener(fgCleaner);
 				ResourcesPlugin.getWorkspace().addResourceChangeListener(fgCleaner, IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.PRE_CLOSE);
 			}
-			ZipFile zip = fgZipFileCache.get(name);
-			if (zip == null) {
-				zip = new ZipFile(name);
-				fgZipFileCache.put(name, zip);
+			File file = new File(name);
+			long lastModified = file.lastModified();
+			long length = file.length();
+			expungeEvictedArchives();
+			CachedArchive archive = fgZipFileCache.get(name);
+			if (archive == null) {
+				archive = reviveEvictedArchive(name, lastModified, length);
+			}
+			if (archive != null && (archive.lastModified != lastModified || archive.length != length)) {
+				// the archive was replaced: new storages must not combine the new
+				// index with the old file, existing ones keep reading the old file
+				fgZipFileCache.remove(name);
+				evict(name, archive);
+				archive = null;
+			}
+			if (archive == null) {
+				archive = new CachedArchive(new ZipFile(name), lastModified, length);
+				fgZipFileCache.put(name, archive);
+			}
+			return archive.zip;
+		}
+	}
+
+	/**
+	 * Keeps a weak reference to a zip file removed from the cache, so that it
+	 * can be reused or closed while it is in use.
+	 */
+	private static void evict(String name, CachedArchive archive) {
+		fgEvictedArchives.computeIfAbsent(name, n -> new ArrayList<>(1)).add(new EvictedArchive(name, archive, fgEvictedQueue));
+	}
+
+	/**
+	 * Moves an evicted zip file of the current archive that is still in use
+	 * back to the cache, so storages of the same entry keep using one zip
+	 * file.
+	 */
+	private static CachedArchive reviveEvictedArchive(String name, long lastModified, long length) {
+		List<EvictedArchive> archives = fgEvictedArchives.get(name);
+		if (archives == null) {
+			return null;
+		}
+		for (Iterator<EvictedArchive> iterator = archives.iterator(); iterator.hasNext();) {
+			EvictedArchive evicted = iterator.next();
+			ZipFile zip = evicted.get();
+			if (zip != null && evicted.lastModified == lastModified && evicted.length == length) {
+				iterator.remove();
+				if (archives.isEmpty()) {
+					fgEvictedArchives.remove(name);
+				}
+				CachedArchive archive = new CachedArchive(zip, evicted.lastModified, evicted.length);
+				fgZipFileCache.put(name, archive);
+				return archive;
+			}
+		}
+		return null;
+	}
+
+	private static void expungeEvictedArchives() {
+		EvictedArchive collected;
+		while ((collected = (EvictedArchive) fgEvictedQueue.poll()) != null) {
+			List<EvictedArchive> archives = fgEvictedArchives.get(collected.name);
+			if (archives != null && archives.remove(collected) && archives.isEmpty()) {
+				fgEvictedArchives.remove(collected.name);
 			}
-			return zip;
 		}
 	}
 
@@ -76,16 +206,30 @@ public class SourceLookupUtils {
 	 */
 	public static void closeArchives() {
 		synchronized (fgZipFileCache) {
-			for (ZipFile file : fgZipFileCache.values()) {
-				synchronized (file) {
-					try {
-						file.close();
-					} catch (IOException e) {
-						DebugPlugin.log(e);
+			for (CachedArchive archive : fgZipFileCache.values()) {
+				close(archive.zip);
+			}
+			fgZipFileCache.clear();
+			for (List<EvictedArchive> archives : fgEvictedArchives.values()) {
+				for (EvictedArchive evicted : archives) {
+					ZipFile zip = evicted.get();
+					if (zip != null) {
+						close(zip);
 					}
 				}
 			}
-			fgZipFileCache.clear();
+			fgEvictedArchives.clear();
+			expungeEvictedArchives();
+		}
+	}
+
+	private static void close(ZipFile file) {
+		synchronized (file) {
+			try {
+				file.close();
+			} catch (IOException e) {
+				DebugPlugin.log(e);
+			}
 		}
 	}
 
@@ -94,6 +238,7 @@ public class SourceLookupUtils {
 	 */
 	public static void shutdown() {
 		closeArchives();
+		ArchiveIndex.clear();
 		if (fgCleaner != null) {
 			DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(fgCleaner);
 			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgCleaner);
@@ -15,11 +15,13 @@
  *******************************************************************************/
 package org.eclipse.debug.tests;
 
+import org.eclipse.debug.tests.breakpoint.BreakpointContainerTests;
 import org.eclipse.debug.tests.breakpoint.BreakpointOrderingTests;
 import org.eclipse.debug.tests.breakpoint.BreakpointTests;
 import org.eclipse.debug.tests.breakpoint.SerialExecutorTest;
 import org.eclipse.debug.tests.console.ConsoleDocumentAdapterTests;
 import org.eclipse.debug.tests.console.ConsoleManagerTests;
+import org.eclipse.debug.tests.console.ConsoleMatchSchedulerTests;
 import org.eclipse.debug.tests.console.ConsoleTests;
 import org.eclipse.debug.tests.console.FileLinkTests;
 import org.eclipse.debug.tests.console.IOConsoleFixedWidthTests;
@@ -33,6 +35,8 @@ import org.eclipse.debug.tests.console.StreamsProxyTests;
 import org.eclipse.debug.tests.console.TextConsoleViewerTest;
 import org.eclipse.debug.tests.launching.AcceleratorSubstitutionTests;
 import org.eclipse.debug.tests.launching.ArgumentParsingTests;
+import org.eclipse.debug.tests.launching.DebugEventRoutingTests;
+import org.eclipse.debug.tests.launching.LaunchConfigurationInfoCacheTests;
 import org.eclipse.debug.tests.launching.LaunchConfigurationTests;
 import org.eclipse.debug.tests.launching.LaunchFavoriteTests;
 import org.eclipse.debug.tests.launching.LaunchGroupTests;
@@ -41,15 +45,27 @@ import org.eclipse.debug.tests.launching.LaunchManagerTests;
 import org.eclipse.debug.tests.launching.LaunchTests;
 import org.eclipse.debug.tests.launching.RefreshTabTests;
 import org.eclipse.debug.tests.logicalstructure.LogicalStructureCacheTest;
+import org.eclipse.debug.tests.sourcelookup.ArchiveIndexTests;
 import org.eclipse.debug.tests.sourcelookup.SourceLookupFacilityTests;
+import org.eclipse.debug.tests.sourcelookup.SourceLookupIndexTests;
 import org.eclipse.debug.tests.statushandlers.StatusHandlerTests;
 import org.eclipse.debug.tests.stepfilters.StepFiltersTests;
+import org.eclipse.debug.tests.ui.DebugValueCodeMiningProviderTests;
 import org.eclipse.debug.tests.ui.VariableValueEditorManagerTests;
+import org.eclipse.debug.tests.unittest.HistoryIndexTests;
+import org.eclipse.debug.tests.unittest.TestRunSessionModelTests;
+import org.eclipse.debug.tests.unittest.TestRunSessionReaderWriterTests;
+import org.eclipse.debug.tests.unittest.TestViewerTests;
 import org.eclipse.debug.tests.view.memory.MemoryRenderingTests;
 import org.eclipse.debug.tests.view.memory.TableRenderingTests;
 import org.eclipse.debug.tests.viewer.model.ChildrenUpdateTests;
+import org.eclipse.debug.tests.viewer.model.ContentUpdateExecutorTests;
 import org.eclipse.debug.tests.viewer.model.FilterTransformTests;
+import org.eclipse.debug.tests.viewer.model.LabelCacheTests;
+import org.eclipse.debug.tests.viewer.model.ModelDeltaDispatcherTests;
 import org.eclipse.debug.tests.viewer.model.PresentationContextTests;
+import org.eclipse.debug.tests.viewer.model.StreamingSearchTests;
+import org.eclipse.debug.tests.viewer.model.ViewerStateStoreTests;
 import org.eclipse.debug.tests.viewer.model.VirtualViewerContentTests;
 import org.eclipse.debug.tests.viewer.model.VirtualViewerDeltaTests;
 import org.eclipse.debug.tests.viewer.model.VirtualViewerFilterTests;
@@ -68,10 +84,13 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 		// Source lookup tests
+		ArchiveIndexTests.class,
 		SourceLookupFacilityTests.class,
+		SourceLookupIndexTests.class,
 		// BP tests
 		BreakpointOrderingTests.class,
 		BreakpointTests.class,
+		BreakpointContainerTests.class,
 		SerialExecutorTest.class,
 		// Note: jface viewer tests were moved out of nightly tests
 		// due to frequent problems on nightly build machines.
@@ -88,15 +107,22 @@ import org.junit.runners.Suite;
 
 		// Viewer neutral tests
 		FilterTransformTests.class,
+		LabelCacheTests.class,
+		ModelDeltaDispatcherTests.class,
+		ContentUpdateExecutorTests.class,
 		ChildrenUpdateTests.class,
 		PresentationContextTests.class,
+		StreamingSearchTests.class,
+		ViewerStateStoreTests.class,
 		VariableValueEditorManagerTests.class,
+		DebugValueCodeMiningProviderTests.class,
 
 		// Memory view
 		MemoryRenderingTests.class,
 		TableRenderingTests.class,
 
 		// Launch framework
+		LaunchConfigurationInfoCacheTests.class,
 		LaunchConfigurationTests.class,
 		AcceleratorSubstitutionTests.class,
 		LaunchHistoryTests.class,
@@ -105,6 +131,7 @@ import org.junit.runners.Suite;
 		RefreshTabTests.class,
 		ArgumentParsingTests.class,
 		LaunchTests.class,
+		DebugEventRoutingTests.class,
 
 		// Status handlers
 		StatusHandlerTests.class,
@@ -115,6 +142,7 @@ import org.junit.runners.Suite;
 		// Console view
 		ConsoleDocumentAdapterTests.class,
 		ConsoleManagerTests.class,
+		ConsoleMatchSchedulerTests.class,
 		ConsoleTests.class,
 		IOConsoleTests.class,
 		IOConsoleFixedWidthTests.class,
@@ -132,6 +160,12 @@ import org.junit.runners.Suite;
 
 		// Logical structure
 		LogicalStructureCacheTest.class,
+
+		// Unit test view
+		TestRunSessionReaderWriterTests.class,
+		TestRunSessionModelTests.class,
+		TestViewerTests.class,
+		HistoryIndexTests.class,
 })
 public class AutomatedSuite {
 }
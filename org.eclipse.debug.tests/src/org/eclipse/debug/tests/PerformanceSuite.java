@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.debug.tests;
 
+import org.eclipse.debug.tests.unittest.JUnitXmlReportPerformanceTests;
 import org.eclipse.debug.tests.viewer.model.JFaceViewerPerformanceTests;
 import org.eclipse.debug.tests.viewer.model.VirtualViewerPerformanceTests;
 import org.junit.runner.RunWith;
@@ -26,6 +27,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 		JFaceViewerPerformanceTests.class,
-		VirtualViewerPerformanceTests.class })
+		VirtualViewerPerformanceTests.class,
+		JUnitXmlReportPerformanceTests.class })
 public class PerformanceSuite {
 }
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.breakpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.PlatformObject;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.eclipse.debug.internal.ui.breakpoints.provisional.IBreakpointOrganizer;
+import org.eclipse.debug.internal.ui.breakpoints.provisional.OtherBreakpointCategory;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.ModelDelta;
+import org.eclipse.debug.internal.ui.views.breakpoints.BreakpointContainer;
+import org.eclipse.debug.internal.ui.views.breakpoints.WorkingSetCategory;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.ui.IWorkingSet;
+import org.eclipse.ui.PlatformUI;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests re-categorizing the breakpoints of a {@link BreakpointContainer} in
+ * place.
+ */
+public class BreakpointContainerTests extends AbstractDebugTest {
+
+	private static final int BREAKPOINTS = 50;
+
+	/**
+	 * Organizer with one category per breakpoint which counts the category
+	 * lookups of breakpoints.
+	 */
+	private static class TestOrganizer implements IBreakpointOrganizer {
+		final Map<IBreakpoint, IAdaptable> fCategories = new HashMap<>();
+		final String fId;
+		int fLookups;
+
+		TestOrganizer(String id) {
+			fId = id;
+		}
+
+		@Override
+		public IAdaptable[] getCategories(IBreakpoint breakpoint) {
+			fLookups++;
+			IAdaptable category = fCategories.get(breakpoint);
+			return category == null ? null : new IAdaptable[] { category };
+		}
+
+		@Override
+		public IAdaptable[] getCategories() {
+			return null;
+		}
+
+		@Override
+		public void addPropertyChangeListener(IPropertyChangeListener listener) {
+		}
+
+		@Override
+		public void removePropertyChangeListener(IPropertyChangeListener listener) {
+		}
+
+		@Override
+		public void addBreakpoint(IBreakpoint breakpoint, IAdaptable category) {
+		}
+
+		@Override
+		public void removeBreakpoint(IBreakpoint breakpoint, IAdaptable category) {
+		}
+
+		@Override
+		public boolean canAdd(IBreakpoint breakpoint, IAdaptable category) {
+			return false;
+		}
+
+		@Override
+		public boolean canRemove(IBreakpoint breakpoint, IAdaptable category) {
+			return false;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public String getLabel() {
+			return fId;
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public String getIdentifier() {
+			return fId;
+		}
+
+		@Override
+		public String getOthersLabel() {
+			return fId;
+		}
+	}
+
+	private final TestOrganizer fSets = new TestOrganizer("sets"); //$NON-NLS-1$
+	private final TestOrganizer fTypes = new TestOrganizer("types"); //$NON-NLS-1$
+	private final IAdaptable fType = new PlatformObject();
+	private IBreakpoint[] fBreakpoints;
+	private BreakpointContainer fRoot;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fBreakpoints = new IBreakpoint[BREAKPOINTS];
+		for (int i = 0; i < BREAKPOINTS; i++) {
+			fBreakpoints[i] = createBreakpoint();
+			fTypes.fCategories.put(fBreakpoints[i], fType);
+		}
+		fRoot = new BreakpointContainer(new IBreakpointOrganizer[] { fSets, fTypes }, null);
+	}
+
+	/**
+	 * Tests that a category change of a breakpoint working set only looks up
+	 * the categories of the breakpoints in that working set, and only at the
+	 * level of the organizer which reported the change.
+	 */
+	@Test
+	public void testUpdateCategory() throws Exception {
+		WorkingSetCategory setA = createCategory("A", Arrays.copyOfRange(fBreakpoints, 1, BREAKPOINTS)); //$NON-NLS-1$
+		WorkingSetCategory setB = createCategory("B", fBreakpoints[0]); //$NON-NLS-1$
+		for (IBreakpoint breakpoint : fBreakpoints) {
+			fSets.fCategories.put(breakpoint, setA);
+		}
+		addAll();
+
+		// the first breakpoint was added to working set B
+		fSets.fCategories.put(fBreakpoints[0], setB);
+		fSets.fLookups = 0;
+		fTypes.fLookups = 0;
+		ModelDelta delta = new ModelDelta(null, IModelDelta.NO_CHANGE);
+		assertSame(fBreakpoints[0], fRoot.updateCategory(fBreakpoints, fSets, setB, delta));
+
+		assertTrue("Too many lookups: " + fSets.fLookups, fSets.fLookups <= 2); //$NON-NLS-1$
+		assertEquals("Only the moved breakpoint should be categorized below", 1, fTypes.fLookups); //$NON-NLS-1$
+		assertTrue(getContainer(fRoot, setB).contains(fBreakpoints[0]));
+		assertFalse(getContainer(fRoot, setA).contains(fBreakpoints[0]));
+		assertEquals(BREAKPOINTS - 1, getContainer(fRoot, setA).getBreakpoints().length);
+		assertTrue(getContainer(getContainer(fRoot, setB), fType).contains(fBreakpoints[0]));
+
+		// an event of the nested organizer does not look up working sets
+		fSets.fLookups = 0;
+		assertNull(fRoot.updateCategory(fBreakpoints, fTypes, fType, new ModelDelta(null, IModelDelta.NO_CHANGE)));
+		assertEquals(0, fSets.fLookups);
+	}
+
+	/**
+	 * Tests that updating all breakpoints moves, adds and removes only the
+	 * changed breakpoints.
+	 */
+	@Test
+	public void testUpdateBreakpoints() throws Exception {
+		IAdaptable setA = new PlatformObject();
+		IAdaptable setB = new PlatformObject();
+		for (IBreakpoint breakpoint : fBreakpoints) {
+			fSets.fCategories.put(breakpoint, setA);
+		}
+		IBreakpoint added = fBreakpoints[BREAKPOINTS - 1];
+		IBreakpoint[] initial = Arrays.copyOf(fBreakpoints, BREAKPOINTS - 1);
+		for (IBreakpoint breakpoint : initial) {
+			fRoot.addBreakpoint(breakpoint, new ModelDelta(null, IModelDelta.NO_CHANGE));
+		}
+
+		fSets.fCategories.put(fBreakpoints[1], setB);
+		fSets.fCategories.remove(fBreakpoints[2]);
+		IBreakpoint[] current = Arrays.copyOfRange(fBreakpoints, 1, BREAKPOINTS);
+		ModelDelta delta = new ModelDelta(null, IModelDelta.NO_CHANGE);
+		fRoot.updateBreakpoints(current, delta);
+
+		assertFalse("Removed breakpoint still shown", fRoot.contains(fBreakpoints[0])); //$NON-NLS-1$
+		assertTrue("Added breakpoint not shown", getContainer(fRoot, setA).contains(added)); //$NON-NLS-1$
+		assertTrue(getContainer(fRoot, setB).contains(fBreakpoints[1]));
+		assertFalse(getContainer(fRoot, setA).contains(fBreakpoints[1]));
+		IAdaptable others = OtherBreakpointCategory.getCategories(fSets)[0];
+		assertTrue("Breakpoint without category should be in others", getContainer(fRoot, others).contains(fBreakpoints[2])); //$NON-NLS-1$
+		assertFalse(getContainer(fRoot, setA).contains(fBreakpoints[2]));
+		assertEquals(BREAKPOINTS - 3, getContainer(fRoot, setA).getBreakpoints().length);
+		assertEquals(BREAKPOINTS - 1, fRoot.getBreakpoints().length);
+	}
+
+	private void addAll() {
+		ModelDelta delta = new ModelDelta(null, IModelDelta.NO_CHANGE);
+		for (IBreakpoint breakpoint : fBreakpoints) {
+			fRoot.addBreakpoint(breakpoint, delta);
+		}
+	}
+
+	private static BreakpointContainer getContainer(BreakpointContainer parent, IAdaptable category) {
+		for (BreakpointContainer container : parent.getContainers()) {
+			if (category.equals(container.getCategory())) {
+				return container;
+			}
+		}
+		throw new AssertionError("No container for " + category); //$NON-NLS-1$
+	}
+
+	private static WorkingSetCategory createCategory(String name, IBreakpoint... breakpoints) {
+		IWorkingSet workingSet = PlatformUI.getWorkbench().getWorkingSetManager().createWorkingSet(name, breakpoints);
+		workingSet.setId(IDebugUIConstants.BREAKPOINT_WORKINGSET_ID);
+		return new WorkingSetCategory(workingSet);
+	}
+
+	private static IBreakpoint createBreakpoint() {
+		return (IBreakpoint) Proxy.newProxyInstance(IBreakpoint.class.getClassLoader(), new Class[] { IBreakpoint.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getAdapter": //$NON-NLS-1$
+					return args[0] == IBreakpoint.class ? proxy : null;
+				case "equals": //$NON-NLS-1$
+					return proxy == args[0];
+				case "hashCode": //$NON-NLS-1$
+					return System.identityHashCode(proxy);
+				default:
+					return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+			}
+		});
+	}
+}
@@ -17,21 +17,32 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.commands.operations.IOperationHistory;
 import org.eclipse.core.commands.operations.IUndoContext;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IBreakpointManager;
+import org.eclipse.debug.core.IBreakpointsListener;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.internal.core.BreakpointManager;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
 import org.eclipse.debug.internal.ui.views.breakpoints.BreakpointsView;
 import org.eclipse.debug.tests.AbstractDebugTest;
 import org.eclipse.debug.tests.TestUtil;
+import org.eclipse.debug.tests.TestsPlugin;
 import org.eclipse.debug.ui.DebugUITools;
 import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.debug.ui.actions.ExportBreakpointsOperation;
+import org.eclipse.debug.ui.actions.ImportBreakpointsOperation;
 import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.ui.PlatformUI;
 import org.junit.Test;
@@ -131,4 +142,104 @@ public class BreakpointTests extends AbstractDebugTest {
 			}
 		}
 	}
+
+	/**
+	 * Tests that the breakpoint manager indexes follow additions and removals
+	 * of breakpoints.
+	 */
+	@Test
+	public void testBreakpointIndexes() throws Exception {
+		BreakpointManager manager = (BreakpointManager) bpm;
+		TestBreakpoint bp1 = new TestBreakpoint("index 1");
+		TestBreakpoint bp2 = new TestBreakpoint("index 2", IBreakpoint.LINE_BREAKPOINT_MARKER);
+		bpm.addBreakpoints(new IBreakpoint[] { bp1, bp2, bp1 });
+		assertEquals(Arrays.asList(bp1, bp2), getTestBreakpoints());
+		List<IBreakpoint> onRoot = Arrays.asList(manager.getBreakpoints(ResourcesPlugin.getWorkspace().getRoot()));
+		assertTrue("Breakpoints not found by resource", onRoot.contains(bp1) && onRoot.contains(bp2));
+		List<IBreakpoint> lineBreakpoints = Arrays.asList(manager.getBreakpointsOfMarkerType(IBreakpoint.LINE_BREAKPOINT_MARKER));
+		assertTrue("Breakpoint not found by marker type", lineBreakpoints.contains(bp2));
+		assertFalse("Breakpoint found by other marker type", lineBreakpoints.contains(bp1));
+		assertEquals(bp2, bpm.getBreakpoint(bp2.getMarker()));
+
+		bpm.removeBreakpoint(bp2, true);
+		assertEquals(Arrays.asList(bp1), getTestBreakpoints());
+		assertFalse("Removed breakpoint still registered", bpm.isRegistered(bp2));
+		assertFalse("Removed breakpoint found by marker type", Arrays.asList(manager.getBreakpointsOfMarkerType(IBreakpoint.LINE_BREAKPOINT_MARKER)).contains(bp2));
+		assertFalse("Removed breakpoint found by resource", Arrays.asList(manager.getBreakpoints(ResourcesPlugin.getWorkspace().getRoot())).contains(bp2));
+	}
+
+	/**
+	 * Tests that the breakpoint manager indexes drop breakpoints removed
+	 * through the deletion of their resource.
+	 */
+	@Test
+	public void testBreakpointIndexesAfterResourceDeletion() throws Exception {
+		BreakpointManager manager = (BreakpointManager) bpm;
+		IProject project = TestsPlugin.createProject("BreakpointTests"); //$NON-NLS-1$
+		try {
+			IFile file = project.getFile("Test.txt"); //$NON-NLS-1$
+			file.create(new ByteArrayInputStream(new byte[0]), true, null);
+			TestBreakpoint bp = new TestBreakpoint(file, "deleted resource", IBreakpoint.LINE_BREAKPOINT_MARKER); //$NON-NLS-1$
+			bpm.addBreakpoint(bp);
+			assertTrue("Breakpoint not found by marker type", Arrays.asList(manager.getBreakpointsOfMarkerType(IBreakpoint.LINE_BREAKPOINT_MARKER)).contains(bp)); //$NON-NLS-1$
+
+			file.delete(true, null);
+			assertFalse("Breakpoint of deleted resource still registered", bpm.isRegistered(bp)); //$NON-NLS-1$
+			assertFalse("Breakpoint of deleted resource found by marker type", Arrays.asList(manager.getBreakpointsOfMarkerType(IBreakpoint.LINE_BREAKPOINT_MARKER)).contains(bp)); //$NON-NLS-1$
+			assertEquals("Breakpoint of deleted resource found by resource", 0, manager.getBreakpoints(file).length); //$NON-NLS-1$
+			assertFalse("Breakpoint of deleted resource found by model", getTestBreakpoints().contains(bp)); //$NON-NLS-1$
+		} finally {
+			project.delete(true, null);
+		}
+	}
+
+	/**
+	 * Tests that importing breakpoints matches existing breakpoints and
+	 * registers new ones with a single notification.
+	 */
+	@Test
+	public void testImportBreakpoints() throws Exception {
+		TestBreakpoint bp1 = new TestBreakpoint("import 1");
+		bp1.getMarker().setAttribute(IMarker.LINE_NUMBER, 1);
+		TestBreakpoint bp2 = new TestBreakpoint("import 2");
+		bp2.getMarker().setAttribute(IMarker.LINE_NUMBER, 2);
+		bpm.addBreakpoints(new IBreakpoint[] { bp1, bp2 });
+		ExportBreakpointsOperation export = new ExportBreakpointsOperation(new IBreakpoint[] { bp1, bp2 });
+		export.run(null);
+
+		ImportBreakpointsOperation existing = new ImportBreakpointsOperation(export.getBuffer(), false, false);
+		existing.run(null);
+		assertEquals("Existing breakpoints imported again", 0, existing.getImportedBreakpoints().length);
+
+		bpm.removeBreakpoints(new IBreakpoint[] { bp1, bp2 }, true);
+		List<IBreakpoint[]> added = new ArrayList<>();
+		IBreakpointsListener listener = new IBreakpointsListener() {
+			@Override
+			public void breakpointsAdded(IBreakpoint[] breakpoints) {
+				added.add(breakpoints);
+			}
+
+			@Override
+			public void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			}
+
+			@Override
+			public void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			}
+		};
+		bpm.addBreakpointListener(listener);
+		try {
+			ImportBreakpointsOperation imported = new ImportBreakpointsOperation(export.getBuffer(), false, false);
+			imported.run(null);
+			assertEquals(2, imported.getImportedBreakpoints().length);
+		} finally {
+			bpm.removeBreakpointListener(listener);
+		}
+		assertEquals("Expected a single add notification", 1, added.size());
+		assertEquals(2, added.get(0).length);
+		List<TestBreakpoint> restored = getTestBreakpoints();
+		assertEquals(2, restored.size());
+		assertEquals("import 1", restored.get(0).getText());
+		assertEquals("import 2", restored.get(1).getText());
+	}
 }
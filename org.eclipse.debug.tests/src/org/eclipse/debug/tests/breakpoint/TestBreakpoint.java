@@ -42,7 +42,10 @@ public class TestBreakpoint extends Breakpoint {
 	}
 
 	TestBreakpoint(String text, final String markerType) {
-		final IResource resource = ResourcesPlugin.getWorkspace().getRoot();
+		this(ResourcesPlugin.getWorkspace().getRoot(), text, markerType);
+	}
+
+	TestBreakpoint(final IResource resource, String text, final String markerType) {
 		IWorkspaceRunnable wr = new IWorkspaceRunnable() {
 			@Override
 			public void run(IProgressMonitor monitor) throws CoreException {
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IOConsole;
+import org.eclipse.ui.console.IOConsoleOutputStream;
+import org.eclipse.ui.console.IPatternMatchListener;
+import org.eclipse.ui.console.PatternMatchEvent;
+import org.eclipse.ui.console.TextConsole;
+import org.eclipse.ui.internal.console.ConsoleMatchScheduler;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the scheduling of pattern matching between consoles.
+ */
+@SuppressWarnings("restriction")
+public class ConsoleMatchSchedulerTests extends AbstractDebugTest {
+
+	/**
+	 * Number of unsearched characters above which a console delays appending
+	 * output. Same as in IOConsolePartitioner.
+	 */
+	private static final int MAX_MATCH_BACKLOG = 4_000_000;
+
+	private static final int LINE_LENGTH = 2000;
+
+	private static final int LINES = 3000;
+
+	private final List<IOConsole> fConsoles = new ArrayList<>();
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		ConsolePlugin.getDefault().getConsoleManager().removeConsoles(fConsoles.toArray(new IConsole[0]));
+		super.tearDown();
+	}
+
+	/**
+	 * Test that two consoles flooded with output both match while the other
+	 * one has a backlog, and that output is only appended while the match
+	 * backlog is below its limit.
+	 */
+	@Test
+	public void testFloodingConsoles() throws Exception {
+		final FloodedConsole first = new FloodedConsole("First flooded console"); //$NON-NLS-1$
+		final FloodedConsole second = new FloodedConsole("Second flooded console"); //$NON-NLS-1$
+		first.startWriting();
+		second.startWriting();
+		final boolean matching = TestUtil.waitWhile(() -> {
+			first.checkProgress(second);
+			second.checkProgress(first);
+			return first.matches.get() < LINES || second.matches.get() < LINES;
+		}, testTimeout);
+		assertFalse("Output not matched in time.", matching); //$NON-NLS-1$
+		for (FloodedConsole console : new FloodedConsole[] { first, second }) {
+			console.finish();
+			assertEquals(console.name + ": output appended with too large match backlog.", Collections.emptyList(), console.violations); //$NON-NLS-1$
+			assertTrue(console.name + ": output was not throttled.", console.maxBacklog > MAX_MATCH_BACKLOG); //$NON-NLS-1$
+			assertTrue(console.name + ": starved while the other console matched.", console.progressedWhileOtherWaited); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A console with a slow pattern match listener whose output is written by
+	 * a separate thread.
+	 */
+	private class FloodedConsole implements IPatternMatchListener, IDocumentListener {
+		final String name;
+		final IOConsole console;
+		final IOConsoleOutputStream out;
+		final ConsoleMatchScheduler.MatchStatistics statistics;
+		final AtomicInteger matches = new AtomicInteger();
+		final List<String> violations = Collections.synchronizedList(new ArrayList<>());
+		final AtomicReference<Exception> writeError = new AtomicReference<>();
+		Thread writer;
+		int maxBacklog;
+		long lastMatched;
+		boolean progressedWhileOtherWaited;
+
+		FloodedConsole(String name) {
+			this.name = name;
+			console = new IOConsole(name, "", null, StandardCharsets.UTF_8.name(), true); //$NON-NLS-1$
+			fConsoles.add(console);
+			ConsolePlugin.getDefault().getConsoleManager().addConsoles(new IConsole[] { console });
+			out = console.newOutputStream();
+			statistics = ConsoleMatchScheduler.getDefault().getStatistics(console);
+			console.getDocument().addDocumentListener(this);
+			console.addPatternMatchListener(this);
+		}
+
+		void startWriting() {
+			writer = new Thread(() -> {
+				try {
+					for (int i = 0; i < LINES; i++) {
+						final String line = "line " + i + " "; //$NON-NLS-1$ //$NON-NLS-2$
+						out.write(line + "x".repeat(LINE_LENGTH - line.length() - 1) + "\n"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				} catch (Exception e) {
+					writeError.set(e);
+				}
+			}, name);
+			writer.start();
+		}
+
+		/**
+		 * Remember if this console matched since the last check while the
+		 * other console had content left to search.
+		 */
+		void checkProgress(FloodedConsole other) {
+			final long matched = statistics.getMatchedCharacters();
+			if (matched > lastMatched && other.getBacklog() > 0) {
+				progressedWhileOtherWaited = true;
+			}
+			lastMatched = matched;
+		}
+
+		int getBacklog() {
+			return statistics.getBacklog(console.getDocument().getLength());
+		}
+
+		void finish() throws Exception {
+			writer.join(testTimeout);
+			if (writeError.get() != null) {
+				throw writeError.get();
+			}
+			out.close();
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			final IDocument document = event.getDocument();
+			if (event.getOffset() == document.getLength() && event.getText() != null && !event.getText().isEmpty()) {
+				// the partitioner appends output only if the backlog was small
+				// enough and the matcher can only reduce the backlog since
+				final int backlog = getBacklog();
+				if (backlog > MAX_MATCH_BACKLOG) {
+					violations.add("backlog " + backlog + " at offset " + event.getOffset()); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			maxBacklog = Math.max(maxBacklog, getBacklog());
+		}
+
+		@Override
+		public String getPattern() {
+			return "line \\d+"; //$NON-NLS-1$
+		}
+
+		@Override
+		public int getCompilerFlags() {
+			return 0;
+		}
+
+		@Override
+		public String getLineQualifier() {
+			return null;
+		}
+
+		@Override
+		public void connect(TextConsole c) {
+		}
+
+		@Override
+		public void disconnect() {
+		}
+
+		@Override
+		public void matchFound(PatternMatchEvent event) {
+			matches.incrementAndGet();
+			try {
+				// slow matching down so the output outruns it
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
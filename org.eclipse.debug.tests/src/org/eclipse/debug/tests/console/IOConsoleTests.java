@@ -32,6 +32,7 @@ import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.ILogListener;
@@ -43,6 +44,7 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.tests.AbstractDebugTest;
 import org.eclipse.debug.tests.TestUtil;
 import org.eclipse.debug.tests.TestsPlugin;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.custom.StyledText;
@@ -58,6 +60,12 @@ import org.eclipse.ui.console.IConsoleDocumentPartitionerExtension;
 import org.eclipse.ui.console.IConsoleManager;
 import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.console.IOConsoleOutputStream;
+import org.eclipse.ui.console.IPatternMatchListener;
+import org.eclipse.ui.console.PatternMatchEvent;
+import org.eclipse.ui.console.TextConsole;
+import org.eclipse.ui.internal.console.ConsoleDocument;
+import org.eclipse.ui.internal.console.ConsoleMatchScheduler;
+import org.eclipse.ui.internal.console.SpillingTextStore;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -709,6 +717,212 @@ public class IOConsoleTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Test console content exceeding the high water mark is moved to disk
+	 * instead of being trimmed.
+	 */
+	@Test
+	public void testSpillToDisk() throws Exception {
+		final IOConsoleTestUtil c = getTestUtil("Test spill");
+		c.getConsole().setSpillToDisk(true);
+		c.getConsole().setWaterMarks(50, 100);
+		try (IOConsoleOutputStream otherOut = c.getConsole().newOutputStream()) {
+			c.writeFast("first\n");
+			for (int i = 0; i < 20; i++) {
+				c.writeFast("0123456789\n", (i & 1) == 0 ? c.getDefaultOutputStream() : otherOut);
+			}
+			c.write("last\n");
+			c.waitForScheduledJobs();
+			c.verifyContentByLine("first", 0).verifyContentByLine("last", -2);
+			assertEquals("Document was trimmed.", 6 + 20 * 11 + 5, c.getContentLength());
+			c.verifyPartitions();
+
+			// modify content which was moved to disk
+			c.getDocument().replace(2, 1, ":::");
+			c.verifyContentByLine("fi:::st", 0).verifyContentByLine("last", -2);
+
+			c.getDocument().replace(0, 30, "");
+			c.verifyContentByOffset("0123456789", 0);
+			c.verifyContentByLine("last", -2);
+		}
+		closeConsole(c);
+	}
+
+	/**
+	 * Test that a disposed console document is empty and still usable.
+	 */
+	@Test
+	public void testConsoleDocumentDispose() throws Exception {
+		ConsoleDocument document = new ConsoleDocument();
+		document.setSpillWaterMarks(5, 10);
+		document.set("0123\n456789\nabcdef"); //$NON-NLS-1$
+		document.dispose();
+		assertEquals("Document not emptied.", 0, document.getLength()); //$NON-NLS-1$
+		assertEquals(1, document.getNumberOfLines());
+		document.replace(0, 0, "ghij\nklmnopq"); //$NON-NLS-1$
+		assertEquals("ghij\nklmnopq", document.get()); //$NON-NLS-1$
+		assertEquals(2, document.getNumberOfLines());
+	}
+
+	/**
+	 * Test that trimming a spilling text store shrinks its spill file.
+	 */
+	@Test
+	public void testSpillingTextStoreTrim() {
+		SpillingTextStore store = new SpillingTextStore();
+		try {
+			store.setWaterMarks(100, 1000);
+			StringBuilder expected = new StringBuilder();
+			for (int i = 0; expected.length() < 200_000; i++) {
+				String line = "line " + i + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+				store.replace(store.getLength(), 0, line);
+				expected.append(line);
+			}
+			assertTrue("Content not spilled.", store.getSpilledLength() > 190_000); //$NON-NLS-1$
+			assertEquals(expected.toString(), store.get(0, store.getLength()));
+
+			store.replace(0, 150_000, ""); //$NON-NLS-1$
+			expected.delete(0, 150_000);
+			assertEquals("Spill file not compacted.", store.getSpilledLength(), store.getFileLength()); //$NON-NLS-1$
+			assertEquals(expected.toString(), store.get(0, store.getLength()));
+			assertEquals(expected.charAt(70_000), store.get(70_000));
+
+			int spilled = store.getSpilledLength();
+			store.replace(0, spilled + 10, ""); //$NON-NLS-1$
+			expected.delete(0, spilled + 10);
+			assertEquals("Spill file not truncated.", 0, store.getFileLength()); //$NON-NLS-1$
+			assertEquals(expected.toString(), store.get(0, store.getLength()));
+		} finally {
+			store.dispose();
+		}
+	}
+
+	/**
+	 * Test pattern match listeners with and without line qualifiers sharing one
+	 * console.
+	 */
+	@Test
+	public void testPatternMatchListeners() throws Exception {
+		final IOConsoleTestUtil c = getTestUtil("Test pattern matching");
+		final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+		final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+		final List<String> ids = Collections.synchronizedList(new ArrayList<>());
+		c.getConsole().addPatternMatchListener(new MatchCollector("ERROR: \\w+", "ERROR", errors));
+		c.getConsole().addPatternMatchListener(new MatchCollector("WARN \\d+", "WARN", warnings));
+		c.getConsole().addPatternMatchListener(new MatchCollector("id=\\d+", null, ids));
+		c.writeFast("ERROR: first id=1\n");
+		for (int i = 0; i < 100; i++) {
+			c.writeFast("plain output " + i + "\n");
+		}
+		c.writeFast("WARN 42 and ERROR: second\nid=2 WARN 7\n");
+		c.write("last\n");
+		c.waitForScheduledJobs();
+		TestUtil.waitWhile(() -> ids.size() < 2, testTimeout);
+		assertEquals(Arrays.asList("ERROR: first", "ERROR: second"), errors);
+		assertEquals(Arrays.asList("WARN 42", "WARN 7"), warnings);
+		assertEquals(Arrays.asList("id=1", "id=2"), ids);
+		final ConsoleMatchScheduler.MatchStatistics statistics = ConsoleMatchScheduler.getDefault().getStatistics(c.getConsole());
+		assertEquals("Wrong match count in statistics.", 6, statistics.getMatchCount());
+		assertTrue("No searched characters in statistics.", statistics.getMatchedCharacters() > 0);
+		closeConsole(c);
+	}
+
+	/**
+	 * Test pattern matching through the shared document view and the combined
+	 * line qualifiers: matches crossing the chunks fetched from the document,
+	 * anchored patterns and qualifiers which cannot be combined.
+	 */
+	@Test
+	public void testPatternMatchQualifiers() throws Exception {
+		final IOConsoleTestUtil c = getTestUtil("Test pattern qualifiers");
+		final List<String> spanning = Collections.synchronizedList(new ArrayList<>());
+		final List<String> anchored = Collections.synchronizedList(new ArrayList<>());
+		c.getConsole().addPatternMatchListener(new MatchCollector("MATCH-y+-END", "MATCH", spanning));
+		c.getConsole().addPatternMatchListener(new MatchCollector("^start \\d+", "start", Pattern.MULTILINE, anchored));
+		final String longMatch = "MATCH-" + "y".repeat(100) + "-END";
+		// the document is read in chunks of 8K characters
+		c.writeFast(".".repeat(8150) + longMatch + "\n");
+		c.writeFast("start 1\nno start 2\n");
+		for (int i = 0; i < 100; i++) {
+			c.writeFast("plain output " + i + "\n");
+		}
+		c.write("start 3 " + longMatch + "\n");
+		c.waitForScheduledJobs();
+		TestUtil.waitWhile(() -> spanning.size() < 2 || anchored.size() < 2, testTimeout);
+		assertEquals(Arrays.asList(longMatch, longMatch), spanning);
+		assertEquals(Arrays.asList("start 1", "start 3"), anchored);
+		closeConsole(c);
+
+		// a back reference prevents combining the qualifiers
+		final IOConsoleTestUtil c2 = getTestUtil("Test pattern back reference");
+		final List<String> repeated = Collections.synchronizedList(new ArrayList<>());
+		final List<String> words = Collections.synchronizedList(new ArrayList<>());
+		c2.getConsole().addPatternMatchListener(new MatchCollector("(\\d)\\1\\d", "(\\d)\\1", repeated));
+		c2.getConsole().addPatternMatchListener(new MatchCollector("ab\\w", "ab", words));
+		c2.writeFast("x 112 y\n123\nabc\n");
+		c2.write("995 abd\n");
+		c2.waitForScheduledJobs();
+		TestUtil.waitWhile(() -> repeated.size() < 2 || words.size() < 2, testTimeout);
+		assertEquals(Arrays.asList("112", "995"), repeated);
+		assertEquals(Arrays.asList("abc", "abd"), words);
+		closeConsole(c2);
+	}
+
+	/**
+	 * Pattern match listener remembering the matched text.
+	 */
+	private static class MatchCollector implements IPatternMatchListener {
+		private final String pattern;
+		private final String qualifier;
+		private final int flags;
+		private final List<String> matches;
+		private TextConsole console;
+
+		MatchCollector(String pattern, String qualifier, List<String> matches) {
+			this(pattern, qualifier, 0, matches);
+		}
+
+		MatchCollector(String pattern, String qualifier, int flags, List<String> matches) {
+			this.pattern = pattern;
+			this.qualifier = qualifier;
+			this.flags = flags;
+			this.matches = matches;
+		}
+
+		@Override
+		public String getPattern() {
+			return pattern;
+		}
+
+		@Override
+		public int getCompilerFlags() {
+			return flags;
+		}
+
+		@Override
+		public String getLineQualifier() {
+			return qualifier;
+		}
+
+		@Override
+		public void connect(TextConsole c) {
+			this.console = c;
+		}
+
+		@Override
+		public void disconnect() {
+		}
+
+		@Override
+		public void matchFound(PatternMatchEvent event) {
+			try {
+				matches.add(console.getDocument().get(event.getOffset(), event.getLength()));
+			} catch (BadLocationException e) {
+				matches.add(e.toString());
+			}
+		}
+	}
+
 	/**
 	 * Some extra tests for IOConsolePartitioner.
 	 */
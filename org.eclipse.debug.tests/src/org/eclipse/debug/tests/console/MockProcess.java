@@ -20,6 +20,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.core.runtime.CoreException;
@@ -73,6 +74,9 @@ public class MockProcess extends Process {
 	/** The delay after a call to destroy() until actual termination. */
 	private int terminationDelay = 0;
 
+	/** Completed once the mockup process terminated. */
+	private final CompletableFuture<Process> exitFuture = new CompletableFuture<>();
+
 	/**
 	 * For mode used by constructor {@link MockProcess#MockProcess()} this
 	 * indicates via stdout what the state of the process is.
@@ -277,6 +281,39 @@ public class MockProcess extends Process {
 		return isTerminated();
 	}
 
+	/**
+	 * Unlike the default implementation this does not block a thread until
+	 * the mockup process terminates.
+	 */
+	@Override
+	public CompletableFuture<Process> onExit() {
+		scheduleExit();
+		return exitFuture;
+	}
+
+	/**
+	 * Completes the {@link #onExit()} future once the current termination time
+	 * is reached.
+	 */
+	private void scheduleExit() {
+		final long end;
+		synchronized (waitForTerminationLock) {
+			end = endTime;
+		}
+		if (end == RUN_FOREVER) {
+			return;
+		}
+		long delay = Math.max(0, end - System.currentTimeMillis());
+		CompletableFuture.runAsync(() -> {
+			if (isTerminated()) {
+				setTerminated();
+				exitFuture.complete(this);
+			} else {
+				scheduleExit();
+			}
+		}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+	}
+
 	@Override
 	public int exitValue() {
 		if (!isTerminated()) {
@@ -306,6 +343,7 @@ public class MockProcess extends Process {
 				setTerminated();
 			}
 		}
+		scheduleExit();
 	}
 
 	/**
@@ -15,6 +15,7 @@ package org.eclipse.debug.tests.console;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -22,10 +23,12 @@ import java.io.InputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 import org.eclipse.debug.core.IBinaryStreamListener;
+import org.eclipse.debug.core.IByteBufferStreamListener;
 import org.eclipse.debug.core.IStreamListener;
 import org.eclipse.debug.core.model.IBinaryStreamMonitor;
 import org.eclipse.debug.core.model.IStreamMonitor;
@@ -157,6 +160,73 @@ public class OutputStreamMonitorTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Test listener receiving the content as read-only {@link ByteBuffer} and
+	 * buffered content spanning multiple reads.
+	 */
+	@Test
+	public void testByteBufferListener() throws Exception {
+		byte[] byteInput = new byte[100000];
+		for (int i = 0; i < byteInput.length; i++) {
+			byteInput[i] = (byte) ('a' + i % 26);
+		}
+		ByteArrayOutputStream bufferBytes = new ByteArrayOutputStream();
+		IByteBufferStreamListener bufferListener = (data, mon) -> {
+			assertTrue("Buffer must be read-only.", data.isReadOnly());
+			byte[] copy = new byte[data.remaining()];
+			data.get(copy);
+			bufferBytes.write(copy, 0, copy.length);
+		};
+		try {
+			monitor.addBinaryListener(bufferListener);
+			monitor.addBinaryListener(fBinaryListener);
+			monitor.startMonitoring();
+			sysout.write(byteInput);
+			sysout.flush();
+			TestUtil.waitWhile(() -> notifiedBytes.size() < byteInput.length, 1000);
+			assertArrayEquals("Wrong content through buffer listener.", byteInput, bufferBytes.toByteArray());
+			assertArrayEquals("Wrong content through binary listener.", byteInput, notifiedBytes.toByteArray());
+			assertArrayEquals("Monitor buffered wrong binary content.", byteInput, monitor.getData());
+			assertEquals("Monitor buffered wrong content.", new String(byteInput, StandardCharsets.UTF_8), monitor.getContents());
+		} finally {
+			sysout.close();
+			monitor.close();
+		}
+	}
+
+	/**
+	 * Test that buffering with a limit keeps the most recent content only.
+	 */
+	@Test
+	public void testBufferLimit() throws Exception {
+		final int limit = 1000;
+		byte[] byteInput = new byte[100000];
+		for (int i = 0; i < byteInput.length; i++) {
+			byteInput[i] = (byte) ('a' + i % 26);
+		}
+		byte[] expected = new byte[limit];
+		System.arraycopy(byteInput, byteInput.length - limit, expected, 0, limit);
+		try {
+			monitor.setBufferLimit(limit);
+			monitor.addBinaryListener(fBinaryListener);
+			monitor.startMonitoring();
+			sysout.write(byteInput);
+			sysout.flush();
+			TestUtil.waitWhile(() -> notifiedBytes.size() < byteInput.length, 1000);
+			assertArrayEquals("Listener must receive all content.", byteInput, notifiedBytes.toByteArray());
+			assertArrayEquals("Monitor buffered wrong binary content.", expected, monitor.getData());
+			assertEquals("Monitor buffered wrong content.", new String(expected, StandardCharsets.UTF_8), monitor.getContents());
+			assertEquals("Wrong number of discarded bytes.", byteInput.length - limit, monitor.getDroppedBytes());
+
+			monitor.flushContents();
+			assertEquals("Monitor buffered content after flush.", 0, monitor.getData().length);
+			assertEquals("Flushed content must not count as discarded.", byteInput.length - limit, monitor.getDroppedBytes());
+		} finally {
+			sysout.close();
+			monitor.close();
+		}
+	}
+
 	/**
 	 * Test that passing <code>null</code> as charset does not raise exceptions.
 	 */
@@ -19,16 +19,23 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
 import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.RuntimeProcess;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
@@ -211,6 +218,128 @@ public class RuntimeProcessTests extends AbstractDebugTest {
 		assertEquals(DebugCoreMessages.RuntimeProcess_terminate_failed, timeoutException.getMessage());
 	}
 
+	/**
+	 * Test that running many short-lived processes does not need a number of
+	 * threads growing with the number of processes.
+	 */
+	@Test
+	public void testThreadCountOfManyProcesses() throws Exception {
+		final int processCount = 500;
+		final int maxAdditionalThreads = 100;
+		int initialThreads = Thread.activeCount();
+		AtomicInteger peakThreads = new AtomicInteger(initialThreads);
+		AtomicBoolean sampling = new AtomicBoolean(true);
+		Thread sampler = new Thread(() -> {
+			while (sampling.get()) {
+				peakThreads.accumulateAndGet(Thread.activeCount(), Math::max);
+				try {
+					Thread.sleep(1);
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+		}, "Thread count sampler");
+		sampler.setDaemon(true);
+		sampler.start();
+		try {
+			List<RuntimeProcess> processes = new ArrayList<>();
+			for (int i = 0; i < processCount; i++) {
+				processes.add(new MockProcess(0).toRuntimeProcess("MockProcess " + i));
+			}
+			TestUtil.waitWhile(() -> processes.stream().anyMatch(p -> !p.isTerminated()), testTimeout);
+			for (RuntimeProcess process : processes) {
+				assertTrue("RuntimeProcess not terminated.", process.isTerminated());
+			}
+		} finally {
+			sampling.set(false);
+			sampler.join();
+		}
+		int additionalThreads = peakThreads.get() - initialThreads;
+		assertTrue("Running " + processCount + " processes used " + additionalThreads + " additional threads.", additionalThreads <= maxAdditionalThreads);
+	}
+
+	/**
+	 * Test that the termination of a real system process is reported.
+	 */
+	@Test
+	public void testSystemProcessTerminated() throws Exception {
+		assertTerminateEvent(startJavaVersion());
+	}
+
+	/**
+	 * Test that the termination of a process which neither overrides
+	 * {@link Process#onExit()} nor supports {@link Process#toHandle()} is
+	 * reported.
+	 */
+	@Test
+	public void testWrappedProcessTerminated() throws Exception {
+		Process process = startJavaVersion();
+		assertTerminateEvent(new Process() {
+			@Override
+			public OutputStream getOutputStream() {
+				return process.getOutputStream();
+			}
+
+			@Override
+			public InputStream getInputStream() {
+				return process.getInputStream();
+			}
+
+			@Override
+			public InputStream getErrorStream() {
+				return process.getErrorStream();
+			}
+
+			@Override
+			public int waitFor() throws InterruptedException {
+				return process.waitFor();
+			}
+
+			@Override
+			public int exitValue() {
+				return process.exitValue();
+			}
+
+			@Override
+			public void destroy() {
+				process.destroy();
+			}
+		});
+	}
+
+	private static Process startJavaVersion() throws Exception {
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";;
+		return new ProcessBuilder(java, "-version").start();
+	}
+
+	/**
+	 * Wraps the given process and waits for the terminate event of the
+	 * runtime process.
+	 */
+	private void assertTerminateEvent(Process process) throws Exception {
+		AtomicInteger processTerminateEvents = new AtomicInteger();
+		String label = name.getMethodName();
+		IDebugEventSetListener listener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.TERMINATE && event.getSource() instanceof IProcess
+						&& label.equals(((IProcess) event.getSource()).getLabel())) {
+					processTerminateEvents.incrementAndGet();
+				}
+			}
+		};
+		DebugPlugin.getDefault().addDebugEventListener(listener);
+		try {
+			RuntimeProcess runtimeProcess = (RuntimeProcess) DebugPlugin.newProcess(new Launch(null, ILaunchManager.RUN_MODE, null), process, label);
+			TestUtil.waitWhile(() -> processTerminateEvents.get() == 0, testTimeout);
+			assertTrue("RuntimeProcess not terminated.", runtimeProcess.isTerminated());
+			assertEquals("RuntimeProcess reported wrong exit code.", 0, runtimeProcess.getExitValue());
+			TestUtil.waitForJobs(name.getMethodName(), 25, 500);
+			assertEquals("Wrong number of terminate events.", 1, processTerminateEvents.get());
+		} finally {
+			DebugPlugin.getDefault().removeDebugEventListener(listener);
+		}
+	}
+
 	/**
 	 * See comment in MockProcess.MockProcess().new InputStream() {...}.read()
 	 * for why this test fails
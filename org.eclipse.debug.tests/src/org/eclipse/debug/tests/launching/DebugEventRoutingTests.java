@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.launching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the dispatch of debug event sets and debug event listeners registered
+ * for specific event kinds and sources.
+ */
+public class DebugEventRoutingTests extends AbstractDebugTest {
+
+	private final List<DebugEvent> fRouted = new CopyOnWriteArrayList<>();
+	private final List<DebugEvent> fAll = new CopyOnWriteArrayList<>();
+	private final List<DebugEvent[]> fAllSets = new CopyOnWriteArrayList<>();
+	private final IDebugEventSetListener fRoutedListener = events -> fRouted.addAll(List.of(events));
+	private final IDebugEventSetListener fAllListener = events -> {
+		fAllSets.add(events);
+		fAll.addAll(List.of(events));
+	};
+	private IDebugEventSetListener fBlockingListener;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		DebugPlugin.getDefault().addDebugEventListener(fAllListener);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		DebugPlugin.getDefault().removeDebugEventListener(fRoutedListener);
+		DebugPlugin.getDefault().removeDebugEventListener(fAllListener);
+		if (fBlockingListener != null) {
+			DebugPlugin.getDefault().removeDebugEventListener(fBlockingListener);
+		}
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that a listener registered for a launch is only notified of events
+	 * of the requested kinds from elements of that launch.
+	 */
+	@Test
+	public void testRouteByLaunch() throws Exception {
+		ILaunch launch = new Launch(null, ILaunchManager.RUN_MODE, null);
+		ILaunch otherLaunch = new Launch(null, ILaunchManager.RUN_MODE, null);
+		IProcess process = createProcessProxy(launch);
+		IProcess otherProcess = createProcessProxy(otherLaunch);
+		DebugPlugin.getDefault().addDebugEventListener(fRoutedListener, DebugEvent.TERMINATE, launch);
+
+		DebugEvent change = new DebugEvent(process, DebugEvent.CHANGE);
+		DebugEvent terminate = new DebugEvent(process, DebugEvent.TERMINATE);
+		DebugEvent otherTerminate = new DebugEvent(otherProcess, DebugEvent.TERMINATE);
+		fire(change, terminate, otherTerminate);
+
+		assertEquals(1, fRouted.size());
+		assertSame(terminate, fRouted.get(0));
+	}
+
+	/**
+	 * Tests that a listener registered for an event source is notified of
+	 * events of that source only.
+	 */
+	@Test
+	public void testRouteBySource() throws Exception {
+		ILaunch launch = new Launch(null, ILaunchManager.RUN_MODE, null);
+		IProcess process = createProcessProxy(launch);
+		IProcess otherProcess = createProcessProxy(launch);
+		DebugPlugin.getDefault().addDebugEventListener(fRoutedListener, DebugEvent.TERMINATE | DebugEvent.CHANGE, process);
+
+		DebugEvent change = new DebugEvent(process, DebugEvent.CHANGE);
+		DebugEvent create = new DebugEvent(process, DebugEvent.CREATE);
+		DebugEvent otherChange = new DebugEvent(otherProcess, DebugEvent.CHANGE);
+		fire(change, create, otherChange);
+
+		assertEquals(1, fRouted.size());
+		assertSame(change, fRouted.get(0));
+	}
+
+	/**
+	 * Tests that a removed routed listener is not notified anymore.
+	 */
+	@Test
+	public void testRemoveRoutedListener() throws Exception {
+		ILaunch launch = new Launch(null, ILaunchManager.RUN_MODE, null);
+		IProcess process = createProcessProxy(launch);
+		DebugPlugin.getDefault().addDebugEventListener(fRoutedListener, DebugEvent.TERMINATE, launch);
+		DebugPlugin.getDefault().removeDebugEventListener(fRoutedListener);
+
+		fire(new DebugEvent(process, DebugEvent.TERMINATE));
+
+		assertEquals(0, fRouted.size());
+	}
+
+	/**
+	 * Tests that event sets fired while the listeners are notified are merged
+	 * into one event set, keeping the order of the events.
+	 */
+	@Test
+	public void testMergeAdjacentEventSets() throws Exception {
+		CountDownLatch release = blockDispatch();
+		DebugEvent first = new DebugEvent(this, DebugEvent.CHANGE);
+		DebugEvent second = new DebugEvent(this, DebugEvent.CHANGE);
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { first });
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { second });
+		release.countDown();
+		TestUtil.waitWhile(() -> !fAll.contains(second), testTimeout);
+
+		List<DebugEvent> set = List.of(getEventSet(first));
+		assertEquals("Event sets should be merged in order", set.indexOf(first) + 1, set.indexOf(second)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that events of different sources are dispatched in the order they
+	 * were fired, whether they are merged or not.
+	 */
+	@Test
+	public void testOrderAcrossSources() throws Exception {
+		Object source = new Object();
+		Object otherSource = new Object();
+		List<DebugEvent> fired = new ArrayList<>();
+		CountDownLatch release = blockDispatch();
+		for (int i = 0; i < 20; i++) {
+			if (i == 10) {
+				release.countDown();
+			}
+			DebugEvent event = new DebugEvent(i % 2 == 0 ? source : otherSource, DebugEvent.CHANGE);
+			DebugEvent otherEvent = new DebugEvent(i % 2 == 0 ? otherSource : source, DebugEvent.CHANGE);
+			fired.add(event);
+			fired.add(otherEvent);
+			DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { event, otherEvent });
+		}
+		DebugEvent last = fired.get(fired.size() - 1);
+		TestUtil.waitWhile(() -> !fAll.contains(last), testTimeout);
+
+		List<DebugEvent> dispatched = new ArrayList<>(fAll);
+		dispatched.retainAll(fired);
+		assertEquals("Events should be dispatched in order", fired, dispatched); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the event sets fired before an asynchronous runnable are
+	 * dispatched before it runs and are not merged with later event sets.
+	 */
+	@Test
+	public void testRunnableFlushesEventSets() throws Exception {
+		DebugEvent before = new DebugEvent(this, DebugEvent.CHANGE);
+		DebugEvent after = new DebugEvent(this, DebugEvent.CHANGE);
+		AtomicBoolean ran = new AtomicBoolean();
+		AtomicBoolean dispatchedBefore = new AtomicBoolean();
+		CountDownLatch release = blockDispatch();
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { before });
+		DebugPlugin.getDefault().asyncExec(() -> {
+			dispatchedBefore.set(fAll.contains(before));
+			ran.set(true);
+		});
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { after });
+		release.countDown();
+		TestUtil.waitWhile(() -> !ran.get() || !fAll.contains(after), testTimeout);
+
+		assertTrue("Events fired before the runnable should be dispatched first", dispatchedBefore.get()); //$NON-NLS-1$
+		assertFalse("Event sets should not be merged across a runnable", List.of(getEventSet(before)).contains(after)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Blocks the dispatch of debug events until the returned latch is released,
+	 * so the event sets fired in the meantime are queued.
+	 */
+	private CountDownLatch blockDispatch() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		DebugEvent blocker = new DebugEvent(this, DebugEvent.MODEL_SPECIFIC);
+		fBlockingListener = events -> {
+			if (List.of(events).contains(blocker)) {
+				entered.countDown();
+				try {
+					release.await(testTimeout, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		DebugPlugin.getDefault().addDebugEventListener(fBlockingListener);
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { blocker });
+		assertTrue("Dispatch not blocked", entered.await(testTimeout, TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+		return release;
+	}
+
+	private DebugEvent[] getEventSet(DebugEvent event) {
+		for (DebugEvent[] events : fAllSets) {
+			if (List.of(events).contains(event)) {
+				return events;
+			}
+		}
+		fail("Event not dispatched"); //$NON-NLS-1$
+		return null;
+	}
+
+	/**
+	 * Fires the given events and waits until they have been dispatched to all
+	 * listeners.
+	 */
+	private void fire(DebugEvent... events) throws Exception {
+		DebugPlugin.getDefault().fireDebugEventSet(events);
+		TestUtil.waitWhile(() -> !fAll.contains(events[events.length - 1]), testTimeout);
+		assertTrue(fAll.containsAll(List.of(events)));
+		// event sets are dispatched in order, once the marker arrived the
+		// routed listeners have been notified of the events as well
+		DebugEvent marker = new DebugEvent(this, DebugEvent.MODEL_SPECIFIC);
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { marker });
+		TestUtil.waitWhile(() -> !fAll.contains(marker), testTimeout);
+	}
+
+	private IProcess createProcessProxy(ILaunch launch) {
+		return (IProcess) Proxy.newProxyInstance(IProcess.class.getClassLoader(), new Class[] { IProcess.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getLaunch": //$NON-NLS-1$
+					return launch;
+				case "equals": //$NON-NLS-1$
+					return proxy == args[0];
+				case "hashCode": //$NON-NLS-1$
+					return System.identityHashCode(proxy);
+				case "isTerminated": //$NON-NLS-1$
+					return Boolean.FALSE;
+				default:
+					return null;
+			}
+		});
+	}
+}
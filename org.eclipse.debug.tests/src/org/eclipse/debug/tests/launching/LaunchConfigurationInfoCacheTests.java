@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.launching;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.debug.internal.core.LaunchConfigurationInfoCache;
+import org.eclipse.debug.internal.core.LaunchConfigurationXML;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the cache of parsed launch configuration files.
+ */
+public class LaunchConfigurationInfoCacheTests extends AbstractDebugTest {
+
+	private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //$NON-NLS-1$
+			+ "<launchConfiguration type=\"org.eclipse.debug.tests.launch.type\">\n" //$NON-NLS-1$
+			+ "<stringAttribute key=\"name\" value=\"%s\"/>\n" //$NON-NLS-1$
+			+ "</launchConfiguration>\n"; //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private File fCacheFile;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fCacheFile = new File(fFolder.getRoot(), ".launchConfigurationCache"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the content of an unchanged file is answered from memory and
+	 * from a saved snapshot.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testHit() throws Exception {
+		File file = writeConfiguration("hit.launch", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+		LaunchConfigurationInfoCache cache = new LaunchConfigurationInfoCache(fCacheFile);
+		LaunchConfigurationXML.Content content = put(cache, file);
+		assertSame(content, get(cache, file));
+		assertSame("Repeated lookup missed.", content, get(cache, file)); //$NON-NLS-1$
+		cache.save();
+
+		cache = new LaunchConfigurationInfoCache(fCacheFile);
+		assertNotNull("Saved content not read.", get(cache, file)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the content of a file changed outside of the launch manager
+	 * is no longer answered and dropped from the snapshot.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testExternalChange() throws Exception {
+		File file = writeConfiguration("changed.launch", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+		LaunchConfigurationInfoCache cache = new LaunchConfigurationInfoCache(fCacheFile);
+		put(cache, file);
+		cache.save();
+
+		long lastModified = file.lastModified();
+		long length = file.length();
+		writeConfiguration("changed.launch", "second value"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.setLastModified(lastModified + 2000);
+		cache = new LaunchConfigurationInfoCache(fCacheFile);
+		assertNull("Content of changed file answered.", get(cache, file)); //$NON-NLS-1$
+		// the outdated entry is gone even for the old time stamp
+		assertNull("Outdated entry kept.", cache.get(file.toURI().toString(), lastModified, length)); //$NON-NLS-1$
+		cache.save();
+
+		cache = new LaunchConfigurationInfoCache(fCacheFile);
+		assertNull("Outdated entry saved.", cache.get(file.toURI().toString(), lastModified, length)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the content of a deleted file is dropped from the snapshot.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testDelete() throws Exception {
+		File kept = writeConfiguration("kept.launch", "kept"); //$NON-NLS-1$ //$NON-NLS-2$
+		File deleted = writeConfiguration("deleted.launch", "deleted"); //$NON-NLS-1$ //$NON-NLS-2$
+		LaunchConfigurationInfoCache cache = new LaunchConfigurationInfoCache(fCacheFile);
+		put(cache, kept);
+		put(cache, deleted);
+		cache.save();
+
+		cache = new LaunchConfigurationInfoCache(fCacheFile);
+		long lastModified = deleted.lastModified();
+		long length = deleted.length();
+		Files.delete(deleted.toPath());
+		cache.remove(deleted.toURI().toString());
+		assertNull("Deleted entry answered.", cache.get(deleted.toURI().toString(), lastModified, length)); //$NON-NLS-1$
+		cache.save();
+
+		cache = new LaunchConfigurationInfoCache(fCacheFile);
+		assertNull("Deleted entry saved.", cache.get(deleted.toURI().toString(), lastModified, length)); //$NON-NLS-1$
+		assertNotNull("Remaining entry lost.", get(cache, kept)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the least recently used entries are dropped once the cache
+	 * is full.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testBound() throws Exception {
+		File first = writeConfiguration("first.launch", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+		File second = writeConfiguration("second.launch", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+		File third = writeConfiguration("third.launch", "third"); //$NON-NLS-1$ //$NON-NLS-2$
+		LaunchConfigurationInfoCache cache = new LaunchConfigurationInfoCache(fCacheFile, 2);
+		put(cache, first);
+		put(cache, second);
+		// makes the second entry the least recently used one
+		get(cache, first);
+		put(cache, third);
+		assertNull("Least recently used entry kept.", get(cache, second)); //$NON-NLS-1$
+		assertNotNull(get(cache, first));
+		assertNotNull(get(cache, third));
+		cache.save();
+
+		cache = new LaunchConfigurationInfoCache(fCacheFile, 2);
+		assertNull(get(cache, second));
+		assertNotNull(get(cache, first));
+		assertNotNull(get(cache, third));
+	}
+
+	private File writeConfiguration(String fileName, String name) throws Exception {
+		File file = new File(fFolder.getRoot(), fileName);
+		Files.write(file.toPath(), String.format(XML, name).getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static LaunchConfigurationXML.Content put(LaunchConfigurationInfoCache cache, File file) throws Exception {
+		LaunchConfigurationXML.Content content = LaunchConfigurationXML.read(Files.readAllBytes(file.toPath()));
+		assertNotNull("File not read.", content); //$NON-NLS-1$
+		cache.put(file.toURI().toString(), file.lastModified(), file.length(), content);
+		return content;
+	}
+
+	private static LaunchConfigurationXML.Content get(LaunchConfigurationInfoCache cache, File file) {
+		return cache.get(file.toURI().toString(), file.lastModified(), file.length());
+	}
+}
@@ -25,6 +25,7 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.ByteBuffer;
@@ -32,7 +33,9 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -42,6 +45,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.xml.parsers.DocumentBuilderFactory;
+
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileSystem;
 import org.eclipse.core.resources.IContainer;
@@ -75,6 +80,10 @@ import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.junit.Test;
 import org.osgi.framework.Bundle;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
 
 /**
  * Tests for launch configurations
@@ -1905,4 +1914,79 @@ public class LaunchConfigurationTests extends AbstractLaunchTest implements ILau
 
 	}
 
+	/**
+	 * Tests that configurations are found by mapped resource and type after
+	 * their mapping changed and are no longer found after deletion.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testMappedConfigurationsFollowChanges() throws CoreException {
+		IProject project = getProject();
+		IFile file = project.getFile("mapped.txt"); //$NON-NLS-1$
+		IFolder folder = project.getFolder("mapped"); //$NON-NLS-1$
+		LaunchManager manager = (LaunchManager) getLaunchManager();
+		ILaunchConfigurationWorkingCopy wc = newConfiguration(null, "mappedConfig"); //$NON-NLS-1$
+		wc.setMappedResources(new IResource[] { file });
+		ILaunchConfiguration handle = wc.doSave();
+		try {
+			assertTrue("Should be mapped to file", existsIn(manager.getMappedConfigurations(file), handle)); //$NON-NLS-1$
+			assertTrue("Should be mapped to project", existsIn(manager.getMappedConfigurations(project), handle)); //$NON-NLS-1$
+			assertTrue("Should be found by type", existsIn(manager.getLaunchConfigurations(handle.getType()), handle)); //$NON-NLS-1$
+
+			wc = handle.getWorkingCopy();
+			wc.setMappedResources(new IResource[] { folder });
+			handle = wc.doSave();
+			assertFalse("Should not be mapped to file", existsIn(manager.getMappedConfigurations(file), handle)); //$NON-NLS-1$
+			assertFalse("Should not be mapped to project", existsIn(manager.getMappedConfigurations(project), handle)); //$NON-NLS-1$
+			assertTrue("Should be mapped to folder", existsIn(manager.getMappedConfigurations(folder), handle)); //$NON-NLS-1$
+		} finally {
+			handle.delete();
+		}
+		assertFalse("Should not be mapped after deletion", existsIn(manager.getMappedConfigurations(folder), handle)); //$NON-NLS-1$
+		assertFalse("Should not be found by type after deletion", existsIn(manager.getLaunchConfigurations(handle.getType()), handle)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a launch configuration file is written exactly as the DOM
+	 * serializer writes it and that all values survive saving and reading the
+	 * file.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFileFormatMatchesDOMSerialization() throws Exception {
+		ILaunchConfigurationWorkingCopy wc = newConfiguration(null, "fileFormat"); //$NON-NLS-1$
+		wc.setAttribute("Special", "<tag attr=\"a & b\">'x'\ttab\nline\r\n\u00e4\u20ac\ud83d\ude00</tag>"); //$NON-NLS-1$ //$NON-NLS-2$
+		wc.setAttribute("List", Arrays.asList("b", "a", "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		wc.setAttribute("EmptyList", new ArrayList<String>()); //$NON-NLS-1$
+		wc.setAttribute("Set", new HashSet<>(Arrays.asList("z", "y"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Map<String, String> map = new HashMap<>();
+		map.put("k>", "v\""); //$NON-NLS-1$ //$NON-NLS-2$
+		wc.setAttribute("Map", map); //$NON-NLS-1$
+		Map<String, Object> attributes = wc.getAttributes();
+		ILaunchConfiguration handle = wc.doSave();
+		try {
+			String xml = new String(Files.readAllBytes(handle.getLocation().toFile().toPath()), StandardCharsets.UTF_8);
+			Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+			removeTextNodes(doc.getDocumentElement());
+			assertEquals("File should match DOM serialization", LaunchManager.serializeDocument(doc), xml); //$NON-NLS-1$
+			assertEquals("Attributes should survive save", attributes, handle.getAttributes()); //$NON-NLS-1$
+		} finally {
+			handle.delete();
+		}
+	}
+
+	private static void removeTextNodes(Node node) {
+		NodeList children = node.getChildNodes();
+		for (int i = children.getLength() - 1; i >= 0; i--) {
+			Node child = children.item(i);
+			if (child.getNodeType() == Node.TEXT_NODE) {
+				node.removeChild(child);
+			} else {
+				removeTextNodes(child);
+			}
+		}
+	}
+
 }
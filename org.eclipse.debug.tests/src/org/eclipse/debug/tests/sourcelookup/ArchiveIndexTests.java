@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.sourcelookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ZipEntryStorage;
+import org.eclipse.debug.internal.core.sourcelookup.ArchiveIndex;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link ArchiveIndex} and its use by
+ * {@link ExternalArchiveSourceContainer}
+ */
+public class ArchiveIndexTests extends AbstractDebugTest {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private File createArchive(String... names) throws IOException {
+		File file = new File(fFolder.getRoot(), "src" + System.nanoTime() + ".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			for (String name : names) {
+				out.putNextEntry(new ZipEntry(name));
+				out.write(name.getBytes());
+				out.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Tests the entries, files and folders of an index
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testIndex() throws Exception {
+		File archive = createArchive("src/a/A.java", "src/b/A.java", "lib/", "B.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		ArchiveIndex index = ArchiveIndex.getIndex(archive.getPath());
+		assertEquals("Wrong size", 4, index.size()); //$NON-NLS-1$
+		assertNotNull("Entry should be indexed", index.getEntry("src/a/A.java")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("Entry should not exist", index.getEntry("a/A.java")); //$NON-NLS-1$ //$NON-NLS-2$
+		ZipEntry[] files = index.getFiles("A.java"); //$NON-NLS-1$
+		assertEquals("Wrong number of files", 2, files.length); //$NON-NLS-1$
+		assertEquals("Files should be in archive order", "src/a/A.java", files[0].getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong folders", new HashSet<>(Arrays.asList("", "src/", "src/a/", "src/b/", "lib/")), index.getFolders()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertSame("Index should be shared", index, ArchiveIndex.getIndex(archive.getPath())); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that an index is read again when the archive changes
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testChangedArchive() throws Exception {
+		File archive = createArchive("A.java"); //$NON-NLS-1$
+		ArchiveIndex index = ArchiveIndex.getIndex(archive.getPath());
+		File changed = createArchive("A.java", "B.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Archive should be replaced", archive.delete() && changed.renameTo(archive)); //$NON-NLS-1$
+		ArchiveIndex newIndex = ArchiveIndex.getIndex(archive.getPath());
+		assertNotSame("Index should be read again", index, newIndex); //$NON-NLS-1$
+		assertNotNull("Added entry should be indexed", newIndex.getEntry("B.java")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the zip file of a replaced archive stays readable and is
+	 * closed with the other zip files
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testReplacedArchive() throws Exception {
+		File archive = createArchive("A.java"); //$NON-NLS-1$
+		try {
+			ZipFile zip = SourceLookupUtils.getZipFile(archive.getPath());
+			File changed = createArchive("A.java", "B.java"); //$NON-NLS-1$ //$NON-NLS-2$
+			assertTrue("Archive should be replaced", archive.delete() && changed.renameTo(archive)); //$NON-NLS-1$
+			ZipFile newZip = SourceLookupUtils.getZipFile(archive.getPath());
+			assertNotSame("Zip file should be opened again", zip, newZip); //$NON-NLS-1$
+			assertNotNull("Added entry should be readable", newZip.getEntry("B.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertNotNull("Old zip file should stay readable", zip.getEntry("A.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			SourceLookupUtils.closeArchives();
+			assertFalse("Old zip file should be closed", isOpen(zip)); //$NON-NLS-1$
+			assertFalse("New zip file should be closed", isOpen(newZip)); //$NON-NLS-1$
+		} finally {
+			SourceLookupUtils.closeArchives();
+		}
+	}
+
+	/**
+	 * Tests lookups of an archive source container through the index
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testContainerLookup() throws Exception {
+		File archive = createArchive("src/org/a/A.java", "src/org/b/A.java", "other/org/c/C.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(archive.getPath(), true);
+		try {
+			Object[] elements = container.findSourceElements("org/b/A.java"); //$NON-NLS-1$
+			assertEquals("Wrong number of elements", 1, elements.length); //$NON-NLS-1$
+			assertEquals("Wrong root", "src/org/b/A.java", ((ZipEntryStorage) elements[0]).getZipEntry().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			elements = container.findSourceElements("C.java"); //$NON-NLS-1$
+			assertEquals("Wrong number of elements", 1, elements.length); //$NON-NLS-1$
+			assertEquals("Wrong element", "other/org/c/C.java", ((ZipEntryStorage) elements[0]).getZipEntry().getName()); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("Should not match partial names", 0, container.findSourceElements("c/C.jav").length); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			container.dispose();
+			SourceLookupUtils.closeArchives();
+		}
+	}
+
+	/**
+	 * Tests that storages of an archive stay readable and equal to new ones
+	 * after more archives were opened than the zip file cache holds
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testManyArchives() throws Exception {
+		File first = createArchive("a/A.java"); //$NON-NLS-1$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(first.getPath(), false);
+		try {
+			ZipEntryStorage storage = (ZipEntryStorage) container.findSourceElements("a/A.java")[0]; //$NON-NLS-1$
+			for (int i = 0; i < 40; i++) {
+				ZipFile other = SourceLookupUtils.getZipFile(createArchive("B" + i + ".java").getPath()); //$NON-NLS-1$ //$NON-NLS-2$
+				assertNotNull("Entry should be readable", other.getEntry("B" + i + ".java")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			try (InputStream in = storage.getContents()) {
+				assertEquals("Wrong contents", "a/A.java", new String(in.readAllBytes())); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			assertEquals("Storage should equal a new lookup", storage, container.findSourceElements("a/A.java")[0]); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			container.dispose();
+			SourceLookupUtils.closeArchives();
+		}
+	}
+
+	private static boolean isOpen(ZipFile zip) {
+		try {
+			zip.size();
+			return true;
+		} catch (IllegalStateException e) {
+			return false;
+		}
+	}
+}
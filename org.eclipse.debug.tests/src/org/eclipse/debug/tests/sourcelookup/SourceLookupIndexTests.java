@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.sourcelookup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.BitSet;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.sourcelookup.AbstractSourceLookupParticipant;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupParticipant;
+import org.eclipse.debug.core.sourcelookup.containers.DirectorySourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.FolderSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.LocalFileStorage;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupIndex;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestsPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests source lookup with the {@link SourceLookupIndex}
+ */
+public class SourceLookupIndexTests extends AbstractDebugTest {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private TestSourceDirector fDirector;
+	private AbstractSourceLookupParticipant fParticipant;
+	private File fFirst;
+	private File fSecond;
+	private File fThird;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fFirst = fFolder.newFolder("first"); //$NON-NLS-1$
+		fSecond = fFolder.newFolder("second"); //$NON-NLS-1$
+		fThird = fFolder.newFolder("third"); //$NON-NLS-1$
+		new File(fFirst, "A.java").createNewFile(); //$NON-NLS-1$
+		new File(fSecond, "pkg").mkdir(); //$NON-NLS-1$
+		new File(fSecond, "pkg/B.java").createNewFile(); //$NON-NLS-1$
+		new File(fThird, "B.java").createNewFile(); //$NON-NLS-1$
+		fDirector = new TestSourceDirector();
+		fParticipant = new AbstractSourceLookupParticipant() {
+			@Override
+			public String getSourceName(Object object) {
+				return (String) object;
+			}
+		};
+		fDirector.addParticipants(new ISourceLookupParticipant[] { fParticipant });
+		fDirector.setSourceContainers(new ISourceContainer[] {
+				new DirectorySourceContainer(fFirst, true),
+				new DirectorySourceContainer(fSecond, true),
+				new DirectorySourceContainer(fThird, true) });
+		Job.getJobManager().join(SourceLookupIndex.class, null);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		fDirector.dispose();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that the index lists the containers which have a file of the
+	 * requested name
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testCandidates() throws Exception {
+		SourceLookupIndex index = SourceLookupIndex.getIndex(fDirector);
+		assertNotNull("Index should be enabled", index); //$NON-NLS-1$
+		BitSet candidates = index.getCandidates(fDirector.getSourceContainers(), "pkg/b.JAVA"); //$NON-NLS-1$
+		assertNotNull("Index should be built", candidates); //$NON-NLS-1$
+		assertEquals("Wrong candidates", BitSet.valueOf(new long[] { 6 }), candidates); //$NON-NLS-1$
+		assertNull("Names leaving the containers should not be indexed", index.getCandidates(fDirector.getSourceContainers(), "../first/A.java")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the first match is found in lookup order
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFindFirst() throws Exception {
+		Object[] elements = fParticipant.findSourceElements("B.java"); //$NON-NLS-1$
+		assertEquals("Wrong number of elements", 1, elements.length); //$NON-NLS-1$
+		assertEquals("Wrong element", new File(fSecond, "pkg/B.java"), ((LocalFileStorage) elements[0]).getFile()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that duplicates are returned in lookup order
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFindDuplicates() throws Exception {
+		fDirector.setFindDuplicates(true);
+		Object[] elements = fParticipant.findSourceElements("B.java"); //$NON-NLS-1$
+		assertEquals("Wrong number of elements", 2, elements.length); //$NON-NLS-1$
+		assertEquals("Wrong first element", new File(fSecond, "pkg/B.java"), ((LocalFileStorage) elements[0]).getFile()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong second element", new File(fThird, "B.java"), ((LocalFileStorage) elements[1]).getFile()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that files added after the index was built are found
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFindAddedFile() throws Exception {
+		new File(fThird, "C.java").createNewFile(); //$NON-NLS-1$
+		Object[] elements = fParticipant.findSourceElements("C.java"); //$NON-NLS-1$
+		assertEquals("Wrong number of elements", 1, elements.length); //$NON-NLS-1$
+		assertEquals("Wrong element", new File(fThird, "C.java"), ((LocalFileStorage) elements[0]).getFile()); //$NON-NLS-1$ //$NON-NLS-2$
+		Job.getJobManager().join(SourceLookupIndex.class, null);
+		BitSet candidates = SourceLookupIndex.getIndex(fDirector).getCandidates(fDirector.getSourceContainers(), "C.java"); //$NON-NLS-1$
+		assertEquals("Index should be rebuilt", BitSet.valueOf(new long[] { 4 }), candidates); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a file added to an external directory before the first
+	 * candidate is found in lookup order, although the index does not list it
+	 * yet
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFindFileAddedBeforeCandidate() throws Exception {
+		long lastModified = fFirst.lastModified();
+		new File(fFirst, "B.java").createNewFile(); //$NON-NLS-1$
+		// the directory changed even if the file system has a coarse clock
+		fFirst.setLastModified(lastModified - 10_000);
+		Object[] elements = fParticipant.findSourceElements("B.java"); //$NON-NLS-1$
+		assertEquals("Wrong number of elements", 1, elements.length); //$NON-NLS-1$
+		assertEquals("Wrong element", new File(fFirst, "B.java"), ((LocalFileStorage) elements[0]).getFile()); //$NON-NLS-1$ //$NON-NLS-2$
+		Job.getJobManager().join(SourceLookupIndex.class, null);
+		BitSet candidates = SourceLookupIndex.getIndex(fDirector).getCandidates(fDirector.getSourceContainers(), "B.java"); //$NON-NLS-1$
+		assertEquals("Changed container should be indexed again", BitSet.valueOf(new long[] { 7 }), candidates); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a file added to a workspace container only invalidates that
+	 * container, while the other containers stay indexed
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testInvalidateAffectedContainer() throws Exception {
+		IProject project = TestsPlugin.createProject("SourceLookupIndexTests"); //$NON-NLS-1$
+		TestSourceDirector director = new TestSourceDirector();
+		try {
+			IFolder first = project.getFolder("first"); //$NON-NLS-1$
+			IFolder second = project.getFolder("second"); //$NON-NLS-1$
+			first.create(true, true, null);
+			second.create(true, true, null);
+			createFile(first.getFile("A.java")); //$NON-NLS-1$
+			createFile(second.getFile("B.java")); //$NON-NLS-1$
+			director.setSourceContainers(new ISourceContainer[] {
+					new FolderSourceContainer(first, true),
+					new FolderSourceContainer(second, true),
+					new DirectorySourceContainer(fThird, true) });
+			SourceLookupIndex index = SourceLookupIndex.getIndex(director);
+			ISourceContainer[] containers = director.getSourceContainers();
+			index.containersChanged(containers);
+			Job.getJobManager().join(SourceLookupIndex.class, null);
+			assertEquals("Wrong candidates", BitSet.valueOf(new long[] { 6 }), index.getCandidates(containers, "B.java")); //$NON-NLS-1$ //$NON-NLS-2$
+
+			createFile(first.getFile("C.java")); //$NON-NLS-1$
+			BitSet candidates = index.getCandidates(containers, "A.java"); //$NON-NLS-1$
+			assertNotNull("Index should not be discarded", candidates); //$NON-NLS-1$
+			assertTrue("Affected container should be searched", candidates.get(0)); //$NON-NLS-1$
+			assertFalse("Other containers should stay indexed", candidates.get(1) || candidates.get(2)); //$NON-NLS-1$
+
+			Job.getJobManager().join(SourceLookupIndex.class, null);
+			assertEquals("Added file should be indexed", BitSet.valueOf(new long[] { 1 }), index.getCandidates(containers, "C.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("Wrong candidates", BitSet.valueOf(new long[] { 6 }), index.getCandidates(containers, "B.java")); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			director.dispose();
+			project.delete(true, null);
+		}
+	}
+
+	private static void createFile(IFile file) throws CoreException {
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+	}
+}
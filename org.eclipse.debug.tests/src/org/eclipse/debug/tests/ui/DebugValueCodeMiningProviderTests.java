@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat, Inc. and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.debug.tests.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.debug.core.model.IStackFrame;
+import org.eclipse.debug.core.model.IVariable;
+import org.eclipse.debug.internal.ui.DebugUIPlugin;
+import org.eclipse.debug.internal.ui.codemining.DebugValueCodeMiningProvider;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests which tokens the inline variable values provider resolves and when it
+ * updates the code minings.
+ */
+public class DebugValueCodeMiningProviderTests extends AbstractDebugTest {
+
+	private static final int LINES = 1000;
+
+	/**
+	 * Provider recording the resolved offsets and requested updates instead of
+	 * adapting to variables and updating the viewer.
+	 */
+	private static class TestCodeMiningProvider extends DebugValueCodeMiningProvider {
+		final List<Integer> fResolved = new CopyOnWriteArrayList<>();
+		final AtomicInteger fUpdates = new AtomicInteger();
+		volatile IStackFrame fShownFrame;
+
+		@Override
+		protected IVariable resolveVariable(IDocument document, int offset) {
+			fResolved.add(offset);
+			return null;
+		}
+
+		@Override
+		protected IStackFrame getStackFrame() {
+			return fShownFrame;
+		}
+
+		@Override
+		protected boolean hasDebugRunning() {
+			return true;
+		}
+
+		@Override
+		protected void updateCodeMinings() {
+			fUpdates.incrementAndGet();
+		}
+	}
+
+	private final List<DebugEvent> fEvents = new CopyOnWriteArrayList<>();
+	private final IDebugEventSetListener fEventListener = events -> fEvents.addAll(List.of(events));
+	private final List<ILaunch> fLaunches = new ArrayList<>();
+	private Shell fShell;
+	private SourceViewer fViewer;
+	private TestCodeMiningProvider fProvider;
+	private boolean fShowInline;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		IPreferenceStore store = DebugUIPlugin.getDefault().getPreferenceStore();
+		fShowInline = store.getBoolean(IDebugUIConstants.PREF_SHOW_VARIABLES_INLINE);
+		store.setValue(IDebugUIConstants.PREF_SHOW_VARIABLES_INLINE, true);
+		DebugPlugin.getDefault().addDebugEventListener(fEventListener);
+
+		fShell = new Shell(PlatformUI.getWorkbench().getDisplay());
+		fShell.setLayout(new FillLayout());
+		fShell.setSize(400, 200);
+		fViewer = new SourceViewer(fShell, null, SWT.V_SCROLL);
+		fShell.open();
+		fProvider = new TestCodeMiningProvider();
+		TestUtil.processUIEvents();
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		fProvider.dispose();
+		fShell.close();
+		DebugPlugin.getDefault().getLaunchManager().removeLaunches(fLaunches.toArray(new ILaunch[0]));
+		DebugPlugin.getDefault().removeDebugEventListener(fEventListener);
+		DebugUIPlugin.getDefault().getPreferenceStore().setValue(IDebugUIConstants.PREF_SHOW_VARIABLES_INLINE, fShowInline);
+		TestUtil.processUIEvents();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that only the visible lines and one screen above and below are
+	 * resolved, and that resolved tokens are cached until the document changes.
+	 */
+	@Test
+	public void testResolveVisibleRangeOnly() throws Exception {
+		IDocument document = new Document("value\n".repeat(LINES)); //$NON-NLS-1$
+		fViewer.setDocument(document);
+		fViewer.setTopIndex(LINES / 2);
+		TestUtil.processUIEvents();
+		int top = fViewer.getTopIndex();
+		int bottom = fViewer.getBottomIndex();
+		int margin = bottom - top + 1;
+
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		Set<Integer> lines = getResolvedLines(document);
+		assertTrue("Lines above the margin resolved: " + lines, lines.stream().allMatch(line -> line >= top - margin)); //$NON-NLS-1$
+		assertTrue("Lines below the margin resolved: " + lines, lines.stream().allMatch(line -> line <= bottom + margin)); //$NON-NLS-1$
+		for (int line = top; line <= bottom; line++) {
+			assertTrue("Visible line not resolved: " + line, lines.contains(line)); //$NON-NLS-1$
+		}
+		assertEquals("Each token should be resolved once", lines.size(), fProvider.fResolved.size()); //$NON-NLS-1$
+
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		assertEquals("Resolved tokens should be cached", lines.size(), fProvider.fResolved.size()); //$NON-NLS-1$
+
+		document.replace(0, 0, "\n"); //$NON-NLS-1$
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		assertTrue("Document change should drop the cache", fProvider.fResolved.size() > lines.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that tokens with the same text are resolved at each of their
+	 * offsets.
+	 */
+	@Test
+	public void testResolveByOffset() throws Exception {
+		fViewer.setDocument(new Document("x = x + y\n")); //$NON-NLS-1$
+		TestUtil.processUIEvents();
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		assertEquals(List.of(0, 4, 8), fProvider.fResolved);
+	}
+
+	/**
+	 * Tests that only a suspend of the shown frame's debug target updates the
+	 * code minings and drops the resolved tokens.
+	 */
+	@Test
+	public void testUpdateOnSuspendOfShownFrameOnly() throws Exception {
+		IDebugTarget target = createDebugTarget();
+		IDebugTarget otherTarget = createDebugTarget();
+		fProvider.fShownFrame = createStackFrame(target);
+		fViewer.setDocument(new Document("x = y\n")); //$NON-NLS-1$
+		TestUtil.processUIEvents();
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		assertEquals(2, fProvider.fResolved.size());
+
+		fire(new DebugEvent(otherTarget, DebugEvent.SUSPEND), new DebugEvent(target, DebugEvent.RESUME), new DebugEvent(target, DebugEvent.CHANGE));
+		assertEquals("Events of other targets or kinds should not update", 0, fProvider.fUpdates.get()); //$NON-NLS-1$
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		assertEquals("Resolved tokens should be cached", 2, fProvider.fResolved.size()); //$NON-NLS-1$
+
+		fire(new DebugEvent(target, DebugEvent.SUSPEND));
+		assertEquals("Suspend of the shown target should update", 1, fProvider.fUpdates.get()); //$NON-NLS-1$
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+		assertEquals("Suspend should drop the cache", 4, fProvider.fResolved.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that without a shown frame a suspend of a launch in debug mode
+	 * started later updates the code minings, and that events of launches in
+	 * other modes are not routed to the provider.
+	 */
+	@Test
+	public void testUpdateOnSuspendOfNewLaunch() throws Exception {
+		fViewer.setDocument(new Document("x = y\n")); //$NON-NLS-1$
+		TestUtil.processUIEvents();
+		fProvider.provideCodeMinings(fViewer, new NullProgressMonitor()).get();
+
+		fire(new DebugEvent(createDebugTarget(ILaunchManager.RUN_MODE), DebugEvent.SUSPEND));
+		assertEquals("Launches in run mode should not update", 0, fProvider.fUpdates.get()); //$NON-NLS-1$
+		fire(new DebugEvent(createDebugTarget(), DebugEvent.SUSPEND));
+		assertEquals("Suspend of a new launch should update", 1, fProvider.fUpdates.get()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a canceled computation stops without resolving tokens.
+	 */
+	@Test
+	public void testCancel() throws Exception {
+		fViewer.setDocument(new Document("value\n".repeat(LINES))); //$NON-NLS-1$
+		TestUtil.processUIEvents();
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		try {
+			fProvider.provideCodeMinings(fViewer, monitor).get();
+			fail("Canceled computation should not complete"); //$NON-NLS-1$
+		} catch (ExecutionException e) {
+			assertTrue("Unexpected failure: " + e.getCause(), e.getCause() instanceof CancellationException); //$NON-NLS-1$
+		}
+		assertEquals(0, fProvider.fResolved.size());
+	}
+
+	private Set<Integer> getResolvedLines(IDocument document) throws BadLocationException {
+		Set<Integer> lines = new TreeSet<>();
+		for (int offset : fProvider.fResolved) {
+			lines.add(document.getLineOfOffset(offset));
+		}
+		return lines;
+	}
+
+	/**
+	 * Fires the events and waits until all listeners have been notified.
+	 */
+	private void fire(DebugEvent... events) throws Exception {
+		DebugPlugin.getDefault().fireDebugEventSet(events);
+		// event sets are dispatched in order, once the marker arrived the
+		// provider has been notified of the events as well
+		DebugEvent marker = new DebugEvent(this, DebugEvent.MODEL_SPECIFIC);
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { marker });
+		TestUtil.waitWhile(() -> !fEvents.contains(marker), testTimeout);
+	}
+
+	private IDebugTarget createDebugTarget() {
+		return createDebugTarget(ILaunchManager.DEBUG_MODE);
+	}
+
+	/**
+	 * Creates a debug target of a new registered launch in the given mode.
+	 */
+	private IDebugTarget createDebugTarget(String mode) {
+		ILaunch launch = new Launch(null, mode, null);
+		fLaunches.add(launch);
+		DebugPlugin.getDefault().getLaunchManager().addLaunch(launch);
+		return createDebugElement(IDebugTarget.class, null, launch);
+	}
+
+	private static IStackFrame createStackFrame(IDebugTarget target) {
+		return createDebugElement(IStackFrame.class, target, target.getLaunch());
+	}
+
+	/**
+	 * Creates a debug element of the given debug target, or a debug target if
+	 * the target is <code>null</code>.
+	 */
+	private static <T> T createDebugElement(Class<T> type, IDebugTarget target, ILaunch launch) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[] { type }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getDebugTarget": //$NON-NLS-1$
+					return target == null ? proxy : target;
+				case "getLaunch": //$NON-NLS-1$
+					return launch;
+				case "equals": //$NON-NLS-1$
+					return proxy == args[0];
+				case "hashCode": //$NON-NLS-1$
+					return System.identityHashCode(proxy);
+				case "toString": //$NON-NLS-1$
+					return type.getSimpleName();
+				default:
+					if (method.getReturnType() == boolean.class) {
+						return Boolean.FALSE;
+					}
+					return method.getReturnType() == int.class ? Integer.valueOf(0) : null;
+			}
+		}));
+	}
+}
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.debug.tests.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.unittest.internal.ui.history.HistoryIndex;
+import org.eclipse.unittest.internal.ui.history.HistoryItem;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the index of the stored test run history files
+ */
+public class HistoryIndexTests extends AbstractDebugTest {
+
+	private static final Instant START_TIME = Instant.parse("2020-01-01T00:00:00Z"); //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private File fDirectory;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fDirectory = fFolder.newFolder("history"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that saved summaries are read by a new index
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		File first = createFile("first.xml", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+		File second = createFile("second.xml", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+		HistoryIndex index = new HistoryIndex(fDirectory);
+		index.put(first, "first run", START_TIME, 3); //$NON-NLS-1$
+		index.put(second, null, null, 0);
+		index.save();
+
+		index = new HistoryIndex(fDirectory);
+		HistoryIndex.Entry entry = index.get(first);
+		assertNotNull("Summary not read", entry); //$NON-NLS-1$
+		assertEquals("first run", entry.getName()); //$NON-NLS-1$
+		assertEquals(START_TIME, entry.getStartTime());
+		assertEquals(3, entry.getFailuresAndErrors());
+		entry = index.get(second);
+		assertNotNull("Summary not read", entry); //$NON-NLS-1$
+		assertNull(entry.getName());
+		assertNull(entry.getStartTime());
+		assertNull("Unknown file should not be indexed", index.get(new File(fDirectory, "unknown.xml"))); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that names longer than the limit of modified UTF-8 strings are
+	 * stored
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testLongName() throws Exception {
+		File file = createFile("long.xml", "long"); //$NON-NLS-1$ //$NON-NLS-2$
+		String name = "é".repeat(70_000); //$NON-NLS-1$
+		HistoryIndex index = new HistoryIndex(fDirectory);
+		index.put(file, name, START_TIME, 1);
+		index.save();
+
+		HistoryIndex.Entry entry = new HistoryIndex(fDirectory).get(file);
+		assertNotNull("Summary not read", entry); //$NON-NLS-1$
+		assertEquals(name, entry.getName());
+	}
+
+	/**
+	 * Tests that summaries which could not be written are written by the next
+	 * save
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSaveAfterFailedWrite() throws Exception {
+		File file = createFile("saved.xml", "saved"); //$NON-NLS-1$ //$NON-NLS-2$
+		HistoryIndex index = new HistoryIndex(fDirectory);
+		index.put(file, "saved", START_TIME, 0); //$NON-NLS-1$
+		// a non-empty directory in place of the index file cannot be replaced
+		File blocker = new File(fDirectory.getParentFile(), "history.index"); //$NON-NLS-1$
+		assertTrue(new File(blocker, "content").mkdirs()); //$NON-NLS-1$
+		index.save();
+		assertNull("Summary should not be written", new HistoryIndex(fDirectory).get(file)); //$NON-NLS-1$
+
+		assertTrue(new File(blocker, "content").delete() && blocker.delete()); //$NON-NLS-1$
+		index.save();
+		assertNotNull("Summary should be written by the next save", new HistoryIndex(fDirectory).get(file)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the summary of a changed file is not used
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStaleEntries() throws Exception {
+		File resized = createFile("resized.xml", "resized"); //$NON-NLS-1$ //$NON-NLS-2$
+		File touched = createFile("touched.xml", "touched"); //$NON-NLS-1$ //$NON-NLS-2$
+		HistoryIndex index = new HistoryIndex(fDirectory);
+		index.put(resized, "resized", START_TIME, 0); //$NON-NLS-1$
+		index.put(touched, "touched", START_TIME, 0); //$NON-NLS-1$
+		index.save();
+
+		long lastModified = resized.lastModified();
+		Files.write(resized.toPath(), "resized and longer".getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		resized.setLastModified(lastModified);
+		touched.setLastModified(touched.lastModified() - 10_000);
+
+		index = new HistoryIndex(fDirectory);
+		assertNull("Resized file should not be current", index.get(resized)); //$NON-NLS-1$
+		assertNull("Touched file should not be current", index.get(touched)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the summaries of removed files are dropped
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRetain() throws Exception {
+		File kept = createFile("kept.xml", "kept"); //$NON-NLS-1$ //$NON-NLS-2$
+		File removed = createFile("removed.xml", "removed"); //$NON-NLS-1$ //$NON-NLS-2$
+		HistoryIndex index = new HistoryIndex(fDirectory);
+		index.put(kept, "kept", START_TIME, 0); //$NON-NLS-1$
+		index.put(removed, "removed", START_TIME, 0); //$NON-NLS-1$
+		index.retain(Set.of(kept.getName()));
+		index.save();
+
+		index = new HistoryIndex(fDirectory);
+		assertNotNull("Retained summary lost", index.get(kept)); //$NON-NLS-1$
+		assertNull("Summary of a removed file kept", index.get(removed)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the summary of a compressed history file is read
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testCompressedHistoryFile() throws Exception {
+		File file = new File(fDirectory, "compressed.xml.gz"); //$NON-NLS-1$
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file.toPath()))) {
+			out.write(("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //$NON-NLS-1$
+					+ "<testrun name=\"compressed\" startTime=\"2020-01-01T00:00:00Z\" errors=\"1\" failures=\"2\">\n" //$NON-NLS-1$
+					+ "</testrun>\n").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		}
+		HistoryItem item = new HistoryItem(file);
+		assertEquals("compressed", item.getName()); //$NON-NLS-1$
+		assertEquals(START_TIME, item.getStartDate());
+		assertEquals(3, item.getFailureCount());
+	}
+
+	private File createFile(String fileName, String content) throws Exception {
+		File file = new File(fDirectory, fileName);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
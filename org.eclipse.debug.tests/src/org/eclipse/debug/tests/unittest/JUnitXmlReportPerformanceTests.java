@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.debug.tests.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionReader;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionWriter;
+import org.eclipse.unittest.internal.model.TestCaseElement;
+import org.eclipse.unittest.internal.model.TestElement;
+import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.TestSuiteElement;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Measures the streaming import and export of a 200 MB JUnit XML report with
+ * some huge failure traces.
+ */
+public class JUnitXmlReportPerformanceTests extends AbstractDebugTest {
+
+	private static final long REPORT_SIZE = 200L << 20;
+	private static final int TESTS_PER_SUITE = 1000;
+	/** every n-th test fails with a short trace */
+	private static final int FAILURE_INTERVAL = 10;
+	/** every n-th test fails with a trace above the spill threshold */
+	private static final int HUGE_FAILURE_INTERVAL = 500;
+	private static final int HUGE_TRACE_LINES = 100_000;
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private String getDefaultScenarioId() {
+		return getClass().getName() + '#' + name.getMethodName() + "()"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the report and returns the number of failed tests in it.
+	 */
+	private int createReport(File file) throws IOException {
+		int failures = 0;
+		try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+			out.write("<testrun name=\"large\" startTime=\"" + Instant.now() + "\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (int suite = 0; file.length() < REPORT_SIZE; suite++) {
+				out.write("  <testsuite name=\"p.Suite" + suite + "\" time=\"1.0\">\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				for (int test = 0; test < TESTS_PER_SUITE; test++) {
+					out.write("    <testcase name=\"test" + test + "\" classname=\"p.Suite" + suite + "\" time=\"0.001\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					if (test % FAILURE_INTERVAL != 0) {
+						out.write("/>\n"); //$NON-NLS-1$
+						continue;
+					}
+					failures++;
+					out.write(">\n      <failure><expected>a</expected><actual>b</actual>"); //$NON-NLS-1$
+					int lines = test % HUGE_FAILURE_INTERVAL == 0 ? HUGE_TRACE_LINES : 20;
+					out.write("junit.framework.AssertionFailedError: expected a but was b\n"); //$NON-NLS-1$
+					for (int line = 0; line < lines; line++) {
+						out.write("\tat p.Suite" + suite + ".test" + test + "(Suite" + suite + ".java:" + line + ")\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+					}
+					out.write("</failure>\n    </testcase>\n"); //$NON-NLS-1$
+				}
+				out.write("  </testsuite>\n"); //$NON-NLS-1$
+				out.flush();
+			}
+			out.write("</testrun>\n"); //$NON-NLS-1$
+		}
+		return failures;
+	}
+
+	private TestRunSession importReport(File file) throws Exception {
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			return new TestRunSessionReader(new NullProgressMonitor(), TestRunSessionReader.DEFAULT_SPILL_THRESHOLD,
+					fFolder.getRoot().toPath().resolve("spill")).read(in); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void testImportLargeReport() throws Exception {
+		File report = fFolder.newFile("large.xml"); //$NON-NLS-1$
+		int failures = createReport(report);
+
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(getDefaultScenarioId());
+		try {
+			for (int i = 0; i < 3; i++) {
+				System.gc();
+				meter.start();
+				TestRunSession session = importReport(report);
+				meter.stop();
+
+				assertNotNull(session);
+				assertEquals(failures, session.getCurrentFailureCount());
+				TestSuiteElement suite = (TestSuiteElement) session.getChildren().get(0);
+				TestCaseElement hugeFailure = (TestCaseElement) suite.getChildren().get(0);
+				assertNotNull("huge trace not spilled", hugeFailure.getSpilledFailureTrace()); //$NON-NLS-1$
+				TestElement smallFailure = suite.getChildren().get(FAILURE_INTERVAL);
+				assertNotNull(smallFailure.getFailureTrace());
+				assertNull(smallFailure.getSpilledFailureTrace());
+				session.discardSpilledTraces();
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+		}
+	}
+
+	@Test
+	public void testExportLargeReport() throws Exception {
+		File report = fFolder.newFile("large.xml"); //$NON-NLS-1$
+		createReport(report);
+		TestRunSession session = importReport(report);
+		File exported = new File(fFolder.getRoot(), "exported.xml"); //$NON-NLS-1$
+
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(getDefaultScenarioId());
+		try {
+			for (int i = 0; i < 3; i++) {
+				System.gc();
+				meter.start();
+				try (OutputStream out = Files.newOutputStream(exported.toPath())) {
+					new TestRunSessionWriter(session).write(out);
+				}
+				meter.stop();
+
+				assertTrue(exported.length() > REPORT_SIZE / 2);
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+			session.discardSpilledTraces();
+		}
+		TestRunSession reimported = importReport(exported);
+		assertEquals(session.getCurrentFailureCount(), reimported.getCurrentFailureCount());
+		reimported.discardSpilledTraces();
+	}
+}
@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.debug.tests.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.unittest.internal.model.Status;
+import org.eclipse.unittest.internal.model.TestCaseElement;
+import org.eclipse.unittest.internal.model.TestElement;
+import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.TestSuiteElement;
+import org.eclipse.unittest.model.ITestElement.FailureTrace;
+import org.eclipse.unittest.model.ITestElement.Result;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the counters and the failure index of a test run session against a
+ * walk of the whole test tree
+ */
+public class TestRunSessionModelTests extends AbstractDebugTest {
+
+	private TestRunSession fSession;
+	private int fNextId;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fSession = new TestRunSession("model", Instant.now(), null); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests the status of a suite and the session counters while a test case
+	 * runs, fails and is rerun successfully
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStatusTransitions() throws Exception {
+		TestSuiteElement suite = createSuite(fSession);
+		TestCaseElement first = createTestCase(suite);
+		TestCaseElement second = createTestCase(suite);
+		assertSame(Status.NOT_RUN, suite.getStatus());
+
+		first.setStatus(Status.RUNNING);
+		assertSame(Status.RUNNING, suite.getStatus());
+		assertEquals(1, fSession.countStartedTestCases());
+		assertModel();
+
+		first.setStatus(Status.FAILURE, new FailureTrace("trace", null, null)); //$NON-NLS-1$
+		assertSame(Status.RUNNING_FAILURE, suite.getStatus());
+		assertEquals(1, fSession.getCurrentFailureCount());
+		assertTrue("Failed test not listed", fSession.getAllFailedTestElements().contains(first)); //$NON-NLS-1$
+		assertModel();
+
+		second.setStatus(Status.RUNNING);
+		second.setStatus(Status.OK);
+		assertSame(Status.FAILURE, suite.getStatus());
+		assertEquals(2, fSession.countStartedTestCases());
+		assertModel();
+
+		// rerun the failed test
+		first.setStatus(Status.RUNNING);
+		assertSame(Status.RUNNING, suite.getStatus());
+		assertEquals(0, fSession.getCurrentFailureCount());
+		assertModel();
+
+		first.setStatus(Status.OK);
+		assertSame(Status.OK, suite.getStatus());
+		assertSame(Result.OK, fSession.getTestResult(true));
+		assertEquals(2, fSession.countStartedTestCases());
+		assertTrue("No test should be listed as failed", fSession.getAllFailedTestElements().isEmpty()); //$NON-NLS-1$
+		assertModel();
+	}
+
+	/**
+	 * Tests the counters and the failure index when tests are ignored or fail
+	 * an assumption
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testIgnoredAndAssumptionFailed() throws Exception {
+		TestSuiteElement suite = createSuite(fSession);
+		TestCaseElement ignored = createTestCase(suite);
+		TestCaseElement assumption = createTestCase(suite);
+
+		ignored.setIgnored(true);
+		assertEquals(1, fSession.getCurrentIgnoredCount());
+		assertSame(Result.IGNORED, ignored.getTestResult(false));
+		assertModel();
+		ignored.setIgnored(false);
+		assertEquals(0, fSession.getCurrentIgnoredCount());
+		assertModel();
+
+		assumption.setStatus(Status.FAILURE);
+		assertTrue("Failed test not listed", fSession.getAllFailedTestElements().contains(assumption)); //$NON-NLS-1$
+		assumption.setAssumptionFailed(true);
+		assertEquals(1, fSession.getCurrentAssumptionFailureCount());
+		assertSame(Result.IGNORED, assumption.getTestResult(false));
+		assertFalse("Assumption failure listed as failed", fSession.getAllFailedTestElements().contains(assumption)); //$NON-NLS-1$
+		assertModel();
+		assumption.setAssumptionFailed(false);
+		assertEquals(0, fSession.getCurrentAssumptionFailureCount());
+		assertTrue("Failed test not listed", fSession.getAllFailedTestElements().contains(assumption)); //$NON-NLS-1$
+		assertModel();
+	}
+
+	/**
+	 * Tests that removing test cases and suites updates the counters and the
+	 * failure index
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRemoveChild() throws Exception {
+		TestSuiteElement suite = createSuite(fSession);
+		TestCaseElement failed = createTestCase(suite);
+		TestCaseElement ignored = createTestCase(suite);
+		TestSuiteElement nested = createSuite(suite);
+		TestCaseElement nestedError = createTestCase(nested);
+		TestCaseElement last = createTestCase(suite);
+		failed.setStatus(Status.FAILURE);
+		ignored.setIgnored(true);
+		nestedError.setStatus(Status.ERROR);
+		assertEquals(1, fSession.getCurrentFailureCount());
+		assertEquals(1, fSession.getCurrentErrorCount());
+		assertEquals(1, fSession.getCurrentIgnoredCount());
+		assertModel();
+
+		suite.removeChild(failed);
+		assertEquals(0, fSession.getCurrentFailureCount());
+		assertFalse("Removed test still listed", fSession.getAllFailedTestElements().contains(failed)); //$NON-NLS-1$
+		assertModel();
+
+		suite.removeChild(nested);
+		assertEquals(0, fSession.getCurrentErrorCount());
+		assertFalse("Removed test still listed", fSession.getAllFailedTestElements().contains(nestedError)); //$NON-NLS-1$
+		assertEquals(1, fSession.getCurrentIgnoredCount());
+		assertModel();
+
+		// the positions of the remaining children are updated
+		last.setStatus(Status.FAILURE);
+		createTestCase(suite).setStatus(Status.ERROR);
+		ignored.setStatus(Status.FAILURE);
+		assertEquals(List.of(ignored, last), suite.getChildren().subList(0, 2));
+		assertModel();
+	}
+
+	/**
+	 * Tests that the failed elements are listed in tree order regardless of
+	 * the order they failed in
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testFailureOrder() throws Exception {
+		List<TestCaseElement> testCases = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			TestSuiteElement suite = createSuite(fSession);
+			for (int j = 0; j < 3; j++) {
+				testCases.add(createTestCase(suite));
+			}
+			TestSuiteElement nested = createSuite(suite);
+			for (int j = 0; j < 2; j++) {
+				testCases.add(createTestCase(nested));
+			}
+		}
+		for (int i = testCases.size() - 1; i >= 0; i -= 2) {
+			testCases.get(i).setStatus(i % 3 == 0 ? Status.ERROR : Status.FAILURE);
+			assertModel();
+		}
+		// a test added to an earlier suite fails later
+		TestCaseElement added = createTestCase((TestSuiteElement) fSession.getChildren().get(0));
+		added.setStatus(Status.FAILURE);
+		assertModel();
+		// a failure is fixed by a rerun
+		testCases.get(testCases.size() - 1).setStatus(Status.OK);
+		assertModel();
+	}
+
+	private TestSuiteElement createSuite(TestSuiteElement parent) {
+		return (TestSuiteElement) fSession.createTestElement(parent, Integer.toString(fNextId++), "suite" + fNextId, //$NON-NLS-1$
+				true, null, false, null, null);
+	}
+
+	private TestCaseElement createTestCase(TestSuiteElement parent) {
+		return (TestCaseElement) fSession.createTestElement(parent, Integer.toString(fNextId++), "test" + fNextId, //$NON-NLS-1$
+				false, null, false, null, null);
+	}
+
+	/**
+	 * Checks the counters and the failed elements of the session against a
+	 * walk of the whole test tree
+	 */
+	private void assertModel() {
+		List<TestElement> elements = new ArrayList<>();
+		collect(fSession, elements);
+		List<TestElement> failed = new ArrayList<>();
+		int failures = 0;
+		int errors = 0;
+		int ignored = 0;
+		int assumptionFailures = 0;
+		for (TestElement element : elements) {
+			Result result = element.getTestResult(true);
+			if (result == Result.ERROR || result == Result.FAILURE) {
+				failed.add(element);
+			}
+			if (element instanceof TestCaseElement) {
+				TestCaseElement testCase = (TestCaseElement) element;
+				failures += testCase.getStatus() == Status.FAILURE ? 1 : 0;
+				errors += testCase.getStatus() == Status.ERROR ? 1 : 0;
+				ignored += testCase.isIgnored() ? 1 : 0;
+				assumptionFailures += testCase.isAssumptionFailure() ? 1 : 0;
+			}
+		}
+		assertEquals("Wrong failed elements", failed, fSession.getAllFailedTestElements()); //$NON-NLS-1$
+		assertEquals("Wrong failure count", failures, fSession.getCurrentFailureCount()); //$NON-NLS-1$
+		assertEquals("Wrong error count", errors, fSession.getCurrentErrorCount()); //$NON-NLS-1$
+		assertEquals("Wrong ignored count", ignored, fSession.getCurrentIgnoredCount()); //$NON-NLS-1$
+		assertEquals("Wrong assumption failure count", assumptionFailures, fSession.getCurrentAssumptionFailureCount()); //$NON-NLS-1$
+	}
+
+	private static void collect(TestElement element, List<TestElement> elements) {
+		elements.add(element);
+		if (element instanceof TestSuiteElement) {
+			for (TestElement child : ((TestSuiteElement) element).getChildren()) {
+				collect(child, elements);
+			}
+		}
+	}
+}
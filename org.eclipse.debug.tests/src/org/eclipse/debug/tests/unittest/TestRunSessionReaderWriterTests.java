@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.debug.tests.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionReader;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionWriter;
+import org.eclipse.unittest.internal.model.ProgressState;
+import org.eclipse.unittest.internal.model.TestCaseElement;
+import org.eclipse.unittest.internal.model.TestElement;
+import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.TestSuiteElement;
+import org.eclipse.unittest.model.ITestElement.FailureTrace;
+import org.eclipse.unittest.model.ITestElement.Result;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests reading and writing test run sessions as JUnit XML reports
+ */
+public class TestRunSessionReaderWriterTests extends AbstractDebugTest {
+
+	private static final int SPILL_THRESHOLD = 100;
+
+	/** A trace one character longer than the spill threshold */
+	private static final String SPILLED_TRACE = "s".repeat(SPILL_THRESHOLD + 1); //$NON-NLS-1$
+
+	/** A trace with surrogate pairs on the boundaries of the writer's chunks */
+	private static final String SURROGATE_TRACE = "a" + "😀".repeat(10_000); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final String REPORT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" //$NON-NLS-1$
+			+ "<testrun name=\"roundtrip\" startTime=\"2020-01-01T00:00:00Z\">\n" //$NON-NLS-1$
+			+ "<testsuite name=\"p.Suite\" time=\"1.5\">\n" //$NON-NLS-1$
+			+ "<testcase name=\"failed\" classname=\"p.Suite\" displayname=\"failed\">" //$NON-NLS-1$
+			+ "<failure><expected>exp</expected><actual>act</actual>failed trace</failure></testcase>\n" //$NON-NLS-1$
+			+ "<testcase name=\"error\" classname=\"p.Suite\" displayname=\"error\"><error>error trace</error></testcase>\n" //$NON-NLS-1$
+			+ "<testcase name=\"assumption\" classname=\"p.Suite\" displayname=\"assumption\"><skipped>assumption trace</skipped></testcase>\n" //$NON-NLS-1$
+			+ "<testcase name=\"skipped\" classname=\"p.Suite\" displayname=\"skipped\"><skipped/></testcase>\n" //$NON-NLS-1$
+			+ "<testcase name=\"ignored\" classname=\"p.Suite\" displayname=\"ignored\" ignored=\"true\"/>\n" //$NON-NLS-1$
+			+ "<testcase name=\"incomplete\" classname=\"p.Suite\" displayname=\"incomplete\" incomplete=\"true\"/>\n" //$NON-NLS-1$
+			+ "<testcase name=\"threshold\" classname=\"p.Suite\" displayname=\"threshold\"><failure>" //$NON-NLS-1$
+			+ "t".repeat(SPILL_THRESHOLD) + "</failure></testcase>\n" //$NON-NLS-1$ //$NON-NLS-2$
+			+ "<testcase name=\"spilled\" classname=\"p.Suite\" displayname=\"spilled\"><failure>" //$NON-NLS-1$
+			+ "<expected>exp</expected><actual>act</actual>" + SPILLED_TRACE + "</failure></testcase>\n" //$NON-NLS-1$ //$NON-NLS-2$
+			+ "<testcase name=\"surrogate\" classname=\"p.Suite\" displayname=\"surrogate\"><error>" //$NON-NLS-1$
+			+ SURROGATE_TRACE + "</error></testcase>\n" //$NON-NLS-1$
+			+ "<testcase name=\"ok\" classname=\"p.Suite\" displayname=\"ok\"/>\n" //$NON-NLS-1$
+			+ "</testsuite>\n" //$NON-NLS-1$
+			+ "</testrun>\n"; //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private TestRunSession read(byte[] report) throws Exception {
+		Path spillDirectory = fFolder.getRoot().toPath().resolve("spill"); //$NON-NLS-1$
+		return new TestRunSessionReader(new NullProgressMonitor(), SPILL_THRESHOLD, spillDirectory)
+				.read(new ByteArrayInputStream(report));
+	}
+
+	private static byte[] write(TestRunSession session) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new TestRunSessionWriter(session).write(out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Reads the report, writes and reads it again, and checks both sessions
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		TestRunSession session = read(REPORT.getBytes(StandardCharsets.UTF_8));
+		try {
+			assertSession(session);
+			TestRunSession written = read(write(session));
+			try {
+				assertSession(written);
+			} finally {
+				written.discardSpilledTraces();
+			}
+		} finally {
+			session.discardSpilledTraces();
+		}
+	}
+
+	/**
+	 * Tests that discarding the spilled traces of a session deletes its side
+	 * files
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testDiscardSpilledTraces() throws Exception {
+		TestRunSession session = read(REPORT.getBytes(StandardCharsets.UTF_8));
+		TestCaseElement spilled = getTestCase(session, "spilled"); //$NON-NLS-1$
+		assertNotNull("Trace should be spilled", spilled.getSpilledFailureTrace()); //$NON-NLS-1$
+		Path spillDirectory = fFolder.getRoot().toPath().resolve("spill"); //$NON-NLS-1$
+		try (Stream<Path> files = Files.walk(spillDirectory)) {
+			assertTrue("Side files should exist", files.anyMatch(Files::isRegularFile)); //$NON-NLS-1$
+		}
+		session.discardSpilledTraces();
+		try (Stream<Path> files = Files.list(spillDirectory)) {
+			assertEquals("Spill directory of the session should be deleted", 0, files.count()); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Tests that a malformed report leaves no side files behind
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testMalformedReport() throws Exception {
+		String malformed = REPORT.substring(0, REPORT.indexOf("<testcase name=\"ok\"")) + "<unknown/>"; //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			read(malformed.getBytes(StandardCharsets.UTF_8));
+			fail("Malformed report should not be read"); //$NON-NLS-1$
+		} catch (XMLStreamException e) {
+			// expected
+		}
+		Path spillDirectory = fFolder.getRoot().toPath().resolve("spill"); //$NON-NLS-1$
+		try (Stream<Path> files = Files.list(spillDirectory)) {
+			assertEquals("Side files should be deleted", 0, files.count()); //$NON-NLS-1$
+		}
+	}
+
+	private static void assertSession(TestRunSession session) {
+		assertEquals("roundtrip", session.getTestRunName()); //$NON-NLS-1$
+		assertEquals(1, session.getChildren().size());
+		assertEquals(10, ((TestSuiteElement) session.getChildren().get(0)).getChildren().size());
+
+		TestCaseElement failed = getTestCase(session, "failed"); //$NON-NLS-1$
+		assertEquals(Result.FAILURE, failed.getTestResult(false));
+		assertFailureTrace(failed, "failed trace", "exp", "act"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		TestCaseElement error = getTestCase(session, "error"); //$NON-NLS-1$
+		assertEquals(Result.ERROR, error.getTestResult(false));
+		assertFailureTrace(error, "error trace", null, null); //$NON-NLS-1$
+
+		TestCaseElement assumption = getTestCase(session, "assumption"); //$NON-NLS-1$
+		assertTrue("Assumption failure expected", assumption.isAssumptionFailure()); //$NON-NLS-1$
+		assertFalse(assumption.isIgnored());
+		assertFailureTrace(assumption, "assumption trace", null, null); //$NON-NLS-1$
+
+		TestCaseElement skipped = getTestCase(session, "skipped"); //$NON-NLS-1$
+		assertTrue("Skipped test should be ignored", skipped.isIgnored()); //$NON-NLS-1$
+		assertFalse(skipped.isAssumptionFailure());
+
+		assertTrue("Ignored flag lost", getTestCase(session, "ignored").isIgnored()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotEquals("Incomplete flag lost", ProgressState.COMPLETED, getTestCase(session, "incomplete").getProgressState()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(ProgressState.COMPLETED, getTestCase(session, "ok").getProgressState()); //$NON-NLS-1$
+		assertEquals(Result.OK, getTestCase(session, "ok").getTestResult(false)); //$NON-NLS-1$
+
+		TestCaseElement threshold = getTestCase(session, "threshold"); //$NON-NLS-1$
+		assertNull("Trace at the threshold should stay in memory", threshold.getSpilledFailureTrace()); //$NON-NLS-1$
+		assertFailureTrace(threshold, "t".repeat(SPILL_THRESHOLD), null, null); //$NON-NLS-1$
+
+		TestCaseElement spilled = getTestCase(session, "spilled"); //$NON-NLS-1$
+		assertNotNull("Trace above the threshold should be spilled", spilled.getSpilledFailureTrace()); //$NON-NLS-1$
+		assertFailureTrace(spilled, SPILLED_TRACE, "exp", "act"); //$NON-NLS-1$ //$NON-NLS-2$
+
+		TestCaseElement surrogate = getTestCase(session, "surrogate"); //$NON-NLS-1$
+		assertNotNull("Trace above the threshold should be spilled", surrogate.getSpilledFailureTrace()); //$NON-NLS-1$
+		assertEquals(Result.ERROR, surrogate.getTestResult(false));
+		assertFailureTrace(surrogate, SURROGATE_TRACE, null, null);
+
+		assertEquals(3, session.getCurrentFailureCount());
+		assertEquals(2, session.getCurrentErrorCount());
+	}
+
+	private static void assertFailureTrace(TestElement element, String trace, String expected, String actual) {
+		FailureTrace failureTrace = element.getFailureTrace();
+		assertNotNull("Failure trace expected for " + element.getDisplayName(), failureTrace); //$NON-NLS-1$
+		assertEquals("Wrong trace of " + element.getDisplayName(), trace, failureTrace.getTrace()); //$NON-NLS-1$
+		assertEquals("Wrong expected value of " + element.getDisplayName(), expected, failureTrace.getExpected()); //$NON-NLS-1$
+		assertEquals("Wrong actual value of " + element.getDisplayName(), actual, failureTrace.getActual()); //$NON-NLS-1$
+	}
+
+	private static TestCaseElement getTestCase(TestRunSession session, String displayName) {
+		List<TestElement> tests = ((TestSuiteElement) session.getChildren().get(0)).getChildren();
+		for (TestElement test : tests) {
+			if (displayName.equals(test.getDisplayName())) {
+				return (TestCaseElement) test;
+			}
+		}
+		throw new AssertionError("No test " + displayName); //$NON-NLS-1$
+	}
+}
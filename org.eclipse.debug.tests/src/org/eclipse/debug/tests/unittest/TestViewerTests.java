@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.debug.tests.unittest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.eclipse.swt.dnd.Clipboard;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.unittest.internal.model.TestCaseElement;
+import org.eclipse.unittest.internal.model.TestElement;
+import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.TestSuiteElement;
+import org.eclipse.unittest.internal.ui.TestRunnerViewPart;
+import org.eclipse.unittest.internal.ui.TestViewer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests how the test viewer applies the tests added to a running session
+ */
+public class TestViewerTests extends AbstractDebugTest {
+
+	private IWorkbenchPage fPage;
+	private TestRunnerViewPart fPart;
+	private Shell fShell;
+	private Clipboard fClipboard;
+	private TestViewer fViewer;
+	private TestRunSession fSession;
+	private int fNextId;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		fPage = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+		fPart = (TestRunnerViewPart) fPage.showView(TestRunnerViewPart.NAME);
+		fSession = new TestRunSession("viewer", Instant.now(), null); //$NON-NLS-1$
+		// the tree lists the active session of the view
+		fPart.setActiveTestRunSession(fSession);
+		fShell = new Shell(PlatformUI.getWorkbench().getDisplay());
+		fShell.setLayout(new FillLayout());
+		fClipboard = new Clipboard(fShell.getDisplay());
+		fViewer = new TestViewer(fShell, fClipboard, fPart);
+		fShell.open();
+		TestUtil.processUIEvents();
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		fShell.close();
+		fClipboard.dispose();
+		fPart.setActiveTestRunSession(null);
+		fPage.hideView(fPart);
+		TestUtil.processUIEvents();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that tests appended to the session are added to the shown tree
+	 * without refreshing it
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testAppendedTests() throws Exception {
+		TestSuiteElement suite = createSuite(fSession);
+		createTestCase(suite);
+		activateSession();
+		TreeItem root = getRoot();
+		assertSame(suite, root.getData());
+
+		TestCaseElement appended = createTestCase(suite);
+		TestSuiteElement nested = createSuite(suite);
+		fViewer.registerTestAdded(appended);
+		fViewer.registerTestAdded(nested);
+		fViewer.processChangesInUI();
+		assertFalse("Tree should not be refreshed", root.isDisposed()); //$NON-NLS-1$
+		assertEquals(List.of(suite.getChildren().get(0), appended, nested), getData(root.getItems()));
+
+		// a test inserted before the last test case of the tree
+		TreeItem nestedItem = root.getItem(2);
+		TestCaseElement inserted = createTestCase(nested);
+		createTestCase(suite);
+		fViewer.registerTestAdded(inserted);
+		fViewer.processChangesInUI();
+		assertFalse("Tree should not be refreshed", nestedItem.isDisposed()); //$NON-NLS-1$
+		assertEquals("Inserted test not added", 1, nestedItem.getItemCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a second child of the session refreshes the tree, as its root
+	 * changes from the only child to the session
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSecondChildOfSession() throws Exception {
+		createTestCase(createSuite(fSession));
+		activateSession();
+		TreeItem root = getRoot();
+
+		TestSuiteElement second = createSuite(fSession);
+		fViewer.registerTestAdded(second);
+		fViewer.processChangesInUI();
+		assertTrue("Tree should be refreshed", root.isDisposed()); //$NON-NLS-1$
+		assertNotSame(root, getRoot());
+		assertSame(fSession, getRoot().getData());
+	}
+
+	/**
+	 * Tests that many added tests are applied in batches until all are shown
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testManyAddedTests() throws Exception {
+		TestSuiteElement suite = createSuite(fSession);
+		createTestCase(suite);
+		activateSession();
+		TreeItem root = getRoot();
+
+		int count = 5_000;
+		for (int i = 0; i < count; i++) {
+			fViewer.registerTestAdded(createTestCase(suite));
+		}
+		fViewer.processChangesInUI();
+		TestUtil.waitWhile(() -> root.getItemCount() < count + 1, testTimeout);
+		assertFalse("Tree should not be refreshed", root.isDisposed()); //$NON-NLS-1$
+		assertEquals(suite.getChildren(), getData(root.getItems()));
+	}
+
+	/**
+	 * Shows the session in the tree and expands its root
+	 */
+	private void activateSession() {
+		fViewer.registerActiveSession(fSession);
+		fViewer.processChangesInUI();
+		fViewer.expandFirstLevel();
+		TestUtil.processUIEvents();
+	}
+
+	private TreeItem getRoot() {
+		Tree tree = null;
+		for (Control control : ((Composite) fViewer.getTestViewerControl()).getChildren()) {
+			if (control instanceof Tree) {
+				tree = (Tree) control;
+			}
+		}
+		assertEquals("Tree should have a single root", 1, tree.getItemCount()); //$NON-NLS-1$
+		return tree.getItem(0);
+	}
+
+	private static List<Object> getData(TreeItem[] items) {
+		List<Object> data = new ArrayList<>();
+		for (TreeItem item : items) {
+			data.add(item.getData());
+		}
+		return data;
+	}
+
+	private TestSuiteElement createSuite(TestSuiteElement parent) {
+		return (TestSuiteElement) createTestElement(parent, true);
+	}
+
+	private TestCaseElement createTestCase(TestSuiteElement parent) {
+		return (TestCaseElement) createTestElement(parent, false);
+	}
+
+	private TestElement createTestElement(TestSuiteElement parent, boolean isSuite) {
+		String id = Integer.toString(fNextId++);
+		return fSession.createTestElement(parent, id, "test" + id, isSuite, null, false, null, null); //$NON-NLS-1$
+	}
+}
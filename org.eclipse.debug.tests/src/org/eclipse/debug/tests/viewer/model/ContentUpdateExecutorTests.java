@@ -0,0 +1,302 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.viewer.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.debug.core.model.IDebugElement;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.debug.internal.ui.DebugUIPlugin;
+import org.eclipse.debug.internal.ui.IInternalDebugUIConstants;
+import org.eclipse.debug.internal.ui.model.elements.ElementContentProvider;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenCountUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.PresentationContext;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.eclipse.jface.viewers.TreePath;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests how element content providers run their updates on the lanes of a
+ * debug target.
+ */
+public class ContentUpdateExecutorTests extends AbstractDebugTest {
+
+	private static final IPresentationContext CONTEXT = new PresentationContext("test"); //$NON-NLS-1$
+
+	/**
+	 * Content provider recording how many updates of each debug target run at
+	 * the same time. Updates wait until the gate is opened.
+	 */
+	private static class TestContentProvider extends ElementContentProvider {
+		final CountDownLatch fGate = new CountDownLatch(1);
+		final Map<String, AtomicInteger> fRunning = new ConcurrentHashMap<>();
+		final Map<String, AtomicInteger> fMaxRunning = new ConcurrentHashMap<>();
+		final List<String> fPerformed = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		protected int getChildCount(Object element, IPresentationContext context, IViewerUpdate monitor) {
+			String target = ((IDebugElement) element).getModelIdentifier();
+			AtomicInteger running = fRunning.computeIfAbsent(target, t -> new AtomicInteger());
+			int count = running.incrementAndGet();
+			fMaxRunning.computeIfAbsent(target, t -> new AtomicInteger()).accumulateAndGet(count, Math::max);
+			try {
+				fGate.await(30, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			fPerformed.add(element.toString());
+			running.decrementAndGet();
+			return 0;
+		}
+
+		@Override
+		protected Object[] getChildren(Object parent, int index, int length, IPresentationContext context, IViewerUpdate monitor) {
+			return EMPTY;
+		}
+
+		@Override
+		protected boolean supportsContextId(String id) {
+			return true;
+		}
+
+		int getRunning(String target) {
+			AtomicInteger running = fRunning.get(target);
+			return running == null ? 0 : running.get();
+		}
+
+		int getMaxRunning(String target) {
+			AtomicInteger max = fMaxRunning.get(target);
+			return max == null ? 0 : max.get();
+		}
+	}
+
+	/**
+	 * Child count update counting the finished updates.
+	 */
+	private static class CountUpdate implements IChildrenCountUpdate {
+		private final Object fElement;
+		private final AtomicInteger fDone;
+		private IStatus fStatus;
+		private boolean fCanceled;
+
+		CountUpdate(Object element, AtomicInteger done) {
+			fElement = element;
+			fDone = done;
+		}
+
+		@Override
+		public IPresentationContext getPresentationContext() {
+			return CONTEXT;
+		}
+
+		@Override
+		public Object getElement() {
+			return fElement;
+		}
+
+		@Override
+		public TreePath getElementPath() {
+			return TreePath.EMPTY;
+		}
+
+		@Override
+		public Object getViewerInput() {
+			return null;
+		}
+
+		@Override
+		public void setStatus(IStatus status) {
+			fStatus = status;
+		}
+
+		@Override
+		public IStatus getStatus() {
+			return fStatus;
+		}
+
+		@Override
+		public void done() {
+			fDone.incrementAndGet();
+		}
+
+		@Override
+		public void cancel() {
+			fCanceled = true;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled;
+		}
+
+		@Override
+		public void setChildCount(int numChildren) {
+		}
+	}
+
+	private final TestContentProvider fProvider = new TestContentProvider();
+	private final AtomicInteger fDone = new AtomicInteger();
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		setPreference(DebugUIPlugin.getDefault().getPreferenceStore(), IInternalDebugUIConstants.PREF_CONTENT_UPDATE_PARALLELISM, 2);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		fProvider.fGate.countDown();
+		super.tearDown();
+	}
+
+	/**
+	 * Tests that the batches of one target run one after another in order if
+	 * only one lane is allowed.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testSerialTarget() throws Exception {
+		setPreference(DebugUIPlugin.getDefault().getPreferenceStore(), IInternalDebugUIConstants.PREF_CONTENT_UPDATE_PARALLELISM, 1);
+		IDebugTarget target = createTarget("serial"); //$NON-NLS-1$
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Object first = createElement(target, "element" + i + "a"); //$NON-NLS-1$ //$NON-NLS-2$
+			Object second = createElement(target, "element" + i + "b"); //$NON-NLS-1$ //$NON-NLS-2$
+			fProvider.update(new IChildrenCountUpdate[] { new CountUpdate(first, fDone), new CountUpdate(second, fDone) });
+			expected.add(first.toString());
+			expected.add(second.toString());
+		}
+		fProvider.fGate.countDown();
+		waitForUpdates(10);
+		assertEquals("Updates of one target ran in parallel.", 1, fProvider.getMaxRunning("serial")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Updates ran out of order.", expected, fProvider.fPerformed); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the batches of different targets run in parallel, but not
+	 * more batches of one target than its lanes.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testParallelTargets() throws Exception {
+		IDebugTarget first = createTarget("first"); //$NON-NLS-1$
+		IDebugTarget second = createTarget("second"); //$NON-NLS-1$
+		for (int i = 0; i < 4; i++) {
+			fProvider.update(new IChildrenCountUpdate[] { new CountUpdate(createElement(first, "first" + i), fDone) }); //$NON-NLS-1$
+			fProvider.update(new IChildrenCountUpdate[] { new CountUpdate(createElement(second, "second" + i), fDone) }); //$NON-NLS-1$
+		}
+		boolean waiting = TestUtil.waitWhile(() -> fProvider.getRunning("first") < 2 || fProvider.getRunning("second") < 2, testTimeout); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Targets did not run in parallel.", waiting); //$NON-NLS-1$
+		// give surplus batches a chance to start
+		TestUtil.processUIEvents(200);
+		assertEquals(2, fProvider.getRunning("first")); //$NON-NLS-1$
+		assertEquals(2, fProvider.getRunning("second")); //$NON-NLS-1$
+		fProvider.fGate.countDown();
+		waitForUpdates(8);
+		assertEquals("Too many updates of one target ran in parallel.", 2, fProvider.getMaxRunning("first")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Too many updates of one target ran in parallel.", 2, fProvider.getMaxRunning("second")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the lanes of a target do not keep the target alive.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testLanesReleased() throws Exception {
+		fProvider.fGate.countDown();
+		IDebugTarget target = createTarget("released"); //$NON-NLS-1$
+		fProvider.update(new IChildrenCountUpdate[] { new CountUpdate(createElement(target, "element"), fDone) }); //$NON-NLS-1$
+		waitForUpdates(1);
+		WeakReference<IDebugTarget> reference = new WeakReference<>(target);
+		target = null;
+		TestUtil.waitWhile(() -> {
+			System.gc();
+			return reference.get() != null;
+		}, testTimeout);
+		assertNull("Lanes keep the target alive.", reference.get()); //$NON-NLS-1$
+	}
+
+	private void waitForUpdates(int count) throws Exception {
+		boolean waiting = TestUtil.waitWhile(() -> fDone.get() < count, testTimeout);
+		assertFalse("Updates not done.", waiting); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a debug target whose model identifier is the given name.
+	 */
+	private static IDebugTarget createTarget(String name) {
+		return (IDebugTarget) Proxy.newProxyInstance(IDebugTarget.class.getClassLoader(), new Class[] { IDebugTarget.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getDebugTarget": //$NON-NLS-1$
+					return proxy;
+				case "getModelIdentifier": //$NON-NLS-1$
+				case "toString": //$NON-NLS-1$
+					return name;
+				case "equals": //$NON-NLS-1$
+					return proxy == args[0];
+				case "hashCode": //$NON-NLS-1$
+					return System.identityHashCode(proxy);
+				default:
+					return null;
+			}
+		});
+	}
+
+	/**
+	 * Creates an element of the given target. The model identifier is the
+	 * name of the target.
+	 */
+	private static IDebugElement createElement(IDebugTarget target, String name) {
+		return (IDebugElement) Proxy.newProxyInstance(IDebugElement.class.getClassLoader(), new Class[] { IDebugElement.class }, (proxy, method, args) -> {
+			switch (method.getName()) {
+				case "getDebugTarget": //$NON-NLS-1$
+					return target;
+				case "getModelIdentifier": //$NON-NLS-1$
+					return target.getModelIdentifier();
+				case "toString": //$NON-NLS-1$
+					return name;
+				case "equals": //$NON-NLS-1$
+					return proxy == args[0];
+				case "hashCode": //$NON-NLS-1$
+					return System.identityHashCode(proxy);
+				default:
+					return null;
+			}
+		});
+	}
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.viewer.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.debug.internal.ui.viewers.model.LabelCache;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.jface.viewers.TreePath;
+import org.junit.Test;
+
+/**
+ * Tests the cache of the label attributes of a viewer.
+ */
+public class LabelCacheTests extends AbstractDebugTest {
+
+	private static final String[] COLUMNS = new String[] { "name", "value" }; //$NON-NLS-1$ //$NON-NLS-2$
+
+	private final Object fInput = new Object();
+	private final LabelCache fCache = new LabelCache();
+
+	private static TreePath path(Object... segments) {
+		return new TreePath(segments);
+	}
+
+	private void put(Object input, TreePath path, String... columns) {
+		String[] labels = new String[columns.length];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = path.getLastSegment() + "." + columns[i]; //$NON-NLS-1$
+		}
+		fCache.put(input, path, columns, labels, null, null, null, null, false, false);
+	}
+
+	/**
+	 * Tests that only cached paths, columns and inputs are hits.
+	 */
+	@Test
+	public void testHits() {
+		put(fInput, path("a", "b"), COLUMNS[0]); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(fCache.contains(fInput, path("a", "b"), new String[] { COLUMNS[0] })); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Uncached column", fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertFalse("Uncached path", fCache.contains(fInput, path("b"), new String[] { COLUMNS[0] })); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Other input", fCache.contains(new Object(), path("a", "b"), new String[] { COLUMNS[0] })); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		put(fInput, path("a", "b"), COLUMNS[1]); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Columns should be merged", fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		put(fInput, path("c"), (String) null); //$NON-NLS-1$
+		assertTrue("Viewer without columns", fCache.contains(fInput, path("c"), null)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		put(new Object(), path("d"), COLUMNS); //$NON-NLS-1$
+		assertFalse("New input should clear the cache", fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(1, fCache.size());
+	}
+
+	/**
+	 * Tests that removing an element only removes the paths ending with it.
+	 */
+	@Test
+	public void testRemoveElement() {
+		put(fInput, path("a"), COLUMNS); //$NON-NLS-1$
+		put(fInput, path("a", "b"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$
+		put(fInput, path("c", "b"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$
+		put(fInput, path("a", "b", "d"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		fCache.removeElement("b"); //$NON-NLS-1$
+		assertFalse(fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(fCache.contains(fInput, path("c", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(fCache.contains(fInput, path("a"), COLUMNS)); //$NON-NLS-1$
+		assertTrue("Child of the element should stay", fCache.contains(fInput, path("a", "b", "d"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		assertEquals(2, fCache.size());
+
+		fCache.removeElement("unknown"); //$NON-NLS-1$
+		assertEquals(2, fCache.size());
+	}
+
+	/**
+	 * Tests that removing a subtree removes all paths containing the element.
+	 */
+	@Test
+	public void testRemoveSubtree() {
+		put(fInput, path("a"), COLUMNS); //$NON-NLS-1$
+		put(fInput, path("a", "b"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$
+		put(fInput, path("a", "b", "d"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		put(fInput, path("c", "e"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$
+
+		fCache.removeSubtree("b"); //$NON-NLS-1$
+		assertTrue(fCache.contains(fInput, path("a"), COLUMNS)); //$NON-NLS-1$
+		assertFalse(fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(fCache.contains(fInput, path("a", "b", "d"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertTrue(fCache.contains(fInput, path("c", "e"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		fCache.removeSubtree("a"); //$NON-NLS-1$
+		assertEquals(1, fCache.size());
+
+		// removed paths can be cached again
+		put(fInput, path("a", "b"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+		fCache.clear();
+		assertEquals(0, fCache.size());
+		assertFalse(fCache.contains(fInput, path("a", "b"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the least recently used paths are evicted and that evicted
+	 * paths are no longer indexed.
+	 */
+	@Test
+	public void testEviction() {
+		put(fInput, path("root", "first"), COLUMNS); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 1; i < LabelCache.MAX_SIZE; i++) {
+			put(fInput, path("root", Integer.valueOf(i)), COLUMNS); //$NON-NLS-1$
+		}
+		assertEquals(LabelCache.MAX_SIZE, fCache.size());
+		// use the first path, so the second is the least recently used
+		assertTrue(fCache.contains(fInput, path("root", "first"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		put(fInput, path("other"), COLUMNS); //$NON-NLS-1$
+		assertEquals(LabelCache.MAX_SIZE, fCache.size());
+		assertTrue(fCache.contains(fInput, path("root", "first"), COLUMNS)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(fCache.contains(fInput, path("root", Integer.valueOf(1)), COLUMNS)); //$NON-NLS-1$
+
+		fCache.removeElement(Integer.valueOf(1));
+		assertEquals(LabelCache.MAX_SIZE, fCache.size());
+		fCache.removeSubtree("root"); //$NON-NLS-1$
+		assertEquals(1, fCache.size());
+		assertTrue(fCache.contains(fInput, path("other"), COLUMNS)); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.viewer.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.debug.internal.ui.viewers.model.ModelDeltaDispatcher;
+import org.eclipse.debug.internal.ui.viewers.model.TreeModelContentProvider;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.ModelDelta;
+import org.eclipse.debug.internal.ui.viewers.provisional.AbstractModelProxy;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.junit.Test;
+
+/**
+ * Tests which pending deltas are superseded by later deltas of the shared
+ * model delta dispatcher.
+ * <p>
+ * The deltas are queued in the UI thread, so the dispatcher cannot process
+ * them before all deltas of a test are queued.
+ * </p>
+ */
+public class ModelDeltaDispatcherTests extends AbstractDebugTest {
+
+	/**
+	 * Disposed proxy counting the processed deltas. Deltas of disposed proxies
+	 * are not passed to the content provider, which has no viewer here.
+	 */
+	private static class TestModelProxy extends AbstractModelProxy {
+		int fProcessed;
+
+		@Override
+		public synchronized boolean isDisposed() {
+			fProcessed++;
+			return true;
+		}
+	}
+
+	private final TreeModelContentProvider fOwner = new TreeModelContentProvider();
+	private final TestModelProxy fProxy = new TestModelProxy();
+
+	/**
+	 * Tests that an equal later delta supersedes the earlier one.
+	 */
+	@Test
+	public void testSameDelta() throws Exception {
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		assertEquals(1, process());
+	}
+
+	/**
+	 * Tests that a CONTENT refresh of an element supersedes the refresh of its
+	 * children and its own state.
+	 */
+	@Test
+	public void testContentCoversSubtree() throws Exception {
+		ModelDelta earlier = new ModelDelta("root", IModelDelta.NO_CHANGE); //$NON-NLS-1$
+		ModelDelta a = earlier.addNode("a", IModelDelta.STATE); //$NON-NLS-1$
+		a.addNode("a.1", IModelDelta.STATE); //$NON-NLS-1$
+		a.addNode("a.2", IModelDelta.CONTENT); //$NON-NLS-1$
+		queue(fProxy, earlier);
+		queue(fProxy, refresh("a", IModelDelta.CONTENT)); //$NON-NLS-1$
+		assertEquals(1, process());
+	}
+
+	/**
+	 * Tests that a later delta with more elements supersedes the earlier one.
+	 */
+	@Test
+	public void testMoreElements() throws Exception {
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		ModelDelta later = refresh("a", IModelDelta.STATE | IModelDelta.CONTENT); //$NON-NLS-1$
+		later.addNode("b", IModelDelta.STATE); //$NON-NLS-1$
+		queue(fProxy, later);
+		assertEquals(1, process());
+	}
+
+	/**
+	 * Tests that a delta with other flags than the earlier one does not
+	 * supersede it.
+	 */
+	@Test
+	public void testDifferentFlags() throws Exception {
+		queue(fProxy, refresh("a", IModelDelta.CONTENT)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		assertEquals(2, process());
+
+		// flags of the input are not a subtree refresh
+		queue(fProxy, new ModelDelta("root", IModelDelta.STATE)); //$NON-NLS-1$
+		queue(fProxy, new ModelDelta("root", IModelDelta.CONTENT)); //$NON-NLS-1$
+		assertEquals(2, process());
+	}
+
+	/**
+	 * Tests that a delta of a sibling element or another input does not
+	 * supersede the earlier delta.
+	 */
+	@Test
+	public void testSiblings() throws Exception {
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		queue(fProxy, refresh("b", IModelDelta.STATE)); //$NON-NLS-1$
+		assertEquals(2, process());
+
+		ModelDelta earlier = new ModelDelta("root", IModelDelta.NO_CHANGE); //$NON-NLS-1$
+		earlier.addNode("a", IModelDelta.NO_CHANGE).addNode("a.1", IModelDelta.STATE); //$NON-NLS-1$ //$NON-NLS-2$
+		ModelDelta later = new ModelDelta("root", IModelDelta.NO_CHANGE); //$NON-NLS-1$
+		later.addNode("a", IModelDelta.NO_CHANGE).addNode("a.2", IModelDelta.CONTENT); //$NON-NLS-1$ //$NON-NLS-2$
+		queue(fProxy, earlier);
+		queue(fProxy, later);
+		assertEquals(2, process());
+
+		ModelDelta otherInput = new ModelDelta("other", IModelDelta.NO_CHANGE); //$NON-NLS-1$
+		otherInput.addNode("a", IModelDelta.STATE); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		queue(fProxy, otherInput);
+		assertEquals(2, process());
+	}
+
+	/**
+	 * Tests that deltas which do more than refreshing elements are never
+	 * superseded, and that no deltas before them are superseded either.
+	 */
+	@Test
+	public void testStructuralChange() throws Exception {
+		queue(fProxy, refresh("a", IModelDelta.STATE | IModelDelta.EXPAND)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE | IModelDelta.CONTENT)); //$NON-NLS-1$
+		assertEquals(2, process());
+
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		queue(fProxy, refresh("b", IModelDelta.EXPAND)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE | IModelDelta.CONTENT)); //$NON-NLS-1$
+		assertEquals(3, process());
+	}
+
+	/**
+	 * Tests that deltas of other proxies and content providers are not
+	 * superseded.
+	 */
+	@Test
+	public void testOtherSource() throws Exception {
+		TestModelProxy otherProxy = new TestModelProxy();
+		queue(otherProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		ModelDeltaDispatcher.getDefault().runDelayed(new TreeModelContentProvider(), refresh("a", IModelDelta.STATE), fProxy); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		assertEquals(2, process());
+		assertEquals(1, otherProxy.fProcessed);
+	}
+
+	/**
+	 * Tests that deltas are not superseded for content providers which ignore
+	 * some of the refresh flags.
+	 */
+	@Test
+	public void testModelDeltaMask() throws Exception {
+		fOwner.setModelDeltaMask(~IModelDelta.STATE);
+		queue(fProxy, refresh("a", IModelDelta.CONTENT)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.CONTENT)); //$NON-NLS-1$
+		assertEquals(2, process());
+	}
+
+	/**
+	 * Tests that tasks of a content provider which was shut down are rejected.
+	 */
+	@Test
+	public void testShutdown() throws Exception {
+		TreeModelContentProvider owner = new TreeModelContentProvider();
+		TestModelProxy proxy = new TestModelProxy();
+		AtomicBoolean run = new AtomicBoolean();
+		ModelDeltaDispatcher.getDefault().runDelayed(owner, refresh("a", IModelDelta.STATE), proxy); //$NON-NLS-1$
+		ModelDeltaDispatcher.getDefault().shutdown(owner);
+		ModelDeltaDispatcher.getDefault().runDelayed(owner, refresh("b", IModelDelta.STATE), proxy); //$NON-NLS-1$
+		ModelDeltaDispatcher.getDefault().runDelayed(owner, () -> run.set(true));
+		assertFalse("Rejected tasks still pending.", ModelDeltaDispatcher.getDefault().belongsTo(owner)); //$NON-NLS-1$
+		queue(fProxy, refresh("a", IModelDelta.STATE)); //$NON-NLS-1$
+		assertEquals(1, process());
+		assertEquals("Delta of shut down content provider processed.", 0, proxy.fProcessed); //$NON-NLS-1$
+		assertFalse("Task of shut down content provider run.", run.get()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a delta refreshing one child of the input.
+	 */
+	private static ModelDelta refresh(Object element, int flags) {
+		ModelDelta delta = new ModelDelta("root", IModelDelta.NO_CHANGE); //$NON-NLS-1$
+		delta.addNode(element, flags);
+		return delta;
+	}
+
+	private void queue(TestModelProxy proxy, IModelDelta delta) {
+		ModelDeltaDispatcher.getDefault().runDelayed(fOwner, delta, proxy);
+	}
+
+	/**
+	 * Waits until the queued tasks are processed.
+	 *
+	 * @return the number of processed deltas of the test proxy
+	 */
+	private int process() throws Exception {
+		AtomicBoolean done = new AtomicBoolean();
+		ModelDeltaDispatcher.getDefault().runDelayed(fOwner, () -> done.set(true));
+		TestUtil.waitWhile(() -> !done.get(), testTimeout);
+		int processed = fProxy.fProcessed;
+		fProxy.fProcessed = 0;
+		return processed;
+	}
+}
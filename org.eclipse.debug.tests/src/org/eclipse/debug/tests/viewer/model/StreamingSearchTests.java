@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.viewer.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.debug.internal.ui.viewers.model.IInternalTreeModelViewer;
+import org.eclipse.debug.internal.ui.viewers.model.VirtualFindAction.StreamingSearch;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.PresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.VirtualItem;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.VirtualTreeModelViewer;
+import org.eclipse.debug.tests.TestUtil;
+import org.eclipse.debug.tests.viewer.model.TestModel.TestElement;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.Test;
+
+/**
+ * Tests the breadth-first expansion of the find action's virtual viewer.
+ */
+public class StreamingSearchTests extends AbstractViewerModelTest {
+
+	private final List<VirtualItem> fFound = new ArrayList<>();
+
+	@Override
+	protected IInternalTreeModelViewer createViewer(Display display, Shell shell) {
+		return new VirtualTreeModelViewer(display, 0, new PresentationContext("TestViewer")); //$NON-NLS-1$
+	}
+
+	@Override
+	protected TestModelUpdatesListener createListener(IInternalTreeModelViewer viewer) {
+		return new TestModelUpdatesListener(viewer, false, false);
+	}
+
+	/**
+	 * Tests that all nested elements are found and reported once.
+	 */
+	@Test
+	public void testFindNestedElements() throws Exception {
+		StreamingSearch search = new StreamingSearch(getViewer(), getTopItems(), fFound::addAll);
+		search.start();
+		try {
+			waitWhile(t -> fFound.size() < 15, t -> "Found only " + getLabels(fFound)); //$NON-NLS-1$
+			TestUtil.processUIEvents(100);
+		} finally {
+			search.stop();
+		}
+		Set<String> expected = new TreeSet<>(Arrays.asList("2.1", "2.2", "2.3", "3.1", "3.2", "3.3", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+				"3.1.1", "3.1.2", "3.1.3", "3.2.1", "3.2.2", "3.2.3", "3.3.1", "3.3.2", "3.3.3")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$
+		assertEquals(expected, getLabels(fFound));
+		assertEquals("Elements reported more than once", expected.size(), fFound.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a stopped search neither expands nor reports elements.
+	 */
+	@Test
+	public void testStop() throws Exception {
+		List<VirtualItem> items = getTopItems();
+		StreamingSearch search = new StreamingSearch(getViewer(), items, fFound::addAll);
+		search.start();
+		search.stop();
+		TestUtil.processUIEvents(500);
+		assertTrue("Stopped search reported " + getLabels(fFound), fFound.isEmpty()); //$NON-NLS-1$
+		for (VirtualItem item : items) {
+			assertTrue("Stopped search expanded " + item.getData(), !item.getExpanded()); //$NON-NLS-1$
+		}
+	}
+
+	private VirtualTreeModelViewer getViewer() {
+		return (VirtualTreeModelViewer) fViewer;
+	}
+
+	/**
+	 * Sets the input and returns the top level items once their labels are
+	 * known.
+	 */
+	private List<VirtualItem> getTopItems() throws Exception {
+		TestModel model = TestModel.simpleMultiLevel();
+		fViewer.setInput(model.getRootElement());
+		VirtualItem root = getViewer().getTree();
+		waitWhile(t -> root.getItems().length != 3 || Arrays.stream(root.getItems()).anyMatch(VirtualItem::needsLabelUpdate), t -> "Top level items not updated"); //$NON-NLS-1$
+		return Arrays.asList(root.getItems());
+	}
+
+	private static Set<String> getLabels(List<VirtualItem> items) {
+		Set<String> labels = new TreeSet<>();
+		for (VirtualItem item : items) {
+			labels.add(((TestElement) item.getData()).getLabel());
+		}
+		return labels;
+	}
+}
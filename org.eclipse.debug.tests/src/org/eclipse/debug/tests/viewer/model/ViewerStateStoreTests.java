@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.viewer.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.debug.internal.ui.viewers.model.ViewerStateStore;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.ModelDelta;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.XMLMemento;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the store of the viewer states saved by debug viewers.
+ */
+public class ViewerStateStoreTests extends AbstractDebugTest {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	/**
+	 * Tests that a state is restored with the flags and mementos it was saved
+	 * with, also for strings longer than modified UTF-8 allows.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		String longValue = "é".repeat(70_000); //$NON-NLS-1$
+		ModelDelta state = createState("input"); //$NON-NLS-1$
+		ModelDelta child = state.addNode(createMemento("child", longValue), 2, IModelDelta.EXPAND | IModelDelta.CONTENT, 3); //$NON-NLS-1$
+		IMemento grandChildMemento = createMemento("grandChild", "value"); //$NON-NLS-1$ //$NON-NLS-2$
+		grandChildMemento.putTextData("text"); //$NON-NLS-1$
+		grandChildMemento.createChild("nested").putString("nestedKey", "nestedValue"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		child.addNode(grandChildMemento, 1, IModelDelta.SELECT | IModelDelta.REVEAL, 0);
+
+		ViewerStateStore store = new ViewerStateStore(1024 * 1024);
+		store.put("key", state); //$NON-NLS-1$
+		assertTrue("State not stored.", store.contains("key")); //$NON-NLS-1$ //$NON-NLS-2$
+		ModelDelta restored = store.remove("key"); //$NON-NLS-1$
+		assertNotNull("State not restored.", restored); //$NON-NLS-1$
+		assertFalse("Restored state kept.", store.contains("key")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(0, store.getSize());
+
+		assertEquals("input", getName(restored)); //$NON-NLS-1$
+		assertEquals(1, restored.getChildDeltas().length);
+		IModelDelta restoredChild = restored.getChildDeltas()[0];
+		assertEquals(longValue, getName(restoredChild));
+		assertEquals(2, restoredChild.getIndex());
+		assertEquals(IModelDelta.EXPAND | IModelDelta.CONTENT, restoredChild.getFlags());
+		assertEquals(3, restoredChild.getChildCount());
+		assertEquals(1, restoredChild.getChildDeltas().length);
+		IModelDelta restoredGrandChild = restoredChild.getChildDeltas()[0];
+		assertEquals(IModelDelta.SELECT | IModelDelta.REVEAL, restoredGrandChild.getFlags());
+		IMemento memento = (IMemento) restoredGrandChild.getElement();
+		assertEquals("grandChild", memento.getType()); //$NON-NLS-1$
+		assertEquals("value", memento.getString("name")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("text", memento.getTextData()); //$NON-NLS-1$
+		assertEquals("nestedValue", memento.getChild("nested").getString("nestedKey")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Tests that the least recently saved states are evicted once the store
+	 * is full.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testLeastRecentlyUsed() throws Exception {
+		int size = getSize("a", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		ViewerStateStore store = new ViewerStateStore(3 * size);
+		store.put("a", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		store.put("b", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		store.put("c", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		// saving the first state again makes the second one the eldest
+		store.put("a", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		store.put("d", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Least recently used state kept.", store.contains("b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(store.contains("a")); //$NON-NLS-1$
+		assertTrue(store.contains("c")); //$NON-NLS-1$
+		assertTrue(store.contains("d")); //$NON-NLS-1$
+		assertEquals(3 * size, store.getSize());
+	}
+
+	/**
+	 * Tests that the total size of the states stays below the bound of the
+	 * store and that a state larger than the store is not stored.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testBound() throws Exception {
+		int max = 10 * getSize("key0", createState("input")); //$NON-NLS-1$ //$NON-NLS-2$
+		ViewerStateStore store = new ViewerStateStore(max);
+		for (int i = 0; i < 100; i++) {
+			ModelDelta state = createState("input"); //$NON-NLS-1$
+			for (int j = 0; j < i % 3; j++) {
+				state.addNode(createMemento("child", "child" + j), j, IModelDelta.EXPAND, 0); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			store.put("key" + (i % 10), state); //$NON-NLS-1$
+			assertTrue("Store exceeds its bound: " + store.getSize(), store.getSize() <= max); //$NON-NLS-1$
+		}
+		assertTrue("Last state not stored.", store.contains("key9")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		ModelDelta large = createState("input"); //$NON-NLS-1$
+		large.addNode(createMemento("child", "x".repeat(max)), 0, IModelDelta.EXPAND, 0); //$NON-NLS-1$ //$NON-NLS-2$
+		store.put("key9", large); //$NON-NLS-1$
+		assertFalse("State larger than the store stored.", store.contains("key9")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(store.getSize() <= max);
+	}
+
+	/**
+	 * Tests that saved states are loaded by a new store and that files of
+	 * other versions are ignored.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testLoadSave() throws Exception {
+		File file = new File(fFolder.getRoot(), "states/test.dat"); //$NON-NLS-1$
+		String longKey = "k".repeat(70_000); //$NON-NLS-1$
+		ViewerStateStore store = new ViewerStateStore(1024 * 1024);
+		store.put("first", createState("first")); //$NON-NLS-1$ //$NON-NLS-2$
+		store.put(longKey, createState("second")); //$NON-NLS-1$
+		store.save(file);
+		assertTrue("States not written.", file.isFile()); //$NON-NLS-1$
+
+		store = new ViewerStateStore(1024 * 1024);
+		store.load(file);
+		assertTrue("Saved state not loaded.", store.contains("first")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("second", getName(store.remove(longKey))); //$NON-NLS-1$
+
+		Files.write(file.toPath(), new byte[] { 0, 0, 0, 1, 0, 0, 0, 1 });
+		store = new ViewerStateStore(1024 * 1024);
+		store.load(file);
+		assertEquals("States of another version loaded.", 0, store.getSize()); //$NON-NLS-1$
+		assertNull(store.remove("first")); //$NON-NLS-1$
+	}
+
+	private static ModelDelta createState(String name) {
+		return new ModelDelta(createMemento("input", name), IModelDelta.NO_CHANGE); //$NON-NLS-1$
+	}
+
+	private static IMemento createMemento(String type, String name) {
+		XMLMemento memento = XMLMemento.createWriteRoot(type);
+		memento.putString("name", name); //$NON-NLS-1$
+		return memento;
+	}
+
+	private static String getName(IModelDelta delta) {
+		return ((IMemento) delta.getElement()).getString("name"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the size of a state in a store
+	 */
+	private static int getSize(String key, ModelDelta state) {
+		ViewerStateStore store = new ViewerStateStore(Integer.MAX_VALUE);
+		store.put(key, state);
+		return store.getSize();
+	}
+}
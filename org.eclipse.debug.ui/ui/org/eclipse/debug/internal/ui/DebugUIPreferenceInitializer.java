@@ -67,6 +67,8 @@ public class DebugUIPreferenceInitializer extends AbstractPreferenceInitializer
 
 		prefs.setDefault(IInternalDebugUIConstants.PREF_TERMINATE_AND_RELAUNCH_LAUNCH_ACTION, false);
 		prefs.setDefault(IInternalDebugUIConstants.PREF_BREAKPOINT_SORTING_ORDER, IInternalDebugUIConstants.BREAKPOINT_SORTING_ORDER_NAME);
+		prefs.setDefault(IInternalDebugUIConstants.PREF_CONTENT_UPDATE_PARALLELISM, 2);
+		prefs.setDefault(IInternalDebugUIConstants.PREF_PERSIST_VIEWER_STATES, false);
 
 		//View Management preference page
 		prefs.setDefault(IDebugUIConstants.PREF_MANAGE_VIEW_PERSPECTIVES, IDebugUIConstants.PREF_MANAGE_VIEW_PERSPECTIVES_DEFAULT);
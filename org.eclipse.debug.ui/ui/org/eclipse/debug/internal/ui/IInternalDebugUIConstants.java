@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -489,4 +489,21 @@ public interface IInternalDebugUIConstants {
 	 */
 	int BREAKPOINT_SORTING_ORDER_CREATION_TIME = 1;
 
+	/**
+	 * Int preference indicating how many content updates of one debug target
+	 * may run in parallel. Updates of one target beyond that number are
+	 * queued.
+	 *
+	 * @since 3.17
+	 */
+	String PREF_CONTENT_UPDATE_PARALLELISM = IDebugUIConstants.PLUGIN_ID + ".content_update_parallelism"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference indicating whether the expansion and selection state
+	 * saved by debug viewers is kept across sessions.
+	 *
+	 * @since 3.17
+	 */
+	String PREF_PERSIST_VIEWER_STATES = IDebugUIConstants.PLUGIN_ID + ".persist_viewer_states"; //$NON-NLS-1$
+
 }
@@ -13,32 +13,93 @@ package org.eclipse.debug.internal.ui.codemining;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.eclipse.core.runtime.Adapters;
+import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.ILaunchesListener2;
+import org.eclipse.debug.core.model.IDebugElement;
+import org.eclipse.debug.core.model.IDebugTarget;
+import org.eclipse.debug.core.model.IStackFrame;
 import org.eclipse.debug.core.model.IVariable;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
+import org.eclipse.debug.ui.DebugUITools;
 import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.TextSelection;
 import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.source.ISourceViewerExtension5;
+import org.eclipse.swt.custom.StyledText;
 
+/**
+ * Shows the values of the variables referenced on the visible lines of a
+ * source viewer while a debug session is suspended.
+ * <p>
+ * Only the identifier tokens of the visible lines, plus a margin of one
+ * screen above and below, are resolved to variables. The resolution of each
+ * token is cached by its document offset until the document is modified, the
+ * stack frame in the debug context changes or its target suspends again.
+ * </p>
+ * <p>
+ * Code minings are updated when the debug target of the shown frame suspends
+ * or terminates, and when scrolling reveals lines outside of the resolved
+ * range. Only the suspend and terminate events of launches in debug mode are
+ * routed to the provider.
+ * </p>
+ */
 public class DebugValueCodeMiningProvider extends AbstractCodeMiningProvider {
 
-	private volatile IDebugEventSetListener listener;
+	private volatile ILaunchesListener2 listener;
+
+	/**
+	 * Debug event listeners by launch in debug mode.
+	 */
+	private final Map<ILaunch, IDebugEventSetListener> fLaunchListeners = new ConcurrentHashMap<>();
+
+	private volatile IViewportListener viewportListener;
+
+	private volatile ITextViewer fViewer;
+
+	/**
+	 * Stack frame the cached variables belong to.
+	 */
+	private volatile IStackFrame fFrame;
+
+	/**
+	 * Document and modification stamp the cached variables belong to.
+	 */
+	private volatile IDocument fDocument;
+	private volatile long fModificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+	/**
+	 * Resolved variables of the current frame by token offset.
+	 */
+	private final Map<Integer, Optional<IVariable>> fVariables = new ConcurrentHashMap<>();
+
+	/**
+	 * First and last line for which code minings were last computed.
+	 */
+	private volatile int fFirstLine;
+	private volatile int fLastLine = -1;
 
 	@Override
 	public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer,
@@ -50,45 +111,230 @@ public class DebugValueCodeMiningProvider extends AbstractCodeMiningProvider {
 		if (viewer instanceof ISourceViewerExtension5 && listener == null) {
 			synchronized (this) {
 				if (listener == null) {
-					IDebugEventSetListener debugListener = e -> ((ISourceViewerExtension5) viewer).updateCodeMinings();
-					DebugPlugin.getDefault().addDebugEventListener(debugListener);
-					listener = debugListener;
+					fViewer = viewer;
+					ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+					ILaunchesListener2 launchesListener = new ILaunchesListener2() {
+						@Override
+						public void launchesAdded(ILaunch[] launches) {
+							for (ILaunch launch : launches) {
+								addDebugEventListener(launch);
+							}
+						}
+
+						@Override
+						public void launchesChanged(ILaunch[] launches) {
+						}
+
+						@Override
+						public void launchesRemoved(ILaunch[] launches) {
+							launchesTerminated(launches);
+						}
+
+						@Override
+						public void launchesTerminated(ILaunch[] launches) {
+							for (ILaunch launch : launches) {
+								removeDebugEventListener(launch);
+							}
+						}
+					};
+					launchManager.addLaunchListener(launchesListener);
+					listener = launchesListener;
+					for (ILaunch launch : launchManager.getLaunches()) {
+						addDebugEventListener(launch);
+					}
+					IViewportListener scrollListener = verticalOffset -> handleViewportChanged();
+					viewer.addViewportListener(scrollListener);
+					viewportListener = scrollListener;
 				}
 			}
 		}
-		if (!hasDebugRunning()) {
+		if (document == null || !hasDebugRunning()) {
 			return CompletableFuture.completedFuture(List.of());
 		}
+		IStackFrame frame = getStackFrame();
+		long modificationStamp = document instanceof IDocumentExtension4
+				? ((IDocumentExtension4) document).getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		if (frame != fFrame || document != fDocument || modificationStamp != fModificationStamp) {
+			fVariables.clear();
+			fFrame = frame;
+			fDocument = document;
+			fModificationStamp = modificationStamp;
+		}
+		int[] lines = getLinesToResolve(viewer, document);
+		fFirstLine = lines[0];
+		fLastLine = lines[1];
 		return CompletableFuture.supplyAsync(() -> {
 			List<DebugValueCodeMining> res = new ArrayList<>();
-			for (int line = 0; line < document.getNumberOfLines(); line++) {
-				LinkedHashMap<String, IVariable> variablesOnLine = new LinkedHashMap<>();
+			for (int line = lines[0]; line <= lines[1]; line++) {
+				if (monitor.isCanceled()) {
+					throw new CancellationException();
+				}
 				try {
-					IRegion lineInfo = document.getLineInformation(line);
-					for (int offsetInLine = 0; offsetInLine < lineInfo.getLength(); offsetInLine++) {
-						IVariable variableAtOffset = Adapters.adapt(
-								new TextSelection(document, lineInfo.getOffset() + offsetInLine, 0), IVariable.class);
-						if (variableAtOffset != null) {
-							try {
-								variablesOnLine.putIfAbsent(variableAtOffset.getName(), variableAtOffset);
-								offsetInLine += variableAtOffset.getName().length();
-							} catch (DebugException ex) {
-								DebugUIPlugin.log(ex);
-							}
-						}
-					}
-					for (IVariable variableOnLine : variablesOnLine.values()) {
+					for (IVariable variableOnLine : getVariablesOnLine(document, line)) {
 						res.add(new DebugValueCodeMining(document, line, variableOnLine, this));
 					}
 				} catch (BadLocationException e) {
-					DebugUIPlugin.log(e);
+					// document changed while computing
+					break;
 				}
 			}
 			return res;
 		});
 	}
 
-	private boolean hasDebugRunning() {
+	/**
+	 * Resolves the identifier tokens of a line to variables.
+	 */
+	private Iterable<IVariable> getVariablesOnLine(IDocument document, int line) throws BadLocationException {
+		LinkedHashMap<String, IVariable> variablesOnLine = new LinkedHashMap<>();
+		IRegion lineInfo = document.getLineInformation(line);
+		String text = document.get(lineInfo.getOffset(), lineInfo.getLength());
+		int offsetInLine = 0;
+		while (offsetInLine < text.length()) {
+			if (!Character.isJavaIdentifierStart(text.charAt(offsetInLine))) {
+				offsetInLine++;
+				continue;
+			}
+			int end = offsetInLine + 1;
+			while (end < text.length() && Character.isJavaIdentifierPart(text.charAt(end))) {
+				end++;
+			}
+			IVariable variable = resolve(document, lineInfo.getOffset() + offsetInLine);
+			if (variable != null) {
+				try {
+					variablesOnLine.putIfAbsent(variable.getName(), variable);
+				} catch (DebugException ex) {
+					DebugUIPlugin.log(ex);
+				}
+			}
+			offsetInLine = end;
+		}
+		return variablesOnLine.values();
+	}
+
+	private IVariable resolve(IDocument document, int offset) {
+		Optional<IVariable> variable = fVariables.get(offset);
+		if (variable == null) {
+			variable = Optional.ofNullable(resolveVariable(document, offset));
+			fVariables.put(offset, variable);
+		}
+		return variable.orElse(null);
+	}
+
+	/**
+	 * Resolves the variable referenced by the token starting at an offset.
+	 *
+	 * @param document the document
+	 * @param offset the offset of an identifier token
+	 * @return the variable or <code>null</code> if the token does not
+	 *         reference a variable
+	 */
+	protected IVariable resolveVariable(IDocument document, int offset) {
+		return Adapters.adapt(new TextSelection(document, offset, 0), IVariable.class);
+	}
+
+	/**
+	 * Returns the visible lines of the viewer extended by one screen above
+	 * and below, or all lines if the viewer cannot tell.
+	 */
+	private static int[] getLinesToResolve(ITextViewer viewer, IDocument document) {
+		int lastLine = document.getNumberOfLines() - 1;
+		StyledText widget = viewer.getTextWidget();
+		if (widget == null || widget.isDisposed() || widget.getDisplay().getThread() != Thread.currentThread()) {
+			return new int[] { 0, lastLine };
+		}
+		int top = viewer.getTopIndex();
+		int bottom = viewer.getBottomIndex();
+		if (top < 0 || bottom < top) {
+			return new int[] { 0, lastLine };
+		}
+		int margin = bottom - top + 1;
+		return new int[] { Math.max(0, top - margin), Math.min(lastLine, bottom + margin) };
+	}
+
+	/**
+	 * @return the stack frame in the debug context or <code>null</code>
+	 */
+	protected IStackFrame getStackFrame() {
+		IAdaptable context = DebugUITools.getDebugContext();
+		return context == null ? null : context.getAdapter(IStackFrame.class);
+	}
+
+	/**
+	 * Listens to the suspend and terminate events of a launch in debug mode.
+	 */
+	private void addDebugEventListener(ILaunch launch) {
+		if (launch.isTerminated() || !ILaunchManager.DEBUG_MODE.equals(launch.getLaunchMode())) {
+			return;
+		}
+		fLaunchListeners.computeIfAbsent(launch, l -> {
+			IDebugEventSetListener debugListener = events -> handleDebugEvents(events);
+			DebugPlugin.getDefault().addDebugEventListener(debugListener, DebugEvent.SUSPEND | DebugEvent.TERMINATE, l);
+			return debugListener;
+		});
+	}
+
+	/**
+	 * Stops listening to a terminated or removed launch. The terminate event
+	 * of the shown target may not have been routed yet, so the code minings
+	 * are updated if the launch of the shown frame terminated.
+	 */
+	private void removeDebugEventListener(ILaunch launch) {
+		IDebugEventSetListener debugListener = fLaunchListeners.remove(launch);
+		if (debugListener == null) {
+			return;
+		}
+		DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+		IStackFrame frame = fFrame;
+		if (frame != null && launch.equals(frame.getLaunch())) {
+			fVariables.clear();
+			updateCodeMinings();
+		}
+	}
+
+	/**
+	 * Updates the code minings when the debug target of the shown frame
+	 * suspends or terminates. Other events do not change the shown values.
+	 */
+	private void handleDebugEvents(DebugEvent[] events) {
+		IStackFrame frame = fFrame;
+		IDebugTarget target = frame == null ? null : frame.getDebugTarget();
+		for (DebugEvent event : events) {
+			Object source = event.getSource();
+			if (target == null ? event.getKind() == DebugEvent.SUSPEND : source instanceof IDebugElement && target.equals(((IDebugElement) source).getDebugTarget())) {
+				// values and visible variables change with each suspend
+				fVariables.clear();
+				updateCodeMinings();
+				return;
+			}
+		}
+	}
+
+	private void handleViewportChanged() {
+		ITextViewer viewer = fViewer;
+		if (viewer == null || fLastLine < 0 || fFrame == null) {
+			return;
+		}
+		if (viewer.getTopIndex() < fFirstLine || viewer.getBottomIndex() > fLastLine) {
+			updateCodeMinings();
+		}
+	}
+
+	/**
+	 * Asks the viewer to update its code minings.
+	 */
+	protected void updateCodeMinings() {
+		ITextViewer viewer = fViewer;
+		if (viewer instanceof ISourceViewerExtension5) {
+			((ISourceViewerExtension5) viewer).updateCodeMinings();
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if a launch in debug mode is not terminated
+	 */
+	protected boolean hasDebugRunning() {
 		return Stream.of(DebugPlugin.getDefault().getLaunchManager().getLaunches()) //
 				.filter(Predicate.not(ILaunch::isTerminated)) //
 				.anyMatch(launch -> ILaunchManager.DEBUG_MODE.equals(launch.getLaunchMode()));
@@ -100,10 +346,24 @@ public class DebugValueCodeMiningProvider extends AbstractCodeMiningProvider {
 
 	@Override
 	public void dispose() {
-		IDebugEventSetListener debugListener = listener;
-		if (debugListener != null) {
-			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+		ILaunchesListener2 launchesListener = listener;
+		if (launchesListener != null) {
+			DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(launchesListener);
 			listener = null;
 		}
+		for (IDebugEventSetListener debugListener : fLaunchListeners.values()) {
+			DebugPlugin.getDefault().removeDebugEventListener(debugListener);
+		}
+		fLaunchListeners.clear();
+		IViewportListener scrollListener = viewportListener;
+		ITextViewer viewer = fViewer;
+		if (scrollListener != null && viewer != null) {
+			viewer.removeViewportListener(scrollListener);
+			viewportListener = null;
+		}
+		fViewer = null;
+		fVariables.clear();
+		fFrame = null;
+		fDocument = null;
 	}
 }
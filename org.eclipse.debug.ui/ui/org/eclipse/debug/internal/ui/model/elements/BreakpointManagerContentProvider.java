@@ -1,5 +1,5 @@
 /*****************************************************************
- * Copyright (c) 2009, 2013 Texas Instruments and others
+ * Copyright (c) 2009, 2020 Texas Instruments and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -106,9 +106,14 @@ public class BreakpointManagerContentProvider extends ElementContentProvider
 		 */
 		private IBreakpointOrganizer[] fOrganizers;
 
+		/**
+		 * The organizers fContainer is currently organized by.
+		 */
+		private IBreakpointOrganizer[] fContainerOrganizers;
+
 		private IStructuredSelection fDebugContext = StructuredSelection.EMPTY;
 
-		private IPropertyChangeListener fOrganizersListener = event -> updateContainers();
+		private IPropertyChangeListener fOrganizersListener = this::organizerChanged;
 
 		private IPropertyChangeListener fPresentationContextListener = this::presentationPropertyChanged;
 
@@ -132,6 +137,7 @@ public class BreakpointManagerContentProvider extends ElementContentProvider
 			IBreakpoint[] breakpoints = filterBreakpoints(
 				fInput, getSelectionFilter(fInput, getDebugContext()), fBpManager.getBreakpoints());
 			fContainer = createRootContainer(initialDelta, fInput, fOrganizers, breakpoints);
+			fContainerOrganizers = fOrganizers;
 
 			registerOrganizersListener(null, fOrganizers);
 			input.getContext().addPropertyChangeListener(fPresentationContextListener);
@@ -242,6 +248,7 @@ public class BreakpointManagerContentProvider extends ElementContentProvider
 
 				// adjust the old organizer with the reference organizer
 				BreakpointContainer.copyOrganizers(fContainer, refContainer);
+				fContainerOrganizers = fOrganizers;
 
 				// insert the added elements
 				IBreakpoint newBreakpoint = insertAddedElements(fContainer, refContainer, delta);
@@ -258,6 +265,45 @@ public class BreakpointManagerContentProvider extends ElementContentProvider
 			}
 		}
 
+		private void organizerChanged(PropertyChangeEvent event) {
+			Object category = event.getOldValue();
+			updateCategories(event.getSource(), category instanceof IAdaptable ? (IAdaptable) category : null);
+		}
+
+		/**
+		 * Re-categorizes the breakpoints after the categories of an organizer
+		 * changed. Unlike {@link #updateContainers()} the existing containers
+		 * are updated in place and only breakpoints whose categories changed are
+		 * moved.
+		 *
+		 * @param organizer the organizer which reported the change
+		 * @param category the changed category or <code>null</code> if unknown
+		 */
+		void updateCategories(Object organizer, IAdaptable category) {
+			IBreakpoint[] breakpoints = filterBreakpoints(
+				fInput, getSelectionFilter(fInput, getDebugContext()), fBpManager.getBreakpoints());
+
+			synchronized(this) {
+				if (fContainerOrganizers != fOrganizers) {
+					// organizers are being replaced
+					updateContainers();
+					return;
+				}
+				ModelDelta delta = new ModelDelta(fInput, IModelDelta.NO_CHANGE);
+				IBreakpoint newBreakpoint = fContainer.updateCategory(breakpoints, organizer, category, delta);
+				delta.setChildCount(fContainer.getChildren().length);
+
+				// select the new breakpoint
+				if (newBreakpoint != null) {
+					appendModelDeltaToElement(delta, newBreakpoint, IModelDelta.SELECT);
+				}
+				if (DebugUIPlugin.DEBUG_BREAKPOINT_DELTAS) {
+					DebugUIPlugin.trace("POST BREAKPOINT DELTA (updateCategories)\n"); //$NON-NLS-1$
+				}
+				postModelChanged(delta, false);
+			}
+		}
+
 		void sortContainers() {
 			IBreakpoint[] breakpoints = filterBreakpoints(fInput, getSelectionFilter(fInput, getDebugContext()), fBpManager.getBreakpoints());
 
@@ -273,6 +319,7 @@ public class BreakpointManagerContentProvider extends ElementContentProvider
 
 				// adjust the old organizer with the reference organizer
 				BreakpointContainer.copyOrganizers(fContainer, refContainer);
+				fContainerOrganizers = fOrganizers;
 
 				// insert all elements
 				IBreakpoint newBreakpoint = insertAddedElements(fContainer, refContainer, delta);
@@ -534,10 +581,10 @@ public class BreakpointManagerContentProvider extends ElementContentProvider
 				// If the change caused a breakpoint to be added (installed) or remove (un-installed) update accordingly.
 				List<IBreakpoint> removed = new ArrayList<>();
 				List<IBreakpoint> added = new ArrayList<>();
-				List<IBreakpoint> filteredAsList = Arrays.asList(filteredBreakpoints);
+				Set<IBreakpoint> filteredAsSet = new HashSet<>(Arrays.asList(filteredBreakpoints));
 				for (IBreakpoint bp : breakpoints) {
 					boolean oldContainedBp = fContainer.contains(bp);
-					boolean newContained = filteredAsList.contains(bp);
+					boolean newContained = filteredAsSet.contains(bp);
 					if (oldContainedBp && !newContained) {
 						removed.add(bp);
 					} else if (!oldContainedBp && newContained) {
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.ui.model.elements;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.model.IDebugElement;
+import org.eclipse.debug.internal.ui.DebugUIPlugin;
+import org.eclipse.debug.internal.ui.IInternalDebugUIConstants;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
+
+/**
+ * Runs the content updates of element content providers on a bounded number
+ * of {@link SerialExecutor} lanes per debug target, instead of one job per
+ * request.
+ * <p>
+ * Each batch of updates runs in one lane, in order. Batches of the same
+ * target run in parallel on up to
+ * {@link IInternalDebugUIConstants#PREF_CONTENT_UPDATE_PARALLELISM} lanes.
+ * Elements which do not belong to a debug target share one set of lanes.
+ * The lanes belong to the job family {@link ElementContentProvider}.
+ * </p>
+ */
+final class ContentUpdateExecutor {
+
+	/**
+	 * Performs one update of a batch.
+	 */
+	interface UpdatePerformer<T extends IViewerUpdate> {
+		void perform(T update);
+	}
+
+	/**
+	 * The lanes of one debug target.
+	 */
+	private static final class Lanes {
+		final SerialExecutor[] executors;
+		int next;
+
+		Lanes(int parallelism) {
+			executors = new SerialExecutor[parallelism];
+			for (int i = 0; i < parallelism; i++) {
+				executors[i] = new SerialExecutor("Debug content update", ElementContentProvider.class); //$NON-NLS-1$
+			}
+		}
+
+		synchronized SerialExecutor nextExecutor() {
+			SerialExecutor executor = executors[next];
+			next = (next + 1) % executors.length;
+			return executor;
+		}
+	}
+
+	/**
+	 * Key for elements which do not belong to a debug target.
+	 */
+	private static final Object NO_TARGET = new Object();
+
+	/**
+	 * Lanes by debug target. Lanes of terminated targets are released with
+	 * the target.
+	 */
+	private static final Map<Object, Lanes> fgLanes = new WeakHashMap<>();
+
+	private ContentUpdateExecutor() {
+	}
+
+	/**
+	 * Queues a batch of updates. Canceled updates are skipped, and every
+	 * update is done when the batch has run.
+	 *
+	 * @param updates the updates
+	 * @param rule scheduling rule to hold while performing the updates or
+	 *            <code>null</code>
+	 * @param performer performs a single update which is not canceled
+	 */
+	static <T extends IViewerUpdate> void execute(final T[] updates, final ISchedulingRule rule, final UpdatePerformer<T> performer) {
+		if (updates.length == 0) {
+			return;
+		}
+		getLanes(updates[0].getElement()).nextExecutor().schedule(() -> run(updates, rule, performer));
+	}
+
+	private static <T extends IViewerUpdate> void run(T[] updates, ISchedulingRule rule, UpdatePerformer<T> performer) {
+		int next = 0;
+		boolean ruleHeld = false;
+		try {
+			if (rule != null) {
+				Job.getJobManager().beginRule(rule, null);
+				ruleHeld = true;
+			}
+			while (next < updates.length) {
+				T update = updates[next++];
+				try {
+					if (!update.isCanceled()) {
+						performer.perform(update);
+					}
+				} finally {
+					update.done();
+				}
+			}
+		} finally {
+			if (ruleHeld) {
+				Job.getJobManager().endRule(rule);
+			}
+			// do not leave the viewer waiting for the rest of a failed batch
+			for (; next < updates.length; next++) {
+				updates[next].cancel();
+				updates[next].done();
+			}
+		}
+	}
+
+	private static Lanes getLanes(Object element) {
+		Object key = NO_TARGET;
+		if (element instanceof IDebugElement) {
+			Object target = ((IDebugElement) element).getDebugTarget();
+			if (target != null) {
+				key = target;
+			}
+		}
+		synchronized (fgLanes) {
+			Lanes lanes = fgLanes.get(key);
+			if (lanes == null) {
+				lanes = new Lanes(getParallelism());
+				fgLanes.put(key, lanes);
+			}
+			return lanes;
+		}
+	}
+
+	private static int getParallelism() {
+		DebugUIPlugin plugin = DebugUIPlugin.getDefault();
+		int parallelism = plugin == null ? 1 : plugin.getPreferenceStore().getInt(IInternalDebugUIConstants.PREF_CONTENT_UPDATE_PARALLELISM);
+		return Math.max(1, parallelism);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2007 IBM Corporation and others.
+ * Copyright (c) 2006, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,9 @@
 package org.eclipse.debug.internal.ui.model.elements;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenCountUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementContentProvider;
@@ -27,61 +25,23 @@ import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationCont
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
 
 /**
+ * Base implementation of an element content provider. Updates run on a small
+ * pool of serial executors shared by all content providers of a debug target.
+ *
  * @since 3.3
  */
 public abstract class ElementContentProvider implements IElementContentProvider {
 
 	protected static final Object[] EMPTY = new Object[0];
 
-	protected abstract class ElementContentProviderJob extends Job {
-
-		public ElementContentProviderJob(String name) {
-			super(name);
-			setSystem(true);
-			setUser(false);
-		}
-
-		@Override
-		public boolean belongsTo(Object family) {
-			return family == ElementContentProvider.class;
-		}
-
-	}
-
 	@Override
 	public void update(final IChildrenUpdate[] updates) {
-		Job job = new ElementContentProviderJob("Debug children update") { //$NON-NLS-1$
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				for (IChildrenUpdate update : updates) {
-					if (!update.isCanceled()) {
-						retrieveChildren(update);
-					}
-					update.done();
-				}
-				return Status.OK_STATUS;
-			}
-		};
-		job.setRule(getRule(updates));
-		job.schedule();
+		ContentUpdateExecutor.execute(updates, getRule(updates), this::retrieveChildren);
 	}
 
 	@Override
 	public void update(final IChildrenCountUpdate[] updates) {
-		Job job = new ElementContentProviderJob("Debug child count update") { //$NON-NLS-1$
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				for (IChildrenCountUpdate update : updates) {
-					if (!update.isCanceled()) {
-						retrieveChildCount(update);
-					}
-					update.done();
-				}
-				return Status.OK_STATUS;
-			}
-		};
-		job.setRule(getRule(updates));
-		job.schedule();
+		ContentUpdateExecutor.execute(updates, getRule(updates), this::retrieveChildCount);
 	}
 
 	/**
@@ -202,20 +162,7 @@ public abstract class ElementContentProvider implements IElementContentProvider
 
 	@Override
 	public void update(final IHasChildrenUpdate[] updates) {
-		Job job = new ElementContentProviderJob("Debug has children update") { //$NON-NLS-1$
-			@Override
-			protected IStatus run(IProgressMonitor monitor) {
-				for (IHasChildrenUpdate update : updates) {
-					if (!update.isCanceled()) {
-						updateHasChildren(update);
-					}
-					update.done();
-				}
-				return Status.OK_STATUS;
-			}
-		};
-		job.setRule(getRule(updates));
-		job.schedule();
+		ContentUpdateExecutor.execute(updates, getRule(updates), this::updateHasChildren);
 	}
 
 	/**
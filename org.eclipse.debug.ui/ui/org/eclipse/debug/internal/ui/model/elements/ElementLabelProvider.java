@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 IBM Corporation and others.
+ * Copyright (c) 2006, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,10 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.ui.model.elements;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -41,6 +44,11 @@ import org.eclipse.ui.progress.UIJob;
  */
 public abstract class ElementLabelProvider implements IElementLabelProvider {
 
+	/**
+	 * Maximum number of queued updates retrieved together.
+	 */
+	private static final int MAX_BATCH_SIZE = 100;
+
 	private Job fLabelJob = null;
 
 	/**
@@ -136,34 +144,60 @@ public abstract class ElementLabelProvider implements IElementLabelProvider {
 
 		@Override
 		public void run() {
-			ILabelUpdate update = getNextUpdate();
-			while (update != null) {
-				ISchedulingRule rule = getRule(update);
+			List<ILabelUpdate> updates = getNextUpdates();
+			while (updates != null) {
+				ISchedulingRule[] rules = new ISchedulingRule[updates.size()];
+				for (int i = 0; i < rules.length; i++) {
+					rules[i] = getRule(updates.get(i));
+				}
+				// updates with the same rule are retrieved together
+				int start = 0;
+				while (start < rules.length) {
+					int end = start + 1;
+					while (end < rules.length && Objects.equals(rules[start], rules[end])) {
+						end++;
+					}
+					run(updates.subList(start, end), rules[start]);
+					start = end;
+				}
+				updates = getNextUpdates();
+			}
+		}
+
+		private void run(List<ILabelUpdate> batch, ISchedulingRule rule) {
+			List<ILabelUpdate> pending = new ArrayList<>(batch.size());
+			for (ILabelUpdate update : batch) {
 				if (!update.isCanceled()) {
+					pending.add(update);
+				}
+			}
+			try {
+				if (!pending.isEmpty()) {
+					if (rule != null) {
+						Job.getJobManager().beginRule(rule, null);
+					}
 					try {
-						if (rule != null) {
-							Job.getJobManager().beginRule(rule, null);
-						}
-						retrieveLabel(update);
-					} catch (CoreException e) {
-						update.setStatus(e.getStatus());
+						retrieveLabels(pending.toArray(new ILabelUpdate[pending.size()]));
 					} finally {
 						if (rule != null) {
 							Job.getJobManager().endRule(rule);
 						}
 					}
 				}
-				update.done();
-				update = getNextUpdate();
+			} finally {
+				for (ILabelUpdate update : batch) {
+					update.done();
+				}
 			}
 		}
 
 		/**
-		 * Returns the next update to process, if there is one in the
-		 * queue. If there are no queued items <code>null</code> is returned
-		 * @return the next queued item or <code>null</code> if the queue is empty.
+		 * Returns the next updates to process, at most
+		 * {@link ElementLabelProvider#MAX_BATCH_SIZE}. If there are no queued
+		 * items <code>null</code> is returned
+		 * @return the next queued items or <code>null</code> if the queue is empty.
 		 */
-		public synchronized ILabelUpdate getNextUpdate() {
+		public synchronized List<ILabelUpdate> getNextUpdates() {
 			if (fQueue == null) {
 				return null;
 			}
@@ -171,7 +205,11 @@ public abstract class ElementLabelProvider implements IElementLabelProvider {
 				fQueue = null;
 				return null;
 			}
-			return fQueue.removeFirst();
+			List<ILabelUpdate> updates = new ArrayList<>(Math.min(fQueue.size(), MAX_BATCH_SIZE));
+			while (!fQueue.isEmpty() && updates.size() < MAX_BATCH_SIZE) {
+				updates.add(fQueue.removeFirst());
+			}
+			return updates;
 		}
 
 		public boolean shouldRun() {
@@ -179,6 +217,33 @@ public abstract class ElementLabelProvider implements IElementLabelProvider {
 		}
 	}
 
+	/**
+	 * Retrieves label attributes for a batch of updates which are not
+	 * canceled. Subclasses can override to compute the labels of many elements
+	 * in one round trip to the debugger, for example by fetching the values of
+	 * all elements first and then calling this method.
+	 * <p>
+	 * Implementations must not call <code>done()</code> on the updates, and
+	 * should set the status of an update whose label cannot be retrieved. The
+	 * default implementation calls {@link #retrieveLabel(ILabelUpdate)} for each
+	 * update.
+	 * </p>
+	 *
+	 * @param updates updates to retrieve labels for
+	 * @since 3.17
+	 */
+	protected void retrieveLabels(ILabelUpdate[] updates) {
+		for (ILabelUpdate update : updates) {
+			if (!update.isCanceled()) {
+				try {
+					retrieveLabel(update);
+				} catch (CoreException e) {
+					update.setStatus(e.getStatus());
+				}
+			}
+		}
+	}
+
 	/**
 	 * Retrieves label attributes for the specified update.
 	 *
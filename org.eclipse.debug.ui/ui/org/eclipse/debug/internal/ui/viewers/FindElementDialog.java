@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2006 IBM Corporation and others.
+ * Copyright (c) 2005, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.ui.viewers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.eclipse.debug.internal.ui.IDebugHelpContextIds;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.swt.widgets.Composite;
@@ -29,6 +33,22 @@ import org.eclipse.ui.dialogs.ElementListSelectionDialog;
  */
 public class FindElementDialog extends ElementListSelectionDialog {
 
+	/**
+	 * Minimal interval in milliseconds between two refreshes of the list of an
+	 * open dialog
+	 */
+	private static final int REFRESH_INTERVAL = 200;
+
+	/**
+	 * All elements to choose from
+	 */
+	private List<Object> fAllElements = new ArrayList<>();
+
+	/**
+	 * Whether a refresh of the list is scheduled
+	 */
+	private boolean fRefreshPending;
+
 	/**
 	 * Constructs a dialog to navigate to an element in the given viewer.
 	 *
@@ -38,10 +58,43 @@ public class FindElementDialog extends ElementListSelectionDialog {
 	 */
 	public FindElementDialog(Shell shell, ILabelProvider provider, Object[] elements) {
 		super(shell, provider);
+		fAllElements.addAll(Arrays.asList(elements));
 		setElements(elements);
 		setMultipleSelection(false);
 	}
 
+	/**
+	 * Adds elements to choose from. If the dialog is open, its list is
+	 * updated and filtered again at most every {@link #REFRESH_INTERVAL}
+	 * milliseconds, so elements added in quick succession are shown in one
+	 * refresh.
+	 *
+	 * @param elements elements to add
+	 */
+	public void addElements(Object[] elements) {
+		if (elements.length == 0) {
+			return;
+		}
+		fAllElements.addAll(Arrays.asList(elements));
+		Shell shell = getShell();
+		if (shell == null || shell.isDisposed()) {
+			setElements(fAllElements.toArray());
+		} else if (!fRefreshPending) {
+			fRefreshPending = true;
+			shell.getDisplay().timerExec(REFRESH_INTERVAL, this::refreshElements);
+		}
+	}
+
+	private void refreshElements() {
+		fRefreshPending = false;
+		Shell shell = getShell();
+		if (shell != null && !shell.isDisposed()) {
+			Object[] all = fAllElements.toArray();
+			setElements(all);
+			setListElements(all);
+		}
+	}
+
 	@Override
 	protected Control createDialogArea(Composite parent) {
 		Control comp = super.createDialogArea(parent);
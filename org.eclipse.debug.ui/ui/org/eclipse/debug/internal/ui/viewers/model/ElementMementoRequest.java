@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,6 @@ package org.eclipse.debug.internal.ui.viewers.model;
 
 import org.eclipse.debug.internal.ui.viewers.model.ViewerStateTracker.IElementMementoCollector;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementMementoRequest;
-import org.eclipse.debug.internal.ui.viewers.model.provisional.ITreeModelViewer;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.ModelDelta;
 import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.swt.widgets.Display;
@@ -30,6 +29,7 @@ class ElementMementoRequest extends MementoUpdate implements IElementMementoRequ
 
 	private IElementMementoCollector fManager;
 	private ModelDelta fDelta;
+	private Display fDisplay;
 
 	/**
 	 * @param provider the content provider to use for the update
@@ -44,29 +44,26 @@ class ElementMementoRequest extends MementoUpdate implements IElementMementoRequ
 		super(provider, viewerInput, provider.getPresentationContext(), element, elementPath, memento);
 		fManager = collector;
 		fDelta = delta;
+		// the request completes after the viewer is disposed
+		fDisplay = provider.getViewer().getDisplay();
 	}
 
 	@Override
 	public void done() {
-		ITreeModelViewer viewer = getContentProvider().getViewer();
-		if (viewer == null) {
-			return; // disposed
-		}
-		Display display = viewer.getDisplay();
-		if (display != null) {
-			if (display.getThread() == Thread.currentThread()) {
+		if (fDisplay != null && !fDisplay.isDisposed()) {
+			if (fDisplay.getThread() == Thread.currentThread()) {
 				doComplete();
 			} else {
-				display.asyncExec(this::doComplete);
+				fDisplay.asyncExec(this::doComplete);
 			}
 		}
 	}
 
+	/**
+	 * Reports the result to the collector, also if the content provider is
+	 * disposed. The collector decides whether it still needs the result.
+	 */
 	private void doComplete() {
-		if (getContentProvider().isDisposed()) {
-			return;
-		}
-
 		if (!isCanceled() && (getStatus() == null || getStatus().isOK())) {
 			// replace the element with a memento
 			fDelta.setElement(getMemento());
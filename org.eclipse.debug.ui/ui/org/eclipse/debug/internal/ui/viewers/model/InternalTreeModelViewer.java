@@ -609,6 +609,9 @@ public class InternalTreeModelViewer extends TreeViewer implements IInternalTree
 	@Override
 	protected void internalRefresh(Object element, boolean updateLabels) {
 		ITreeModelContentProvider contentProvider = (ITreeModelContentProvider)getContentProvider();
+		if (updateLabels) {
+			invalidateLabels(element, true);
+		}
 
 		if (element == null) {
 			internalRefresh(getControl(), getRoot(), true, updateLabels);
@@ -1363,9 +1366,24 @@ public class InternalTreeModelViewer extends TreeViewer implements IInternalTree
 
 	@Override
 	public void update(Object element) {
+		invalidateLabels(element, false);
 		update(element, STATE_PROPERTIES);
 	}
 
+	/**
+	 * Discards the labels cached by the label provider for the given element.
+	 *
+	 * @param element element whose labels are updated, <code>null</code> for
+	 *            all elements
+	 * @param subtree whether to discard the labels of the element's
+	 *            descendants as well
+	 */
+	private void invalidateLabels(Object element, boolean subtree) {
+		if (getLabelProvider() instanceof TreeModelLabelProvider) {
+			((TreeModelLabelProvider) getLabelProvider()).invalidate(element, subtree);
+		}
+	}
+
 	/**
 	 * Label data cache keys
 	 * TODO: workaround for bug 159461
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 Wind River Systems and others.
+ * Copyright (c) 2009, 2020 Wind River Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -486,12 +486,14 @@ public class InternalVirtualTreeModelViewer extends Viewer
 
 	@Override
 	public void refresh() {
+		invalidateLabels(null, true);
 		refresh(fTree);
 		validate();
 	}
 
 	@Override
 	public void refresh(Object element) {
+		invalidateLabels(element, true);
 		for (VirtualItem item : findItems(element)) {
 			refresh(item);
 			validate();
@@ -877,11 +879,26 @@ public class InternalVirtualTreeModelViewer extends Viewer
 
 	@Override
 	public void update(Object element) {
+		invalidateLabels(element, false);
 		for (VirtualItem item : findItems(element)) {
 			doUpdate(item);
 		}
 	}
 
+	/**
+	 * Discards the labels cached by the label provider for the given element.
+	 *
+	 * @param element element whose labels are updated, <code>null</code> for
+	 *            all elements
+	 * @param subtree whether to discard the labels of the element's
+	 *            descendants as well
+	 */
+	private void invalidateLabels(Object element, boolean subtree) {
+		if (fLabelProvider != null) {
+			fLabelProvider.invalidate(element, subtree);
+		}
+	}
+
 	public void doUpdate(VirtualItem item) {
 		item.setNeedsLabelUpdate();
 		validate();
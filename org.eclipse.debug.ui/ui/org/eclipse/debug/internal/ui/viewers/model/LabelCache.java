@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.ui.viewers.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * Cache of the label attributes retrieved for the elements of one viewer,
+ * keyed by element path and column.
+ * <p>
+ * The cache holds a bounded number of element paths and evicts the least
+ * recently used ones. The cached paths are indexed by each of their segments,
+ * so removing the entries of an element or a subtree does not scan the whole
+ * cache. It is not thread safe and is accessed in the UI thread only.
+ * </p>
+ */
+public class LabelCache {
+
+	/**
+	 * Maximum number of element paths in the cache.
+	 */
+	public static final int MAX_SIZE = 5000;
+
+	/**
+	 * Label attributes of one column.
+	 */
+	private static final class ColumnData {
+		final String label;
+		final ImageDescriptor image;
+		final FontData fontData;
+		final RGB foreground;
+		final RGB background;
+
+		ColumnData(String label, ImageDescriptor image, FontData fontData, RGB foreground, RGB background) {
+			this.label = label;
+			this.image = image;
+			this.fontData = fontData;
+			this.foreground = foreground;
+			this.background = background;
+		}
+	}
+
+	/**
+	 * Label attributes of one element path.
+	 */
+	private static final class ElementData {
+		final Map<String, ColumnData> columns = new HashMap<>();
+		boolean checked;
+		boolean grayed;
+	}
+
+	/**
+	 * Viewer input the cached paths belong to.
+	 */
+	private Object fInput;
+
+	private final Map<TreePath, ElementData> fElements = new LinkedHashMap<TreePath, ElementData>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Entry<TreePath, ElementData> eldest) {
+			if (size() > MAX_SIZE) {
+				unindex(eldest.getKey());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Cached paths by each of their segments.
+	 */
+	private final Map<Object, Set<TreePath>> fPathsBySegment = new HashMap<>();
+
+	/**
+	 * Stores the attributes of a completed label update.
+	 *
+	 * @param input viewer input of the update
+	 * @param path element path
+	 * @param columnIds column identifiers or <code>null</code>
+	 * @param labels labels by column
+	 * @param images image descriptors by column or <code>null</code>
+	 * @param fontDatas font data by column or <code>null</code>
+	 * @param foregrounds foreground colors by column or <code>null</code>
+	 * @param backgrounds background colors by column or <code>null</code>
+	 * @param checked check state
+	 * @param grayed grayed state
+	 */
+	public void put(Object input, TreePath path, String[] columnIds, String[] labels, ImageDescriptor[] images, FontData[] fontDatas, RGB[] foregrounds, RGB[] backgrounds, boolean checked, boolean grayed) {
+		if (input != fInput) {
+			clear();
+			fInput = input;
+		}
+		ElementData data = fElements.get(path);
+		if (data == null) {
+			data = new ElementData();
+			index(path);
+			fElements.put(path, data);
+		}
+		for (int i = 0; i < labels.length; i++) {
+			String columnId = columnIds == null ? null : columnIds[i];
+			data.columns.put(columnId, new ColumnData(labels[i], get(images, i), get(fontDatas, i), get(foregrounds, i), get(backgrounds, i)));
+		}
+		data.checked = checked;
+		data.grayed = grayed;
+	}
+
+	/**
+	 * Applies the cached attributes of an element to a label update if all
+	 * requested columns are cached.
+	 *
+	 * @param update the update
+	 * @return whether the update was filled from the cache
+	 */
+	boolean fill(LabelUpdate update) {
+		ElementData data = fElements.get(update.getElementPath());
+		ColumnData[] columns = getColumns(update.getViewerInput(), data, update.getColumnIds());
+		if (columns == null) {
+			return false;
+		}
+		for (int i = 0; i < columns.length; i++) {
+			update.setLabel(columns[i].label, i);
+			update.setImageDescriptor(columns[i].image, i);
+			update.setFontData(columns[i].fontData, i);
+			update.setForeground(columns[i].foreground, i);
+			update.setBackground(columns[i].background, i);
+		}
+		update.setChecked(data.checked, data.grayed);
+		return true;
+	}
+
+	/**
+	 * Checks whether all requested columns of an element path are cached.
+	 *
+	 * @param input viewer input
+	 * @param path element path
+	 * @param columnIds column identifiers or <code>null</code>
+	 * @return whether a label update of the path would be filled from the
+	 *         cache
+	 */
+	public boolean contains(Object input, TreePath path, String[] columnIds) {
+		return getColumns(input, fElements.get(path), columnIds) != null;
+	}
+
+	/**
+	 * @return the number of cached element paths
+	 */
+	public int size() {
+		return fElements.size();
+	}
+
+	/**
+	 * Removes the paths which end with the given element.
+	 *
+	 * @param element the element
+	 */
+	public void removeElement(Object element) {
+		Set<TreePath> paths = fPathsBySegment.get(element);
+		if (paths == null) {
+			return;
+		}
+		List<TreePath> removed = new ArrayList<>();
+		for (TreePath path : paths) {
+			if (element.equals(path.getLastSegment())) {
+				removed.add(path);
+			}
+		}
+		remove(removed);
+	}
+
+	/**
+	 * Removes the paths which contain the given element.
+	 *
+	 * @param element the element
+	 */
+	public void removeSubtree(Object element) {
+		Set<TreePath> paths = fPathsBySegment.get(element);
+		if (paths != null) {
+			remove(new ArrayList<>(paths));
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		fElements.clear();
+		fPathsBySegment.clear();
+		fInput = null;
+	}
+
+	private ColumnData[] getColumns(Object input, ElementData data, String[] columnIds) {
+		if (input != fInput || data == null) {
+			return null;
+		}
+		int numColumns = columnIds == null ? 1 : columnIds.length;
+		ColumnData[] columns = new ColumnData[numColumns];
+		for (int i = 0; i < numColumns; i++) {
+			columns[i] = data.columns.get(columnIds == null ? null : columnIds[i]);
+			if (columns[i] == null) {
+				return null;
+			}
+		}
+		return columns;
+	}
+
+	private void remove(List<TreePath> paths) {
+		for (TreePath path : paths) {
+			fElements.remove(path);
+			unindex(path);
+		}
+	}
+
+	private void index(TreePath path) {
+		for (int i = 0; i < path.getSegmentCount(); i++) {
+			fPathsBySegment.computeIfAbsent(path.getSegment(i), segment -> new HashSet<>()).add(path);
+		}
+	}
+
+	private void unindex(TreePath path) {
+		for (int i = 0; i < path.getSegmentCount(); i++) {
+			Object segment = path.getSegment(i);
+			Set<TreePath> paths = fPathsBySegment.get(segment);
+			if (paths != null) {
+				paths.remove(path);
+				if (paths.isEmpty()) {
+					fPathsBySegment.remove(segment);
+				}
+			}
+		}
+	}
+
+	private static <T> T get(T[] values, int index) {
+		return values == null ? null : values[index];
+	}
+}
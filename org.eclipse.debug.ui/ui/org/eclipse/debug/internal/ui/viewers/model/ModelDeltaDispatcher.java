@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.ui.viewers.model;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.internal.ui.DebugUIPlugin;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelProxy;
+import org.eclipse.ui.progress.WorkbenchJob;
+
+/**
+ * Processes model deltas and viewer updates posted from background threads
+ * for all tree model content providers in the UI thread.
+ * <p>
+ * All viewers share one queue, so the time spent per UI event is bounded for
+ * all open debug views together. A delta which only refreshes elements
+ * (CONTENT and STATE flags) is dropped while it is pending if a later delta
+ * of the same model proxy refreshes the same elements again.
+ * </p>
+ * <p>
+ * Deltas are only coalesced per content provider. Every viewer installs its
+ * own model proxies, so the deltas of different viewers are not merged even
+ * if they refresh the same model elements.
+ * </p>
+ */
+public final class ModelDeltaDispatcher extends WorkbenchJob {
+
+	/**
+	 * Maximum number of tasks processed per run, to avoid freezing the UI.
+	 */
+	private static final int MAX_BATCH_SIZE = 100;
+
+	/**
+	 * Time in milliseconds a run may take before yielding to other UI tasks.
+	 */
+	private static final long FRAME_BUDGET = 50;
+
+	/**
+	 * Number of pending tasks searched for deltas superseded by a new delta.
+	 */
+	private static final int COALESCE_WINDOW = 200;
+
+	/**
+	 * Flags a delta may have to be superseded by a later delta.
+	 */
+	private static final int REFRESH_FLAGS = IModelDelta.CONTENT | IModelDelta.STATE;
+
+	private static ModelDeltaDispatcher fgDefault;
+
+	/**
+	 * A pending model delta or viewer update.
+	 */
+	private static final class Task {
+		final TreeModelContentProvider owner;
+		final IModelDelta delta;
+		final IModelProxy proxy;
+		final Runnable runnable;
+
+		Task(TreeModelContentProvider owner, IModelDelta delta, IModelProxy proxy, Runnable runnable) {
+			this.owner = owner;
+			this.delta = delta;
+			this.proxy = proxy;
+			this.runnable = runnable;
+		}
+
+		void run() {
+			if (runnable != null) {
+				runnable.run();
+			} else if (!proxy.isDisposed()) {
+				owner.doModelChanged(delta, proxy);
+			}
+		}
+	}
+
+	/**
+	 * Queue of submitted tasks to process.
+	 */
+	private final Deque<Task> fQueue = new ArrayDeque<>();
+
+	/**
+	 * Content providers which were shut down. Their tasks are rejected. Guarded
+	 * by {@link #fQueue}.
+	 */
+	private final Set<TreeModelContentProvider> fShutDown = Collections.newSetFromMap(new WeakHashMap<>());
+
+	private ModelDeltaDispatcher() {
+		super("Delayed model change job"); //$NON-NLS-1$
+		setSystem(true);
+		setUser(false);
+	}
+
+	/**
+	 * @return the dispatcher shared by all content providers
+	 */
+	public static synchronized ModelDeltaDispatcher getDefault() {
+		if (fgDefault == null) {
+			fgDefault = new ModelDeltaDispatcher();
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Queues a model delta to be processed by the given content provider. The
+	 * delta is ignored if the content provider was shut down.
+	 *
+	 * @param owner the content provider
+	 * @param delta the delta
+	 * @param proxy the model proxy which fired the delta
+	 */
+	public void runDelayed(TreeModelContentProvider owner, IModelDelta delta, IModelProxy proxy) {
+		boolean coalesce = (owner.getModelDeltaMask() & REFRESH_FLAGS) == REFRESH_FLAGS;
+		synchronized (fQueue) {
+			if (fShutDown.contains(owner)) {
+				return;
+			}
+			if (coalesce) {
+				removeSuperseded(owner, delta, proxy);
+			}
+			fQueue.add(new Task(owner, delta, proxy, null));
+			if (DebugUIPlugin.DEBUG_CONTENT_PROVIDER) {
+				DebugUIPlugin.trace("Delayed queue size: " + fQueue.size()); //$NON-NLS-1$
+			}
+		}
+		schedule();
+	}
+
+	/**
+	 * Queues a task to run in the UI thread. The task is ignored if the content
+	 * provider was shut down.
+	 *
+	 * @param owner the content provider the task belongs to
+	 * @param uiTask the task
+	 */
+	public void runDelayed(TreeModelContentProvider owner, Runnable uiTask) {
+		synchronized (fQueue) {
+			if (fShutDown.contains(owner)) {
+				return;
+			}
+			fQueue.add(new Task(owner, null, null, uiTask));
+		}
+		schedule();
+	}
+
+	/**
+	 * Discards the pending tasks of a content provider and rejects its further
+	 * tasks until it is started again.
+	 *
+	 * @param owner the disposed content provider
+	 */
+	public void shutdown(TreeModelContentProvider owner) {
+		synchronized (fQueue) {
+			fShutDown.add(owner);
+			fQueue.removeIf(task -> task.owner == owner);
+		}
+	}
+
+	/**
+	 * Accepts the tasks of a content provider again after it was shut down,
+	 * e.g. if it is used by a viewer again.
+	 *
+	 * @param owner the content provider
+	 */
+	void start(TreeModelContentProvider owner) {
+		synchronized (fQueue) {
+			fShutDown.remove(owner);
+		}
+	}
+
+	@Override
+	public IStatus runInUIThread(IProgressMonitor monitor) {
+		long deadline = System.currentTimeMillis() + FRAME_BUDGET;
+		int count = 0;
+		while (true) {
+			Task task;
+			synchronized (fQueue) {
+				if (fQueue.isEmpty()) {
+					break;
+				}
+				if (count >= MAX_BATCH_SIZE || System.currentTimeMillis() > deadline) {
+					// There is work left.
+					// Give other UI tasks chance to work instead of freezing UI
+					schedule();
+					break;
+				}
+				task = fQueue.removeFirst();
+			}
+			if (monitor.isCanceled()) {
+				synchronized (fQueue) {
+					fQueue.addFirst(task);
+				}
+				return Status.CANCEL_STATUS;
+			}
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				// do not let one viewer stop the updates of all others
+				DebugUIPlugin.log(e);
+			}
+			count++;
+		}
+		if (DebugUIPlugin.DEBUG_CONTENT_PROVIDER) {
+			DebugUIPlugin.trace("Delayed batch size: " + count); //$NON-NLS-1$
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * The job belongs to the family of each content provider with pending
+	 * tasks.
+	 */
+	@Override
+	public boolean belongsTo(Object family) {
+		synchronized (fQueue) {
+			for (Task task : fQueue) {
+				if (family == task.owner) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the pending deltas of the same proxy which are refreshed by the
+	 * new delta anyway. Only consecutive deltas of the proxy are removed.
+	 */
+	private void removeSuperseded(TreeModelContentProvider owner, IModelDelta delta, IModelProxy proxy) {
+		Iterator<Task> it = fQueue.descendingIterator();
+		for (int i = 0; i < COALESCE_WINDOW && it.hasNext(); i++) {
+			Task task = it.next();
+			if (task.owner != owner || task.proxy != proxy) {
+				continue;
+			}
+			if (!isRefreshOnly(task.delta) || !covers(delta, task.delta)) {
+				return;
+			}
+			it.remove();
+		}
+	}
+
+	/**
+	 * Returns whether the delta only requests to refresh elements.
+	 */
+	private static boolean isRefreshOnly(IModelDelta delta) {
+		if ((delta.getFlags() & ~REFRESH_FLAGS) != 0) {
+			return false;
+		}
+		for (IModelDelta child : delta.getChildDeltas()) {
+			if (!isRefreshOnly(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the later delta refreshes all elements the earlier
+	 * refresh-only delta refreshes.
+	 */
+	private static boolean covers(IModelDelta later, IModelDelta earlier) {
+		if (!earlier.getElement().equals(later.getElement())) {
+			return false;
+		}
+		// the flags of the root only apply to the viewer input, so they are
+		// compared as is rather than treating CONTENT as a subtree refresh
+		if ((earlier.getFlags() & ~later.getFlags()) != 0 || later.getChildCount() != earlier.getChildCount()) {
+			return false;
+		}
+		for (IModelDelta child : earlier.getChildDeltas()) {
+			if (!coversNode(findChild(later, child.getElement()), child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean coversNode(IModelDelta later, IModelDelta earlier) {
+		if (later == null) {
+			return false;
+		}
+		if ((later.getFlags() & IModelDelta.CONTENT) != 0) {
+			// refreshing an element refreshes its label and its subtree
+			return true;
+		}
+		if ((earlier.getFlags() & ~later.getFlags()) != 0) {
+			return false;
+		}
+		for (IModelDelta child : earlier.getChildDeltas()) {
+			if (!coversNode(findChild(later, child.getElement()), child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static IModelDelta findChild(IModelDelta delta, Object element) {
+		for (IModelDelta child : delta.getChildDeltas()) {
+			if (element.equals(child.getElement())) {
+				return child;
+			}
+		}
+		return null;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,7 +58,6 @@ import org.eclipse.jface.viewers.TreeSelection;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.swt.widgets.Display;
-import org.eclipse.ui.progress.WorkbenchJob;
 
 /**
  * Content provider for a virtual tree.
@@ -164,7 +163,7 @@ public class TreeModelContentProvider implements ITreeModelContentProvider, ICon
 		if (fViewer == null) {
 			return;
 		}
-		fDelayedDoModelChangeJob.shutdown();
+		ModelDeltaDispatcher.getDefault().shutdown(this);
 
 		Assert.isTrue( getViewer().getDisplay().getThread() == Thread.currentThread() );
 
@@ -200,6 +199,7 @@ public class TreeModelContentProvider implements ITreeModelContentProvider, ICon
 		synchronized(this) {
 			fViewer = (IInternalTreeModelViewer) viewer;
 		}
+		ModelDeltaDispatcher.getDefault().start(this);
 
 		Assert.isTrue( fViewer.getDisplay().getThread() == Thread.currentThread() );
 
@@ -389,118 +389,6 @@ public class TreeModelContentProvider implements ITreeModelContentProvider, ICon
 		}
 	}
 
-	private static class DelayedDoModelChange {
-		public final IModelDelta delta;
-		public final IModelProxy proxy;
-
-		public DelayedDoModelChange(final IModelDelta delta, final IModelProxy proxy) {
-			this.delta = delta;
-			this.proxy = proxy;
-		}
-	}
-
-	private class DelayedDoModelChangedJob extends WorkbenchJob {
-
-		// limit batch size to avoid freezing the UI.
-		private static final int MAX_BATCH_SIZE = 100;
-
-		// queue of submitted deltas to process
-		private final List<Object> fQueue = new ArrayList<>();
-		private boolean shutdown;
-
-		public DelayedDoModelChangedJob() {
-			super("Delayed model change job"); //$NON-NLS-1$
-			setSystem(true);
-			setUser(false);
-		}
-
-		@Override
-		public IStatus runInUIThread(IProgressMonitor monitor) {
-			List<Object> currentBatch = new ArrayList<>();
-			synchronized (fQueue) {
-				if (shutdown || fQueue.isEmpty()) {
-					return Status.OK_STATUS;
-				}
-				fQueue.removeIf(o -> {
-					if (currentBatch.size() < MAX_BATCH_SIZE) {
-						currentBatch.add(o);
-						return true;
-					}
-					return false;
-				});
-				if (!fQueue.isEmpty()) {
-					// There is work left.
-					// Give other UI tasks chance to work instead of freezing UI
-					schedule();
-				}
-			}
-			if (DebugUIPlugin.DEBUG_CONTENT_PROVIDER) {
-				DebugUIPlugin.trace("Delayed batch size: " + currentBatch.size()); //$NON-NLS-1$
-			}
-			for (Iterator<?> iterator = currentBatch.iterator(); iterator.hasNext();) {
-				Object task = iterator.next();
-				if (monitor.isCanceled()) {
-					restoreQueue(currentBatch);
-					return Status.CANCEL_STATUS;
-				}
-				if (task instanceof DelayedDoModelChange) {
-					DelayedDoModelChange change = (DelayedDoModelChange) task;
-					if (!change.proxy.isDisposed()) {
-						doModelChanged(change.delta, change.proxy);
-					}
-				} else {
-					((Runnable) task).run();
-				}
-				iterator.remove();
-			}
-			return Status.OK_STATUS;
-		}
-
-		private void restoreQueue(List<Object> currentBatch) {
-			synchronized (fQueue) {
-				currentBatch.addAll(fQueue);
-				fQueue.clear();
-				fQueue.addAll(currentBatch);
-			}
-		}
-
-		public void runDelayed(final IModelDelta delta, final IModelProxy proxy) {
-			runDelayed(new DelayedDoModelChange(delta, proxy));
-		}
-
-		public void runDelayed(final Runnable uiTask) {
-			runDelayed((Object) uiTask);
-		}
-
-		private void runDelayed(final Object task) {
-			synchronized (fQueue) {
-				if (shutdown) {
-					return;
-				}
-				fQueue.add(task);
-				if (DebugUIPlugin.DEBUG_CONTENT_PROVIDER) {
-					DebugUIPlugin.trace("Delayed queue size: " + fQueue.size()); //$NON-NLS-1$
-				}
-			}
-			schedule();
-		}
-
-		public void shutdown() {
-			synchronized (fQueue) {
-				shutdown = true;
-				fQueue.clear();
-			}
-			cancel();
-		}
-
-		@Override
-		public boolean belongsTo(Object family) {
-			return family == TreeModelContentProvider.this || family == TreeModelContentProvider.class;
-		}
-	}
-
-	private final DelayedDoModelChangedJob fDelayedDoModelChangeJob = new DelayedDoModelChangedJob();
-
 	@Override
 	public void modelChanged(final IModelDelta delta, final IModelProxy proxy) {
 		Display display = null;
@@ -524,7 +412,7 @@ public class TreeModelContentProvider implements ITreeModelContentProvider, ICon
 				} catch (OperationCanceledException | InterruptedException e) {
 					DebugUIPlugin.log(new Status(IStatus.WARNING, DebugUIPlugin.getUniqueIdentifier(), "Interrupted while waiting on ElementContentProvider jobs", e)); //$NON-NLS-1$
 				}
-				fDelayedDoModelChangeJob.runDelayed(delta, proxy);
+				ModelDeltaDispatcher.getDefault().runDelayed(this, delta, proxy);
 			}
 		}
 	}
@@ -534,7 +422,7 @@ public class TreeModelContentProvider implements ITreeModelContentProvider, ICon
 	 * @param delta Delta to process
 	 * @param proxy Proxy that fired the delta.
 	 */
-	private void doModelChanged(IModelDelta delta, IModelProxy proxy) {
+	void doModelChanged(IModelDelta delta, IModelProxy proxy) {
 		if (!proxy.isDisposed()) {
 			if (DebugUIPlugin.DEBUG_DELTAS && DebugUIPlugin.DEBUG_TEST_PRESENTATION_ID(getPresentationContext())) {
 				DebugUIPlugin.trace("RECEIVED DELTA: " + delta); //$NON-NLS-1$
@@ -1801,7 +1689,7 @@ public class TreeModelContentProvider implements ITreeModelContentProvider, ICon
 			if (Thread.currentThread() == display.getThread()) {
 				performUpdates();
 			} else {
-				fDelayedDoModelChangeJob.runDelayed(updateJob);
+				ModelDeltaDispatcher.getDefault().runDelayed(this, updateJob);
 			}
 		}
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2018 IBM Corporation and others.
+ * Copyright (c) 2006, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.debug.internal.ui.viewers.model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,7 @@ import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDeltaVisito
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelProxy;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.ViewerCell;
@@ -112,9 +114,11 @@ public class TreeModelLabelProvider extends ColumnLabelProvider
 		public boolean visit(IModelDelta delta, int depth) {
 			if ((delta.getFlags() & IModelDelta.CONTENT) > 0) {
 				cancelElementUpdates(delta.getElement(), true);
+				invalidate(delta.getElement(), true);
 				return false;
 			} else if ((delta.getFlags() & IModelDelta.STATE) > 0) {
 				cancelElementUpdates(delta.getElement(), false);
+				invalidate(delta.getElement(), false);
 				return true;
 			}
 			return true;
@@ -126,6 +130,18 @@ public class TreeModelLabelProvider extends ColumnLabelProvider
 	 */
 	private CancelPendingUpdatesVisitor fCancelPendingUpdatesVisitor = new CancelPendingUpdatesVisitor();
 
+	/**
+	 * Label attributes of elements already shown, so that labels are not
+	 * retrieved again when items are re-created, e.g. while scrolling.
+	 */
+	private LabelCache fLabelCache = new LabelCache();
+
+	/**
+	 * Clears the label cache when a presentation context property changes,
+	 * as labels may depend on them.
+	 */
+	private IPropertyChangeListener fContextListener = event -> fLabelCache.clear();
+
 	/**
 	 * Constructs a new label provider on the given display
 	 * @param viewer Viewer that this label provider is used with.
@@ -133,6 +149,7 @@ public class TreeModelLabelProvider extends ColumnLabelProvider
 	public TreeModelLabelProvider(IInternalTreeModelViewer viewer) {
 		fViewer = viewer;
 		fViewer.addModelChangedListener(this);
+		fViewer.getPresentationContext().addPropertyChangeListener(fContextListener);
 	}
 
 	/**
@@ -209,7 +226,9 @@ public class TreeModelLabelProvider extends ColumnLabelProvider
 		Assert.isTrue(fViewer.getDisplay().getThread() == Thread.currentThread());
 
 		fViewer.removeModelChangedListener(this);
+		fViewer.getPresentationContext().removePropertyChangeListener(fContextListener);
 		fViewer = null;
+		fLabelCache.clear();
 
 		List<ILabelUpdate> complete = null;
 		synchronized(this) {
@@ -326,6 +345,42 @@ public class TreeModelLabelProvider extends ColumnLabelProvider
 		fViewer.setElementChecked(path, checked, grayed);
 	}
 
+	/**
+	 * Caches the display information of a completed update, see
+	 * {@link #setElementData(TreePath, int, String[], ImageDescriptor[], FontData[], RGB[], RGB[], boolean, boolean)}.
+	 *
+	 * @param update Completed update.
+	 * @param columnIds Column identifiers of the update or <code>null</code>.
+	 */
+	void cacheElementData(LabelUpdate update, String[] columnIds, String[] labels, ImageDescriptor[] images,
+		FontData[] fontDatas, RGB[] foregrounds, RGB[] backgrounds, boolean checked, boolean grayed)
+	{
+		if (!isDisposed() && (update.getStatus() == null || update.getStatus().isOK())) {
+			fLabelCache.put(update.getViewerInput(), update.getElementPath(), columnIds, labels, images, fontDatas, foregrounds, backgrounds, checked, grayed);
+		}
+	}
+
+	/**
+	 * Discards the cached labels of an element, so that they are retrieved
+	 * again by the next update.
+	 *
+	 * @param element Element whose labels changed.
+	 * @param subtree Whether the labels of all elements below the element
+	 * are discarded as well.
+	 */
+	void invalidate(Object element, boolean subtree) {
+		if (isDisposed()) {
+			return;
+		}
+		if (element == null || (subtree && element.equals(fViewer.getInput()))) {
+			fLabelCache.clear();
+		} else if (subtree) {
+			fLabelCache.removeSubtree(element);
+		} else {
+			fLabelCache.removeElement(element);
+		}
+	}
+
 
 	private void startRequests(Runnable runnable) {
 		if (runnable != fPendingUpdatesRunnable) {
@@ -335,10 +390,17 @@ public class TreeModelLabelProvider extends ColumnLabelProvider
 			List<ILabelUpdate> list = null;
 			for (Entry<IElementLabelProvider, List<ILabelUpdate>> entry : fPendingUpdates.entrySet()) {
 				list = entry.getValue();
-				for (ILabelUpdate update : list) {
+				for (Iterator<ILabelUpdate> iterator = list.iterator(); iterator.hasNext();) {
+					ILabelUpdate update = iterator.next();
 					updateStarted(update);
+					if (fLabelCache.fill((LabelUpdate) update)) {
+						iterator.remove();
+						((LabelUpdate) update).performUpdate();
+					}
+				}
+				if (!list.isEmpty()) {
+					entry.getKey().update(list.toArray(new ILabelUpdate[list.size()]));
 				}
-				entry.getKey().update(list.toArray(new ILabelUpdate[list.size()]));
 			}
 		}
 		fPendingUpdates.clear();
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.ui.viewers.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.ModelDelta;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.XMLMemento;
+
+/**
+ * Saved viewer states keyed by the memento of the viewer input.
+ * <p>
+ * States are kept in a compact binary form. The store is bounded by the total
+ * size of the encoded states and evicts the least recently saved or restored
+ * states first. It can be written to and read from a file to keep the states
+ * across sessions.
+ * </p>
+ * <p>
+ * A state can only be stored after all of its elements were replaced by
+ * mementos. Not thread safe, the store is used in the UI thread.
+ * </p>
+ */
+public class ViewerStateStore {
+
+	/** Version of the encoding. Files of other versions are ignored. */
+	private static final int VERSION = 2;
+
+	/** Maximum total size of the encoded states in bytes. */
+	private final int fMaxBytes;
+
+	/** Encoded states in least recently used order. */
+	private final Map<String, byte[]> fStates = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Total size of the encoded states. */
+	private int fSize;
+
+	/** Whether states changed since the store was loaded or saved. */
+	private boolean fDirty;
+
+	/**
+	 * @param maxBytes maximum total size of the encoded states
+	 */
+	public ViewerStateStore(int maxBytes) {
+		fMaxBytes = maxBytes;
+	}
+
+	/**
+	 * Stores a state, replacing the state stored for the same key. A state
+	 * which cannot be encoded or is larger than the store is not stored.
+	 *
+	 * @param key memento of the viewer input
+	 * @param state the state
+	 */
+	public void put(String key, ModelDelta state) {
+		byte[] data;
+		try {
+			data = encode(state);
+		} catch (IOException e) {
+			return;
+		}
+		remove(key);
+		if (key.length() * 2 + data.length > fMaxBytes) {
+			return;
+		}
+		fStates.put(key, data);
+		fSize += size(key, data);
+		fDirty = true;
+		for (Iterator<Entry<String, byte[]>> iterator = fStates.entrySet().iterator(); fSize > fMaxBytes && iterator.hasNext();) {
+			Entry<String, byte[]> eldest = iterator.next();
+			fSize -= size(eldest.getKey(), eldest.getValue());
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * @param key memento of the viewer input
+	 * @return whether a state is stored for the key
+	 */
+	public boolean contains(String key) {
+		return fStates.containsKey(key);
+	}
+
+	/**
+	 * Removes and returns a state.
+	 *
+	 * @param key memento of the viewer input
+	 * @return a new delta with mementos as elements or <code>null</code> if
+	 *         no state is stored for the key
+	 */
+	public ModelDelta remove(String key) {
+		byte[] data = fStates.remove(key);
+		if (data == null) {
+			return null;
+		}
+		fSize -= size(key, data);
+		fDirty = true;
+		try {
+			return decode(data);
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the states saved in a file. Unreadable files are ignored.
+	 *
+	 * @param file the file
+	 */
+	public void load(File file) {
+		if (!file.isFile()) {
+			return;
+		}
+		List<String> keys = new ArrayList<>();
+		List<byte[]> states = new ArrayList<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION) {
+				return;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				keys.add(readString(in));
+				byte[] data = new byte[in.readInt()];
+				in.readFully(data);
+				states.add(data);
+			}
+		} catch (IOException | RuntimeException e) {
+			return;
+		}
+		for (int i = 0; i < keys.size(); i++) {
+			if (!fStates.containsKey(keys.get(i)) && fSize + size(keys.get(i), states.get(i)) <= fMaxBytes) {
+				fStates.put(keys.get(i), states.get(i));
+				fSize += size(keys.get(i), states.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Writes the states to a file if they changed.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File file) throws IOException {
+		if (!fDirty) {
+			return;
+		}
+		file.getParentFile().mkdirs();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeInt(fStates.size());
+			for (Entry<String, byte[]> entry : fStates.entrySet()) {
+				writeString(out, entry.getKey());
+				out.writeInt(entry.getValue().length);
+				out.write(entry.getValue());
+			}
+		}
+		fDirty = false;
+	}
+
+	/**
+	 * @return the total size of the encoded states in bytes
+	 */
+	public int getSize() {
+		return fSize;
+	}
+
+	private static int size(String key, byte[] data) {
+		return key.length() * 2 + data.length;
+	}
+
+	static byte[] encode(ModelDelta state) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			encodeNode(out, state);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void encodeNode(DataOutputStream out, IModelDelta delta) throws IOException {
+		if (!(delta.getElement() instanceof IMemento)) {
+			throw new IOException("Element not encoded: " + delta.getElement()); //$NON-NLS-1$
+		}
+		out.writeInt(delta.getFlags());
+		out.writeInt(delta.getIndex());
+		out.writeInt(delta.getChildCount());
+		encodeMemento(out, (IMemento) delta.getElement());
+		IModelDelta[] children = delta.getChildDeltas();
+		out.writeInt(children.length);
+		for (IModelDelta child : children) {
+			encodeNode(out, child);
+		}
+	}
+
+	private static void encodeMemento(DataOutputStream out, IMemento memento) throws IOException {
+		writeString(out, memento.getType());
+		String[] keys = memento.getAttributeKeys();
+		out.writeInt(keys.length);
+		for (String key : keys) {
+			writeString(out, key);
+			writeString(out, memento.getString(key));
+		}
+		String text = memento.getTextData();
+		out.writeBoolean(text != null);
+		if (text != null) {
+			writeString(out, text);
+		}
+		IMemento[] children = memento.getChildren();
+		out.writeInt(children.length);
+		for (IMemento child : children) {
+			encodeMemento(out, child);
+		}
+	}
+
+	static ModelDelta decode(byte[] data) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			int flags = in.readInt();
+			int index = in.readInt();
+			int childCount = in.readInt();
+			XMLMemento memento = XMLMemento.createWriteRoot(readString(in));
+			decodeMemento(in, memento);
+			ModelDelta root = new ModelDelta(memento, index, flags, childCount);
+			// the mementos of all other elements share one document, as
+			// when the state was saved
+			decodeChildren(in, root, XMLMemento.createWriteRoot("CHILDREN_MEMENTO")); //$NON-NLS-1$
+			return root;
+		}
+	}
+
+	private static void decodeChildren(DataInputStream in, ModelDelta parent, IMemento document) throws IOException {
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			int flags = in.readInt();
+			int index = in.readInt();
+			int childCount = in.readInt();
+			IMemento memento = document.createChild(readString(in));
+			decodeMemento(in, memento);
+			decodeChildren(in, parent.addNode(memento, index, flags, childCount), document);
+		}
+	}
+
+	private static void decodeMemento(DataInputStream in, IMemento memento) throws IOException {
+		int attributes = in.readInt();
+		for (int i = 0; i < attributes; i++) {
+			memento.putString(readString(in), readString(in));
+		}
+		if (in.readBoolean()) {
+			memento.putTextData(readString(in));
+		}
+		int children = in.readInt();
+		for (int i = 0; i < children; i++) {
+			decodeMemento(in, memento.createChild(readString(in)));
+		}
+	}
+
+	/**
+	 * Writes a string with its length, as strings may be longer than modified
+	 * UTF-8 allows.
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeInt(value.length());
+		out.writeChars(value);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available() / 2) {
+			throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+		}
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = in.readChar();
+		}
+		return new String(chars);
+	}
+}
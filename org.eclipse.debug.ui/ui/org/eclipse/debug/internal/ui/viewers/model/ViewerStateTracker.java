@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2018 Wind River Systems and others.
+ * Copyright (c) 2011, 2026 Wind River Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.ui.viewers.model;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -29,10 +30,12 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
+import org.eclipse.debug.internal.ui.IInternalDebugUIConstants;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementCompareRequest;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementMementoProvider;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IElementMementoRequest;
@@ -115,23 +118,22 @@ class ViewerStateTracker {
 	}
 
 	/**
-	 * LRU cache for viewer states
+	 * Maximum size in bytes of the viewer states saved by one viewer.
 	 */
-	class LRUMap<K, V> extends LinkedHashMap<K, V> {
-		private static final long serialVersionUID = 1L;
+	private static final int MAX_VIEWER_STATES_SIZE = 1024 * 1024;
 
-		private int fMaxSize;
-
-		LRUMap(int maxSize) {
-			super();
-			fMaxSize = maxSize;
-		}
+	/**
+	 * Directory in the plug-in state location where viewer states are
+	 * persisted.
+	 */
+	private static final String VIEWER_STATES_DIRECTORY = "viewerStates"; //$NON-NLS-1$
 
-		@Override
-		protected boolean removeEldestEntry(Entry<K, V> eldest) {
-			return size() > fMaxSize;
-		}
-	}
+	/**
+	 * Files of the viewer states used by the viewers that are not yet
+	 * disposed. Viewers showing the same presentation context use different
+	 * files.
+	 */
+	private static final Set<File> fgViewerStatesFilesInUse = new HashSet<>();
 
 	/**
 	 * Content provider that is using this state tracker.
@@ -143,9 +145,20 @@ class ViewerStateTracker {
 	}
 
 	/**
-	 * Map of viewer states keyed by viewer input mementos
+	 * Viewer states keyed by viewer input mementos, created on first use
+	 */
+	private ViewerStateStore fViewerStates = null;
+
+	/**
+	 * File to persist the viewer states in, chosen on first use
 	 */
-	private Map<String, ModelDelta> fViewerStates = new LRUMap<>(20);
+	private File fViewerStatesFile = null;
+
+	/**
+	 * Whether the content provider was disposed. Saves of viewer states
+	 * which are persisted still complete.
+	 */
+	private boolean fDisposed = false;
 
 	/**
 	 * Pending viewer state to be restored
@@ -212,20 +225,37 @@ class ViewerStateTracker {
 	 */
 	private Map<CompareRequestKey, ElementCompareRequest> fCompareRequestsInProgress = new LinkedHashMap<>();
 
+	/**
+	 * Compare requests not yet sent to their memento provider. The requests
+	 * of each provider are sent together in the next UI cycle.
+	 */
+	private Map<IElementMementoProvider, List<ElementCompareRequest>> fQueuedCompareRequests = new LinkedHashMap<>();
+
 
 	/**
-	 * Cancels pending updates.
+	 * Cancels pending updates. If viewer states are persisted, the state of
+	 * the current input is saved and pending saves are completed before the
+	 * states are written.
 	 */
 	void dispose() {
 		Assert.isTrue( fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
-		for (IElementMementoCollector emc : fPendingStateSaves) {
-			emc.cancel();
+		fQueuedRestore = null;
+		Object input = fContentProvider.getViewer().getInput();
+		if (input != null && getViewerStatesFile() != null) {
+			saveViewerState(input);
+		} else {
+			for (IElementMementoCollector emc : fPendingStateSaves.toArray(new IElementMementoCollector[0])) {
+				emc.cancel();
+			}
 		}
+		fDisposed = true;
 		fStateUpdateListeners.clear();
 		for (ElementCompareRequest ecr : fCompareRequestsInProgress.values()) {
 			ecr.cancel();
 		}
 		fCompareRequestsInProgress.clear();
+		fQueuedCompareRequests.clear();
+		saveViewerStates();
 
 		if (fPendingSetTopItem != null) {
 			fPendingSetTopItem.dispose();
@@ -265,8 +295,7 @@ class ViewerStateTracker {
 						try {
 							keyMemento.save(writer);
 							final String keyMementoString = writer.toString();
-							ModelDelta stateDelta = fViewerStates.get(keyMementoString);
-							if (stateDelta != null) {
+							if (getViewerStates().contains(keyMementoString)) {
 								if (DebugUIPlugin.DEBUG_STATE_SAVE_RESTORE && DebugUIPlugin.DEBUG_TEST_PRESENTATION_ID(fContentProvider.getPresentationContext()))  {
 									DebugUIPlugin.trace("STATE RESTORE INPUT COMARE ENDED : " + fRequest + " - MATCHING STATE FOUND"); //$NON-NLS-1$ //$NON-NLS-2$
 								}
@@ -276,7 +305,7 @@ class ViewerStateTracker {
 								fContentProvider.getViewer().getDisplay().asyncExec(() -> {
 									if (!fContentProvider.isDisposed()
 											&& input.equals(fContentProvider.getViewer().getInput())) {
-										ModelDelta stateDelta2 = fViewerStates.remove(keyMementoString);
+										ModelDelta stateDelta2 = getViewerStates().remove(keyMementoString);
 										if (stateDelta2 != null) {
 											if (DebugUIPlugin.DEBUG_STATE_SAVE_RESTORE
 													&& DebugUIPlugin.DEBUG_TEST_PRESENTATION_ID(
@@ -665,7 +694,7 @@ class ViewerStateTracker {
 
 			@Override
 			public void requestComplete(ElementMementoRequest request) {
-				Assert.isTrue( fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
+				Assert.isTrue( fDisposed || fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
 
 				notifyStateUpdate(input, TreeModelContentProvider.UPDATE_COMPLETE, request);
 				if (DebugUIPlugin.DEBUG_STATE_SAVE_RESTORE && DebugUIPlugin.DEBUG_TEST_PRESENTATION_ID(fContentProvider.getPresentationContext())) {
@@ -683,7 +712,7 @@ class ViewerStateTracker {
 						StringWriter writer = new StringWriter();
 						try {
 							keyMemento.save(writer);
-							fViewerStates.put(writer.toString(), rootDelta);
+							getViewerStates().put(writer.toString(), rootDelta);
 						} catch (IOException e) {
 							DebugUIPlugin.log(e);
 						}
@@ -699,7 +728,7 @@ class ViewerStateTracker {
 
 			@Override
 			public void cancel() {
-				Assert.isTrue( fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
+				Assert.isTrue( fDisposed || fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
 
 				if (fCanceled) {
 					return;
@@ -795,10 +824,14 @@ class ViewerStateTracker {
 	 * @param manager the manager to notify
 	 */
 	private void stateSaveComplete(Object input, IElementMementoCollector manager) {
-		Assert.isTrue( fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
+		Assert.isTrue( fDisposed || fContentProvider.getViewer().getDisplay().getThread() == Thread.currentThread() );
 
 		notifyStateUpdate(input, STATE_SAVE_SEQUENCE_COMPLETE, null);
 		fPendingStateSaves.remove(manager);
+		if (fDisposed) {
+			saveViewerStates();
+			return;
+		}
 		if (fQueuedRestore != null) {
 			Object temp = fQueuedRestore;
 			fQueuedRestore = null;
@@ -978,7 +1011,7 @@ class ViewerStateTracker {
 								DebugUIPlugin.trace("\tSTATE BEGIN: " + compareRequest); //$NON-NLS-1$
 							}
 							notifyStateUpdate(element, TreeModelContentProvider.UPDATE_BEGINS, compareRequest);
-							provider.compareElements(new IElementCompareRequest[] { compareRequest });
+							queueCompareRequest(provider, compareRequest);
 						}
 					}
 				} else if (element.equals(potentialMatch)) {
@@ -1004,6 +1037,105 @@ class ViewerStateTracker {
 		checkIfRestoreComplete();
 	}
 
+	/**
+	 * Queues a compare request to be sent to its provider together with the
+	 * other compare requests of the provider started in this UI cycle.
+	 *
+	 * @param provider the memento provider to compare the element with
+	 * @param request the compare request
+	 */
+	private void queueCompareRequest(IElementMementoProvider provider, ElementCompareRequest request) {
+		if (fQueuedCompareRequests.isEmpty()) {
+			fContentProvider.getViewer().getDisplay().asyncExec(this::sendCompareRequests);
+		}
+		fQueuedCompareRequests.computeIfAbsent(provider, p -> new ArrayList<>()).add(request);
+	}
+
+	/**
+	 * Sends the queued compare requests, one batch per provider. Requests
+	 * canceled in the meantime are sent as well, so that they are completed.
+	 */
+	private void sendCompareRequests() {
+		if (fContentProvider.isDisposed()) {
+			return;
+		}
+		Map<IElementMementoProvider, List<ElementCompareRequest>> queued = fQueuedCompareRequests;
+		fQueuedCompareRequests = new LinkedHashMap<>();
+		for (Entry<IElementMementoProvider, List<ElementCompareRequest>> entry : queued.entrySet()) {
+			List<ElementCompareRequest> requests = entry.getValue();
+			entry.getKey().compareElements(requests.toArray(new IElementCompareRequest[requests.size()]));
+		}
+	}
+
+	/**
+	 * Returns the saved viewer states. If viewer states are persisted, the
+	 * states saved in previous sessions for the presentation context are
+	 * loaded first.
+	 *
+	 * @return the viewer states
+	 */
+	private ViewerStateStore getViewerStates() {
+		if (fViewerStates == null) {
+			fViewerStates = new ViewerStateStore(MAX_VIEWER_STATES_SIZE);
+			File file = getViewerStatesFile();
+			if (file != null) {
+				fViewerStates.load(file);
+			}
+		}
+		return fViewerStates;
+	}
+
+	/**
+	 * Writes the viewer states if they are persisted. Once the content
+	 * provider is disposed and no saves are pending, the file is released for
+	 * other viewers.
+	 */
+	private void saveViewerStates() {
+		File file = fViewerStatesFile;
+		if (fViewerStates != null && file != null) {
+			try {
+				fViewerStates.save(file);
+			} catch (IOException e) {
+				DebugUIPlugin.log(e);
+			}
+		}
+		if (fDisposed && fPendingStateSaves.isEmpty() && file != null) {
+			synchronized (fgViewerStatesFilesInUse) {
+				fgViewerStatesFilesInUse.remove(file);
+			}
+		}
+	}
+
+	/**
+	 * Returns the file to persist the viewer states in. The file is named
+	 * after the presentation context. If another viewer of the same context
+	 * uses that file, a numbered file is used instead.
+	 *
+	 * @return the file to persist the viewer states of the presentation
+	 *         context in or <code>null</code> if viewer states are not
+	 *         persisted
+	 */
+	private File getViewerStatesFile() {
+		if (fViewerStatesFile != null) {
+			return fViewerStatesFile;
+		}
+		DebugUIPlugin plugin = DebugUIPlugin.getDefault();
+		if (fDisposed || plugin == null || !plugin.getPreferenceStore().getBoolean(IInternalDebugUIConstants.PREF_PERSIST_VIEWER_STATES)) {
+			return null;
+		}
+		String name = fContentProvider.getPresentationContext().getId().replaceAll("[^\\w.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+		IPath directory = plugin.getStateLocation().append(VIEWER_STATES_DIRECTORY);
+		synchronized (fgViewerStatesFilesInUse) {
+			File file = directory.append(name + ".dat").toFile(); //$NON-NLS-1$
+			for (int i = 2; fgViewerStatesFilesInUse.contains(file); i++) {
+				file = directory.append(name + '_' + i + ".dat").toFile(); //$NON-NLS-1$
+			}
+			fgViewerStatesFilesInUse.add(file);
+			fViewerStatesFile = file;
+		}
+		return fViewerStatesFile;
+	}
+
 	/**
 	 * Checks whether restoring pending state is already complete.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2013 IBM Corporation and others.
+ * Copyright (c) 2004, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,10 +17,14 @@ package org.eclipse.debug.internal.ui.viewers.model;
 
 import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -59,6 +63,21 @@ import org.eclipse.ui.texteditor.IUpdate;
  */
 public class VirtualFindAction extends Action implements IUpdate {
 
+	/**
+	 * Depth up to which the find action expands elements
+	 */
+	private static final int MAX_DEPTH = 8;
+
+	/**
+	 * Maximum number of elements the find action collects
+	 */
+	private static final int MAX_ITEMS = 10000;
+
+	/**
+	 * Maximum number of elements expanded at the same time
+	 */
+	private static final int MAX_PENDING_EXPANSIONS = 16;
+
 	private TreeModelViewer fClientViewer;
 
 	private static class VirtualViewerListener implements IViewerUpdateListener, ILabelUpdateListener {
@@ -131,6 +150,10 @@ public class VirtualFindAction extends Action implements IUpdate {
 
 		public FindLabelProvider(VirtualTreeModelViewer viewer, List<VirtualItem> items) {
 			fVirtualViewer = viewer;
+			add(items);
+		}
+
+		void add(List<VirtualItem> items) {
 			for (VirtualItem item : items) {
 				fTextCache.put(item, fVirtualViewer.getText(item, 0));
 			}
@@ -147,6 +170,145 @@ public class VirtualFindAction extends Action implements IUpdate {
 		}
 	}
 
+	/**
+	 * Expands the virtual viewer breadth-first while the find dialog is open
+	 * and reports the items found. Items are expanded in waves of at most
+	 * {@link #MAX_PENDING_EXPANSIONS}; the next wave starts once the viewer
+	 * completed all content and label updates of the previous one.
+	 */
+	public static class StreamingSearch implements IViewerUpdateListener, ILabelUpdateListener {
+
+		private final VirtualTreeModelViewer fVirtualViewer;
+		private final Consumer<List<VirtualItem>> fFoundHandler;
+		private final Deque<VirtualItem> fToExpand = new ArrayDeque<>();
+		private final List<VirtualItem> fExpanding = new ArrayList<>();
+		private int fItemCount;
+		private boolean fViewerBusy;
+		private boolean fLabelsBusy;
+		private boolean fCheckPending;
+		private boolean fStopped;
+
+		/**
+		 * @param virtualViewer viewer containing the items
+		 * @param items items realized so far
+		 * @param foundHandler receives the items found by each wave, called
+		 *            in the UI thread
+		 */
+		public StreamingSearch(VirtualTreeModelViewer virtualViewer, List<VirtualItem> items, Consumer<List<VirtualItem>> foundHandler) {
+			fVirtualViewer = virtualViewer;
+			fFoundHandler = foundHandler;
+			fItemCount = items.size();
+			for (VirtualItem item : items) {
+				enqueue(item);
+			}
+		}
+
+		/**
+		 * Starts expanding the viewer once the UI thread is idle.
+		 */
+		public void start() {
+			fVirtualViewer.addViewerUpdateListener(this);
+			fVirtualViewer.addLabelUpdateListener(this);
+			// start once the dialog is open
+			fVirtualViewer.getDisplay().asyncExec(this::expandNext);
+		}
+
+		/**
+		 * Stops expanding the viewer. No more items are reported.
+		 */
+		public void stop() {
+			fStopped = true;
+			fToExpand.clear();
+			fVirtualViewer.removeViewerUpdateListener(this);
+			fVirtualViewer.removeLabelUpdateListener(this);
+		}
+
+		private void enqueue(VirtualItem item) {
+			if (item.hasItems() && !item.getExpanded() && getDepth(item) < MAX_DEPTH) {
+				fToExpand.add(item);
+			}
+		}
+
+		private void expandNext() {
+			fExpanding.clear();
+			while (!fStopped && fExpanding.size() < MAX_PENDING_EXPANSIONS && !fToExpand.isEmpty()) {
+				VirtualItem item = fToExpand.poll();
+				if (!item.isDisposed() && item.hasItems() && !item.getExpanded()) {
+					fExpanding.add(item);
+					fVirtualViewer.expandToLevel(getTreePath(item), 1);
+				}
+			}
+			if (!fExpanding.isEmpty()) {
+				scheduleCheck();
+			}
+		}
+
+		private void scheduleCheck() {
+			if (fCheckPending || fStopped) {
+				return;
+			}
+			fCheckPending = true;
+			fVirtualViewer.getDisplay().asyncExec(() -> {
+				fCheckPending = false;
+				if (!fStopped && !fViewerBusy && !fLabelsBusy) {
+					expansionsComplete();
+				}
+			});
+		}
+
+		private void expansionsComplete() {
+			List<VirtualItem> found = new ArrayList<>();
+			for (VirtualItem item : fExpanding) {
+				if (item.isDisposed()) {
+					continue;
+				}
+				for (VirtualItem child : item.getItems()) {
+					if (fItemCount >= MAX_ITEMS) {
+						fToExpand.clear();
+						break;
+					}
+					if (!child.needsLabelUpdate()) {
+						found.add(child);
+						fItemCount++;
+						enqueue(child);
+					}
+				}
+			}
+			if (!found.isEmpty()) {
+				fFoundHandler.accept(found);
+			}
+			expandNext();
+		}
+
+		@Override
+		public void labelUpdateStarted(ILabelUpdate update) {}
+		@Override
+		public void labelUpdateComplete(ILabelUpdate update) {}
+		@Override
+		public void labelUpdatesBegin() {
+			fLabelsBusy = true;
+		}
+		@Override
+		public void labelUpdatesComplete() {
+			fLabelsBusy = false;
+			scheduleCheck();
+		}
+
+		@Override
+		public void updateStarted(IViewerUpdate update) {}
+		@Override
+		public void updateComplete(IViewerUpdate update) {}
+		@Override
+		public void viewerUpdatesBegin() {
+			fViewerBusy = true;
+		}
+		@Override
+		public void viewerUpdatesComplete() {
+			fViewerBusy = false;
+			scheduleCheck();
+		}
+	}
+
 	public VirtualFindAction(TreeModelViewer viewer) {
 		fClientViewer = viewer;
 
@@ -211,19 +373,20 @@ public class VirtualFindAction extends Action implements IUpdate {
 			return;
 		}
 
+		virtualViewer.removeLabelUpdateListener(listener);
+		virtualViewer.removeViewerUpdateListener(listener);
+
 		VirtualItem root = virtualViewer.getTree();
 		if (!monitor.isCanceled()) {
 			List<VirtualItem> list = new ArrayList<>();
 			collectAllChildren(root, list);
 			FindLabelProvider labelProvider = new FindLabelProvider(virtualViewer, list);
-			VirtualItem result = performFind(list, labelProvider);
+			VirtualItem result = performFind(virtualViewer, list, labelProvider);
 			if (result != null) {
 				setSelectionToClient(virtualViewer, labelProvider, result);
 			}
 		}
 
-		virtualViewer.removeLabelUpdateListener(listener);
-		virtualViewer.removeViewerUpdateListener(listener);
 		virtualViewer.dispose();
 	}
 
@@ -253,22 +416,57 @@ public class VirtualFindAction extends Action implements IUpdate {
 		}
 	}
 
-	protected VirtualItem performFind(List<VirtualItem> items, FindLabelProvider labelProvider) {
+	/**
+	 * Opens the find dialog with the given items. While the dialog is open,
+	 * the virtual viewer is expanded further and the items found are added to
+	 * the dialog.
+	 *
+	 * @param virtualViewer viewer containing the items
+	 * @param items items realized so far
+	 * @param labelProvider label provider for the items
+	 * @return the selected item or <code>null</code>
+	 */
+	protected VirtualItem performFind(VirtualTreeModelViewer virtualViewer, List<VirtualItem> items, FindLabelProvider labelProvider) {
 		FindElementDialog dialog = new FindElementDialog(
 			fClientViewer.getControl().getShell(),
 			labelProvider,
 			items.toArray());
 		dialog.setTitle(ActionMessages.FindDialog_3);
 		dialog.setMessage(ActionMessages.FindDialog_1);
-		if (dialog.open() == Window.OK) {
-			Object[] elements = dialog.getResult();
-			if (elements.length == 1) {
-				return (VirtualItem)elements[0];
+		StreamingSearch search = new StreamingSearch(virtualViewer, items, found -> {
+			labelProvider.add(found);
+			dialog.addElements(found.toArray());
+		});
+		search.start();
+		try {
+			if (dialog.open() == Window.OK) {
+				Object[] elements = dialog.getResult();
+				if (elements.length == 1) {
+					return (VirtualItem)elements[0];
+				}
 			}
+		} finally {
+			search.stop();
 		}
 		return null;
 	}
 
+	private static int getDepth(VirtualItem item) {
+		int depth = 0;
+		for (VirtualItem parent = item.getParent(); parent != null; parent = parent.getParent()) {
+			depth++;
+		}
+		return depth;
+	}
+
+	private static TreePath getTreePath(VirtualItem item) {
+		LinkedList<Object> segments = new LinkedList<>();
+		for (VirtualItem current = item; current.getParent() != null; current = current.getParent()) {
+			segments.addFirst(current.getData());
+		}
+		return new TreePath(segments.toArray());
+	}
+
 	protected void setSelectionToClient(VirtualTreeModelViewer virtualViewer, ILabelProvider labelProvider, VirtualItem findItem) {
 		virtualViewer.getTree().setSelection(new VirtualItem[] { findItem } );
 		ModelDelta stateDelta = new ModelDelta(virtualViewer.getInput(), IModelDelta.NO_CHANGE);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,9 +16,16 @@ package org.eclipse.debug.internal.ui.views.breakpoints;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -34,6 +41,7 @@ import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationCont
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.ModelDelta;
 import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.ui.IWorkingSet;
 
 /**
  * This class contains the list of container or a list of breakpoint, elements are sorted according to rules
@@ -45,11 +53,21 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 	 */
 	final private List<IBreakpoint> fBreakpoints = new ArrayList<>();
 
+	/**
+	 * The child breakpoints for fast lookup, always has the same content as fBreakpoints
+	 */
+	final private Set<IBreakpoint> fBreakpointSet = new HashSet<>();
+
 	/**
 	 * Child containers - inserting new element into this container should use the insertChildContainer method
 	 */
 	final private List<BreakpointContainer> fChildContainers = new ArrayList<>();
 
+	/**
+	 * Child containers by category, always has the same content as fChildContainers
+	 */
+	final private Map<IAdaptable, BreakpointContainer> fContainersByCategory = new HashMap<>();
+
 	/**
 	 * The category for this container
 	 */
@@ -132,7 +150,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 			IAdaptable[] emptyCategories = fNesting[0].getCategories();
 			if (emptyCategories != null) {
 				for (IAdaptable category : emptyCategories) {
-					BreakpointContainer container = findExistingContainer(fChildContainers, category);
+					BreakpointContainer container = findChildContainer(category);
 					if (container == null) {
 						IBreakpointOrganizer[] siblings = new IBreakpointOrganizer[fNesting.length - 1];
 						System.arraycopy(fNesting, 1, siblings, 0, siblings.length);
@@ -156,7 +174,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 	 * @return the index of the breakpoint in the cache, -1 if the breakpoint already exist
 	 */
 	private int insertBreakpoint(IBreakpoint breakpoint) {
-		if (fBreakpoints.contains(breakpoint) || breakpoint == null) {
+		if (breakpoint == null || !fBreakpointSet.add(breakpoint)) {
 			return -1;
 		}
 		int index = fBreakpoints.size();
@@ -190,10 +208,24 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 			index = 0;
 		}
 		fChildContainers.add(index, container);
+		if (container.getCategory() != null) {
+			fContainersByCategory.put(container.getCategory(), container);
+		}
 
 		return index;
 	}
 
+	/**
+	 * Removes the child container from the category index.
+	 *
+	 * @param container the removed child container
+	 */
+	private void childContainerRemoved(BreakpointContainer container) {
+		if (container.getCategory() != null) {
+			fContainersByCategory.remove(container.getCategory(), container);
+		}
+	}
+
 
 	/**
 	 * Returns the element comparator.
@@ -238,14 +270,18 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 	}
 
 	/**
-	 * Find existing breakpoint container in the container array the given category.
+	 * Find the existing child container for the given category.
 	 *
-	 * @param containers the container array
 	 * @param category the category
 	 * @return the breakpoint container, can be <code>null</code>.
 	 */
-	private static BreakpointContainer findExistingContainer(List<BreakpointContainer> containers, IAdaptable category) {
-		for (BreakpointContainer c : containers) {
+	private BreakpointContainer findChildContainer(IAdaptable category) {
+		BreakpointContainer container = fContainersByCategory.get(category);
+		if (container != null) {
+			return container;
+		}
+		// categories are not required to implement hashCode()
+		for (BreakpointContainer c : fChildContainers) {
 			if (category.equals(c.getCategory())) {
 				return c;
 			}
@@ -277,7 +313,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 			// get the breakpoint categories from the organizer
 			for (IAdaptable category : getCategories(breakpoint, organizer)) {
 				ModelDelta childDelta = null;
-				BreakpointContainer container = findExistingContainer(fChildContainers, category);
+				BreakpointContainer container = findChildContainer(category);
 
 				// create a new container if it doesn't exist
 				if (container == null) {
@@ -320,9 +356,10 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 	 * @see #addBreakpoint
 	 */
 	public boolean removeBreakpoint(IBreakpoint breakpoint, ModelDelta rootDelta) {
-		boolean removed = fBreakpoints.remove(breakpoint);
+		boolean removed = fBreakpointSet.remove(breakpoint);
 
 		if (removed) {
+			fBreakpoints.remove(breakpoint);
 			boolean addRemoveBpDelta = getContainers().length == 0;
 
 			Iterator<BreakpointContainer> it = fChildContainers.iterator();
@@ -332,8 +369,9 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 				// than remove the container from the collection
 				if (container.contains(breakpoint)) {
 					ModelDelta childDelta = null;
-					if ((!container.isDefaultContainer()) && (container.getBreakpoints().length <= 1)) {
+					if ((!container.isDefaultContainer()) && (container.fBreakpoints.size() <= 1)) {
 						it.remove();
+						childContainerRemoved(container);
 						childDelta = rootDelta.addNode(container, IModelDelta.REMOVED|IModelDelta.UNINSTALL);
 
 					} else {
@@ -351,6 +389,198 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 		return removed;
 	}
 
+	/**
+	 * Brings this root container in line with the given breakpoints and the
+	 * current categories of its organizers. Breakpoints whose categories did
+	 * not change stay where they are, so only the differences are reported in
+	 * the delta.
+	 *
+	 * @param breakpoints all breakpoints the container should contain
+	 * @param rootDelta the root delta of this container
+	 * @return the first breakpoint that was added or moved to another
+	 *         container, or <code>null</code> if there is none
+	 */
+	public IBreakpoint updateBreakpoints(IBreakpoint[] breakpoints, ModelDelta rootDelta) {
+		return updateCategory(breakpoints, null, null, rootDelta);
+	}
+
+	/**
+	 * Brings this root container in line with the given breakpoints after an
+	 * organizer reported a category change. Only the levels organized by that
+	 * organizer are re-categorized. If the category names its breakpoints, as
+	 * the categories of breakpoint working sets do, only the breakpoints in the
+	 * category before or after the change are re-categorized.
+	 *
+	 * @param breakpoints all breakpoints the container should contain
+	 * @param organizer the source of the category change event, or
+	 *            <code>null</code> to re-categorize all levels
+	 * @param category the changed category, or <code>null</code> if unknown
+	 * @param rootDelta the root delta of this container
+	 * @return the first breakpoint that was added or moved to another
+	 *         container, or <code>null</code> if there is none
+	 */
+	public IBreakpoint updateCategory(IBreakpoint[] breakpoints, Object organizer, IAdaptable category, ModelDelta rootDelta) {
+		initDefaultContainers(rootDelta);
+
+		Set<IBreakpoint> target = new LinkedHashSet<>(Arrays.asList(breakpoints));
+		for (IBreakpoint breakpoint : getBreakpoints()) {
+			if (!target.contains(breakpoint)) {
+				removeBreakpoint(breakpoint, rootDelta);
+			}
+		}
+
+		Set<IBreakpoint> moved = new HashSet<>();
+		collectMovedBreakpoints(getCategoryBreakpoints(organizer, category), organizer, moved);
+		for (IBreakpoint breakpoint : moved) {
+			removeBreakpoint(breakpoint, rootDelta);
+		}
+
+		IBreakpoint added = null;
+		for (IBreakpoint breakpoint : target) {
+			if (!contains(breakpoint)) {
+				addBreakpoint(breakpoint, rootDelta);
+				if (added == null) {
+					added = breakpoint;
+				}
+			}
+		}
+
+		// drop empty containers of categories the organizer no longer offers
+		if (hasNesting()) {
+			IAdaptable[] categories = fNesting[0].getCategories();
+			List<IAdaptable> defaultCategories = categories == null ? Collections.emptyList() : Arrays.asList(categories);
+			Iterator<BreakpointContainer> it = fChildContainers.iterator();
+			while (it.hasNext()) {
+				BreakpointContainer container = it.next();
+				if (container.fBreakpoints.isEmpty() && !defaultCategories.contains(container.getCategory())) {
+					it.remove();
+					childContainerRemoved(container);
+					rootDelta.addNode(container, IModelDelta.REMOVED | IModelDelta.UNINSTALL);
+				}
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Returns the breakpoints of this container which may have changed their
+	 * categories. These are the breakpoints in the containers of a breakpoint
+	 * working set category and the members of that working set. For other
+	 * categories all breakpoints are returned.
+	 *
+	 * @param organizer the source of the category change event or
+	 *            <code>null</code>
+	 * @param category the changed category or <code>null</code>
+	 * @return the breakpoints to re-categorize
+	 */
+	private Collection<IBreakpoint> getCategoryBreakpoints(Object organizer, IAdaptable category) {
+		if (organizer == null || !(category instanceof WorkingSetCategory)) {
+			return new ArrayList<>(fBreakpoints);
+		}
+		IWorkingSet workingSet = ((WorkingSetCategory) category).getWorkingSet();
+		if (!IDebugUIConstants.BREAKPOINT_WORKINGSET_ID.equals(workingSet.getId())) {
+			return new ArrayList<>(fBreakpoints);
+		}
+		Set<IBreakpoint> breakpoints = new LinkedHashSet<>();
+		collectCategoryBreakpoints(organizer, category, breakpoints);
+		for (IAdaptable element : workingSet.getElements()) {
+			IBreakpoint breakpoint = element.getAdapter(IBreakpoint.class);
+			if (breakpoint != null && contains(breakpoint)) {
+				breakpoints.add(breakpoint);
+			}
+		}
+		return breakpoints;
+	}
+
+	/**
+	 * Collects the breakpoints of the containers of a category at the levels
+	 * organized by the given organizer.
+	 *
+	 * @param organizer the source of the category change event
+	 * @param category the category
+	 * @param breakpoints collects the breakpoints
+	 */
+	private void collectCategoryBreakpoints(Object organizer, IAdaptable category, Set<IBreakpoint> breakpoints) {
+		if (!hasNesting()) {
+			return;
+		}
+		if (isOrganizer(fNesting[0], organizer)) {
+			BreakpointContainer container = findChildContainer(category);
+			if (container != null) {
+				breakpoints.addAll(container.fBreakpoints);
+			}
+		}
+		for (BreakpointContainer container : fChildContainers) {
+			container.collectCategoryBreakpoints(organizer, category, breakpoints);
+		}
+	}
+
+	/**
+	 * Collects the breakpoints whose categories differ from the child
+	 * containers they are in, at this or any nested level. Categories are only
+	 * computed at levels organized by the given organizer.
+	 *
+	 * @param breakpoints breakpoints of this container to check
+	 * @param organizer the source of the category change event, or
+	 *            <code>null</code> for all organizers
+	 * @param moved collects the breakpoints that need to be re-added
+	 */
+	private void collectMovedBreakpoints(Collection<IBreakpoint> breakpoints, Object organizer, Set<IBreakpoint> moved) {
+		if (!hasNesting() || breakpoints.isEmpty()) {
+			return;
+		}
+		boolean recategorize = organizer == null || isOrganizer(fNesting[0], organizer);
+		Map<BreakpointContainer, List<IBreakpoint>> nested = new IdentityHashMap<>();
+		for (IBreakpoint breakpoint : breakpoints) {
+			if (moved.contains(breakpoint)) {
+				continue;
+			}
+			Set<BreakpointContainer> current = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (BreakpointContainer container : fChildContainers) {
+				if (container.fBreakpointSet.contains(breakpoint)) {
+					current.add(container);
+				}
+			}
+			if (recategorize) {
+				Set<BreakpointContainer> expected = Collections.newSetFromMap(new IdentityHashMap<>());
+				for (IAdaptable category : getCategories(breakpoint, fNesting[0])) {
+					BreakpointContainer container = findChildContainer(category);
+					if (container == null) {
+						expected = null;
+						break;
+					}
+					expected.add(container);
+				}
+				if (expected == null || !expected.equals(current)) {
+					moved.add(breakpoint);
+					continue;
+				}
+			}
+			for (BreakpointContainer container : current) {
+				nested.computeIfAbsent(container, c -> new ArrayList<>()).add(breakpoint);
+			}
+		}
+		for (Map.Entry<BreakpointContainer, List<IBreakpoint>> entry : nested.entrySet()) {
+			entry.getKey().collectMovedBreakpoints(entry.getValue(), organizer, moved);
+		}
+	}
+
+	/**
+	 * Checks whether an organizer is the source of a category change event.
+	 * Organizer extensions forward the listeners to their delegates, so the
+	 * delegate is the source of their events.
+	 *
+	 * @param organizer the organizer of a level
+	 * @param source the source of the event
+	 * @return <code>true</code> if the organizer fired the event
+	 */
+	private static boolean isOrganizer(IBreakpointOrganizer organizer, Object source) {
+		if (organizer == source) {
+			return true;
+		}
+		return organizer instanceof BreakpointOrganizerExtension && ((BreakpointOrganizerExtension) organizer).getOrganizer() == source;
+	}
+
 	/**
 	 * A helper method to copy the organizers between two containers.
 	 *
@@ -372,9 +602,12 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 	 */
 	private static void updateSelfAndAncestorsBreakpointCache(BreakpointContainer container, List<IBreakpoint> breakpoints, boolean add) {
 		if (container != null) {
-			container.fBreakpoints.removeAll(breakpoints);
+			Set<IBreakpoint> lookup = new HashSet<>(breakpoints);
+			container.fBreakpoints.removeIf(lookup::contains);
+			container.fBreakpointSet.removeAll(lookup);
 			if (add) {
 				container.fBreakpoints.addAll(breakpoints);
+				container.fBreakpointSet.addAll(lookup);
 			}
 			updateSelfAndAncestorsBreakpointCache(container.getParent(), breakpoints, add);
 		}
@@ -467,6 +700,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 		BreakpointContainer parent = container.getParent();
 		if (parent != null) {
 			parent.fChildContainers.remove(container);
+			parent.childContainerRemoved(container);
 			delta = delta.addNode(container, IModelDelta.UNINSTALL|IModelDelta.REMOVED);
 		}
 
@@ -479,6 +713,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 				delta.addNode(obj, IModelDelta.UNINSTALL|IModelDelta.REMOVED);
 				iterator.remove();
 			}
+			container.fBreakpointSet.clear();
 
 			// remove the breakpoints from the parent containers.
 			updateSelfAndAncestorsBreakpointCache(container.getParent(), breakpoints, false);
@@ -490,6 +725,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 			BreakpointContainer childContainer = iterator.next();
 			ModelDelta childDelta = delta.addNode(childContainer, IModelDelta.REMOVED|IModelDelta.UNINSTALL);
 			iterator.remove();
+			container.childContainerRemoved(childContainer);
 			removeAll(childContainer, childDelta);
 		}
 	}
@@ -575,7 +811,7 @@ public class BreakpointContainer extends ElementContentProvider implements IAdap
 	 */
 	@Override
 	public boolean contains(IBreakpoint breakpoint) {
-		return fBreakpoints.contains(breakpoint);
+		return fBreakpointSet.contains(breakpoint);
 	}
 
 	/**
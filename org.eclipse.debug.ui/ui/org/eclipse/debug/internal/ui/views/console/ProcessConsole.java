@@ -25,6 +25,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.text.DateFormat;
 import java.text.MessageFormat;
@@ -54,7 +56,7 @@ import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugPlugin;
-import org.eclipse.debug.core.IBinaryStreamListener;
+import org.eclipse.debug.core.IByteBufferStreamListener;
 import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationType;
@@ -111,6 +113,11 @@ import org.eclipse.ui.progress.UIJob;
 public class ProcessConsole extends IOConsole implements IConsole, IDebugEventSetListener, IPropertyChangeListener {
 	private IProcess fProcess = null;
 
+	/**
+	 * Kinds of debug events of the console's process this console listens to.
+	 */
+	private static final int PROCESS_EVENTS = DebugEvent.RESUME | DebugEvent.SUSPEND | DebugEvent.CREATE | DebugEvent.TERMINATE | DebugEvent.CHANGE | DebugEvent.MODEL_SPECIFIC;
+
 	private List<StreamListener> fStreamListeners = new ArrayList<>();
 
 	private IConsoleColorProvider fColorProvider;
@@ -555,7 +562,7 @@ public class ProcessConsole extends IOConsole implements IConsole, IDebugEventSe
 	@Override
 	protected void init() {
 		super.init();
-		DebugPlugin.getDefault().addDebugEventListener(this);
+		DebugPlugin.getDefault().addDebugEventListener(this, PROCESS_EVENTS, fProcess);
 		if (fProcess.isTerminated()) {
 			closeStreams();
 			resetName();
@@ -722,7 +729,7 @@ public class ProcessConsole extends IOConsole implements IConsole, IDebugEventSe
 	 * Received output will be redirected to given {@link IOConsoleOutputStream} to
 	 * get it shown in console and to {@link #fFileOutputStream} if set.
 	 */
-	private class StreamListener implements IStreamListener, IBinaryStreamListener {
+	private class StreamListener implements IStreamListener, IByteBufferStreamListener {
 
 		private IOConsoleOutputStream fStream;
 
@@ -787,11 +794,14 @@ public class ProcessConsole extends IOConsole implements IConsole, IDebugEventSe
 		}
 
 		@Override
-		public void streamAppended(byte[] data, IBinaryStreamMonitor monitor) {
+		public void streamAppended(ByteBuffer data, IBinaryStreamMonitor monitor) {
 			if (fFileOutputStream != null) {
 				synchronized (fFileOutputStream) {
 					try {
-						fFileOutputStream.write(data);
+						FileChannel channel = fFileOutputStream.getChannel();
+						while (data.hasRemaining()) {
+							channel.write(data);
+						}
 					} catch (IOException e) {
 						DebugUIPlugin.log(e);
 					}
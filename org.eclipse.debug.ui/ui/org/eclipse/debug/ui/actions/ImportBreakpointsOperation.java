@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2018 IBM Corporation and others.
+ * Copyright (c) 2005, 2020 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,14 +26,18 @@ import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
@@ -83,6 +87,30 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 
 	private boolean fImportBreakpoints = true;
 
+	/**
+	 * Existing breakpoints by marker type in the order of the breakpoint
+	 * manager, or <code>null</code> if not collected yet.
+	 */
+	private Map<String, List<IBreakpoint>> fExistingByType = null;
+
+	/**
+	 * The first existing breakpoint by marker type and line number, or
+	 * <code>null</code> if not collected yet.
+	 */
+	private Map<String, Map<Object, IBreakpoint>> fExistingByLine = null;
+
+	/**
+	 * Elements of the working sets touched by this operation, or
+	 * <code>null</code> if none was touched yet. They are applied to the
+	 * working sets once all breakpoints are restored.
+	 */
+	private Map<IWorkingSet, Set<IAdaptable>> fWorkingSetElements = null;
+
+	/**
+	 * Working sets whose elements were changed by this operation.
+	 */
+	private Set<IWorkingSet> fChangedWorkingSets = new LinkedHashSet<>();
+
 	/**
 	 * Constructs an operation to import breakpoints.
 	 *
@@ -178,50 +206,26 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 				}
 			}
 			IMemento[] nodes = memento.getChildren(IImportExportConstants.IE_NODE_BREAKPOINT);
-			IWorkspaceRoot workspace = ResourcesPlugin.getWorkspace().getRoot();
 			localmonitor.setWorkRemaining(nodes.length);
-			Map<String, Object> attributes = null;
-			IBreakpointImportParticipant[] participants = null;
-			for (IMemento node : nodes) {
-				if(localmonitor.isCanceled()) {
-					return;
-				}
-				attributes = collectBreakpointProperties(node);
-				if(attributes == null) {
-					continue;
-				}
-				IResource resource;
-				if(fImportBreakpoints) {
-					resource = workspace.findMember((String) attributes.get(IImportExportConstants.IE_NODE_PATH));
-				} else {
-					resource = workspace;
-				}
-				// filter resource breakpoints that do not exist in this workspace
-				if(resource != null) {
-					try {
-						participants = fManager.getImportParticipants((String) attributes.get(IImportExportConstants.IE_NODE_TYPE));
-					}
-					catch(CoreException ce) {}
-					IMarker marker = findExistingMarker(attributes, participants);
-					if(marker == null) {
-						marker = resource.createMarker((String) attributes.get(IImportExportConstants.IE_NODE_TYPE));
-						restoreBreakpoint(marker, attributes, participants);
-					}
-					else {
-						if(fOverwriteAll) {
-							if(!fImportBreakpoints) {
-								marker = resource.createMarker((String) attributes.get(IImportExportConstants.IE_NODE_TYPE));
-							} else {
-								marker.setAttributes(null);
-							}
-							restoreBreakpoint(marker, attributes, participants);
-						}
-					}
-				}
-				fCurrentWorkingSetProperty = null;
-				localmonitor.worked(1);
+			fExistingByType = null;
+			fExistingByLine = null;
+			fWorkingSetElements = null;
+			fChangedWorkingSets.clear();
+			// create all markers in one workspace operation, so breakpoint
+			// listeners see one resource delta instead of one per marker
+			boolean[] canceled = new boolean[1];
+			IWorkspace workspace = ResourcesPlugin.getWorkspace();
+			IWorkspaceRunnable runnable = m -> canceled[0] = !restoreBreakpoints(nodes, localmonitor);
+			try {
+				workspace.run(runnable, workspace.getRoot(), IWorkspace.AVOID_UPDATE, null);
+			} finally {
+				applyWorkingSets();
+			}
+			if (canceled[0]) {
+				return;
 			}
 			if(fAdded.size() > 0 && fImportBreakpoints) {
+				// registers all breakpoints with a single add notification
 				fManager.addBreakpoints(fAdded.toArray(new IBreakpoint[fAdded.size()]));
 			}
 		}
@@ -234,6 +238,60 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 		}
 	}
 
+	/**
+	 * Restores the breakpoints described by the given mementos.
+	 *
+	 * @param nodes the breakpoint mementos
+	 * @param monitor progress monitor, one unit of work per memento
+	 * @return <code>false</code> if the operation was canceled
+	 * @throws CoreException if a marker cannot be created
+	 */
+	private boolean restoreBreakpoints(IMemento[] nodes, SubMonitor monitor) throws CoreException {
+		IWorkspaceRoot workspace = ResourcesPlugin.getWorkspace().getRoot();
+		Map<String, Object> attributes = null;
+		IBreakpointImportParticipant[] participants = null;
+		for (IMemento node : nodes) {
+			if(monitor.isCanceled()) {
+				return false;
+			}
+			attributes = collectBreakpointProperties(node);
+			if(attributes == null) {
+				continue;
+			}
+			IResource resource;
+			if(fImportBreakpoints) {
+				resource = workspace.findMember((String) attributes.get(IImportExportConstants.IE_NODE_PATH));
+			} else {
+				resource = workspace;
+			}
+			// filter resource breakpoints that do not exist in this workspace
+			if(resource != null) {
+				try {
+					participants = fManager.getImportParticipants((String) attributes.get(IImportExportConstants.IE_NODE_TYPE));
+				}
+				catch(CoreException ce) {}
+				IMarker marker = findExistingMarker(attributes, participants);
+				if(marker == null) {
+					marker = resource.createMarker((String) attributes.get(IImportExportConstants.IE_NODE_TYPE));
+					restoreBreakpoint(marker, attributes, participants);
+				}
+				else {
+					if(fOverwriteAll) {
+						if(!fImportBreakpoints) {
+							marker = resource.createMarker((String) attributes.get(IImportExportConstants.IE_NODE_TYPE));
+						} else {
+							marker.setAttributes(null);
+						}
+						restoreBreakpoint(marker, attributes, participants);
+					}
+				}
+			}
+			fCurrentWorkingSetProperty = null;
+			monitor.worked(1);
+		}
+		return true;
+	}
+
 	/**
 	 * Returns a marker backing an existing breakpoint based on the given set of breakpoint attributes
 	 * @param attributes the map of attributes to compare for marker equality
@@ -242,8 +300,26 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 	 * @since 3.5
 	 */
 	protected IMarker findExistingMarker(Map<String, Object> attributes, IBreakpointImportParticipant[] participants) {
-		IBreakpoint[] bps = fManager.getBreakpoints();
-		for (IBreakpoint bp : bps) {
+		if (fExistingByType == null) {
+			collectExistingBreakpoints();
+		}
+		String type = (String) attributes.get(IImportExportConstants.IE_NODE_TYPE);
+		if (participants.length == 1 && participants[0] instanceof BreakpointManager.DefaultImportParticipant) {
+			// the default participant matches the first breakpoint of the same
+			// marker type and line number
+			IBreakpoint bp = null;
+			Object line = attributes.get(IMarker.LINE_NUMBER);
+			if (line == null) {
+				List<IBreakpoint> bps = fExistingByType.get(type);
+				bp = bps == null ? null : bps.get(0);
+			} else {
+				Map<Object, IBreakpoint> bps = fExistingByLine.get(type);
+				bp = bps == null ? null : bps.get(line);
+			}
+			return bp == null ? null : bp.getMarker();
+		}
+		// participants only match breakpoints of the imported marker type
+		for (IBreakpoint bp : fExistingByType.getOrDefault(type, Collections.emptyList())) {
 			for (IBreakpointImportParticipant participant : participants) {
 				try {
 					if (participant.matches(attributes, bp)) {
@@ -255,6 +331,28 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 		return null;
 	}
 
+	/**
+	 * Hashes the breakpoints of the breakpoint manager by marker type and line
+	 * number. Breakpoints whose marker cannot be read are never matched, like
+	 * when participants fail to compare them.
+	 */
+	private void collectExistingBreakpoints() {
+		fExistingByType = new HashMap<>();
+		fExistingByLine = new HashMap<>();
+		for (IBreakpoint bp : fManager.getBreakpoints()) {
+			IMarker marker = bp.getMarker();
+			try {
+				String type = marker.getType();
+				Object line = marker.getAttribute(IMarker.LINE_NUMBER);
+				fExistingByType.computeIfAbsent(type, t -> new ArrayList<>()).add(bp);
+				if (line != null) {
+					fExistingByLine.computeIfAbsent(type, t -> new HashMap<>()).putIfAbsent(line, bp);
+				}
+			} catch (CoreException ce) {
+			}
+		}
+	}
+
 	/**
 	 * Collects all of the properties for a breakpoint from the memento describing it.
 	 * The values in the map will be one of:
@@ -327,11 +425,16 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 	 * @since 3.5
 	 */
 	protected void restoreBreakpoint(IMarker marker, final Map<String, Object> attributes, IBreakpointImportParticipant[] participants) {
-		for (Entry<String, Object> entry : attributes.entrySet()) {
-			try {
-				marker.setAttribute(entry.getKey(), entry.getValue());
-			} catch (CoreException ce) {
-			}
+		try {
+			marker.setAttributes(attributes.keySet().toArray(new String[attributes.size()]), attributes.values().toArray());
+		} catch (CoreException e) {
+			// set the attributes one by one to restore as many as possible
+			attributes.forEach((name, value) -> {
+				try {
+					marker.setAttribute(name, value);
+				} catch (CoreException ce) {
+				}
+			});
 		}
 		IBreakpoint breakpoint = null;
 		try {
@@ -384,20 +487,14 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 				set.setId(IDebugUIConstants.BREAKPOINT_WORKINGSET_ID);
 				mgr.addWorkingSet(set);
 			}
-			if(!sets.contains(set)) {
-				IAdaptable[] elements = set.getElements();
-				IAdaptable[] newElements = new IAdaptable[elements.length + 1];
-				newElements[newElements.length - 1] = breakpoint;
-				System.arraycopy(elements, 0, newElements, 0, elements.length);
-				set.setElements(newElements);
+			if(!sets.contains(set) && getWorkingSetElements(set).add(breakpoint)) {
+				fChangedWorkingSets.add(set);
 			}
 			sets.remove(set);
 		}
-		ArrayList<IAdaptable> items = null;
 		for (IWorkingSet set : sets) {
-			items = new ArrayList<>(Arrays.asList(set.getElements()));
-			if(items.remove(breakpoint)) {
-				set.setElements(items.toArray(new IAdaptable[items.size()]));
+			if(getWorkingSetElements(set).remove(breakpoint)) {
+				fChangedWorkingSets.add(set);
 			}
 		}
 	}
@@ -414,26 +511,36 @@ public class ImportBreakpointsOperation implements IRunnableWithProgress {
 		IWorkingSetManager mgr = PlatformUI.getWorkbench().getWorkingSetManager();
 		IWorkingSet[] sets = mgr.getWorkingSets();
 		for (IWorkingSet set : sets) {
-			if (IDebugUIConstants.BREAKPOINT_WORKINGSET_ID.equals(set.getId()) && containsBreakpoint(set, breakpoint)) {
+			if (IDebugUIConstants.BREAKPOINT_WORKINGSET_ID.equals(set.getId()) && getWorkingSetElements(set).contains(breakpoint)) {
 				collector.add(set);
 			}
 		}
 	}
 
 	/**
-	 * Method to ensure markers and breakpoints are not both added to the working set
-	 * @param set the set to check
-	 * @param breakpoint the breakpoint to check for existence
-	 * @return true if it is present false otherwise
+	 * Returns the elements of the given working set including the changes made
+	 * by this operation so far.
+	 *
+	 * @param set the working set
+	 * @return the modifiable elements of the working set
 	 */
-	private boolean containsBreakpoint(IWorkingSet set, IBreakpoint breakpoint) {
-		IAdaptable[] elements = set.getElements();
-		for (IAdaptable element : elements) {
-			if (element.equals(breakpoint)) {
-				return true;
-			}
+	private Set<IAdaptable> getWorkingSetElements(IWorkingSet set) {
+		if (fWorkingSetElements == null) {
+			fWorkingSetElements = new HashMap<>();
+		}
+		return fWorkingSetElements.computeIfAbsent(set, s -> new LinkedHashSet<>(Arrays.asList(s.getElements())));
+	}
+
+	/**
+	 * Writes the elements changed by this operation back to the working sets.
+	 */
+	private void applyWorkingSets() {
+		for (IWorkingSet set : fChangedWorkingSets) {
+			Set<IAdaptable> elements = fWorkingSetElements.get(set);
+			set.setElements(elements.toArray(new IAdaptable[elements.size()]));
 		}
-		return false;
+		fChangedWorkingSets.clear();
+		fWorkingSetElements = null;
 	}
 
 	/**
@@ -253,6 +253,38 @@ public class IOConsole extends TextConsole {
 		partitioner.setWaterMarks(low, high);
 	}
 
+	/**
+	 * Returns whether content exceeding the high water mark is moved to disk
+	 * instead of being discarded.
+	 *
+	 * @return <code>true</code> if content exceeding the high water mark is moved
+	 *         to disk
+	 * @since 3.12
+	 */
+	public boolean isSpillToDisk() {
+		return partitioner.isSpillToDisk();
+	}
+
+	/**
+	 * Sets whether content exceeding the high water mark is moved to a temporary
+	 * file instead of being discarded. If enabled the water marks only limit the
+	 * number of characters this console keeps in memory. Older content remains
+	 * part of the document and is read back from disk when it is displayed or
+	 * searched.
+	 * <p>
+	 * Only the text is moved to disk. The line information and the partitions of
+	 * the document stay in memory, so memory use still grows with the number of
+	 * lines and of switches between output streams.
+	 * </p>
+	 *
+	 * @param spill <code>true</code> to move content exceeding the high water mark
+	 *              to disk, <code>false</code> to trim it
+	 * @since 3.12
+	 */
+	public void setSpillToDisk(boolean spill) {
+		partitioner.setSpillToDisk(spill);
+	}
+
 	/**
 	 * Check if all streams connected to this console are closed. If so,
 	 * notify the partitioner that this console is finished.
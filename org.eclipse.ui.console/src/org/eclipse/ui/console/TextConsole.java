@@ -118,6 +118,7 @@ public abstract class TextConsole extends AbstractConsole {
 		if (store != null) {
 			store.removePropertyChangeListener(propListener);
 		}
+		fDocument.dispose();
 	}
 	/**
 	 * Constructs a console with the given name, image descriptor, and lifecycle
@@ -24,6 +24,44 @@ import org.eclipse.jface.text.Position;
  */
 public class ConsoleDocument extends Document {
 
+	/**
+	 * The document content. Older content may be moved to disk.
+	 */
+	private final SpillingTextStore fStore = new SpillingTextStore();
+
+	/**
+	 * Creates a new empty console document.
+	 */
+	public ConsoleDocument() {
+		super();
+		setTextStore(fStore);
+	}
+
+	/**
+	 * Sets the limits for the part of the content kept in memory. If the content
+	 * kept in memory exceeds the high water mark, the beginning of the content is
+	 * moved to a temporary file until approximately the low water mark number of
+	 * characters remain in memory. The document content does not change.
+	 *
+	 * @param low  number of characters remaining in memory after content was
+	 *             moved to disk
+	 * @param high maximum number of characters kept in memory (if not positive no
+	 *             content is moved to disk)
+	 */
+	public synchronized void setSpillWaterMarks(int low, int high) {
+		fStore.setWaterMarks(low, high);
+	}
+
+	/**
+	 * Empties this document and releases the temporary file backing it. The
+	 * document is still usable afterwards, but no longer moves content to disk.
+	 */
+	public synchronized void dispose() {
+		// reset the line information together with the content
+		set(""); //$NON-NLS-1$
+		fStore.dispose();
+	}
+
 	@Override
 	public synchronized String get(int pos, int length) throws BadLocationException {
 		return super.get(pos, length);
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.TextConsole;
+
+/**
+ * Coordinates pattern matching of all text consoles.
+ * <p>
+ * Every console still matches in its own job so the job family and scheduling
+ * rule contract of {@link TextConsole#getSchedulingRule()} is unchanged. The
+ * scheduler limits how many of those jobs search at the same time to the number
+ * of available processors. A job which does not get a slot is put to sleep and
+ * woken when it is its turn. Consoles shown in a console view are served first,
+ * but every few turns the longest waiting console is served regardless of its
+ * visibility so background consoles cannot starve.
+ * </p>
+ * <p>
+ * The scheduler also collects {@link MatchStatistics} per console. The
+ * {@link IOConsolePartitioner} uses them to delay appending more output while
+ * the console's matcher lags far behind.
+ * </p>
+ */
+public class ConsoleMatchScheduler {
+
+	/**
+	 * Delay (in milliseconds) after which a waiting match job retries even if
+	 * it was not woken.
+	 */
+	static final long PARK_DELAY = 50;
+
+	/**
+	 * Every n-th turn is given to the longest waiting console even if other
+	 * waiting consoles are visible.
+	 */
+	private static final int FAIRNESS_INTERVAL = 4;
+
+	private static final ConsoleMatchScheduler DEFAULT = new ConsoleMatchScheduler(Runtime.getRuntime().availableProcessors());
+
+	/** Maximum number of matchers searching at the same time. */
+	private final int maxRunning;
+
+	/** Number of matchers searching or woken to search. Guarded by <code>this</code>. */
+	private int running = 0;
+
+	/** Turns given to visible consoles since the last fair turn. Guarded by <code>this</code>. */
+	private int turnsSinceFairTurn = 0;
+
+	/** Matchers waiting for their turn, longest waiting first. Guarded by <code>this</code>. */
+	private final Deque<ConsolePatternMatcher> waiting = new ArrayDeque<>();
+
+	/** Matchers which were woken and have a slot reserved. Guarded by <code>this</code>. */
+	private final Set<ConsolePatternMatcher> granted = new HashSet<>();
+
+	/** Consoles shown in a console view with their number of views. Guarded by <code>this</code>. */
+	private final Map<IConsole, Integer> visibleConsoles = new HashMap<>();
+
+	/** Statistics per console. Guarded by <code>this</code>. */
+	private final Map<TextConsole, MatchStatistics> statistics = new WeakHashMap<>();
+
+	/**
+	 * Pattern matching statistics of one console.
+	 */
+	public static class MatchStatistics {
+		private long matchedCharacters;
+
+		private long matches;
+
+		private long matchingTime;
+
+		/** Offset up to which all listeners have searched or -1 if there are none. */
+		private volatile int searchedOffset = -1;
+
+		synchronized void matched(int characters, int matchCount, long nanos) {
+			matchedCharacters += characters;
+			matches += matchCount;
+			matchingTime += nanos;
+		}
+
+		void setSearchedOffset(int offset) {
+			searchedOffset = offset;
+		}
+
+		/**
+		 * Returns the total number of characters searched.
+		 *
+		 * @return number of searched characters
+		 */
+		public synchronized long getMatchedCharacters() {
+			return matchedCharacters;
+		}
+
+		/**
+		 * Returns the total number of matches reported to pattern match listeners.
+		 *
+		 * @return number of matches
+		 */
+		public synchronized long getMatchCount() {
+			return matches;
+		}
+
+		/**
+		 * Returns the total time spent searching.
+		 *
+		 * @return searching time in milliseconds
+		 */
+		public synchronized long getMatchingTime() {
+			return matchingTime / 1_000_000;
+		}
+
+		/**
+		 * Returns the average matching throughput.
+		 *
+		 * @return searched characters per second or 0 if nothing was searched yet
+		 */
+		public synchronized long getThroughput() {
+			return matchingTime > 0 ? matchedCharacters * 1_000_000_000 / matchingTime : 0;
+		}
+
+		/**
+		 * Returns the number of characters not yet searched by all pattern match
+		 * listeners.
+		 *
+		 * @param documentLength current length of the console document
+		 * @return number of characters to search or 0 if the console has no
+		 *         pattern match listeners
+		 */
+		public int getBacklog(int documentLength) {
+			final int offset = searchedOffset;
+			return offset < 0 ? 0 : Math.max(documentLength - offset, 0);
+		}
+	}
+
+	/**
+	 * Returns the scheduler shared by all consoles.
+	 *
+	 * @return the scheduler
+	 */
+	public static ConsoleMatchScheduler getDefault() {
+		return DEFAULT;
+	}
+
+	ConsoleMatchScheduler(int maxRunning) {
+		this.maxRunning = Math.max(maxRunning, 1);
+	}
+
+	/**
+	 * Returns the match statistics of the given console.
+	 *
+	 * @param console the console
+	 * @return statistics of the console. Never <code>null</code>.
+	 */
+	public synchronized MatchStatistics getStatistics(TextConsole console) {
+		return statistics.computeIfAbsent(console, c -> new MatchStatistics());
+	}
+
+	/**
+	 * Notifies the scheduler that a console became visible or hidden in a
+	 * console view.
+	 *
+	 * @param console the console
+	 * @param visible <code>true</code> if the console is now shown by one more
+	 *            view, <code>false</code> if one less view shows it
+	 */
+	public synchronized void setVisible(IConsole console, boolean visible) {
+		if (console == null) {
+			return;
+		}
+		if (visible) {
+			visibleConsoles.merge(console, 1, Integer::sum);
+		} else {
+			visibleConsoles.computeIfPresent(console, (c, count) -> count > 1 ? count - 1 : null);
+		}
+	}
+
+	/**
+	 * Checks if a console is shown in any console view.
+	 *
+	 * @param console the console
+	 * @return <code>true</code> if the console is visible
+	 */
+	public synchronized boolean isVisible(IConsole console) {
+		return visibleConsoles.containsKey(console);
+	}
+
+	/**
+	 * Requests a slot to search. If none is available the matcher is queued and
+	 * woken once it is its turn.
+	 *
+	 * @param matcher the matcher which wants to search
+	 * @return <code>true</code> if the matcher may search now and must call
+	 *         {@link #release(ConsolePatternMatcher)} afterwards
+	 */
+	synchronized boolean acquire(ConsolePatternMatcher matcher) {
+		if (granted.remove(matcher)) {
+			return true;
+		}
+		if (running < maxRunning && waiting.isEmpty()) {
+			running++;
+			return true;
+		}
+		if (!waiting.contains(matcher)) {
+			waiting.add(matcher);
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a slot obtained by {@link #acquire(ConsolePatternMatcher)}.
+	 *
+	 * @param matcher the matcher which finished searching
+	 */
+	synchronized void release(ConsolePatternMatcher matcher) {
+		running--;
+		grantWaiting();
+	}
+
+	/**
+	 * Forgets a disconnected matcher.
+	 *
+	 * @param matcher the disconnected matcher
+	 */
+	synchronized void remove(ConsolePatternMatcher matcher) {
+		waiting.remove(matcher);
+		if (granted.remove(matcher)) {
+			running--;
+			grantWaiting();
+		}
+	}
+
+	/**
+	 * Wake waiting matchers while slots are available.
+	 */
+	private void grantWaiting() {
+		while (running < maxRunning && !waiting.isEmpty()) {
+			final ConsolePatternMatcher next = nextWaiting();
+			running++;
+			granted.add(next);
+			next.wakeUp();
+		}
+	}
+
+	/**
+	 * Remove and return the matcher to serve next.
+	 *
+	 * @return the next matcher
+	 */
+	private ConsolePatternMatcher nextWaiting() {
+		if (++turnsSinceFairTurn < FAIRNESS_INTERVAL) {
+			for (Iterator<ConsolePatternMatcher> it = waiting.iterator(); it.hasNext();) {
+				final ConsolePatternMatcher matcher = it.next();
+				if (visibleConsoles.containsKey(matcher.getConsole())) {
+					it.remove();
+					return matcher;
+				}
+			}
+		}
+		turnsSinceFairTurn = 0;
+		return waiting.poll();
+	}
+}
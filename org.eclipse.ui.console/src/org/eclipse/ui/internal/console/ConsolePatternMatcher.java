@@ -15,9 +15,12 @@
 package org.eclipse.ui.internal.console;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -34,13 +37,38 @@ import org.eclipse.ui.console.TextConsole;
 
 public class ConsolePatternMatcher implements IDocumentListener {
 
+	/**
+	 * Approximate number of characters searched in one run of the match job.
+	 * Larger backlogs are searched in multiple runs so other consoles can match
+	 * in between.
+	 */
+	private static final int SLICE_SIZE = 256 * 1024;
+
 	private MatchJob fMatchJob;
 
+	/**
+	 * Match statistics of this matcher's console.
+	 */
+	private final ConsoleMatchScheduler.MatchStatistics fStatistics;
+
 	/**
 	 * Collection of compiled pattern match listeners
 	 */
 	private ArrayList<CompiledPatternMatchListener> fPatterns = new ArrayList<>();
 
+	/**
+	 * All line qualifiers combined into one pattern or <code>null</code> if not
+	 * computed yet or qualifiers cannot be combined. Guarded by
+	 * {@link #fPatterns}.
+	 */
+	private Pattern fQualifierFilter;
+
+	/**
+	 * Whether {@link #fQualifierFilter} is up to date with the registered
+	 * listeners. Guarded by {@link #fPatterns}.
+	 */
+	private boolean fQualifierFilterValid;
+
 	private TextConsole fConsole;
 
 	private boolean fFinalMatch;
@@ -50,6 +78,45 @@ public class ConsolePatternMatcher implements IDocumentListener {
 	public ConsolePatternMatcher(TextConsole console) {
 		fConsole = console;
 		fMatchJob = new MatchJob();
+		fStatistics = ConsoleMatchScheduler.getDefault().getStatistics(console);
+	}
+
+	/**
+	 * Returns the console this matcher searches.
+	 *
+	 * @return the matched console
+	 */
+	TextConsole getConsole() {
+		return fConsole;
+	}
+
+	/**
+	 * Schedule the match job with a priority depending on the console's
+	 * visibility.
+	 */
+	private void scheduleMatching() {
+		fMatchJob.setPriority(ConsoleMatchScheduler.getDefault().isVisible(fConsole) ? Job.SHORT : Job.DECORATE);
+		fMatchJob.schedule();
+	}
+
+	/**
+	 * Run the match job now if it waits for its turn.
+	 */
+	void wakeUp() {
+		fMatchJob.wakeUp();
+	}
+
+	/**
+	 * Publish the offset up to which all listeners have searched the document.
+	 */
+	private void updateSearchedOffset() {
+		synchronized (fPatterns) {
+			int searchedOffset = -1;
+			for (CompiledPatternMatchListener notifier : fPatterns) {
+				searchedOffset = searchedOffset < 0 ? notifier.end : Math.min(searchedOffset, notifier.end);
+			}
+			fStatistics.setSearchedOffset(searchedOffset);
+		}
 	}
 
 	private class MatchJob extends Job {
@@ -61,122 +128,232 @@ public class ConsolePatternMatcher implements IDocumentListener {
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
-			IDocument doc = fConsole.getDocument();
-			String text = null;
-			int prevBaseOffset = -1;
-			if (doc != null && !monitor.isCanceled()) {
-				int endOfSearch = doc.getLength();
-				int indexOfLastChar = endOfSearch;
-				if (indexOfLastChar > 0) {
-					indexOfLastChar--;
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			final ConsoleMatchScheduler scheduler = ConsoleMatchScheduler.getDefault();
+			if (!scheduler.acquire(ConsolePatternMatcher.this)) {
+				// the scheduler wakes this job when it is its turn
+				schedule(ConsoleMatchScheduler.PARK_DELAY);
+				return Status.OK_STATUS;
+			}
+			boolean moreContent;
+			try {
+				moreContent = match(monitor);
+			} catch (BadLocationException e) {
+				// perhaps the buffer was re-set
+				return Status.OK_STATUS;
+			} finally {
+				scheduler.release(ConsolePatternMatcher.this);
+			}
+			if (moreContent && !monitor.isCanceled()) {
+				// give other consoles a chance before continuing
+				scheduleMatching();
+				return Status.OK_STATUS;
+			}
+
+			if (fFinalMatch) {
+				disconnect();
+				fConsole.matcherFinished();
+			} else if (fScheduleFinal) {
+				fFinalMatch = true;
+				scheduleMatching();
+			}
+
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == fConsole;
+		}
+
+
+	}
+
+	/**
+	 * Search the next slice of unsearched content for all registered patterns.
+	 *
+	 * @param monitor monitor to cancel matching
+	 * @return <code>true</code> if there is more content to search
+	 * @throws BadLocationException if the document was modified while searching
+	 */
+	private boolean match(IProgressMonitor monitor) throws BadLocationException {
+		IDocument doc = fConsole.getDocument();
+		if (doc != null && !monitor.isCanceled()) {
+			final long startTime = System.nanoTime();
+			int documentLength = doc.getLength();
+			int endOfSearch = documentLength;
+			int indexOfLastChar = endOfSearch;
+			if (indexOfLastChar > 0) {
+				indexOfLastChar--;
+			}
+			Object[] patterns = null;
+			Pattern qualifierFilter = null;
+			synchronized (fPatterns) {
+				patterns = fPatterns.toArray();
+				qualifierFilter = getQualifierFilter();
+			}
+			// all listeners share one view starting at the smallest not yet
+			// searched offset
+			int baseOffset = endOfSearch;
+			for (Object pattern : patterns) {
+				baseOffset = Math.min(baseOffset, ((CompiledPatternMatchListener) pattern).end);
+			}
+			if (endOfSearch - baseOffset > SLICE_SIZE) {
+				// search a limited number of complete lines per run. The last
+				// line of a run is searched again by the next run so the slice
+				// must contain a line starting after the base offset.
+				int sliceEnd = doc.getLineOffset(doc.getLineOfOffset(baseOffset + SLICE_SIZE));
+				if (sliceEnd > baseOffset && doc.getLineOffset(doc.getLineOfOffset(sliceEnd - 1)) > baseOffset) {
+					endOfSearch = sliceEnd;
+					indexOfLastChar = endOfSearch - 1;
 				}
-				int lastLineToSearch = 0;
-				int offsetOfLastLineToSearch = 0;
+			}
+			final LineIndex lines = new LineIndex(doc, Math.max(baseOffset - 1, 0), indexOfLastChar);
+			int lastLineToSearch = lines.getLastLine();
+			int offsetOfLastLineToSearch = lines.getLineOffset(lastLineToSearch);
+			DocumentCharSequence text = new DocumentCharSequence(doc, baseOffset, endOfSearch - baseOffset);
+			BitSet qualifiedLines = null;
+			if (qualifierFilter != null) {
 				try {
-					lastLineToSearch = doc.getLineOfOffset(indexOfLastChar);
-					offsetOfLastLineToSearch = doc.getLineOffset(lastLineToSearch);
-				} catch (BadLocationException e) {
-					// perhaps the buffer was re-set
-					return Status.OK_STATUS;
+					qualifiedLines = findQualifiedLines(qualifierFilter, text, lines, patterns);
+				} catch (IndexOutOfBoundsException e) {
+					throw new BadLocationException(e.getMessage());
 				}
-				Object[] patterns = null;
-				synchronized (fPatterns) {
-					patterns = fPatterns.toArray();
+			}
+			int matches = 0;
+			for (Object pattern : patterns) {
+				if (monitor.isCanceled()) {
+					break;
 				}
-				for (Object pattern : patterns) {
-					if (monitor.isCanceled()) {
-						break;
-					}
-					CompiledPatternMatchListener notifier = (CompiledPatternMatchListener) pattern;
-					int baseOffset = notifier.end;
-					int lengthToSearch = endOfSearch - baseOffset;
-					if (lengthToSearch > 0) {
-						try {
-							if (prevBaseOffset != baseOffset) {
-								// reuse the text string if possible
-								text = doc.get(baseOffset, lengthToSearch);
-							}
-							if(text == null) {
-								continue;
-							}
-							Matcher reg = notifier.pattern.matcher(text);
-							Matcher quick = null;
-							if (notifier.qualifier != null) {
-								quick = notifier.qualifier.matcher(text);
-							}
-							int startOfNextSearch = 0;
-							int endOfLastMatch = -1;
-							int lineOfLastMatch = -1;
-							while ((startOfNextSearch < lengthToSearch) && !monitor.isCanceled()) {
-								if (quick != null) {
-									if (quick.find(startOfNextSearch)) {
-										// start searching on the beginning
-										// of the line where the potential
-										// match was found, or after the
-										// last match on the same line
-										int matchLine = doc.getLineOfOffset(baseOffset + quick.start());
-										if (lineOfLastMatch == matchLine) {
-											startOfNextSearch = endOfLastMatch;
-										} else {
-											startOfNextSearch = doc.getLineOffset(matchLine) - baseOffset;
-										}
+				CompiledPatternMatchListener notifier = (CompiledPatternMatchListener) pattern;
+				int notifierOffset = notifier.end;
+				int lengthToSearch = endOfSearch - notifierOffset;
+				if (lengthToSearch > 0) {
+					try {
+						CharSequence notifierText = text.subSequence(notifierOffset - baseOffset, text.length());
+						Matcher reg = notifier.pattern.matcher(notifierText);
+						Matcher quick = null;
+						if (notifier.qualifier != null) {
+							quick = notifier.qualifier.matcher(notifierText);
+						}
+						int startOfNextSearch = 0;
+						int endOfLastMatch = -1;
+						int lineOfLastMatch = -1;
+						while ((startOfNextSearch < lengthToSearch) && !monitor.isCanceled()) {
+							if (quick != null) {
+								int startOfQualifierSearch = startOfNextSearch;
+								if (qualifiedLines != null) {
+									// skip lines where none of the qualifiers matched
+									int line = qualifiedLines.nextSetBit(lines.getLineOfOffset(notifierOffset + startOfNextSearch) - lines.getFirstLine());
+									if (line < 0) {
+										startOfQualifierSearch = lengthToSearch;
 									} else {
-										startOfNextSearch = lengthToSearch;
+										startOfQualifierSearch = Math.max(startOfNextSearch, lines.getLineOffset(lines.getFirstLine() + line) - notifierOffset);
 									}
 								}
-								if (startOfNextSearch < 0) {
-									startOfNextSearch = 0;
-								}
-								if (startOfNextSearch < lengthToSearch) {
-									if (reg.find(startOfNextSearch)) {
-										endOfLastMatch = reg.end();
-										lineOfLastMatch = doc.getLineOfOffset(baseOffset + endOfLastMatch - 1);
-										int regStart = reg.start();
-										IPatternMatchListener listener = notifier.listener;
-										if (listener != null && !monitor.isCanceled()) {
-											listener.matchFound(new PatternMatchEvent(fConsole, baseOffset + regStart, endOfLastMatch - regStart));
-										}
+								if (startOfQualifierSearch < lengthToSearch && quick.find(startOfQualifierSearch)) {
+									// start searching on the beginning
+									// of the line where the potential
+									// match was found, or after the
+									// last match on the same line
+									int matchLine = lines.getLineOfOffset(notifierOffset + quick.start());
+									if (lineOfLastMatch == matchLine) {
 										startOfNextSearch = endOfLastMatch;
 									} else {
-										startOfNextSearch = lengthToSearch;
+										startOfNextSearch = lines.getLineOffset(matchLine) - notifierOffset;
 									}
+								} else {
+									startOfNextSearch = lengthToSearch;
 								}
 							}
-							// update start of next search to the last line
-							// searched
-							// or the end of the last match if it was on the
-							// line that
-							// was last searched
-							if (lastLineToSearch == lineOfLastMatch) {
-								notifier.end = baseOffset + endOfLastMatch;
-							} else {
-								notifier.end = offsetOfLastLineToSearch;
+							if (startOfNextSearch < 0) {
+								startOfNextSearch = 0;
+							}
+							if (startOfNextSearch < lengthToSearch) {
+								if (reg.find(startOfNextSearch)) {
+									endOfLastMatch = reg.end();
+									lineOfLastMatch = lines.getLineOfOffset(notifierOffset + endOfLastMatch - 1);
+									int regStart = reg.start();
+									IPatternMatchListener listener = notifier.listener;
+									if (listener != null && !monitor.isCanceled()) {
+										listener.matchFound(new PatternMatchEvent(fConsole, notifierOffset + regStart, endOfLastMatch - regStart));
+										matches++;
+									}
+									startOfNextSearch = endOfLastMatch;
+								} else {
+									startOfNextSearch = lengthToSearch;
+								}
 							}
-						} catch (BadLocationException e) {
-							ConsolePlugin.log(e);
 						}
+						// update start of next search to the last line
+						// searched
+						// or the end of the last match if it was on the
+						// line that
+						// was last searched
+						if (lastLineToSearch == lineOfLastMatch) {
+							notifier.end = notifierOffset + endOfLastMatch;
+						} else {
+							notifier.end = offsetOfLastLineToSearch;
+						}
+					} catch (IndexOutOfBoundsException e) {
+						ConsolePlugin.log(e);
 					}
-					prevBaseOffset = baseOffset;
 				}
 			}
+			fStatistics.matched(endOfSearch - baseOffset, matches, System.nanoTime() - startTime);
+			updateSearchedOffset();
+			return endOfSearch < documentLength;
+		}
+		return false;
+	}
 
-			if (fFinalMatch) {
-				disconnect();
-				fConsole.matcherFinished();
-			} else if (fScheduleFinal) {
-				fFinalMatch = true;
-				schedule();
+	/**
+	 * Line offsets for a range of document lines. Allows to find the line of an
+	 * offset without querying the document for each match.
+	 */
+	private static class LineIndex {
+		private final int firstLine;
+
+		private final int[] offsets;
+
+		/**
+		 * Index the lines from the line containing <code>fromOffset</code> to the
+		 * line containing <code>toOffset</code>.
+		 */
+		LineIndex(IDocument doc, int fromOffset, int toOffset) throws BadLocationException {
+			firstLine = doc.getLineOfOffset(fromOffset);
+			int lastLine = doc.getLineOfOffset(toOffset);
+			offsets = new int[lastLine - firstLine + 1];
+			for (int i = 0; i < offsets.length; i++) {
+				offsets[i] = doc.getLineOffset(firstLine + i);
 			}
+		}
 
-			return Status.OK_STATUS;
+		int getFirstLine() {
+			return firstLine;
 		}
 
-		@Override
-		public boolean belongsTo(Object family) {
-			return family == fConsole;
+		int getLastLine() {
+			return firstLine + offsets.length - 1;
 		}
 
+		int getLineOffset(int line) {
+			return offsets[line - firstLine];
+		}
 
+		/**
+		 * Returns the line of the given offset. Offsets outside the indexed range
+		 * are reported as first or last indexed line.
+		 */
+		int getLineOfOffset(int offset) {
+			int index = Arrays.binarySearch(offsets, offset);
+			if (index < 0) {
+				index = Math.max(-index - 2, 0);
+			}
+			return firstLine + index;
+		}
 	}
 
 	private static class CompiledPatternMatchListener {
@@ -202,6 +379,127 @@ public class ConsolePatternMatcher implements IDocumentListener {
 		}
 	}
 
+	/**
+	 * Find the lines in which any line qualifier may start a match. Listeners only
+	 * need to run their own qualifier on those lines.
+	 *
+	 * @param qualifierFilter all qualifiers combined
+	 * @param text the text to search
+	 * @param lines index of the lines in the searched text
+	 * @param patterns the listeners to search for
+	 * @return qualified lines relative to the first indexed line
+	 */
+	private static BitSet findQualifiedLines(Pattern qualifierFilter, DocumentCharSequence text, LineIndex lines, Object[] patterns) {
+		final BitSet qualifiedLines = new BitSet();
+		// a listener's qualifier may behave different at the start of its own
+		// search range (anchors, look-behind) so always search its first line
+		for (Object pattern : patterns) {
+			CompiledPatternMatchListener notifier = (CompiledPatternMatchListener) pattern;
+			qualifiedLines.set(lines.getLineOfOffset(notifier.end) - lines.getFirstLine());
+		}
+		final Matcher filter = qualifierFilter.matcher(text);
+		int startOfNextSearch = 0;
+		while (startOfNextSearch < text.length() && filter.find(startOfNextSearch)) {
+			int line = lines.getLineOfOffset(text.getOffset() + filter.start());
+			qualifiedLines.set(line - lines.getFirstLine());
+			if (line >= lines.getLastLine()) {
+				break;
+			}
+			startOfNextSearch = lines.getLineOffset(line + 1) - text.getOffset();
+		}
+		return qualifiedLines;
+	}
+
+	/**
+	 * Get all line qualifiers combined to one pattern. The combined pattern finds
+	 * a match in a line if any of the qualifiers matches in that line.
+	 * <p>
+	 * Must be called with {@link #fPatterns} locked.
+	 * </p>
+	 *
+	 * @return the combined qualifiers or <code>null</code> if there are less than
+	 *         two qualifiers or they cannot be combined
+	 */
+	private Pattern getQualifierFilter() {
+		if (!fQualifierFilterValid) {
+			fQualifierFilterValid = true;
+			fQualifierFilter = null;
+			StringBuilder regex = new StringBuilder();
+			int count = 0;
+			for (CompiledPatternMatchListener notifier : fPatterns) {
+				if (notifier.qualifier == null) {
+					continue;
+				}
+				String qualifier = toEmbeddedPattern(notifier.qualifier);
+				if (qualifier == null) {
+					return null;
+				}
+				if (count++ > 0) {
+					regex.append('|');
+				}
+				regex.append(qualifier);
+			}
+			if (count > 1) {
+				try {
+					fQualifierFilter = Pattern.compile(regex.toString());
+				} catch (PatternSyntaxException e) {
+					// e.g. duplicate group names
+				}
+			}
+		}
+		return fQualifierFilter;
+	}
+
+	/**
+	 * Convert a pattern to a group which can be embedded in another expression
+	 * with the same meaning.
+	 *
+	 * @param pattern the pattern to convert
+	 * @return the converted pattern or <code>null</code> if the pattern cannot be
+	 *         embedded
+	 */
+	private static String toEmbeddedPattern(Pattern pattern) {
+		final int flags = pattern.flags();
+		String regex = pattern.pattern();
+		if ((flags & Pattern.CANON_EQ) != 0) {
+			return null;
+		}
+		if ((flags & Pattern.LITERAL) != 0) {
+			regex = Pattern.quote(regex);
+		} else if (regex.matches("(?s).*\\\\(?:[1-9]|k<).*")) { //$NON-NLS-1$
+			// back references change their meaning if groups are added
+			return null;
+		}
+		final StringBuilder embedded = new StringBuilder("(?"); //$NON-NLS-1$
+		if ((flags & Pattern.UNIX_LINES) != 0) {
+			embedded.append('d');
+		}
+		if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+			embedded.append('i');
+		}
+		if ((flags & Pattern.COMMENTS) != 0) {
+			embedded.append('x');
+		}
+		if ((flags & Pattern.MULTILINE) != 0) {
+			embedded.append('m');
+		}
+		if ((flags & Pattern.DOTALL) != 0) {
+			embedded.append('s');
+		}
+		if ((flags & Pattern.UNICODE_CASE) != 0) {
+			embedded.append('u');
+		}
+		if ((flags & Pattern.UNICODE_CHARACTER_CLASS) != 0) {
+			embedded.append('U');
+		}
+		embedded.append(':').append(regex);
+		if ((flags & Pattern.COMMENTS) != 0) {
+			// terminate a trailing comment
+			embedded.append('\n');
+		}
+		return embedded.append(')').toString();
+	}
+
 	/**
 	 * Adds the given pattern match listener to this console. The listener will
 	 * be connected and receive match notifications.
@@ -229,8 +527,10 @@ public class ConsolePatternMatcher implements IDocumentListener {
 			}
 			CompiledPatternMatchListener notifier = new CompiledPatternMatchListener(pattern, qPattern, matchListener);
 			fPatterns.add(notifier);
+			fQualifierFilterValid = false;
 			matchListener.connect(fConsole);
-			fMatchJob.schedule();
+			updateSearchedOffset();
+			scheduleMatching();
 		}
 	}
 
@@ -247,19 +547,24 @@ public class ConsolePatternMatcher implements IDocumentListener {
 				CompiledPatternMatchListener element = iter.next();
 				if (element.listener == matchListener) {
 					iter.remove();
+					fQualifierFilterValid = false;
 					matchListener.disconnect();
 				}
 			}
+			updateSearchedOffset();
 		}
 	}
 
 	public void disconnect() {
 		fMatchJob.cancel();
+		ConsoleMatchScheduler.getDefault().remove(this);
 		synchronized (fPatterns) {
 			for (CompiledPatternMatchListener listener : fPatterns) {
 				listener.dispose();
 			}
 			fPatterns.clear();
+			fQualifierFilterValid = false;
+			fStatistics.setSearchedOffset(-1);
 		}
 	}
 
@@ -283,14 +588,15 @@ public class ConsolePatternMatcher implements IDocumentListener {
 					}
 				}
 			}
+			updateSearchedOffset();
 		}
-		fMatchJob.schedule();
+		scheduleMatching();
 	}
 
 
 	public void forceFinalMatching() {
 		fScheduleFinal = true;
-		fMatchJob.schedule();
+		scheduleMatching();
 	}
 
 }
@@ -109,6 +109,17 @@ public class ConsoleView extends PageBookView implements IConsoleView, IConsoleL
 	 */
 	private boolean fActive = false;
 
+	/**
+	 * Whether this view is visible
+	 */
+	private boolean fVisible = false;
+
+	/**
+	 * The console reported as visible to the {@link ConsoleMatchScheduler} or
+	 * <code>null</code>
+	 */
+	private IConsole fVisibleConsole = null;
+
 	/**
 	 * 'In Console View' context
 	 */
@@ -188,6 +199,7 @@ public class ConsoleView extends PageBookView implements IConsoleView, IConsoleL
 		if (fPinAction != null) {
 			fPinAction.update();
 		}
+		updateVisibleConsole();
 		IPage page = getCurrentPage();
 		if (page instanceof IOConsolePage) {
 			((IOConsolePage) page).setWordWrap(fWordWrap);
@@ -303,6 +315,7 @@ public class ConsoleView extends PageBookView implements IConsoleView, IConsoleL
 		if (fPartToConsole.isEmpty()) {
 			fActiveConsole = null;
 		}
+		updateVisibleConsole();
 
 		// update console actions
 		fPinAction.update();
@@ -365,6 +378,8 @@ public class ConsoleView extends PageBookView implements IConsoleView, IConsoleL
 		if(site != null) {
 			site.getPage().removePartListener((IPartListener2)this);
 		}
+		fVisible = false;
+		updateVisibleConsole();
 		super.dispose();
 		ConsoleManager consoleManager = (ConsoleManager) ConsolePlugin.getDefault().getConsoleManager();
 		consoleManager.removeConsoleListener(this);
@@ -576,9 +591,25 @@ public class ConsoleView extends PageBookView implements IConsoleView, IConsoleL
 		getViewSite().getActionBars().updateActionBars();
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(parent, IConsoleHelpContextIds.CONSOLE_VIEW);
 		getViewSite().getPage().addPartListener((IPartListener2)this);
+		fVisible = getViewSite().getPage().isPartVisible(this);
+		updateVisibleConsole();
 		initPageSwitcher();
 	}
 
+	/**
+	 * Tell the {@link ConsoleMatchScheduler} which console is visible in this
+	 * view, if any.
+	 */
+	private void updateVisibleConsole() {
+		final IConsole visibleConsole = fVisible ? fActiveConsole : null;
+		if (visibleConsole != fVisibleConsole) {
+			final ConsoleMatchScheduler scheduler = ConsoleMatchScheduler.getDefault();
+			scheduler.setVisible(fVisibleConsole, false);
+			scheduler.setVisible(visibleConsole, true);
+			fVisibleConsole = visibleConsole;
+		}
+	}
+
 	/**
 	 * Initialize the PageSwitcher.
 	 */
@@ -755,10 +786,18 @@ public class ConsoleView extends PageBookView implements IConsoleView, IConsoleL
 
 	@Override
 	public void partHidden(IWorkbenchPartReference partRef) {
+		if (isThisPart(partRef)) {
+			fVisible = false;
+			updateVisibleConsole();
+		}
 	}
 
 	@Override
 	public void partVisible(IWorkbenchPartReference partRef) {
+		if (isThisPart(partRef)) {
+			fVisible = true;
+			updateVisibleConsole();
+		}
 	}
 
 	@Override
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+
+/**
+ * Read-only {@link CharSequence} view of a document range.
+ * <p>
+ * Content is fetched from the document in chunks on demand, so a regular
+ * expression can be matched against a large range without copying the whole
+ * range into one string. The two most recently used chunks are kept, so a
+ * match crossing a chunk boundary or looking back into the previous chunk does
+ * not fetch the same content again. Sub sequences share the fetched chunks
+ * with the sequence they were created from.
+ * </p>
+ * <p>
+ * The view does not track document changes. If the viewed range is modified
+ * or removed while the view is in use, characters may be inconsistent and
+ * {@link #charAt(int)} may throw an {@link IndexOutOfBoundsException}.
+ * </p>
+ */
+class DocumentCharSequence implements CharSequence {
+
+	/** Number of characters fetched from the document at once. */
+	private static final int CHUNK_SIZE = 8 * 1024;
+
+	/** The fetched content shared by this view and its sub sequences. */
+	private final Chunk chunk;
+
+	/** Document offset of the first character in this view. */
+	private final int offset;
+
+	/** Number of characters in this view. */
+	private final int length;
+
+	/**
+	 * Creates a view of the given document range.
+	 *
+	 * @param document the viewed document
+	 * @param offset   document offset of the viewed range
+	 * @param length   length of the viewed range
+	 */
+	DocumentCharSequence(IDocument document, int offset, int length) {
+		this(new Chunk(document, offset, offset + length), offset, length);
+	}
+
+	private DocumentCharSequence(Chunk chunk, int offset, int length) {
+		this.chunk = chunk;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * Returns the document offset of the first character in this view.
+	 *
+	 * @return the document offset of this view
+	 */
+	int getOffset() {
+		return offset;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index: " + index + ", length: " + length); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return chunk.charAt(offset + index);
+	}
+
+	@Override
+	public DocumentCharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		return new DocumentCharSequence(chunk, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		return chunk.get(offset, length);
+	}
+
+	/**
+	 * Parts of the viewed document range which are currently held in memory.
+	 */
+	private static final class Chunk {
+		private final IDocument document;
+
+		/** Document offset of the viewed range. Chunks are aligned relative to it. */
+		private final int rangeStart;
+
+		/** Document offset after the viewed range. */
+		private final int rangeEnd;
+
+		/** Document offset of the most recently used content. */
+		private int start;
+
+		/** The most recently used content. */
+		private String text = ""; //$NON-NLS-1$
+
+		/** Document offset of the previously used content. */
+		private int previousStart;
+
+		/** The previously used content. */
+		private String previousText = ""; //$NON-NLS-1$
+
+		Chunk(IDocument document, int rangeStart, int rangeEnd) {
+			this.document = document;
+			this.rangeStart = rangeStart;
+			this.rangeEnd = rangeEnd;
+		}
+
+		char charAt(int documentOffset) {
+			int index = documentOffset - start;
+			if (index < 0 || index >= text.length()) {
+				int previousIndex = documentOffset - previousStart;
+				int fetchStart = previousStart;
+				String fetched = previousText;
+				if (previousIndex < 0 || previousIndex >= previousText.length()) {
+					fetchStart = rangeStart + (documentOffset - rangeStart) / CHUNK_SIZE * CHUNK_SIZE;
+					fetched = get(fetchStart, Math.min(CHUNK_SIZE, rangeEnd - fetchStart));
+				}
+				previousStart = start;
+				previousText = text;
+				start = fetchStart;
+				text = fetched;
+				index = documentOffset - start;
+			}
+			return text.charAt(index);
+		}
+
+		String get(int documentOffset, int length) {
+			try {
+				return document.get(documentOffset, length);
+			} catch (BadLocationException e) {
+				throw new IndexOutOfBoundsException(e.getMessage());
+			}
+		}
+	}
+}
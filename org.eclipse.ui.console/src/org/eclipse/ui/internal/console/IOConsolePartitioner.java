@@ -129,6 +129,15 @@ public class IOConsolePartitioner
 	 */
 	private final BlockingQueue<PendingPartition> pendingPartitions = new LinkedBlockingQueue<>(
 			MAX_BUFFER_BYTES / 8192);
+	/**
+	 * If the console's pattern matcher has more than this number of characters
+	 * left to search, appending new output is delayed. Pending output then fills
+	 * {@link #pendingPartitions} and finally blocks the debugged application
+	 * until the matcher caught up.
+	 */
+	private static final int MAX_MATCH_BACKLOG = 4_000_000;
+	/** Delay (in milliseconds) before output is appended to a console with match backlog. */
+	private static final long MATCH_BACKLOG_DELAY = 50;
 	/** Job that appends pending partitions to the document. */
 	private final QueueProcessingJob queueJob = new QueueProcessingJob();
 	/** Job that trims console content if it exceeds {@link #highWaterMark}. */
@@ -163,9 +172,18 @@ public class IOConsolePartitioner
 	 */
 	private int lowWaterMark = -1;
 
+	/**
+	 * If <code>true</code> content exceeding the {@link #highWaterMark} is moved
+	 * to disk instead of being trimmed.
+	 */
+	private boolean spillToDisk = false;
+
 	/** The partitioned {@link IOConsole}. */
 	private IOConsole console;
 
+	/** Pattern matching statistics of the partitioned console. */
+	private final ConsoleMatchScheduler.MatchStatistics matchStatistics;
+
 	/** Set after console signaled that all streams are closed. */
 	private volatile boolean streamsClosed;
 	/**
@@ -195,6 +213,7 @@ public class IOConsolePartitioner
 	 */
 	public IOConsolePartitioner(IOConsole console) {
 		this.console = Objects.requireNonNull(console);
+		this.matchStatistics = ConsoleMatchScheduler.getDefault().getStatistics(console);
 		queueJob.setRule(console.getSchedulingRule());
 		trimJob.setRule(console.getSchedulingRule());
 	}
@@ -219,6 +238,7 @@ public class IOConsolePartitioner
 				inputPartitions = new ArrayList<>();
 				document = doc;
 				legalLineDelimiterMatcher = MultiStringMatcher.create(document.getLegalLineDelimiters());
+				updateSpillWaterMarks();
 			}
 		}
 	}
@@ -266,9 +286,50 @@ public class IOConsolePartitioner
 	public void setWaterMarks(int low, int high) {
 		lowWaterMark = low;
 		highWaterMark = high;
+		synchronized (partitions) {
+			updateSpillWaterMarks();
+		}
 		ConsolePlugin.getStandardDisplay().asyncExec(this::checkBufferSize);
 	}
 
+	/**
+	 * Check if content exceeding the high water mark is moved to disk.
+	 *
+	 * @return <code>true</code> if content is moved to disk instead of trimmed
+	 * @see IOConsole#isSpillToDisk()
+	 */
+	public boolean isSpillToDisk() {
+		return spillToDisk;
+	}
+
+	/**
+	 * Enable or disable moving content exceeding the high water mark to disk.
+	 *
+	 * @param spillToDisk <code>true</code> to move content to disk instead of
+	 *                    trimming it
+	 * @see IOConsole#setSpillToDisk(boolean)
+	 */
+	public void setSpillToDisk(boolean spillToDisk) {
+		this.spillToDisk = spillToDisk;
+		synchronized (partitions) {
+			updateSpillWaterMarks();
+		}
+		ConsolePlugin.getStandardDisplay().asyncExec(this::checkBufferSize);
+	}
+
+	/**
+	 * Pass the water marks to the document if content is moved to disk.
+	 */
+	private void updateSpillWaterMarks() {
+		if (document instanceof ConsoleDocument) {
+			if (spillToDisk) {
+				((ConsoleDocument) document).setSpillWaterMarks(lowWaterMark, highWaterMark);
+			} else {
+				((ConsoleDocument) document).setSpillWaterMarks(-1, -1);
+			}
+		}
+	}
+
 	/**
 	 * Notification from the console that all of its streams have been closed.
 	 */
@@ -427,11 +488,11 @@ public class IOConsolePartitioner
 	 * <p>
 	 * When the document length exceeds the high water mark, the beginning of the
 	 * document is trimmed until the document length is approximately the low water
-	 * mark.
+	 * mark. Nothing is trimmed if content is moved to disk instead.
 	 * </p>
 	 */
 	private void checkBufferSize() {
-		if (document != null && highWaterMark > 0) {
+		if (document != null && highWaterMark > 0 && !spillToDisk) {
 			int length = document.getLength();
 			if (length > highWaterMark) {
 				// do trim synchronous to prevent drawing trimmed text - we are already in UI and have the lock
@@ -755,6 +816,12 @@ public class IOConsolePartitioner
 
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
+			final IDocument doc = document;
+			if (!streamsClosed && doc != null && matchStatistics.getBacklog(doc.getLength()) > MAX_MATCH_BACKLOG) {
+				// let pattern matching catch up before appending more output
+				schedule(MATCH_BACKLOG_DELAY);
+				return Status.OK_STATUS;
+			}
 			processPendingPartitions();
 			if (ASSERT) {
 				checkPartitions();
@@ -0,0 +1,370 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.ui.console.ConsolePlugin;
+
+/**
+ * Text store of a console document which can move the beginning of its content
+ * out of the heap.
+ * <p>
+ * As long as no limits are set this store behaves like a plain
+ * {@link GapTextStore}. Once the in-memory content exceeds the high water mark
+ * the oldest characters are written to a temporary file until only the low
+ * water mark number of characters remain in memory. Spilled content is read
+ * back on demand, e.g. if the viewer scrolls there or a search visits it,
+ * through a window of {@link #WINDOW_SIZE} characters. The file is accessed
+ * with positional reads and writes rather than memory mappings, since mappings
+ * cannot be released before the file is deleted.
+ * </p>
+ * <p>
+ * Console documents are mostly appended to and trimmed at the beginning. Both
+ * operations leave spilled content untouched. Content trimmed from the file is
+ * compacted away once it outweighs the remaining spilled content. Any other
+ * modification of spilled content first moves the spilled content from the
+ * modification offset on back into memory.
+ * </p>
+ * <p>
+ * Only the characters are moved out of the heap, so heap use is not constant:
+ * the line information and the partitions of the document stay in memory and
+ * grow with the number of lines and stream switches.
+ * </p>
+ */
+public class SpillingTextStore implements ITextStore {
+
+	/** Number of characters read from the spill file at once. */
+	private static final int WINDOW_SIZE = 1 << 16;
+
+	/** The recent, not spilled content. */
+	private final GapTextStore memory = new GapTextStore();
+
+	/** The spill file or <code>null</code> if nothing was spilled yet. */
+	private FileChannel channel;
+
+	/** File position (in characters) of the first spilled character still part of the content. */
+	private long spillStart;
+
+	/** File position (in characters) after the last spilled character. */
+	private long spillEnd;
+
+	/** Spilled characters last read from the file. */
+	private final char[] window = new char[WINDOW_SIZE];
+
+	/** File position (in characters) of the first character of the window. */
+	private long windowStart;
+
+	/** Number of valid characters in the window. */
+	private int windowLength;
+
+	/** Number of characters to keep in memory after spilling. */
+	private int lowWaterMark = -1;
+
+	/** Spill if in-memory content exceeds this number of characters. Nothing is spilled if not positive. */
+	private int highWaterMark = -1;
+
+	/**
+	 * Sets the limits for the content kept in memory.
+	 *
+	 * @param low  number of characters remaining in memory after content was
+	 *             spilled
+	 * @param high maximum number of characters kept in memory. If not positive no
+	 *             (further) content is spilled.
+	 */
+	public synchronized void setWaterMarks(int low, int high) {
+		lowWaterMark = low;
+		highWaterMark = high;
+		checkMemorySize();
+	}
+
+	/**
+	 * Returns the number of characters currently stored on disk.
+	 *
+	 * @return the number of spilled characters
+	 */
+	public synchronized int getSpilledLength() {
+		return (int) (spillEnd - spillStart);
+	}
+
+	/**
+	 * Returns the size of the spill file.
+	 *
+	 * @return the size of the spill file in characters, <code>0</code> if there
+	 *         is none
+	 */
+	public synchronized long getFileLength() {
+		try {
+			return channel == null ? 0 : channel.size() / Character.BYTES;
+		} catch (IOException e) {
+			ConsolePlugin.log(e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Empties this store and deletes the spill file. The document using this
+	 * store must be reset as well, see {@link ConsoleDocument#dispose()}.
+	 */
+	public synchronized void dispose() {
+		highWaterMark = -1;
+		spillStart = spillEnd = 0;
+		windowLength = 0;
+		memory.set(""); //$NON-NLS-1$
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				ConsolePlugin.log(e);
+			}
+			channel = null;
+		}
+	}
+
+	@Override
+	public synchronized char get(int offset) {
+		final int spilled = getSpilledLength();
+		if (offset >= spilled) {
+			return memory.get(offset - spilled);
+		}
+		final long position = spillStart + offset;
+		if (position < windowStart || position >= windowStart + windowLength) {
+			fillWindow(position);
+		}
+		return window[(int) (position - windowStart)];
+	}
+
+	@Override
+	public synchronized String get(int offset, int length) {
+		final int spilled = getSpilledLength();
+		if (offset >= spilled) {
+			return memory.get(offset - spilled, length);
+		}
+		final char[] content = new char[length];
+		final int fromDisk = Math.min(length, spilled - offset);
+		readSpilled(spillStart + offset, content, 0, fromDisk);
+		if (fromDisk < length) {
+			memory.get(0, length - fromDisk).getChars(0, length - fromDisk, content, fromDisk);
+		}
+		return new String(content);
+	}
+
+	@Override
+	public synchronized int getLength() {
+		return getSpilledLength() + memory.getLength();
+	}
+
+	@Override
+	public synchronized void replace(int offset, int length, String text) {
+		final int spilled = getSpilledLength();
+		if (offset >= spilled) {
+			memory.replace(offset - spilled, length, text);
+		} else if (offset == 0 && (text == null || text.isEmpty())) {
+			// content trimmed from the beginning
+			final int fromDisk = Math.min(length, spilled);
+			spillStart += fromDisk;
+			compact();
+			if (fromDisk < length) {
+				memory.replace(0, length - fromDisk, ""); //$NON-NLS-1$
+			}
+		} else {
+			unspill(offset);
+			memory.replace(0, length, text);
+		}
+		checkMemorySize();
+	}
+
+	@Override
+	public synchronized void set(String text) {
+		spillStart = spillEnd = 0;
+		truncate();
+		memory.set(text);
+		checkMemorySize();
+	}
+
+	/**
+	 * Spill the beginning of the in-memory content if it exceeds the high water
+	 * mark.
+	 */
+	private void checkMemorySize() {
+		if (highWaterMark <= 0 || memory.getLength() <= highWaterMark) {
+			return;
+		}
+		final int count = memory.getLength() - Math.max(lowWaterMark, 0);
+		final long oldSpillEnd = spillEnd;
+		try {
+			writeSpilled(memory.get(0, count));
+			memory.replace(0, count, ""); //$NON-NLS-1$
+		} catch (IOException e) {
+			// keep everything in memory from now on
+			spillEnd = oldSpillEnd;
+			highWaterMark = -1;
+			ConsolePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Move spilled content back into memory.
+	 *
+	 * @param offset document offset of the first character to move. All spilled
+	 *               content after it is moved too.
+	 */
+	private void unspill(int offset) {
+		final int count = getSpilledLength() - offset;
+		final char[] content = new char[count];
+		readSpilled(spillStart + offset, content, 0, count);
+		spillEnd -= count;
+		if (spillStart == spillEnd) {
+			spillStart = spillEnd = 0;
+		}
+		truncate();
+		memory.replace(0, 0, new String(content));
+	}
+
+	/**
+	 * Drops the trimmed beginning of the spill file once it is at least as large
+	 * as the remaining spilled content, so the file does not grow while the
+	 * console is trimmed.
+	 */
+	private void compact() {
+		if (spillStart == spillEnd) {
+			spillStart = spillEnd = 0;
+			truncate();
+			return;
+		}
+		final long live = spillEnd - spillStart;
+		if (spillStart < WINDOW_SIZE || spillStart < live) {
+			return;
+		}
+		windowLength = 0;
+		try {
+			// the target range always precedes the source range
+			final ByteBuffer buffer = ByteBuffer.allocate(WINDOW_SIZE * Character.BYTES);
+			for (long copied = 0; copied < live; copied += WINDOW_SIZE) {
+				buffer.clear().limit((int) Math.min(WINDOW_SIZE, live - copied) * Character.BYTES);
+				read((spillStart + copied) * Character.BYTES, buffer);
+				buffer.flip();
+				write(copied * Character.BYTES, buffer);
+			}
+		} catch (IOException e) {
+			// the spilled content was not moved, keep the file as it is
+			ConsolePlugin.log(e);
+			return;
+		}
+		spillStart = 0;
+		spillEnd = live;
+		truncate();
+	}
+
+	/**
+	 * Cuts the spill file after the last spilled character.
+	 */
+	private void truncate() {
+		windowLength = 0;
+		if (channel != null) {
+			try {
+				channel.truncate(spillEnd * Character.BYTES);
+			} catch (IOException e) {
+				ConsolePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Reads the window of spilled characters containing the given position.
+	 *
+	 * @param position file position (in characters) of a spilled character
+	 */
+	private void fillWindow(long position) {
+		windowStart = position - position % WINDOW_SIZE;
+		windowLength = (int) Math.min(WINDOW_SIZE, spillEnd - windowStart);
+		readFile(windowStart, window, 0, windowLength);
+	}
+
+	private void readSpilled(long position, char[] dst, int dstOffset, int length) {
+		if (position >= windowStart && position + length <= windowStart + windowLength) {
+			System.arraycopy(window, (int) (position - windowStart), dst, dstOffset, length);
+		} else if (length < WINDOW_SIZE / 2) {
+			// short reads, e.g. of lines, are likely followed by reads nearby
+			fillWindow(position);
+			final int inWindow = Math.min(length, windowLength - (int) (position - windowStart));
+			System.arraycopy(window, (int) (position - windowStart), dst, dstOffset, inWindow);
+			if (inWindow < length) {
+				readSpilled(position + inWindow, dst, dstOffset + inWindow, length - inWindow);
+			}
+		} else {
+			readFile(position, dst, dstOffset, length);
+		}
+	}
+
+	private void readFile(long position, char[] dst, int dstOffset, int length) {
+		final ByteBuffer buffer = ByteBuffer.allocate(Math.min(length, WINDOW_SIZE) * Character.BYTES);
+		try {
+			while (length > 0) {
+				final int count = Math.min(length, WINDOW_SIZE);
+				buffer.clear().limit(count * Character.BYTES);
+				read(position * Character.BYTES, buffer);
+				buffer.flip();
+				buffer.asCharBuffer().get(dst, dstOffset, count);
+				position += count;
+				dstOffset += count;
+				length -= count;
+			}
+		} catch (IOException e) {
+			// the content cannot be restored, answer blanks instead of failing
+			// every access to the document
+			ConsolePlugin.log(e);
+			Arrays.fill(dst, dstOffset, dstOffset + length, ' ');
+		}
+	}
+
+	private void writeSpilled(String text) throws IOException {
+		if (channel == null) {
+			channel = FileChannel.open(Files.createTempFile("console", ".tmp"), StandardOpenOption.READ, //$NON-NLS-1$ //$NON-NLS-2$
+					StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+		}
+		final ByteBuffer buffer = ByteBuffer.allocate(Math.min(text.length(), WINDOW_SIZE) * Character.BYTES);
+		int written = 0;
+		while (written < text.length()) {
+			final int count = Math.min(text.length() - written, WINDOW_SIZE);
+			buffer.clear();
+			buffer.asCharBuffer().put(text, written, written + count);
+			buffer.limit(count * Character.BYTES);
+			write(spillEnd * Character.BYTES, buffer);
+			written += count;
+			spillEnd += count;
+		}
+	}
+
+	private void read(long bytePosition, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, bytePosition + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of the spill file"); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void write(long bytePosition, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, bytePosition + buffer.position());
+		}
+	}
+}
@@ -15,6 +15,8 @@ package org.eclipse.unittest.internal;
 
 import org.osgi.framework.BundleContext;
 
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionReader;
+import org.eclipse.unittest.internal.model.SpilledFailureTrace;
 import org.eclipse.unittest.internal.model.UnitTestLaunchListener;
 import org.eclipse.unittest.internal.model.UnitTestModel;
 import org.eclipse.unittest.internal.ui.history.History;
@@ -90,6 +92,7 @@ public class UnitTestPlugin extends AbstractUIPlugin {
 			UnitTestModel.getInstance().stop();
 			DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(fLaunchListener);
 			History.INSTANCE.clear();
+			SpilledFailureTrace.deleteDirectory(TestRunSessionReader.getDefaultSpillDirectory());
 		} finally {
 			super.stop(context);
 		}
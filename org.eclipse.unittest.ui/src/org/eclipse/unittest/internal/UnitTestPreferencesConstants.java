@@ -41,6 +41,12 @@ public class UnitTestPreferencesConstants {
 	 */
 	public static final String MAX_TEST_RUNS = UnitTestPlugin.PLUGIN_ID + ".max_test_runs"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether test runs stored in the history are
+	 * gzip compressed.
+	 */
+	public static final String COMPRESS_HISTORY = UnitTestPlugin.PLUGIN_ID + ".compress_history"; //$NON-NLS-1$
+
 	private UnitTestPreferencesConstants() {
 		// no instance
 	}
@@ -83,6 +89,16 @@ public class UnitTestPreferencesConstants {
 		return Platform.getPreferencesService().getBoolean(UnitTestPlugin.PLUGIN_ID, DO_FILTER_STACK, false, null);
 	}
 
+	/**
+	 * Indicates if test runs are to be stored gzip compressed in the history
+	 *
+	 * @return <code>true</code> in case the history is to be compressed, otherwise
+	 *         - <code>false</code>
+	 */
+	public static boolean getCompressHistory() {
+		return Platform.getPreferencesService().getBoolean(UnitTestPlugin.PLUGIN_ID, COMPRESS_HISTORY, false, null);
+	}
+
 	/**
 	 * Sets up a value for the DO_FILTER_STACK preference
 	 *
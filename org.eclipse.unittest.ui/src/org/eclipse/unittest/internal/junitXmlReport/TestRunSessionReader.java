@@ -0,0 +1,532 @@
+/*******************************************************************************
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.unittest.internal.junitXmlReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.unittest.internal.UnitTestPlugin;
+import org.eclipse.unittest.internal.model.ModelMessages;
+import org.eclipse.unittest.internal.model.SpilledFailureTrace;
+import org.eclipse.unittest.internal.model.TestCaseElement;
+import org.eclipse.unittest.internal.model.TestElement;
+import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.TestSuiteElement;
+import org.eclipse.unittest.model.ITestElement.FailureTrace;
+import org.eclipse.unittest.model.ITestElement.Result;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+/**
+ * Reads a {@link TestRunSession} from a JUnit XML report with a streaming
+ * parser.
+ * <p>
+ * Memory use does not grow with the size of the failure traces: a trace
+ * longer than the spill threshold is written to a side file while it is read,
+ * and the test element keeps a {@link SpilledFailureTrace}. Side files are
+ * created in a directory of the read session, see
+ * {@link TestRunSession#discardSpilledTraces()}.
+ * </p>
+ */
+public class TestRunSessionReader {
+
+	/**
+	 * Default number of characters of a failure trace kept in memory
+	 */
+	public static final int DEFAULT_SPILL_THRESHOLD = 1 << 20;
+
+	private static final String SPILL_DIR_NAME = "traces"; //$NON-NLS-1$
+
+	/*
+	 * TODO: validate (currently assumes correct XML)
+	 */
+
+	private final IProgressMonitor fMonitor;
+	private final int fSpillThreshold;
+	private final Path fSpillDirectory;
+
+	private int fId;
+	private int fLastReportedLine;
+
+	private TestRunSession fTestRunSession;
+	private TestSuiteElement fTestSuite;
+	private TestCaseElement fTestCase;
+
+	/**
+	 * The incomplete flags of the open suites and test cases, by depth
+	 */
+	private final BitSet fNotRun = new BitSet();
+	private int fDepth;
+
+	private TraceBuffer fFailureBuffer;
+	private TraceBuffer fExpectedBuffer;
+	private TraceBuffer fActualBuffer;
+	private boolean fInExpected;
+	private boolean fInActual;
+	private Result fStatus;
+
+	/**
+	 * Constructs a reader with the {@link #DEFAULT_SPILL_THRESHOLD}
+	 *
+	 * @param monitor a progress monitor, can be <code>null</code>
+	 */
+	public TestRunSessionReader(IProgressMonitor monitor) {
+		this(monitor, DEFAULT_SPILL_THRESHOLD);
+	}
+
+	/**
+	 * Constructs a reader which spills traces to the
+	 * {@link #getDefaultSpillDirectory()}
+	 *
+	 * @param monitor        a progress monitor, can be <code>null</code>
+	 * @param spillThreshold the number of characters of a failure trace kept in
+	 *                       memory, longer traces are written to side files
+	 */
+	public TestRunSessionReader(IProgressMonitor monitor, int spillThreshold) {
+		this(monitor, spillThreshold, null);
+	}
+
+	/**
+	 * Constructs a reader
+	 *
+	 * @param monitor        a progress monitor, can be <code>null</code>
+	 * @param spillThreshold the number of characters of a failure trace kept in
+	 *                       memory, longer traces are written to side files
+	 * @param spillDirectory the directory in which the spill directory of the
+	 *                       read session is created, or <code>null</code> for
+	 *                       the {@link #getDefaultSpillDirectory()}
+	 */
+	public TestRunSessionReader(IProgressMonitor monitor, int spillThreshold, Path spillDirectory) {
+		fMonitor = monitor != null ? monitor : new NullProgressMonitor();
+		fSpillThreshold = spillThreshold;
+		fSpillDirectory = spillDirectory;
+	}
+
+	/**
+	 * Returns the directory in the plug-in state location holding the spill
+	 * directories of read sessions
+	 *
+	 * @return the default spill directory
+	 */
+	public static Path getDefaultSpillDirectory() {
+		return UnitTestPlugin.getDefault().getStateLocation().append(SPILL_DIR_NAME).toFile().toPath();
+	}
+
+	/**
+	 * Reads a test run session
+	 *
+	 * @param in a stream of a JUnit XML report, not closed by this method
+	 * @return the test run session, or <code>null</code> if the report has no test
+	 *         run
+	 * @throws XMLStreamException         if the report is malformed
+	 * @throws IOException                if a side file cannot be written
+	 * @throws OperationCanceledException if the monitor was canceled
+	 */
+	public TestRunSession read(InputStream in) throws XMLStreamException, IOException {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		// deliver long texts in chunks
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		XMLStreamReader reader = factory.createXMLStreamReader(in);
+		boolean completed = false;
+		try {
+			while (reader.hasNext()) {
+				switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					startElement(reader);
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					endElement(reader);
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					characters(reader);
+					break;
+				default:
+					break;
+				}
+			}
+			completed = true;
+		} finally {
+			reader.close();
+			discard(fFailureBuffer);
+			discard(fExpectedBuffer);
+			discard(fActualBuffer);
+			if (!completed && fTestRunSession != null) {
+				fTestRunSession.discardSpilledTraces();
+			}
+		}
+		return fTestRunSession;
+	}
+
+	private void startElement(XMLStreamReader reader) throws XMLStreamException, IOException {
+		if (fMonitor.isCanceled() || Thread.interrupted())
+			throw new OperationCanceledException();
+
+		int line = reader.getLocation().getLineNumber();
+		if (line - 20 >= fLastReportedLine) {
+			line -= line % 20;
+			fLastReportedLine = line;
+			fMonitor.subTask(NLS.bind(ModelMessages.TestRunHandler_lines_read, Integer.valueOf(line)));
+		}
+
+		String name = reader.getLocalName();
+		switch (name) {
+		case IXMLTags.NODE_TESTRUN:
+			if (fTestRunSession == null) {
+				String runName = reader.getAttributeValue(null, IXMLTags.ATTR_NAME);
+				String launchConfigName = reader.getAttributeValue(null, IXMLTags.ATTR_LAUNCH_CONFIG_NAME);
+				fTestRunSession = new TestRunSession(runName,
+						Instant.parse(reader.getAttributeValue(null, IXMLTags.ATTR_START_TIME)),
+						findLaunchConfiguration(launchConfigName));
+				readDuration(fTestRunSession, reader);
+				// TODO: read counts?
+			} else {
+				fTestRunSession.reset();
+			}
+			fTestSuite = fTestRunSession;
+			break;
+		case IXMLTags.NODE_TESTSUITES:
+			break;
+		case IXMLTags.NODE_TESTSUITE: {
+			String suiteName = reader.getAttributeValue(null, IXMLTags.ATTR_NAME);
+			String pack = reader.getAttributeValue(null, IXMLTags.ATTR_PACKAGE);
+			if (pack != null) {
+				suiteName = pack + "." + suiteName; //$NON-NLS-1$
+			}
+			String displayName = reader.getAttributeValue(null, IXMLTags.ATTR_DISPLAY_NAME);
+			fTestSuite = (TestSuiteElement) fTestRunSession.createTestElement(fTestSuite, getNextId(), suiteName, true,
+					null, false, displayName, getData(reader));
+			readDuration(fTestSuite, reader);
+			pushNotRun(reader);
+			break;
+		}
+		// not interested
+		case IXMLTags.NODE_PROPERTIES:
+		case IXMLTags.NODE_PROPERTY:
+			break;
+		case IXMLTags.NODE_TESTCASE: {
+			String testName = reader.getAttributeValue(null, IXMLTags.ATTR_NAME) + '('
+					+ reader.getAttributeValue(null, IXMLTags.ATTR_CLASSNAME) + ')';
+			boolean isDynamicTest = Boolean.parseBoolean(reader.getAttributeValue(null, IXMLTags.ATTR_DYNAMIC_TEST));
+			String displayName = reader.getAttributeValue(null, IXMLTags.ATTR_DISPLAY_NAME);
+			fTestCase = (TestCaseElement) fTestRunSession.createTestElement(fTestSuite, getNextId(), testName, false, 1,
+					isDynamicTest, displayName, getData(reader));
+			pushNotRun(reader);
+			fTestCase.setIgnored(Boolean.parseBoolean(reader.getAttributeValue(null, IXMLTags.ATTR_IGNORED)));
+			readDuration(fTestCase, reader);
+			break;
+		}
+		case IXMLTags.NODE_ERROR:
+			// TODO: multiple failures: https://bugs.eclipse.org/bugs/show_bug.cgi?id=125296
+			fStatus = Result.ERROR;
+			fFailureBuffer = newBuffer(fFailureBuffer);
+			break;
+		case IXMLTags.NODE_FAILURE:
+			// TODO: multiple failures: https://bugs.eclipse.org/bugs/show_bug.cgi?id=125296
+			fStatus = Result.FAILURE;
+			fFailureBuffer = newBuffer(fFailureBuffer);
+			break;
+		case IXMLTags.NODE_EXPECTED:
+			fInExpected = true;
+			fExpectedBuffer = newBuffer(fExpectedBuffer);
+			break;
+		case IXMLTags.NODE_ACTUAL:
+			fInActual = true;
+			fActualBuffer = newBuffer(fActualBuffer);
+			break;
+		// not interested
+		case IXMLTags.NODE_SYSTEM_OUT:
+		case IXMLTags.NODE_SYSTEM_ERR:
+			break;
+		case IXMLTags.NODE_SKIPPED: {
+			// before Ant 1.9.0: not an Ant JUnit tag, see
+			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=276068
+			// later: child of <suite> or <test>, see
+			// https://issues.apache.org/bugzilla/show_bug.cgi?id=43969
+			fStatus = Result.OK;
+			fFailureBuffer = newBuffer(fFailureBuffer);
+			String message = reader.getAttributeValue(null, IXMLTags.ATTR_MESSAGE);
+			if (message != null) {
+				fFailureBuffer.append(message);
+				fFailureBuffer.append("\n"); //$NON-NLS-1$
+			}
+			break;
+		}
+		default:
+			throw unknownNode(name, reader.getLocation());
+		}
+	}
+
+	private static ILaunchConfiguration findLaunchConfiguration(String launchConfigName) {
+		ILaunchConfiguration launchConfiguration = null;
+		if (launchConfigName != null) {
+			try {
+				for (ILaunchConfiguration config : DebugPlugin.getDefault().getLaunchManager()
+						.getLaunchConfigurations()) {
+					if (config.getName().equals(launchConfigName)) {
+						launchConfiguration = config;
+					}
+				}
+			} catch (CoreException e) {
+				UnitTestPlugin.log(e);
+			}
+		}
+		return launchConfiguration;
+	}
+
+	private static String getData(XMLStreamReader reader) {
+		String data = reader.getAttributeValue(null, IXMLTags.ATTR_DATA);
+		return data != null && data.isBlank() ? null : data;
+	}
+
+	private void pushNotRun(XMLStreamReader reader) {
+		fNotRun.set(fDepth++, Boolean.parseBoolean(reader.getAttributeValue(null, IXMLTags.ATTR_INCOMPLETE)));
+	}
+
+	private static void readDuration(TestElement element, XMLStreamReader reader) {
+		String timeString = reader.getAttributeValue(null, IXMLTags.ATTR_DURATION);
+		if (timeString != null) {
+			try {
+				double seconds = Double.parseDouble(timeString);
+				long millis = (long) (seconds * 1000);
+				element.setDuration(Duration.ofMillis(millis));
+			} catch (NumberFormatException e) {
+				// Ignore
+			}
+		}
+	}
+
+	private void characters(XMLStreamReader reader) throws IOException {
+		TraceBuffer buffer;
+		if (fInExpected) {
+			buffer = fExpectedBuffer;
+		} else if (fInActual) {
+			buffer = fActualBuffer;
+		} else {
+			buffer = fFailureBuffer;
+		}
+		if (buffer != null) {
+			buffer.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+		}
+	}
+
+	private void endElement(XMLStreamReader reader) throws XMLStreamException, IOException {
+		String name = reader.getLocalName();
+		switch (name) {
+		// OK
+		case IXMLTags.NODE_TESTRUN:
+		case IXMLTags.NODE_TESTSUITES:
+			break;
+		case IXMLTags.NODE_TESTSUITE:
+			handleTestElementEnd(fTestSuite);
+			fTestSuite = fTestSuite.getParent();
+			// TODO: end suite: compare counters?
+			break;
+		// OK
+		case IXMLTags.NODE_PROPERTIES:
+		case IXMLTags.NODE_PROPERTY:
+			break;
+		case IXMLTags.NODE_TESTCASE:
+			handleTestElementEnd(fTestCase);
+			fTestCase = null;
+			break;
+		case IXMLTags.NODE_FAILURE:
+		case IXMLTags.NODE_ERROR:
+			handleFailure(fTestCase != null ? fTestCase : fTestSuite);
+			break;
+		case IXMLTags.NODE_EXPECTED:
+			fInExpected = false;
+			if (fFailureBuffer != null) {
+				// skip whitespace from before <expected> and <actual> nodes
+				fFailureBuffer = newBuffer(fFailureBuffer);
+			}
+			break;
+		case IXMLTags.NODE_ACTUAL:
+			fInActual = false;
+			if (fFailureBuffer != null) {
+				// skip whitespace from before <expected> and <actual> nodes
+				fFailureBuffer = newBuffer(fFailureBuffer);
+			}
+			break;
+		// OK
+		case IXMLTags.NODE_SYSTEM_OUT:
+		case IXMLTags.NODE_SYSTEM_ERR:
+			break;
+		case IXMLTags.NODE_SKIPPED: {
+			TestElement testElement = fTestCase != null ? fTestCase : fTestSuite;
+			if (fFailureBuffer != null && !fFailureBuffer.isEmpty()) {
+				handleFailure(testElement);
+				testElement.setAssumptionFailed(true);
+			} else if (fTestCase != null) {
+				fTestCase.setIgnored(true);
+			} else { // not expected
+				testElement.setAssumptionFailed(true);
+			}
+			discard(fFailureBuffer);
+			fFailureBuffer = null;
+			break;
+		}
+		default:
+			throw unknownNode(name, reader.getLocation());
+		}
+	}
+
+	private void handleTestElementEnd(TestElement testElement) {
+		boolean completed = !fNotRun.get(--fDepth);
+		fTestRunSession.registerTestEnded(testElement, completed);
+	}
+
+	private void handleFailure(TestElement testElement) throws IOException {
+		if (fFailureBuffer == null) {
+			return;
+		}
+		String expected = toString(fExpectedBuffer);
+		String actual = toString(fActualBuffer);
+		Path traceFile = fFailureBuffer.close();
+		if (traceFile != null) {
+			fTestRunSession.registerTestFailureStatus(testElement, fStatus,
+					new SpilledFailureTrace(traceFile, expected, actual));
+		} else {
+			fTestRunSession.registerTestFailureStatus(testElement, fStatus,
+					new FailureTrace(fFailureBuffer.toString(), expected, actual));
+		}
+		fFailureBuffer = null;
+		fExpectedBuffer = null;
+		fActualBuffer = null;
+		fStatus = null;
+	}
+
+	/**
+	 * Returns the text of an expected or actual value. These are needed in
+	 * memory for comparison and are not spilled.
+	 */
+	private static String toString(TraceBuffer buffer) throws IOException {
+		if (buffer == null) {
+			return null;
+		}
+		Path file = buffer.close();
+		if (file == null) {
+			return buffer.toString();
+		}
+		try {
+			return Files.readString(file, StandardCharsets.UTF_8);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private TraceBuffer newBuffer(TraceBuffer previous) throws IOException {
+		discard(previous);
+		return new TraceBuffer();
+	}
+
+	private static void discard(TraceBuffer buffer) throws IOException {
+		if (buffer != null) {
+			Path file = buffer.close();
+			if (file != null) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	private static XMLStreamException unknownNode(String name, Location location) {
+		// TODO: just log if debug option is enabled?
+		return new XMLStreamException("unknown node '" + name + "'", location); //$NON-NLS-1$//$NON-NLS-2$
+	}
+
+	private String getNextId() {
+		return Integer.toString(fId++);
+	}
+
+	/**
+	 * Collects a text in memory up to a threshold, and in a temporary side file
+	 * beyond.
+	 */
+	private final class TraceBuffer {
+		private StringBuilder fChars = new StringBuilder();
+		private Path fFile;
+		private Writer fWriter;
+		private boolean fEmpty = true;
+
+		void append(char[] chars, int start, int length) throws IOException {
+			if (length == 0) {
+				return;
+			}
+			fEmpty = false;
+			if (fWriter != null) {
+				fWriter.write(chars, start, length);
+				return;
+			}
+			fChars.append(chars, start, length);
+			if (fChars.length() > fSpillThreshold) {
+				fFile = fTestRunSession.createSpillFile(
+						fSpillDirectory != null ? fSpillDirectory : getDefaultSpillDirectory());
+				fWriter = Files.newBufferedWriter(fFile, StandardCharsets.UTF_8);
+				fWriter.append(fChars);
+				fChars = null;
+			}
+		}
+
+		void append(String string) throws IOException {
+			append(string.toCharArray(), 0, string.length());
+		}
+
+		boolean isEmpty() {
+			return fEmpty;
+		}
+
+		/**
+		 * Finishes collecting
+		 *
+		 * @return the side file holding the text, or <code>null</code> if the text
+		 *         is in memory
+		 */
+		Path close() throws IOException {
+			if (fWriter != null) {
+				fWriter.close();
+				fWriter = null;
+			}
+			return fFile;
+		}
+
+		@Override
+		public String toString() {
+			return fChars != null ? fChars.toString() : null;
+		}
+	}
+}
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.unittest.internal.junitXmlReport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.eclipse.unittest.internal.model.ProgressState;
+import org.eclipse.unittest.internal.model.SpilledFailureTrace;
+import org.eclipse.unittest.internal.model.TestCaseElement;
+import org.eclipse.unittest.internal.model.TestElement;
+import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.TestSuiteElement;
+import org.eclipse.unittest.model.ITestElement;
+import org.eclipse.unittest.model.ITestElement.FailureTrace;
+import org.eclipse.unittest.model.ITestElement.Result;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+/**
+ * Writes a {@link TestRunSession} as a JUnit XML report with a streaming
+ * writer. Failure traces kept in side files are copied to the report in
+ * chunks.
+ */
+public class TestRunSessionWriter {
+
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+	private static final String INDENT = "  "; //$NON-NLS-1$
+
+	private final TestRunSession fTestRunSession;
+	private XMLStreamWriter fWriter;
+
+	private int fDepth;
+
+	/**
+	 * Whether the last item written was an end tag, so that the next end tag is
+	 * indented. End tags following text are not, to keep the text unchanged.
+	 */
+	private boolean fAfterEndTag;
+
+	/**
+	 * @param testRunSession the test run session to write
+	 */
+	public TestRunSessionWriter(TestRunSession testRunSession) {
+		Assert.isNotNull(testRunSession);
+		fTestRunSession = testRunSession;
+	}
+
+	/**
+	 * Writes the test run session
+	 *
+	 * @param out the stream to write to, not closed by this method
+	 * @throws XMLStreamException if writing fails
+	 * @throws IOException        if a side file of a failure trace cannot be read
+	 */
+	public void write(OutputStream out) throws XMLStreamException, IOException {
+		fWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(out, ENCODING);
+		try {
+			fWriter.writeStartDocument(ENCODING, "1.0"); //$NON-NLS-1$
+			handleTestRun();
+			fWriter.writeEndDocument();
+			fWriter.flush();
+		} finally {
+			fWriter.close();
+			fWriter = null;
+		}
+	}
+
+	private void handleTestRun() throws XMLStreamException, IOException {
+		startElement(IXMLTags.NODE_TESTRUN);
+		addAttribute(IXMLTags.ATTR_NAME, fTestRunSession.getTestRunName());
+
+		ILaunchConfiguration launchConfig = fTestRunSession.getLaunch() != null
+				? fTestRunSession.getLaunch().getLaunchConfiguration()
+				: null;
+		if (launchConfig != null) {
+			addAttribute(IXMLTags.ATTR_LAUNCH_CONFIG_NAME, launchConfig.getName());
+		}
+
+		Integer total = fTestRunSession.getFinalTestCaseCount();
+		if (total != null) {
+			addAttribute(IXMLTags.ATTR_TESTS, total.intValue());
+		}
+		addAttribute(IXMLTags.ATTR_STARTED, fTestRunSession.countStartedTestCases());
+		addAttribute(IXMLTags.ATTR_FAILURES, fTestRunSession.getCurrentFailureCount());
+		addAttribute(IXMLTags.ATTR_ERRORS, fTestRunSession.getCurrentErrorCount());
+		addAttribute(IXMLTags.ATTR_IGNORED, fTestRunSession.getCurrentIgnoredCount());
+		Instant startTime = fTestRunSession.getStartTime();
+		if (startTime != null) {
+			addAttribute(IXMLTags.ATTR_START_TIME, startTime.toString());
+		}
+		Duration duration = fTestRunSession.getDuration();
+		if (duration != null) {
+			addAttribute(IXMLTags.ATTR_DURATION, duration.toString());
+		}
+
+		for (ITestElement topSuite : fTestRunSession.getChildren()) {
+			handleTestElement(topSuite);
+		}
+
+		endElement();
+	}
+
+	private void handleTestElement(ITestElement testElement) throws XMLStreamException, IOException {
+		if (testElement instanceof TestSuiteElement) {
+			TestSuiteElement testSuiteElement = (TestSuiteElement) testElement;
+
+			startElement(IXMLTags.NODE_TESTSUITE);
+			// Need to store the full #getTestName instead of only the #getSuiteTypeName for
+			// test factory methods
+			addAttribute(IXMLTags.ATTR_NAME, testSuiteElement.getTestName());
+			if (testSuiteElement.getDuration() != null) {
+				addAttribute(IXMLTags.ATTR_DURATION,
+						Double.toString(testSuiteElement.getDuration().toMillis() / 1000.));
+			}
+			if (testSuiteElement.getProgressState() != ProgressState.COMPLETED
+					|| testSuiteElement.getTestResult(false) != Result.UNDEFINED)
+				addAttribute(IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
+			if (testSuiteElement.getDisplayName() != null) {
+				addAttribute(IXMLTags.ATTR_DISPLAY_NAME, testSuiteElement.getDisplayName());
+			}
+			if (testSuiteElement.getData() != null) {
+				addAttribute(IXMLTags.ATTR_DATA, testSuiteElement.getData());
+			}
+			addFailure(testSuiteElement);
+
+			for (ITestElement child : testSuiteElement.getChildren()) {
+				handleTestElement(child);
+			}
+			endElement();
+
+		} else if (testElement instanceof TestCaseElement) {
+			TestCaseElement testCaseElement = (TestCaseElement) testElement;
+
+			startElement(IXMLTags.NODE_TESTCASE);
+			if (testCaseElement.getDuration() != null) {
+				addAttribute(IXMLTags.ATTR_DURATION, testCaseElement.getDuration().toString());
+			}
+			if (testCaseElement.getProgressState() != ProgressState.COMPLETED)
+				addAttribute(IXMLTags.ATTR_INCOMPLETE, Boolean.TRUE.toString());
+			if (testCaseElement.isIgnored())
+				addAttribute(IXMLTags.ATTR_IGNORED, Boolean.TRUE.toString());
+			if (testCaseElement.isDynamicTest()) {
+				addAttribute(IXMLTags.ATTR_DYNAMIC_TEST, Boolean.TRUE.toString());
+			}
+			if (testCaseElement.getDisplayName() != null) {
+				addAttribute(IXMLTags.ATTR_DISPLAY_NAME, testCaseElement.getDisplayName());
+			}
+			if (testCaseElement.getData() != null) {
+				addAttribute(IXMLTags.ATTR_DATA, testCaseElement.getData());
+			}
+			addFailure(testCaseElement);
+
+			endElement();
+
+		} else {
+			throw new IllegalStateException(String.valueOf(testElement));
+		}
+
+	}
+
+	private void addFailure(TestElement testElement) throws XMLStreamException, IOException {
+		SpilledFailureTrace spilledTrace = testElement.getSpilledFailureTrace();
+		FailureTrace failureTrace = spilledTrace == null ? testElement.getFailureTrace() : null;
+
+		if (testElement.isAssumptionFailure()) {
+			startElement(IXMLTags.NODE_SKIPPED);
+			if (spilledTrace != null) {
+				addCharacters(spilledTrace);
+			} else if (failureTrace != null) {
+				addCharacters(failureTrace.getTrace());
+			}
+			endElement();
+
+		} else if (spilledTrace != null || failureTrace != null) {
+			String failureKind = testElement.getTestResult(false) == Result.ERROR ? IXMLTags.NODE_ERROR
+					: IXMLTags.NODE_FAILURE;
+			startElement(failureKind);
+			String expected = spilledTrace != null ? spilledTrace.getExpected() : failureTrace.getExpected();
+			String actual = spilledTrace != null ? spilledTrace.getActual() : failureTrace.getActual();
+			if (expected != null) {
+				startElement(IXMLTags.NODE_EXPECTED);
+				addCharacters(expected);
+				endElement();
+			}
+			if (actual != null) {
+				startElement(IXMLTags.NODE_ACTUAL);
+				addCharacters(actual);
+				endElement();
+			}
+			if (spilledTrace != null) {
+				addCharacters(spilledTrace);
+			} else {
+				addCharacters(failureTrace.getTrace());
+			}
+			endElement();
+		}
+	}
+
+	private void startElement(String name) throws XMLStreamException {
+		newLine();
+		fWriter.writeStartElement(name);
+		fDepth++;
+		fAfterEndTag = false;
+	}
+
+	private void endElement() throws XMLStreamException {
+		fDepth--;
+		if (fAfterEndTag) {
+			newLine();
+		}
+		fWriter.writeEndElement();
+		fAfterEndTag = true;
+	}
+
+	private void newLine() throws XMLStreamException {
+		fWriter.writeCharacters("\n"); //$NON-NLS-1$
+		for (int i = 0; i < fDepth; i++) {
+			fWriter.writeCharacters(INDENT);
+		}
+	}
+
+	private void addAttribute(String name, int value) throws XMLStreamException {
+		addAttribute(name, Integer.toString(value));
+	}
+
+	private void addAttribute(String name, String value) throws XMLStreamException {
+		fWriter.writeAttribute(name, value);
+	}
+
+	private void addCharacters(String string) throws XMLStreamException {
+		fWriter.writeCharacters(escapeNonUnicodeChars(string));
+		fAfterEndTag = false;
+	}
+
+	/**
+	 * Copies a trace kept in a side file in chunks, never splitting a surrogate
+	 * pair between chunks.
+	 */
+	private void addCharacters(SpilledFailureTrace spilledTrace) throws XMLStreamException, IOException {
+		char[] chunk = new char[8192];
+		int length = 0;
+		try (Reader reader = spilledTrace.openTrace()) {
+			int read;
+			while ((read = reader.read(chunk, length, chunk.length - length)) != -1) {
+				length += read;
+				int complete = Character.isHighSurrogate(chunk[length - 1]) ? length - 1 : length;
+				fWriter.writeCharacters(escapeNonUnicodeChars(new String(chunk, 0, complete)));
+				length -= complete;
+				if (length > 0) {
+					chunk[0] = chunk[complete];
+				}
+			}
+		}
+		if (length > 0) {
+			fWriter.writeCharacters(new String(chunk, 0, length));
+		}
+		fAfterEndTag = false;
+	}
+
+	/**
+	 * Replaces all non-Unicode characters in the given string.
+	 *
+	 * @param string a string
+	 * @return string with Java-escapes
+	 */
+	private static String escapeNonUnicodeChars(String string) {
+		StringBuilder buf = null;
+		for (int i = 0; i < string.length(); i++) {
+			char ch = string.charAt(i);
+			if (!(ch == 9 || ch == 10 || ch == 13 || ch >= 32)) {
+				if (buf == null) {
+					buf = new StringBuilder(string.substring(0, i));
+				}
+				buf.append("\\u"); //$NON-NLS-1$
+				String hex = Integer.toHexString(ch);
+				for (int j = hex.length(); j < 4; j++)
+					buf.append('0');
+				buf.append(hex);
+			} else if (buf != null) {
+				buf.append(ch);
+			}
+		}
+		if (buf != null) {
+			return buf.toString();
+		}
+		return string;
+	}
+}
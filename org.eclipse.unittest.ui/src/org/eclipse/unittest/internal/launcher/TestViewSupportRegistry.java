@@ -121,10 +121,13 @@ public class TestViewSupportRegistry {
 	/**
 	 * Returns {@link ITestViewSupport} instance from the given launch configuration
 	 *
-	 * @param launchConfiguration a launch configuration
+	 * @param launchConfiguration a launch configuration, can be <code>null</code>
 	 * @return an {@link Optional <ITestViewSupport>} object instance
 	 */
 	public static Optional<ITestViewSupport> newTestRunnerViewSupport(ILaunchConfiguration launchConfiguration) {
+		if (launchConfiguration == null) {
+			return Optional.empty();
+		}
 		try {
 			return getDefault().findTestViewSupport(launchConfiguration
 					.getAttribute(UnitTestLaunchConfigurationConstants.ATTR_UNIT_TEST_VIEW_SUPPORT, (String) null));
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.unittest.internal.model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.eclipse.unittest.internal.UnitTestPlugin;
+import org.eclipse.unittest.model.ITestElement.FailureTrace;
+
+/**
+ * A failure trace whose stack trace is kept in a side file instead of memory.
+ * Used for huge traces of imported test runs: the trace is only read when the
+ * failure trace of its test element is requested, and streamed when the test
+ * run is exported.
+ */
+public final class SpilledFailureTrace {
+
+	private final Path fTraceFile;
+	private final String fExpected;
+	private final String fActual;
+
+	/**
+	 * Constructs a spilled failure trace
+	 *
+	 * @param traceFile a UTF-8 encoded file holding the stack trace
+	 * @param expected  the expected result or <code>null</code>
+	 * @param actual    the actual result or <code>null</code>
+	 */
+	public SpilledFailureTrace(Path traceFile, String expected, String actual) {
+		fTraceFile = traceFile;
+		fExpected = expected;
+		fActual = actual;
+	}
+
+	/**
+	 * Opens the stack trace for reading
+	 *
+	 * @return a reader of the stack trace
+	 * @throws IOException if the side file cannot be read
+	 */
+	public Reader openTrace() throws IOException {
+		return Files.newBufferedReader(fTraceFile, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the expected result or <code>null</code>
+	 *
+	 * @return the expected result or <code>null</code>
+	 */
+	public String getExpected() {
+		return fExpected;
+	}
+
+	/**
+	 * Returns the actual result or <code>null</code>
+	 *
+	 * @return the actual result or <code>null</code>
+	 */
+	public String getActual() {
+		return fActual;
+	}
+
+	/**
+	 * Reads the stack trace into a {@link FailureTrace}
+	 *
+	 * @return a failure trace, with an empty stack trace if the side file cannot
+	 *         be read
+	 */
+	public FailureTrace load() {
+		String trace;
+		try {
+			trace = Files.readString(fTraceFile, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			UnitTestPlugin.log(e);
+			trace = ""; //$NON-NLS-1$
+		}
+		return new FailureTrace(trace, fExpected, fActual);
+	}
+
+	/**
+	 * Deletes a directory of side files with its contents
+	 *
+	 * @param directory a directory, may not exist
+	 */
+	public static void deleteDirectory(Path directory) {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+				try {
+					Files.delete(path);
+				} catch (IOException e) {
+					UnitTestPlugin.log(e);
+				}
+			});
+		} catch (IOException e) {
+			UnitTestPlugin.log(e);
+		}
+	}
+}
@@ -26,6 +26,17 @@ public class TestCaseElement extends TestElement implements ITestCaseElement {
 	private boolean fIgnored;
 	private boolean fIsDynamicTest;
 
+	private static final int STARTED = 1;
+	private static final int FAILURE = 1 << 1;
+	private static final int ERROR = 1 << 2;
+	private static final int IGNORED = 1 << 3;
+	private static final int ASSUMPTION_FAILURE = 1 << 4;
+
+	/**
+	 * The flags this test case contributes to the counters of its ancestors.
+	 */
+	private int fCounted;
+
 	/**
 	 * Constructs a {@link TestCaseElement} object
 	 *
@@ -50,6 +61,7 @@ public class TestCaseElement extends TestElement implements ITestCaseElement {
 
 	public void setIgnored(boolean ignored) {
 		fIgnored = ignored;
+		statusChanged();
 	}
 
 	@Override
@@ -57,6 +69,28 @@ public class TestCaseElement extends TestElement implements ITestCaseElement {
 		return fIgnored;
 	}
 
+	@Override
+	void statusChanged() {
+		int counted = (countStartedTestCases() != 0 ? STARTED : 0) | (getCurrentFailureCount() != 0 ? FAILURE : 0)
+				| (getCurrentErrorCount() != 0 ? ERROR : 0) | (isIgnored() ? IGNORED : 0)
+				| (isAssumptionFailure() ? ASSUMPTION_FAILURE : 0);
+		int changed = counted ^ fCounted;
+		if (changed != 0) {
+			fCounted = counted;
+			getParent().countsChanged(delta(changed, counted, STARTED), delta(changed, counted, FAILURE),
+					delta(changed, counted, ERROR), delta(changed, counted, IGNORED),
+					delta(changed, counted, ASSUMPTION_FAILURE));
+		}
+		super.statusChanged();
+	}
+
+	private static int delta(int changed, int counted, int flag) {
+		if ((changed & flag) == 0) {
+			return 0;
+		}
+		return (counted & flag) != 0 ? 1 : -1;
+	}
+
 	@Override
 	public String toString() {
 		return "TestCase: " + super.toString(); //$NON-NLS-1$
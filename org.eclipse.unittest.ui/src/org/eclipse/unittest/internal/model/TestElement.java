@@ -42,11 +42,28 @@ public abstract class TestElement implements ITestElement {
 	private Status fStatus;
 	protected FailureTrace fTrace;
 
+	/**
+	 * The failure trace kept in a side file, if {@link #fTrace} is
+	 * <code>null</code>
+	 */
+	private SpilledFailureTrace fSpilledTrace;
+
 	private boolean fAssumptionFailed;
 
 	protected Instant testStartedInstant = null;
 	protected Duration fDuration = null;
 
+	/**
+	 * The status last reported to the parent, counted by the parent's
+	 * cumulated status.
+	 */
+	Status fReportedStatus = Status.NOT_RUN;
+
+	/**
+	 * The index of this element in the children of its parent.
+	 */
+	int fIndexInParent;
+
 	/**
 	 * Constructs the test element object
 	 *
@@ -140,12 +157,21 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult = getTestResult(false);
 		if ((testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED) && fTrace != null)) {
-			return fTrace;
+				|| (testResult == Result.IGNORED) && (fTrace != null || fSpilledTrace != null))) {
+			return fTrace != null || fSpilledTrace == null ? fTrace : fSpilledTrace.load();
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the failure trace of this element if it is kept in a side file
+	 *
+	 * @return the spilled failure trace or <code>null</code>
+	 */
+	public SpilledFailureTrace getSpilledFailureTrace() {
+		return fTrace == null ? fSpilledTrace : null;
+	}
+
 	@Override
 	public TestSuiteElement getParent() {
 		return fParent;
@@ -175,12 +201,22 @@ public abstract class TestElement implements ITestElement {
 		}
 
 		fStatus = status;
+		statusChanged();
 		TestSuiteElement parent = getParent();
 		if (parent != null) {
 			parent.childChangedStatus(this, status);
 		}
 	}
 
+	/**
+	 * Updates the counters of the ancestors and the failure index of the test
+	 * run session after the status, the assumption failure flag or the ignored
+	 * flag of this element changed.
+	 */
+	void statusChanged() {
+		getTestRunSession().updateFailureIndex(this);
+	}
+
 	/**
 	 * Sets the extended status for this test element
 	 *
@@ -189,6 +225,10 @@ public abstract class TestElement implements ITestElement {
 	 * @param failureTrace stacktracee/error message or null
 	 */
 	public void setStatus(Status status, FailureTrace failureTrace) {
+		if (fSpilledTrace != null) {
+			fTrace = fSpilledTrace.load();
+			fSpilledTrace = null;
+		}
 		if (failureTrace != null && fTrace != null) {
 			// don't overwrite first trace if same test run logs multiple errors
 			fTrace = new FailureTrace(fTrace.getTrace() + failureTrace.getTrace(), fTrace.getExpected(),
@@ -199,6 +239,20 @@ public abstract class TestElement implements ITestElement {
 		setStatus(status);
 	}
 
+	/**
+	 * Sets the extended status for this test element, with a failure trace kept
+	 * in a side file
+	 *
+	 * @param status       one of {@link Status#NOT_RUN}, {@link Status#OK},
+	 *                     {@link Status#ERROR} or {@link Status#FAILURE}.
+	 * @param spilledTrace a failure trace kept in a side file
+	 */
+	public void setStatus(Status status, SpilledFailureTrace spilledTrace) {
+		fTrace = null;
+		fSpilledTrace = spilledTrace;
+		setStatus(status);
+	}
+
 	/**
 	 * Returns the status of this test element
 	 * <ul>
@@ -236,6 +290,7 @@ public abstract class TestElement implements ITestElement {
 	 */
 	public void setAssumptionFailed(boolean assumptionFailed) {
 		fAssumptionFailed = assumptionFailed;
+		statusChanged();
 	}
 
 	/**
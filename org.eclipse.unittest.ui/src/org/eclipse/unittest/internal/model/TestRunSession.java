@@ -13,16 +13,20 @@
  *******************************************************************************/
 package org.eclipse.unittest.internal.model;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.DateFormat;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.unittest.internal.UnitTestPlugin;
 import org.eclipse.unittest.internal.launcher.TestViewSupportRegistry;
@@ -78,6 +82,18 @@ public class TestRunSession extends TestSuiteElement implements ITestRunSession,
 	 */
 	private HashMap<String, TestElement> fIdToTest;
 
+	/**
+	 * The descendants whose combined result is an error or a failure, updated
+	 * when they change.
+	 */
+	private final Set<TestElement> fFailures = new HashSet<>();
+
+	/**
+	 * The directory of the side files of spilled failure traces, or
+	 * <code>null</code> if no trace was spilled.
+	 */
+	private Path fSpillDirectory;
+
 	volatile Instant fStartTime;
 	volatile Integer fPredefinedTestCount;
 
@@ -230,22 +246,22 @@ public class TestRunSession extends TestSuiteElement implements ITestRunSession,
 
 	@Override
 	public int getCurrentErrorCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentErrorCount).sum();
+		return super.getCurrentErrorCount();
 	}
 
 	@Override
 	public int getCurrentFailureCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentFailureCount).sum();
+		return super.getCurrentFailureCount();
 	}
 
 	@Override
 	public int getCurrentAssumptionFailureCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentAssumptionFailureCount).sum();
+		return super.getCurrentAssumptionFailureCount();
 	}
 
 	@Override
 	public int getCurrentIgnoredCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentIgnoredCount).sum();
+		return super.getCurrentIgnoredCount();
 	}
 
 	/**
@@ -536,6 +552,50 @@ public class TestRunSession extends TestSuiteElement implements ITestRunSession,
 		testElement.setStatus(Status.fromResult(status), failureTrace);
 	}
 
+	/**
+	 * Registers a failure status of a test element whose failure trace is kept in
+	 * a side file
+	 *
+	 * @param testElement  a test element
+	 * @param status       a failure result
+	 * @param spilledTrace a failure trace kept in a side file
+	 */
+	public void registerTestFailureStatus(TestElement testElement, Result status, SpilledFailureTrace spilledTrace) {
+		testElement.setStatus(Status.fromResult(status), spilledTrace);
+	}
+
+	/**
+	 * Creates a side file for a spilled failure trace of this session. The file
+	 * is deleted with {@link #discardSpilledTraces()}.
+	 *
+	 * @param parentDirectory the directory in which the spill directory of this
+	 *                        session is created
+	 * @return a new empty file
+	 * @throws IOException if the file cannot be created
+	 */
+	public synchronized Path createSpillFile(Path parentDirectory) throws IOException {
+		if (fSpillDirectory == null) {
+			Files.createDirectories(parentDirectory);
+			fSpillDirectory = Files.createTempDirectory(parentDirectory, "session"); //$NON-NLS-1$
+		}
+		return Files.createTempFile(fSpillDirectory, "trace", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Deletes the side files of the spilled failure traces of this session. To be
+	 * called once the session is no longer used.
+	 */
+	public void discardSpilledTraces() {
+		Path directory;
+		synchronized (this) {
+			directory = fSpillDirectory;
+			fSpillDirectory = null;
+		}
+		if (directory != null) {
+			SpilledFailureTrace.deleteDirectory(directory);
+		}
+	}
+
 	/**
 	 * Registers an ended test element
 	 *
@@ -570,22 +630,85 @@ public class TestRunSession extends TestSuiteElement implements ITestRunSession,
 	 * @return an array of failed {@link ITestElement}s
 	 */
 	public List<TestElement> getAllFailedTestElements() {
-		List<TestElement> failures = new ArrayList<>();
-		addFailures(failures, this);
+		List<TestElement> failures;
+		synchronized (fFailures) {
+			failures = new ArrayList<>(fFailures.size() + 1);
+			failures.addAll(fFailures);
+		}
+		failures.sort(TestRunSession::compareTreeOrder);
+		if (isFailed(this)) {
+			failures.add(0, this);
+		}
 		return Collections.unmodifiableList(failures);
 	}
 
-	private void addFailures(Collection<TestElement> failures, TestElement testElement) {
+	private static boolean isFailed(TestElement testElement) {
 		Result testResult = testElement.getTestResult(true);
-		if (testResult == Result.ERROR || testResult == Result.FAILURE) {
-			failures.add(testElement);
+		return testResult == Result.ERROR || testResult == Result.FAILURE;
+	}
+
+	/**
+	 * Adds a descendant to or removes it from the failure index, according to
+	 * its current result.
+	 *
+	 * @param testElement a test element of this session
+	 */
+	void updateFailureIndex(TestElement testElement) {
+		if (testElement == this) {
+			return;
+		}
+		boolean failed = isFailed(testElement);
+		synchronized (fFailures) {
+			if (failed) {
+				fFailures.add(testElement);
+			} else {
+				fFailures.remove(testElement);
+			}
+		}
+	}
+
+	/**
+	 * Removes an element and its descendants from the failure index.
+	 *
+	 * @param testElement a removed test element
+	 */
+	void removeFromFailureIndex(TestElement testElement) {
+		synchronized (fFailures) {
+			fFailures.remove(testElement);
 		}
 		if (testElement instanceof TestSuiteElement) {
-			TestSuiteElement testSuiteElement = (TestSuiteElement) testElement;
-			for (TestElement child : testSuiteElement.getChildren()) {
-				addFailures(failures, child);
+			for (TestElement child : ((TestSuiteElement) testElement).getChildren()) {
+				removeFromFailureIndex(child);
+			}
+		}
+	}
+
+	/**
+	 * Compares two test elements of this session in pre-order of the test
+	 * tree.
+	 */
+	private static int compareTreeOrder(TestElement one, TestElement two) {
+		int[] onePath = getIndexPath(one);
+		int[] twoPath = getIndexPath(two);
+		int length = Math.min(onePath.length, twoPath.length);
+		for (int i = 0; i < length; i++) {
+			if (onePath[i] != twoPath[i]) {
+				return Integer.compare(onePath[i], twoPath[i]);
 			}
 		}
+		return Integer.compare(onePath.length, twoPath.length);
+	}
+
+	private static int[] getIndexPath(TestElement testElement) {
+		int depth = 0;
+		for (TestElement element = testElement; element.getParent() != null; element = element.getParent()) {
+			depth++;
+		}
+		int[] path = new int[depth];
+		for (TestElement element = testElement; element.getParent() != null; element = element.getParent()) {
+			path[--depth] = element.fIndexInParent;
+		}
+		return path;
 	}
 
 	@Override
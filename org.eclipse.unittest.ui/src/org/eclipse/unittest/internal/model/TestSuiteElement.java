@@ -33,6 +33,25 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	private Status fChildrenStatus;
 	private Integer expectedTestCount;
 
+	/**
+	 * Number of children by the status last reported to this suite, see
+	 * {@link #getCumulatedStatus()}
+	 */
+	private int fNotRunChildren;
+	private int fRunningChildren;
+	private int fErrorChildren;
+	private int fFailureChildren;
+
+	/**
+	 * Counters of the test cases in this suite and its descendants, updated by
+	 * the test cases when they change
+	 */
+	private int fStartedCount;
+	private int fFailureCount;
+	private int fErrorCount;
+	private int fIgnoredCount;
+	private int fAssumptionFailureCount;
+
 	/**
 	 * Constructs a test suite object
 	 *
@@ -70,7 +89,9 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	 * @param child a child {@link ITestElement}
 	 */
 	public void addChild(TestElement child) {
+		child.fIndexInParent = fChildren.size();
 		fChildren.add(child);
+		countChildStatus(child.fReportedStatus, 1);
 	}
 
 	/**
@@ -79,7 +100,43 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	 * @param child a child {@link ITestElement}
 	 */
 	public void removeChild(TestElement child) {
-		fChildren.remove(child);
+		if (fChildren.remove(child)) {
+			for (int i = child.fIndexInParent; i < fChildren.size(); i++) {
+				fChildren.get(i).fIndexInParent = i;
+			}
+			countChildStatus(child.fReportedStatus, -1);
+			countsChanged(-child.countStartedTestCases(), -child.getCurrentFailureCount(),
+					-child.getCurrentErrorCount(), -child.getCurrentIgnoredCount(),
+					-child.getCurrentAssumptionFailureCount());
+			getTestRunSession().removeFromFailureIndex(child);
+		}
+	}
+
+	private void countChildStatus(Status status, int delta) {
+		if (status.isNotRun()) {
+			fNotRunChildren += delta;
+		} else if (status.isRunning()) {
+			fRunningChildren += delta;
+		}
+		if (status.isError()) {
+			fErrorChildren += delta;
+		} else if (status.isFailure()) {
+			fFailureChildren += delta;
+		}
+	}
+
+	/**
+	 * Adds the changes of a descendant test case to the counters of this suite
+	 * and its ancestors.
+	 */
+	void countsChanged(int started, int failures, int errors, int ignored, int assumptionFailures) {
+		for (TestSuiteElement suite = this; suite != null; suite = suite.getParent()) {
+			suite.fStartedCount += started;
+			suite.fFailureCount += failures;
+			suite.fErrorCount += errors;
+			suite.fIgnoredCount += ignored;
+			suite.fAssumptionFailureCount += assumptionFailures;
+		}
 	}
 
 	@Override
@@ -94,22 +151,32 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		}
 	}
 
+	/**
+	 * Returns the status of all children combined, as {@link #combineStatus}
+	 * folded over the children would, from the counted child statuses.
+	 */
 	private Status getCumulatedStatus() {
-		TestElement[] children = fChildren.toArray(new TestElement[fChildren.size()]); // copy list to avoid concurreny
-																						// problems
-		if (children.length == 0)
+		int childCount = fChildren.size();
+		if (childCount == 0)
 			return getSuiteStatus();
 
-		Status cumulated = children[0].getStatus();
-
-		for (int i = 1; i < children.length; i++) {
-			Status childStatus = children[i].getStatus();
-			cumulated = combineStatus(cumulated, childStatus);
+		Status progress;
+		if (fNotRunChildren == childCount) {
+			progress = Status.NOT_RUN;
+		} else if (fRunningChildren > 0) {
+			progress = Status.RUNNING;
+		} else {
+			progress = Status.OK; // done, or a parent failed and some children are not run
+		}
+		Status error;
+		if (fErrorChildren > 0) {
+			error = Status.ERROR;
+		} else if (fFailureChildren > 0) {
+			error = Status.FAILURE;
+		} else {
+			error = Status.OK;
 		}
-		// not necessary, see special code in Status.combineProgress()
-//		if (suiteStatus.isErrorOrFailure() && cumulated.isNotRun())
-//			return suiteStatus; //progress is Done if error in Suite and no children run
-		return cumulated;
+		return combineProgressAndErrorStatus(progress, error);
 	}
 
 	/**
@@ -129,6 +196,13 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	 * @param childStatus a new status value
 	 */
 	public void childChangedStatus(ITestElement child, Status childStatus) {
+		TestElement element = (TestElement) child;
+		Status reported = element.getStatus();
+		if (element.fReportedStatus != reported) {
+			countChildStatus(element.fReportedStatus, -1);
+			countChildStatus(reported, 1);
+			element.fReportedStatus = reported;
+		}
 		int childCount = fChildren.size();
 		if (child == fChildren.get(0) && childStatus.isRunning()) {
 			// is first child, and is running -> copy status
@@ -182,6 +256,7 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		}
 
 		fChildrenStatus = status;
+		statusChanged();
 
 		TestSuiteElement parent = getParent();
 		if (parent != null) {
@@ -261,27 +336,27 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 
 	@Override
 	public int countStartedTestCases() {
-		return getChildren().stream().mapToInt(TestElement::countStartedTestCases).sum();
+		return fStartedCount;
 	}
 
 	@Override
 	int getCurrentFailureCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentFailureCount).sum();
+		return fFailureCount;
 	}
 
 	@Override
 	int getCurrentAssumptionFailureCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentAssumptionFailureCount).sum();
+		return fAssumptionFailureCount;
 	}
 
 	@Override
 	int getCurrentIgnoredCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentIgnoredCount).sum();
+		return fIgnoredCount;
 	}
 
 	@Override
 	int getCurrentErrorCount() {
-		return getChildren().stream().mapToInt(TestElement::getCurrentErrorCount).sum();
+		return fErrorCount;
 	}
 
 }
@@ -14,21 +14,19 @@
 package org.eclipse.unittest.internal.model;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
-
-import org.xml.sax.SAXException;
+import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.unittest.internal.UnitTestPlugin;
 import org.eclipse.unittest.internal.UnitTestPreferencesConstants;
-import org.eclipse.unittest.internal.junitXmlReport.TestRunHandler;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionReader;
 import org.eclipse.unittest.model.ITestRunSession;
 
 import org.eclipse.core.runtime.Assert;
@@ -198,7 +196,7 @@ public final class UnitTestModel {
 			throws InvocationTargetException, InterruptedException {
 		monitor.beginTask(ModelMessages.UnitTestModel_importing_from_url, IProgressMonitor.UNKNOWN);
 		final String trimmedUrl = url.trim().replaceAll("\r\n?|\n", ""); //$NON-NLS-1$ //$NON-NLS-2$
-		final TestRunHandler handler = new TestRunHandler(monitor);
+		final TestRunSessionReader reader = new TestRunSessionReader(monitor);
 
 		final CoreException[] exception = { null };
 		final TestRunSession[] session = { null };
@@ -206,23 +204,14 @@ public final class UnitTestModel {
 		Thread importThread = new Thread("UnitTest URL importer") { //$NON-NLS-1$
 			@Override
 			public void run() {
-				try {
-					SAXParserFactory parserFactory = SAXParserFactory.newInstance();
-//					parserFactory.setValidating(true); // TODO: add DTD and debug flag
-					SAXParser parser = parserFactory.newSAXParser();
-					parser.parse(trimmedUrl, handler);
-					session[0] = handler.getTestRunSession();
+				try (InputStream in = new URL(trimmedUrl).openStream()) {
+					session[0] = reader.read(in);
 				} catch (OperationCanceledException e) {
 					// canceled
-				} catch (ParserConfigurationException e) {
-					storeImportError(e);
-				} catch (SAXException e) {
+				} catch (XMLStreamException e) {
 					storeImportError(e);
 				} catch (IOException e) {
 					storeImportError(e);
-				} catch (IllegalArgumentException e) {
-					// Bug in parser: can throw IAE even if URL is not null
-					storeImportError(e);
 				}
 			}
 
@@ -276,6 +265,7 @@ public final class UnitTestModel {
 		for (ITestRunSessionListener listener : fTestRunSessionListeners) {
 			listener.sessionRemoved(testRunSession);
 		}
+		testRunSession.discardSpilledTraces();
 	}
 
 	private void notifyTestRunSessionAdded(ITestRunSession testRunSession) {
@@ -16,14 +16,16 @@ package org.eclipse.unittest.internal.ui;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.unittest.internal.UnitTestPlugin;
 import org.eclipse.unittest.internal.model.Status;
@@ -75,7 +77,7 @@ import org.eclipse.debug.core.ILaunchManager;
 /**
  * A Test Viewer implementation
  */
-class TestViewer {
+public class TestViewer {
 
 	private final class TestSelectionListener implements ISelectionChangedListener {
 		@Override
@@ -230,11 +232,31 @@ class TestViewer {
 
 	private TestRunSession fTestRunSession;
 
+	/**
+	 * Maximum time spent applying changes to the viewers per call of
+	 * {@link #processChangesInUI()}. Remaining changes are applied in later
+	 * runs of the UI event loop.
+	 */
+	private static final long CHANGES_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	/**
+	 * Number of changes applied between checks of the time budget.
+	 */
+	private static final int CHANGES_BATCH_SIZE = 100;
+
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
-	private HashSet<ITestElement> fNeedUpdate;
+	private LinkedHashSet<ITestElement> fNeedAdd;
+	private LinkedHashSet<ITestElement> fNeedUpdate;
 	private ITestCaseElement fAutoScrollTarget;
 
+	/**
+	 * Ancestors of the updated elements whose labels are updated at the end of
+	 * a call of {@link #processChangesInUI()}. Only accessed in the UI thread.
+	 */
+	private final HashSet<ITestElement> fNeedUpdateParents = new HashSet<>();
+	private boolean fRemainingChangesScheduled;
+
 	private LinkedList<ITestSuiteElement> fAutoClose;
 	private HashSet<ITestSuiteElement> fAutoExpand;
 
@@ -547,41 +569,124 @@ class TestViewer {
 
 		StructuredViewer viewer = getActiveViewer();
 		if (getActiveViewerNeedsRefresh()) {
-			clearUpdateAndExpansion();
+			synchronized (this) {
+				if (!fNeedAdd.isEmpty() || !fNeedUpdate.isEmpty()) {
+					// pending changes are dropped, the other viewer must be refreshed as well
+					fTreeNeedsRefresh = true;
+					fTableNeedsRefresh = true;
+				}
+				clearUpdateAndExpansion();
+			}
 			setActiveViewerNeedsRefresh(false);
 			viewer.setInput(fTestRunnerPart);
 		} else {
+			processPendingChanges(System.nanoTime() + CHANGES_BUDGET_NANOS);
+		}
+		autoScrollInUI();
+	}
+
+	/**
+	 * Applies the pending additions and updates in batches until all are applied
+	 * or the deadline has passed.
+	 *
+	 * @param deadline the deadline, in terms of {@link System#nanoTime()}
+	 */
+	private void processPendingChanges(long deadline) {
+		boolean done;
+		do {
+			Object[] toAdd;
 			Object[] toUpdate;
 			synchronized (this) {
-				toUpdate = fNeedUpdate.toArray();
-				fNeedUpdate.clear();
+				// add before updating, so updates find the added items
+				toAdd = poll(fNeedAdd, CHANGES_BATCH_SIZE);
+				toUpdate = poll(fNeedUpdate, CHANGES_BATCH_SIZE - toAdd.length);
+				done = fNeedAdd.isEmpty() && fNeedUpdate.isEmpty();
+			}
+			for (Object element : toAdd) {
+				addElement((TestElement) element);
+			}
+			if (toUpdate.length > 0) {
+				updateElements(toUpdate);
+			}
+		} while (!done && System.nanoTime() < deadline);
+
+		if (!fNeedUpdateParents.isEmpty()) {
+			if (!fTreeNeedsRefresh) {
+				fTreeViewer.update(fNeedUpdateParents.toArray(), null);
+			}
+			fNeedUpdateParents.clear();
+		}
+		if (!done) {
+			scheduleRemainingChanges();
+		}
+	}
+
+	private static Object[] poll(Set<ITestElement> elements, int maxCount) {
+		Object[] polled = new Object[Math.min(maxCount, elements.size())];
+		Iterator<ITestElement> iterator = elements.iterator();
+		for (int i = 0; i < polled.length; i++) {
+			polled[i] = iterator.next();
+			iterator.remove();
+		}
+		return polled;
+	}
+
+	private void scheduleRemainingChanges() {
+		if (fRemainingChangesScheduled) {
+			return;
+		}
+		fRemainingChangesScheduled = true;
+		fViewerbook.getDisplay().asyncExec(() -> {
+			fRemainingChangesScheduled = false;
+			if (!fViewerbook.isDisposed()) {
+				processChangesInUI();
 			}
-			if (!fTreeNeedsRefresh && toUpdate.length > 0) {
-				if (fTreeHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTree((TestElement) element);
-				else {
-					HashSet<Object> toUpdateWithParents = new HashSet<>();
-					toUpdateWithParents.addAll(Arrays.asList(toUpdate));
-					for (Object element : toUpdate) {
-						ITestElement parent = ((ITestElement) element).getParent();
-						while (parent != null) {
-							toUpdateWithParents.add(parent);
-							parent = parent.getParent();
-						}
+		});
+	}
+
+	private void addElement(TestElement element) {
+		// filtered viewers show new elements on their first update that passes the filter
+		if (!fTreeNeedsRefresh && !fTreeHasFilter) {
+			fTreeViewer.add(element.getParent(), element);
+		}
+		if (!fTableNeedsRefresh && !fTableHasFilter && element instanceof TestCaseElement) {
+			fTableViewer.add(element);
+		}
+	}
+
+	private void updateElements(Object[] elements) {
+		if (!fTreeNeedsRefresh) {
+			if (fTreeHasFilter)
+				for (Object element : elements)
+					updateElementInTree((TestElement) element);
+			else {
+				fTreeViewer.update(elements, null);
+				for (Object element : elements) {
+					// stop at the first ancestor already collected, its ancestors are as well
+					ITestElement parent = ((ITestElement) element).getParent();
+					while (parent != null && fNeedUpdateParents.add(parent)) {
+						parent = parent.getParent();
 					}
-					fTreeViewer.update(toUpdateWithParents.toArray(), null);
 				}
 			}
-			if (!fTableNeedsRefresh && toUpdate.length > 0) {
-				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
-				else
-					fTableViewer.update(toUpdate, null);
+		}
+		if (!fTableNeedsRefresh) {
+			if (fTableHasFilter)
+				for (Object element : elements)
+					updateElementInTable((TestElement) element);
+			else {
+				fTableViewer.update(elements, null);
+				for (Object element : elements) {
+					if (element instanceof TestSuiteElement
+							&& ((TestSuiteElement) element).getSuiteStatus().isErrorOrFailure()
+							&& fTableViewer.testFindItem(element) == null) {
+						// failed suites are listed in the flat layout as well
+						fTableNeedsRefresh = true;
+						break;
+					}
+				}
 			}
 		}
-		autoScrollInUI();
 	}
 
 	private void updateElementInTree(final TestElement testElement) {
@@ -792,6 +897,7 @@ class TestViewer {
 	}
 
 	private void clearUpdateAndExpansion() {
+		fNeedAdd = new LinkedHashSet<>();
 		fNeedUpdate = new LinkedHashSet<>();
 		fAutoClose = new LinkedList<>();
 		fAutoExpand = new HashSet<>();
@@ -803,9 +909,28 @@ class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(ITestElement testElement) {
-		// TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh = true;
-		fTableNeedsRefresh = true;
+		ITestSuiteElement parent = testElement.getParent();
+		if (parent instanceof ITestRunSession && parent.getChildren().size() <= 2) {
+			// the root of the tree changes between the session and its only child
+			fTreeNeedsRefresh = true;
+		}
+		if (testElement instanceof ITestCaseElement && !isLastInTree(testElement)) {
+			// the table lists the test cases in tree order, only appending is cheap
+			fTableNeedsRefresh = true;
+		}
+		if (!fTreeNeedsRefresh || !fTableNeedsRefresh) {
+			fNeedAdd.add(testElement);
+		}
+	}
+
+	private static boolean isLastInTree(ITestElement testElement) {
+		for (ITestElement current = testElement; current.getParent() != null; current = current.getParent()) {
+			List<? extends ITestElement> siblings = current.getParent().getChildren();
+			if (siblings.get(siblings.size() - 1) != current) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
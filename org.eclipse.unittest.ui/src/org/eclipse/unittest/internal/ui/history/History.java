@@ -13,9 +13,10 @@ package org.eclipse.unittest.internal.ui.history;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.unittest.internal.UnitTestPlugin;
 import org.eclipse.unittest.internal.model.ITestRunSessionListener;
@@ -41,6 +42,7 @@ public class History implements ITestRunSessionListener {
 
 	private boolean wasRead = false;
 	private List<HistoryItem> items = new ArrayList<>();
+	private HistoryIndex index;
 
 	/**
 	 * Creates and returns a directory to store the History information
@@ -64,17 +66,49 @@ public class History implements ITestRunSessionListener {
 	 */
 	public List<HistoryItem> getHistory() {
 		if (!wasRead) {
-			Arrays.stream(getDirectory().listFiles()).map(HistoryItem::new).forEach(items::add);
+			Set<File> known = new HashSet<>();
+			items.stream().map(HistoryItem::getFile).forEach(known::add);
+			Set<String> fileNames = new HashSet<>();
+			HistoryIndex historyIndex = getIndex();
+			for (File file : getDirectory().listFiles(File::isFile)) {
+				fileNames.add(file.getName());
+				if (known.contains(file)) {
+					continue;
+				}
+				HistoryIndex.Entry entry = historyIndex.get(file);
+				if (entry != null) {
+					items.add(new HistoryItem(file, entry.getName(), entry.getStartTime(), entry.getFailuresAndErrors()));
+				} else {
+					HistoryItem item = new HistoryItem(file);
+					item.updateIndex(historyIndex);
+					items.add(item);
+				}
+			}
+			historyIndex.retain(fileNames);
+			historyIndex.save();
 			wasRead = true;
 		}
 		return Collections.unmodifiableList(items);
 	}
 
+	/**
+	 * Returns the index of the history files
+	 *
+	 * @return the history index
+	 */
+	synchronized HistoryIndex getIndex() {
+		if (index == null) {
+			index = new HistoryIndex(getDirectory());
+		}
+		return index;
+	}
+
 	/**
 	 * Clears the history
 	 */
 	public void clear() {
 		for (HistoryItem item : items) {
+			item.discardSpilledTraces();
 			try {
 				item.removeSwapFile();
 			} catch (IOException e) {
@@ -82,6 +116,7 @@ public class History implements ITestRunSessionListener {
 			}
 		}
 		items.clear();
+		getIndex().clear();
 	}
 
 	@Override
@@ -95,10 +130,12 @@ public class History implements ITestRunSessionListener {
 				.forEach(toRemove -> {
 					try {
 						toRemove.removeSwapFile();
+						getIndex().remove(toRemove.getFile());
 					} catch (IOException e) {
 						UnitTestPlugin.log(e);
 					}
 				});
+		getIndex().save();
 	}
 
 	/**
@@ -125,8 +162,11 @@ public class History implements ITestRunSessionListener {
 	 */
 	public void remove(HistoryItem selected) {
 		this.items.remove(selected);
+		selected.discardSpilledTraces();
 		try {
 			selected.removeSwapFile();
+			getIndex().remove(selected.getFile());
+			getIndex().save();
 		} catch (IOException e) {
 			UnitTestPlugin.log(e);
 		}
@@ -139,5 +179,7 @@ public class History implements ITestRunSessionListener {
 	 */
 	public void add(HistoryItem historyItem) {
 		items.add(historyItem);
+		historyItem.updateIndex(getIndex());
+		getIndex().save();
 	}
 }
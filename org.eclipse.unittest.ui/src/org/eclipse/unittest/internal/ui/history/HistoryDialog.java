@@ -23,8 +23,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
 
-import javax.xml.transform.TransformerFactoryConfigurationError;
-
 import org.eclipse.unittest.internal.UnitTestPlugin;
 import org.eclipse.unittest.internal.model.TestRunSession;
 
@@ -108,7 +106,7 @@ public class HistoryDialog extends SelectionDialog {
 		Button importButton = new Button(buttons, SWT.PUSH);
 		importButton.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> {
 			FileDialog fileDialog = new FileDialog(getShell());
-			fileDialog.setFilterExtensions(new String[] { "*.xml" }); //$NON-NLS-1$
+			fileDialog.setFilterExtensions(new String[] { "*.xml;*.xml" + HistoryItem.COMPRESSED_SUFFIX }); //$NON-NLS-1$
 			fileDialog.setText(Messages.HistoryDialog_selectImport);
 			String path = fileDialog.open();
 			if (path == null) {
@@ -137,9 +135,14 @@ public class HistoryDialog extends SelectionDialog {
 			File directory = new File(path);
 			for (Object object : getResult()) {
 				HistoryItem historyItem = (HistoryItem) object;
+				String fileName = historyItem.getFile().getName();
+				if (fileName.endsWith(HistoryItem.COMPRESSED_SUFFIX)) {
+					// export plain XML reports
+					fileName = fileName.substring(0, fileName.length() - HistoryItem.COMPRESSED_SUFFIX.length());
+				}
 				try {
-					historyItem.storeSessionToFile(new File(directory, historyItem.getFile().getName()));
-				} catch (TransformerFactoryConfigurationError | CoreException e1) {
+					historyItem.storeSessionToFile(new File(directory, fileName));
+				} catch (CoreException e1) {
 					UnitTestPlugin.log(e1);
 				}
 			}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Red Hat Inc.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.unittest.internal.ui.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.unittest.internal.UnitTestPlugin;
+
+/**
+ * Summaries of the stored history files, so the history can be listed without
+ * parsing every stored test run.
+ * <p>
+ * A summary is only used while the modification time and size of its file are
+ * the ones recorded in the index. The index is kept in a single file next to
+ * the history directory and written by {@link #save()} after changes.
+ * </p>
+ */
+public final class HistoryIndex {
+
+	private static final int VERSION = 2;
+
+	private static final String INDEX_FILE_NAME = "history.index"; //$NON-NLS-1$
+
+	/**
+	 * The summary of a stored test run
+	 */
+	public static final class Entry {
+		private final String name;
+		private final Instant startTime;
+		private final int failuresAndErrors;
+		private final long lastModified;
+		private final long length;
+
+		Entry(String name, Instant startTime, int failuresAndErrors, long lastModified, long length) {
+			this.name = name;
+			this.startTime = startTime;
+			this.failuresAndErrors = failuresAndErrors;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		boolean isCurrent(File file) {
+			return lastModified == file.lastModified() && length == file.length();
+		}
+
+		/**
+		 * @return the test run name, can be <code>null</code>
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the test run start time, can be <code>null</code>
+		 */
+		public Instant getStartTime() {
+			return startTime;
+		}
+
+		/**
+		 * @return the number of failures and errors
+		 */
+		public int getFailuresAndErrors() {
+			return failuresAndErrors;
+		}
+	}
+
+	private final File fIndexFile;
+
+	/**
+	 * Summaries by file name, <code>null</code> until read
+	 */
+	private Map<String, Entry> fEntries;
+
+	private boolean fDirty;
+
+	/**
+	 * Creates the index of a history directory. The index file is read on first
+	 * access.
+	 *
+	 * @param historyDirectory the directory of the history files
+	 */
+	public HistoryIndex(File historyDirectory) {
+		fIndexFile = new File(historyDirectory.getParentFile(), INDEX_FILE_NAME);
+	}
+
+	/**
+	 * Returns the summary of a history file, if it is indexed and did not change
+	 * since.
+	 *
+	 * @param file a history file
+	 * @return the summary or <code>null</code>
+	 */
+	public synchronized Entry get(File file) {
+		Entry entry = getEntries().get(file.getName());
+		return entry != null && entry.isCurrent(file) ? entry : null;
+	}
+
+	/**
+	 * Records the summary of a stored history file.
+	 *
+	 * @param file              the stored history file
+	 * @param name              the test run name, can be <code>null</code>
+	 * @param startTime         the test run start time, can be <code>null</code>
+	 * @param failuresAndErrors the number of failures and errors
+	 */
+	public synchronized void put(File file, String name, Instant startTime, int failuresAndErrors) {
+		getEntries().put(file.getName(),
+				new Entry(name, startTime, failuresAndErrors, file.lastModified(), file.length()));
+		fDirty = true;
+	}
+
+	/**
+	 * Removes the summary of a history file.
+	 *
+	 * @param file a removed history file
+	 */
+	public synchronized void remove(File file) {
+		if (getEntries().remove(file.getName()) != null) {
+			fDirty = true;
+		}
+	}
+
+	/**
+	 * Keeps the summaries of the given files only.
+	 *
+	 * @param fileNames the names of the existing history files
+	 */
+	public synchronized void retain(Set<String> fileNames) {
+		if (getEntries().keySet().retainAll(fileNames)) {
+			fDirty = true;
+		}
+	}
+
+	/**
+	 * Removes all summaries and the index file.
+	 */
+	public synchronized void clear() {
+		fEntries = new HashMap<>();
+		fDirty = false;
+		try {
+			Files.deleteIfExists(fIndexFile.toPath());
+		} catch (IOException e) {
+			UnitTestPlugin.log(e);
+		}
+	}
+
+	private Map<String, Entry> getEntries() {
+		if (fEntries == null) {
+			fEntries = read();
+		}
+		return fEntries;
+	}
+
+	private Map<String, Entry> read() {
+		Map<String, Entry> entries = new HashMap<>();
+		if (!fIndexFile.isFile()) {
+			return entries;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(fIndexFile.toPath())))) {
+			if (in.readInt() != VERSION) {
+				return entries;
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String fileName = readString(in);
+				String name = in.readBoolean() ? readString(in) : null;
+				Instant startTime = in.readBoolean() ? Instant.ofEpochMilli(in.readLong()) : null;
+				int failuresAndErrors = in.readInt();
+				long lastModified = in.readLong();
+				long length = in.readLong();
+				entries.put(fileName, new Entry(name, startTime, failuresAndErrors, lastModified, length));
+			}
+		} catch (IOException e) {
+			// a damaged index is rebuilt from the history files
+			UnitTestPlugin.log(e);
+			entries.clear();
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes the index file if the summaries changed since it was read or
+	 * written.
+	 */
+	public synchronized void save() {
+		if (!fDirty) {
+			return;
+		}
+		File tempFile = new File(fIndexFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(tempFile.toPath())))) {
+				out.writeInt(VERSION);
+				out.writeInt(fEntries.size());
+				for (Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+					Entry entry = mapEntry.getValue();
+					writeString(out, mapEntry.getKey());
+					out.writeBoolean(entry.name != null);
+					if (entry.name != null) {
+						writeString(out, entry.name);
+					}
+					out.writeBoolean(entry.startTime != null);
+					if (entry.startTime != null) {
+						out.writeLong(entry.startTime.toEpochMilli());
+					}
+					out.writeInt(entry.failuresAndErrors);
+					out.writeLong(entry.lastModified);
+					out.writeLong(entry.length);
+				}
+			}
+			Files.move(tempFile.toPath(), fIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			// the summaries stay dirty if they could not be written
+			fDirty = false;
+		} catch (IOException e) {
+			UnitTestPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Writes the characters of a string. Unlike
+	 * {@link DataOutputStream#writeUTF(String)} this has no length limit.
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeInt(value.length());
+		out.writeChars(value);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available() / 2) {
+			throw new IOException("Invalid string length: " + length); //$NON-NLS-1$
+		}
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = in.readChar();
+		}
+		return new String(chars);
+	}
+}
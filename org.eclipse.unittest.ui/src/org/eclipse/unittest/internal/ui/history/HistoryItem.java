@@ -10,9 +10,13 @@
  *******************************************************************************/
 package org.eclipse.unittest.internal.ui.history;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
@@ -20,25 +24,21 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
-import javax.xml.transform.sax.SAXSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.xml.sax.InputSource;
 
 import org.eclipse.unittest.internal.UnitTestPlugin;
+import org.eclipse.unittest.internal.UnitTestPreferencesConstants;
 import org.eclipse.unittest.internal.junitXmlReport.HistoryEntryHandler;
-import org.eclipse.unittest.internal.junitXmlReport.TestRunHandler;
-import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionSerializer;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionReader;
+import org.eclipse.unittest.internal.junitXmlReport.TestRunSessionWriter;
 import org.eclipse.unittest.internal.model.ITestSessionListener;
 import org.eclipse.unittest.internal.model.ModelMessages;
 import org.eclipse.unittest.internal.model.TestRunSession;
+import org.eclipse.unittest.internal.model.UnitTestModel;
 import org.eclipse.unittest.internal.ui.BasicElementLabels;
 import org.eclipse.unittest.model.ITestCaseElement;
 import org.eclipse.unittest.model.ITestElement;
@@ -54,6 +54,11 @@ import org.eclipse.core.runtime.NullProgressMonitor;
  */
 public class HistoryItem {
 
+	/**
+	 * Suffix of the names of gzip compressed history files
+	 */
+	static final String COMPRESSED_SUFFIX = ".gz"; //$NON-NLS-1$
+
 	private File historyFile;
 
 	private TestRunSession session;
@@ -128,11 +133,11 @@ public class HistoryItem {
 	 */
 	public HistoryItem(File file) {
 		this.historyFile = file;
-		try {
+		try (InputStream in = openHistoryFile(file)) {
 			SAXParserFactory parserFactory = SAXParserFactory.newInstance();
 			SAXParser parser = parserFactory.newSAXParser();
 			HistoryEntryHandler handler = new HistoryEntryHandler();
-			parser.parse(getFile(), handler);
+			parser.parse(in, handler);
 			this.name = handler.getName();
 			this.startTime = handler.getStartTime();
 			this.failuresAndErrors = handler.getFailuresAndErrors();
@@ -141,6 +146,56 @@ public class HistoryItem {
 		}
 	}
 
+	/**
+	 * Constructs a history item object from a file and its summary in the
+	 * {@link HistoryIndex}, without reading the file
+	 *
+	 * @param file              a history item file
+	 * @param name              a test session name, can be <code>null</code>
+	 * @param startTime         a test session start time, can be <code>null</code>
+	 * @param failuresAndErrors a failure count for the test session
+	 */
+	HistoryItem(File file, String name, Instant startTime, int failuresAndErrors) {
+		this.historyFile = file;
+		this.name = name;
+		this.startTime = startTime;
+		this.failuresAndErrors = failuresAndErrors;
+	}
+
+	/**
+	 * Opens a history file for reading, decompressing it if its name ends with
+	 * {@link #COMPRESSED_SUFFIX}
+	 */
+	private static InputStream openHistoryFile(File file) throws IOException {
+		InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()));
+		if (file.getName().endsWith(COMPRESSED_SUFFIX)) {
+			try {
+				return new GZIPInputStream(in);
+			} catch (IOException e) {
+				in.close();
+				throw e;
+			}
+		}
+		return in;
+	}
+
+	/**
+	 * Records the summary of this item's stored file in a history index
+	 *
+	 * @param index a history index
+	 */
+	void updateIndex(HistoryIndex index) {
+		File file = getFile();
+		if (file.isFile()) {
+			if (session != null) {
+				name = session.getTestRunName();
+				startTime = session.getStartTime();
+				failuresAndErrors = session.getCurrentErrorCount() + session.getCurrentFailureCount();
+			}
+			index.put(file, name, startTime, failuresAndErrors);
+		}
+	}
+
 	/**
 	 * Reloads a {@link TestRunSession} object
 	 *
@@ -149,12 +204,8 @@ public class HistoryItem {
 	 */
 	public TestRunSession reloadTestRunSession() throws CoreException {
 		if (this.session == null && getFile() != null) {
-			try {
-				SAXParserFactory parserFactory = SAXParserFactory.newInstance();
-				SAXParser parser = parserFactory.newSAXParser();
-				TestRunHandler handler = new TestRunHandler(new NullProgressMonitor());
-				parser.parse(getFile(), handler);
-				this.session = handler.getTestRunSession();
+			try (InputStream in = openHistoryFile(getFile())) {
+				this.session = new TestRunSessionReader(new NullProgressMonitor()).read(in);
 			} catch (Exception e) {
 				throwImportError(getFile(), e);
 			}
@@ -183,41 +234,39 @@ public class HistoryItem {
 	}
 
 	/**
-	 * Saves a history item into a file
+	 * Saves a history item into a file. The file is gzip compressed if its name
+	 * ends with {@link #COMPRESSED_SUFFIX}.
 	 *
 	 * @param target a target file
-	 * @throws TransformerFactoryConfigurationError in case of transformation
-	 *                                              operation failure
-	 * @throws CoreException                        in case of storing operation
-	 *                                              failure
+	 * @throws CoreException in case of storing operation failure
 	 */
-	void storeSessionToFile(File target) throws TransformerFactoryConfigurationError, CoreException {
+	void storeSessionToFile(File target) throws CoreException {
 		if (this.session == null) {
 			return;
 		}
-		try (FileOutputStream out = new FileOutputStream(target)) {
-			Transformer transformer = TransformerFactory.newInstance().newTransformer();
-			InputSource inputSource = new InputSource();
-			SAXSource source = new SAXSource(new TestRunSessionSerializer(this.session), inputSource);
-			StreamResult result = new StreamResult(out);
-			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8"); //$NON-NLS-1$
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes"); //$NON-NLS-1$
-			/*
-			 * Bug in Xalan: Only indents if proprietary property
-			 * org.apache.xalan.templates.OutputProperties.S_KEY_INDENT_AMOUNT is set.
-			 *
-			 * Bug in Xalan as shipped with J2SE 5.0: Does not read the indent-amount
-			 * property at all >:-(.
-			 */
-			try {
-				transformer.setOutputProperty("{http://xml.apache.org/xalan}indent-amount", "2"); //$NON-NLS-1$ //$NON-NLS-2$
-			} catch (IllegalArgumentException e) {
-				// no indentation today...
-			}
-			transformer.transform(source, result);
+		try (OutputStream out = openOutput(target)) {
+			new TestRunSessionWriter(this.session).write(out);
 		} catch (Exception e) {
 			throwExportError(target, e);
 		}
+		if (target.equals(this.historyFile)) {
+			HistoryIndex index = History.INSTANCE.getIndex();
+			updateIndex(index);
+			index.save();
+		}
+	}
+
+	private static OutputStream openOutput(File target) throws IOException {
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(target));
+		if (target.getName().endsWith(COMPRESSED_SUFFIX)) {
+			try {
+				return new GZIPOutputStream(out);
+			} catch (IOException e) {
+				out.close();
+				throw e;
+			}
+		}
+		return out;
 	}
 
 	/**
@@ -231,6 +280,9 @@ public class HistoryItem {
 			String isoTime = new SimpleDateFormat("yyyyMMdd-HHmmss.SSS") //$NON-NLS-1$
 					.format(new Date(getStartDate().toEpochMilli()));
 			String swapFileName = session.getTestRunName() + '@' + isoTime + ".xml"; //$NON-NLS-1$
+			if (UnitTestPreferencesConstants.getCompressHistory()) {
+				swapFileName += COMPRESSED_SUFFIX;
+			}
 			this.historyFile = new File(historyDir, swapFileName);
 		}
 
@@ -245,10 +297,22 @@ public class HistoryItem {
 	public void swapOut() throws CoreException {
 		if (session != null && session.isStopped()) {
 			storeSessionToFile(getFile());
+			discardSpilledTraces();
 			session = null;
 		}
 	}
 
+	/**
+	 * Deletes the spilled failure traces of the loaded test session, unless the
+	 * session is still held by the {@link UnitTestModel}, which discards them on
+	 * removal
+	 */
+	void discardSpilledTraces() {
+		if (session != null && !UnitTestModel.getInstance().getTestRunSessions().contains(session)) {
+			session.discardSpilledTraces();
+		}
+	}
+
 	/**
 	 * Returns a test session name.
 	 *